@@ -0,0 +1,70 @@
+package com.rabbittick.persister.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.domain.orderbook.OrderBook;
+import com.rabbittick.persister.domain.orderbook.OrderBookMapper;
+import com.rabbittick.persister.domain.ticker.Ticker;
+import com.rabbittick.persister.domain.ticker.TickerMapper;
+import com.rabbittick.persister.domain.trade.Trade;
+import com.rabbittick.persister.domain.trade.TradeMapper;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 메시지 → 엔티티 변환(검증 포함) 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapperBenchmark {
+
+	private final TickerMapper tickerMapper = new TickerMapper();
+	private final TradeMapper tradeMapper = new TradeMapper();
+	private final OrderBookMapper orderBookMapper = new OrderBookMapper();
+
+	private MarketDataMessage<TickerPayload> tickerMessage;
+	private MarketDataMessage<TradePayload> tradeMessage;
+	private MarketDataMessage<OrderBookPayload> orderBookMessage;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		tickerMessage = MarketDataFixtures.message(objectMapper, "ticker");
+		tradeMessage = MarketDataFixtures.message(objectMapper, "trade");
+		orderBookMessage = MarketDataFixtures.message(objectMapper, "orderbook");
+	}
+
+	@Benchmark
+	public Ticker tickerToEntity() {
+		return tickerMapper.toEntity(tickerMessage);
+	}
+
+	@Benchmark
+	public Trade tradeToEntity() {
+		return tradeMapper.toEntity(tradeMessage);
+	}
+
+	@Benchmark
+	public OrderBook orderBookToEntity() {
+		return orderBookMapper.toEntity(orderBookMessage);
+	}
+}
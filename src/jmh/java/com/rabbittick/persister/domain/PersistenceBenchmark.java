@@ -0,0 +1,112 @@
+package com.rabbittick.persister.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.MarketDataPersisterApplication;
+import com.rabbittick.persister.domain.orderbook.OrderBookService;
+import com.rabbittick.persister.domain.ticker.TickerService;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 저장 서비스(트랜잭션 + JPA insert + 커밋) 벤치마크.
+ *
+ * MySQL 대신 MySQL 호환 모드의 인메모리 H2 를 사용하므로 절대값보다는
+ * 애플리케이션 쪽(Hibernate/트랜잭션) 비용의 회귀 비교 용도로 본다.
+ * 리스너 컨테이너는 띄우지 않는다 (app.rabbitmq.auto-startup=false).
+ * rowFormat 파라미터로 v1(문자열 컬럼) 과 v2(사전 ID·TINYINT 코드 compact 행) insert 비용을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PersistenceBenchmark {
+
+	@Param({ "v1", "v2" })
+	private String rowFormat;
+
+	private ConfigurableApplicationContext context;
+	private TickerService tickerService;
+	private TradeService tradeService;
+	private OrderBookService orderBookService;
+
+	private MarketDataMessage<TickerPayload> tickerMessage;
+	private MarketDataMessage<TradePayload> tradeMessage;
+	private MarketDataMessage<OrderBookPayload> orderBookMessage;
+	private long sequence;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(MarketDataPersisterApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(
+				"spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+				"spring.datasource.driver-class-name=org.h2.Driver",
+				"spring.datasource.username=sa",
+				"spring.datasource.password=",
+				"spring.jpa.hibernate.ddl-auto=create-drop",
+				"spring.jpa.properties.hibernate.show_sql=false",
+				"spring.jpa.properties.hibernate.format_sql=false",
+				"app.rabbitmq.auto-startup=false",
+				"app.persistence.row-format=" + rowFormat,
+				"logging.level.root=WARN"
+			)
+			.run();
+		tickerService = context.getBean(TickerService.class);
+		tradeService = context.getBean(TradeService.class);
+		orderBookService = context.getBean(OrderBookService.class);
+
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		tickerMessage = MarketDataFixtures.message(objectMapper, "ticker");
+		tradeMessage = MarketDataFixtures.message(objectMapper, "trade");
+		orderBookMessage = MarketDataFixtures.message(objectMapper, "orderbook");
+		sequence = tradeMessage.getPayload().getSequentialId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void saveTicker() {
+		tickerMessage.getPayload().setTimestamp(++sequence);
+		tickerService.saveTicker(tickerMessage);
+	}
+
+	@Benchmark
+	public void saveTrade() {
+		tradeMessage.getPayload().setSequentialId(++sequence);
+		tradeService.saveTrade(tradeMessage);
+	}
+
+	@Benchmark
+	public void saveOrderBook() {
+		orderBookMessage.getPayload().setTimestamp(++sequence);
+		orderBookService.saveOrderBook(orderBookMessage);
+	}
+}
@@ -0,0 +1,158 @@
+package com.rabbittick.persister.domain;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.MarketDataPersisterApplication;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 재정렬 버퍼(app.persistence.reorder)의 insert 비용 쪽 벤치마크.
+ *
+ * 여러 마켓의 체결이 섞여 도착하는 상황을 만들고, batchSize 건씩 saveTrades 로 저장한다.
+ * sorted=true 는 버퍼처럼 (market_code, sequential_id) 순으로 정렬한 뒤, false 는 도착 순 그대로 저장한다.
+ * 결과는 레코드당 처리량이다.
+ *
+ * 지연 쪽 비용은 측정하지 않고 계산한다. 메시지당 추가 지연은 대략 min(max-delay-ms, max-records / 유입률) 이며
+ * 운영에서는 market_data.reorder.wait 로 확인한다. 이 표의 batchSize 별 처리량 차이가 그 지연을 감수할 만한지 판단한다.
+ * H2 인메모리는 InnoDB 의 페이지 분할·버퍼 풀 비용을 거의 반영하지 않으므로 sorted 효과가 과소 측정된다.
+ * 실제 판단은 -Dspring.datasource.url 등으로 MySQL 을 지정해 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class TradeReorderBenchmark {
+
+	private static final int MARKETS = 32;
+	private static final int RECORDS_PER_INVOCATION = 1000;
+	private static final Comparator<TradePayload> INDEX_ORDER = Comparator
+		.comparing(TradePayload::getMarketCode)
+		.thenComparingLong(TradePayload::getSequentialId);
+
+	@Param({ "1", "50", "200", "1000" })
+	private int batchSize;
+
+	@Param({ "true", "false" })
+	private boolean sorted;
+
+	private ConfigurableApplicationContext context;
+	private TradeService tradeService;
+	private Metadata metadata;
+	private TradePayload template;
+	private String[] marketCodes;
+	private long[] sequences;
+	private SplittableRandom random;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(MarketDataPersisterApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(
+				"spring.datasource.url=" + System.getProperty("spring.datasource.url",
+					"jdbc:h2:mem:reorder;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+				"spring.datasource.driver-class-name=" + System.getProperty("spring.datasource.driver-class-name",
+					"org.h2.Driver"),
+				"spring.datasource.username=" + System.getProperty("spring.datasource.username", "sa"),
+				"spring.datasource.password=" + System.getProperty("spring.datasource.password", ""),
+				"spring.jpa.hibernate.ddl-auto=create-drop",
+				"spring.jpa.properties.hibernate.show_sql=false",
+				"spring.jpa.properties.hibernate.format_sql=false",
+				"app.rabbitmq.auto-startup=false",
+				"logging.level.root=WARN"
+			)
+			.run();
+		tradeService = context.getBean(TradeService.class);
+
+		MarketDataMessage<TradePayload> message = MarketDataFixtures.message(
+			new ObjectMapper().findAndRegisterModules(), "trade");
+		metadata = message.getMetadata();
+		template = message.getPayload();
+		marketCodes = new String[MARKETS];
+		sequences = new long[MARKETS];
+		for (int i = 0; i < MARKETS; i++) {
+			marketCodes[i] = String.format("KRW-M%02d", i);
+			sequences[i] = template.getSequentialId();
+		}
+		random = new SplittableRandom(42);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECORDS_PER_INVOCATION)
+	public void saveInterleavedTrades() {
+		List<TradePayload> batch = new ArrayList<>(batchSize);
+		for (int i = 0; i < RECORDS_PER_INVOCATION; i++) {
+			batch.add(nextTrade());
+			if (batch.size() == batchSize) {
+				save(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+		if (!batch.isEmpty()) {
+			save(batch);
+		}
+	}
+
+	private void save(List<TradePayload> batch) {
+		if (sorted) {
+			batch.sort(INDEX_ORDER);
+		}
+		tradeService.saveTrades(metadata, batch);
+	}
+
+	private TradePayload nextTrade() {
+		int market = random.nextInt(MARKETS);
+		return TradePayload.builder()
+			.marketCode(marketCodes[market])
+			.timestamp(template.getTimestamp())
+			.tradeDate(template.getTradeDate())
+			.tradeTime(template.getTradeTime())
+			.tradeTimestamp(template.getTradeTimestamp())
+			.tradePrice(template.getTradePrice())
+			.tradeVolume(template.getTradeVolume())
+			.askBid(template.getAskBid())
+			.prevClosingPrice(template.getPrevClosingPrice())
+			.change(template.getChange())
+			.changePrice(template.getChangePrice())
+			.sequentialId(++sequences[market])
+			.bestAskPrice(template.getBestAskPrice())
+			.bestAskSize(template.getBestAskSize())
+			.bestBidPrice(template.getBestBidPrice())
+			.bestBidSize(template.getBestBidSize())
+			.streamType(template.getStreamType())
+			.build();
+	}
+}
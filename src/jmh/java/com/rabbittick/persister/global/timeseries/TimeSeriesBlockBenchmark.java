@@ -0,0 +1,131 @@
+package com.rabbittick.persister.global.timeseries;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 압축 시계열 블록의 압축률과 인코딩·디코딩 속도 벤치마크.
+ *
+ * decode: 봉인된 블록을 TimeSeriesCursor 로 끝까지 푼다 (최근 구간 조회 경로)
+ * encode: hot tail 컬럼 배열을 블록으로 봉인한다 (RecentSeries 봉인 경로)
+ *
+ * 처리량 단위는 지점(points/s)이다. encode 의 보조 카운터 encodedBytes(bytes/s)를 처리량으로 나누면
+ * 지점당 압축 바이트가 되며, 컬럼 배열(지점당 33바이트)과 비교해 압축률을 구한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=TimeSeriesBlockBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSeriesBlockBenchmark {
+
+	private static final int POINTS = 256;
+	private static final long SCALE = 100_000_000L;
+
+	@Param({ "trade", "ticker" })
+	private String dataType;
+
+	private final long[] times = new long[POINTS];
+	private final long[] prices = new long[POINTS];
+	private final long[] volumes = new long[POINTS];
+	private final long[] sequences = new long[POINTS];
+	private final byte[] sides = new byte[POINTS];
+	private TimeSeriesBlockEncoder encoder;
+	private TimeSeriesBlock block;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		boolean trade = "trade".equals(dataType);
+		long time = 1_700_000_000_000L;
+		long price = 95_000_000L * SCALE;
+		long sequence = 17_000_000_000_000L;
+		for (int i = 0; i < POINTS; i++) {
+			// 체결: 불규칙 간격·호가 단위 가격 변동, 티커: 약 100ms 간격·누적 거래량
+			time += trade ? random.nextInt(40) : 95 + random.nextInt(10);
+			if (random.nextInt(3) == 0) {
+				price += (random.nextInt(5) - 2) * 1000L * SCALE;
+			}
+			sequence += 1 + random.nextInt(5000);
+			times[i] = time;
+			prices[i] = price;
+			volumes[i] = trade ? random.nextInt(5_000_000) : 1_234L * SCALE + i * 37_000_000L;
+			sequences[i] = trade ? sequence : Long.MIN_VALUE;
+			sides[i] = trade ? (byte) (1 + random.nextInt(2)) : 0;
+		}
+		encoder = new TimeSeriesBlockEncoder(POINTS);
+		block = encode();
+	}
+
+	/**
+	 * 블록의 모든 지점을 박싱 없이 푼다.
+	 *
+	 * @param blackhole 결과 소비
+	 */
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void decode(Blackhole blackhole) {
+		TimeSeriesCursor cursor = block.cursor();
+		while (cursor.next()) {
+			blackhole.consume(cursor.time());
+			blackhole.consume(cursor.price());
+			blackhole.consume(cursor.volume());
+			blackhole.consume(cursor.sequence());
+			blackhole.consume(cursor.side());
+		}
+	}
+
+	/**
+	 * 컬럼 배열을 블록으로 봉인한다.
+	 *
+	 * @param counters 압축 바이트 카운터
+	 * @return 봉인된 블록
+	 */
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public TimeSeriesBlock encode(BlockCounters counters) {
+		TimeSeriesBlock sealed = encode();
+		counters.encodedBytes += sealed.sizeBytes();
+		return sealed;
+	}
+
+	private TimeSeriesBlock encode() {
+		for (int i = 0; i < POINTS; i++) {
+			encoder.append(times[i], prices[i], volumes[i], sequences[i], sides[i]);
+		}
+		return encoder.seal();
+	}
+
+	/**
+	 * 지점당 압축 바이트 집계용 보조 카운터.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class BlockCounters {
+
+		public long encodedBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			encodedBytes = 0;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.rabbittick.persister.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+
+/**
+ * Simple/Direct 리스너 컨테이너의 메시지 전달 지연을 비교하는 벤치마크.
+ *
+ * 발행 → 컨테이너 전달 → 리스너 수동 Ack 까지의 왕복 시간을 측정한다.
+ * 로컬 브로커가 필요하다 (docker-compose 의 rabbitmq 서비스).
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=ListenerContainerLatencyBenchmark
+ * 브로커 주소: -Dbench.rabbit.host / -Dbench.rabbit.port (기본 localhost:5672)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ListenerContainerLatencyBenchmark {
+
+	@Param({ "simple", "direct" })
+	private String containerType;
+
+	@Param({ "50" })
+	private int prefetchCount;
+
+	private CachingConnectionFactory connectionFactory;
+	private RabbitAdmin rabbitAdmin;
+	private RabbitTemplate rabbitTemplate;
+	private AbstractMessageListenerContainer container;
+	private String queueName;
+	private byte[] body;
+	private final BlockingQueue<Long> acked = new ArrayBlockingQueue<>(1024);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		connectionFactory = new CachingConnectionFactory(
+			System.getProperty("bench.rabbit.host", "localhost"),
+			Integer.getInteger("bench.rabbit.port", 5672)
+		);
+		connectionFactory.setUsername(System.getProperty("bench.rabbit.username", "guest"));
+		connectionFactory.setPassword(System.getProperty("bench.rabbit.password", "guest"));
+
+		rabbitAdmin = new RabbitAdmin(connectionFactory);
+		queueName = "bench.latency." + UUID.randomUUID();
+		rabbitAdmin.declareQueue(new Queue(queueName, false, true, true));
+		rabbitTemplate = new RabbitTemplate(connectionFactory);
+
+		SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+		endpoint.setId(queueName);
+		endpoint.setQueueNames(queueName);
+		endpoint.setMessageListener((ChannelAwareMessageListener) (message, channel) -> {
+			long deliveryTag = message.getMessageProperties().getDeliveryTag();
+			channel.basicAck(deliveryTag, false);
+			acked.offer(deliveryTag);
+		});
+
+		container = createFactory().createListenerContainer(endpoint);
+		container.start();
+
+		body = ("{\"metadata\":{\"exchange\":\"UPBIT\",\"dataType\":\"TRADE\"},"
+			+ "\"payload\":{\"marketCode\":\"KRW-BTC\"}}").getBytes(StandardCharsets.UTF_8);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		container.stop();
+		rabbitAdmin.deleteQueue(queueName);
+		connectionFactory.destroy();
+	}
+
+	/**
+	 * 메시지 1건을 발행하고 리스너가 Ack 할 때까지 대기한다.
+	 *
+	 * @return 리스너가 Ack 한 delivery tag
+	 * @throws InterruptedException 대기 중 인터럽트 시
+	 */
+	@Benchmark
+	public Long publishToAck() throws InterruptedException {
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		rabbitTemplate.send("", queueName, new Message(body, properties));
+		Long deliveryTag = acked.poll(5, TimeUnit.SECONDS);
+		if (deliveryTag == null) {
+			throw new IllegalStateException("리스너 Ack 대기 시간이 초과되었습니다");
+		}
+		return deliveryTag;
+	}
+
+	private AbstractRabbitListenerContainerFactory<?> createFactory() {
+		AbstractRabbitListenerContainerFactory<?> factory;
+		if ("direct".equals(containerType)) {
+			DirectRabbitListenerContainerFactory direct = new DirectRabbitListenerContainerFactory();
+			direct.setConsumersPerQueue(1);
+			factory = direct;
+		} else {
+			SimpleRabbitListenerContainerFactory simple = new SimpleRabbitListenerContainerFactory();
+			simple.setConcurrentConsumers(1);
+			simple.setMaxConcurrentConsumers(1);
+			factory = simple;
+		}
+		factory.setConnectionFactory(connectionFactory);
+		factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+		factory.setPrefetchCount(prefetchCount);
+		return factory;
+	}
+}
@@ -0,0 +1,75 @@
+package com.rabbittick.persister.messaging;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.config.RabbitMqConfig;
+import com.rabbittick.persister.messaging.hotmarket.MarketHeavyHitterTracker;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * MarketDataConsumer.handleMarketDataMessage 전체 경로(역직렬화 + 분기 + 메트릭 + Ack) 벤치마크.
+ *
+ * 저장은 필드 대입으로 대체해 DB 비용을 제외한 리스너 스레드 비용만 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketDataConsumerBenchmark {
+
+	@Param({ "ticker", "trade", "orderbook" })
+	private String dataType;
+
+	private MarketDataConsumer consumer;
+	private Channel channel;
+	private Message message;
+	private volatile Object persisted;
+
+	@Setup
+	public void setUp() {
+		PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		consumer = MarketDataConsumer.builder()
+			.objectMapper(new ObjectMapper().findAndRegisterModules())
+			.tickerService(ticker -> persisted = ticker)
+			.tradeService(trade -> persisted = trade)
+			.orderBookService(orderBook -> persisted = orderBook)
+			.meterRegistry(meterRegistry)
+			.asyncPersistenceWriter(new AsyncPersistenceWriter(false, 1, 1, new SimpleRetryPolicy(), null))
+			.marketHeavyHitterTracker(new MarketHeavyHitterTracker(10, 128, meterRegistry))
+			.messageResourceSampler(new MessageResourceSampler(false, 0, meterRegistry))
+			.messageRetryClassifier(new RabbitMqConfig().messageRetryClassifier())
+			.build();
+		channel = MarketDataFixtures.noopChannel();
+		MessageProperties properties = new MessageProperties();
+		properties.setDeliveryTag(1L);
+		message = new Message(MarketDataFixtures.body(dataType), properties);
+	}
+
+	@Benchmark
+	public void handleMessage() throws IOException {
+		consumer.handleMarketDataMessage(message, channel);
+	}
+}
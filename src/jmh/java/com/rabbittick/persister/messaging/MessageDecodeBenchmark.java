@@ -0,0 +1,123 @@
+package com.rabbittick.persister.messaging;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 메시지 역직렬화 경로별 처리량/할당량 비교 벤치마크.
+ *
+ * treeThenRebind: 이전 MarketDataConsumer 흐름 (String 변환 → readTree → dataType 추출 → readValue(String))
+ * treeToValue: 트리를 한 번만 만들고 그 트리에서 바로 바인딩
+ * peekThenBind: 현재 MarketDataConsumer 흐름. 스트리밍 파서로 dataType 만 찾은 뒤 바이트에서 바로 바인딩
+ *   (exchange/marketCode/askBid 등은 InternedStringDeserializer 로 정규 인스턴스를 재사용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageDecodeBenchmark {
+
+	@Param({ "ticker", "trade", "orderbook" })
+	private String dataType;
+
+	private ObjectMapper objectMapper;
+	private byte[] body;
+	private JavaType messageType;
+	private ObjectReader messageReader;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper().findAndRegisterModules();
+		body = MarketDataFixtures.body(dataType);
+		messageType = MarketDataFixtures.messageType(objectMapper, dataType);
+		messageReader = objectMapper.readerFor(messageType);
+	}
+
+	@Benchmark
+	public Object treeThenRebind() throws IOException {
+		String json = new String(body, StandardCharsets.UTF_8);
+		String trimmed = json.trim();
+		if (trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+			json = objectMapper.readValue(trimmed, String.class);
+		}
+		JsonNode rootNode = objectMapper.readTree(json);
+		String type = rootNode.get("metadata").get("dataType").asText();
+		String collectedAt = rootNode.get("metadata").get("collectedAt").asText();
+		if (type.isEmpty() || collectedAt.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		return objectMapper.readValue(json, messageType);
+	}
+
+	@Benchmark
+	public Object treeToValue() throws IOException {
+		JsonNode rootNode = objectMapper.readTree(body);
+		String type = rootNode.get("metadata").get("dataType").asText();
+		if (type.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		return objectMapper.treeToValue(rootNode, messageType);
+	}
+
+	@Benchmark
+	public Object peekThenBind() throws IOException {
+		String type = peekDataType(body);
+		if (type == null) {
+			throw new IllegalStateException();
+		}
+		return messageReader.readValue(body);
+	}
+
+	private String peekDataType(byte[] bytes) throws IOException {
+		try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+			int depth = 0;
+			boolean inMetadata = false;
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+					depth++;
+				} else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+					depth--;
+					if (inMetadata && depth == 1) {
+						return null;
+					}
+				} else if (token == JsonToken.FIELD_NAME) {
+					String name = parser.currentName();
+					if (depth == 1 && "metadata".equals(name)) {
+						inMetadata = true;
+					} else if (inMetadata && depth == 2 && "dataType".equals(name)) {
+						parser.nextToken();
+						return parser.getText();
+					} else if (depth == 1) {
+						parser.nextToken();
+						parser.skipChildren();
+					}
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.rabbittick.persister.messaging;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.messaging.encoding.ContentEncoding;
+import com.rabbittick.persister.messaging.encoding.MarketDataCodec;
+import com.rabbittick.persister.messaging.encoding.MessageFormat;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 본문 형식(JSON/Smile/CBOR/MessagePack)·압축 방식별 처리량과 전송 바이트 비교 벤치마크.
+ *
+ * decode: 소비자 경로 (압축 해제 → MarketDataCodec.readEnvelope 로 스트리밍 역직렬화)
+ * encode: 수집기 경로 (직렬화 → 압축)
+ *
+ * 메시지당 전송 바이트는 보조 카운터 wireBytes(bytes/s)를 처리량(ops/s)으로 나눈 값이다.
+ * 실행: ./gradlew jmh -PjmhIncludes=MessageFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageFormatBenchmark {
+
+	@Param({ "ticker", "trade", "orderbook" })
+	private String dataType;
+
+	@Param({ "json", "smile", "cbor", "msgpack" })
+	private String format;
+
+	@Param({ "identity", "gzip", "deflate" })
+	private String encoding;
+
+	private ContentEncoding contentEncoding;
+	private MarketDataCodec codec;
+	private MessageFormat messageFormat;
+	private MarketDataType type;
+	private ObjectWriter writer;
+	private MarketDataMessage<?> message;
+	private byte[] wireBody;
+
+	@Setup
+	public void setUp() throws IOException {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		messageFormat = MessageFormat.of(format);
+		codec = new MarketDataCodec(objectMapper);
+		type = MarketDataType.of(dataType);
+		contentEncoding = ContentEncoding.fromHeader(encoding);
+		writer = codec.mapper(messageFormat).writer();
+		message = MarketDataFixtures.message(objectMapper, dataType);
+		wireBody = contentEncoding.encode(writer.writeValueAsBytes(message));
+	}
+
+	/**
+	 * 수신 본문을 압축 해제하고 MarketDataEnvelope 로 역직렬화한다.
+	 *
+	 * @param wire 전송 바이트 카운터
+	 * @return 역직렬화된 메시지
+	 * @throws IOException 역직렬화 실패 시
+	 */
+	@Benchmark
+	public Object decode(WireCounters wire) throws IOException {
+		wire.wireBytes += wireBody.length;
+		return codec.readEnvelope(messageFormat, type, contentEncoding.decode(wireBody));
+	}
+
+	/**
+	 * MarketDataMessage 를 직렬화하고 압축한다.
+	 *
+	 * @param wire 전송 바이트 카운터
+	 * @return 전송 본문
+	 * @throws IOException 직렬화 실패 시
+	 */
+	@Benchmark
+	public byte[] encode(WireCounters wire) throws IOException {
+		byte[] body = contentEncoding.encode(writer.writeValueAsBytes(message));
+		wire.wireBytes += body.length;
+		return body;
+	}
+
+	/**
+	 * 메시지당 전송 바이트 집계용 보조 카운터.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class WireCounters {
+
+		public long wireBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			wireBytes = 0;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.rabbittick.persister.messaging;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * 메시지 1건당 메트릭 기록 비용 벤치마크.
+ *
+ * builderPerMessage: MarketDataConsumer 처럼 매번 Timer/Counter builder 로 조회 후 기록
+ * cachedMeters: 미리 등록한 미터에 바로 기록
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsRecordingBenchmark {
+
+	private PrometheusMeterRegistry meterRegistry;
+	private Timer cachedTimer;
+	private Counter cachedCounter;
+
+	@Setup
+	public void setUp() {
+		meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		cachedTimer = processTimer();
+		cachedCounter = messageCounter();
+	}
+
+	@Benchmark
+	public void builderPerMessage() {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		sample.stop(processTimer());
+		messageCounter().increment();
+	}
+
+	@Benchmark
+	public void cachedMeters() {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		sample.stop(cachedTimer);
+		cachedCounter.increment();
+	}
+
+	private Timer processTimer() {
+		return Timer.builder("market_data.process.latency")
+			.description("End-to-end processing latency in consumer")
+			.tags("dataType", "trade", "outcome", "success")
+			.register(meterRegistry);
+	}
+
+	private Counter messageCounter() {
+		return Counter.builder("market_data.messages")
+			.description("Messages processed by consumer")
+			.tags("dataType", "trade", "outcome", "success")
+			.register(meterRegistry);
+	}
+}
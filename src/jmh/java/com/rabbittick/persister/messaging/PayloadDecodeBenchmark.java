@@ -0,0 +1,90 @@
+package com.rabbittick.persister.messaging;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.support.MarketDataFixtures;
+
+/**
+ * 페이로드 DTO 바인딩 방식별 타입당 역직렬화 처리량 비교 벤치마크.
+ *
+ * reflective: 전용 역직렬화기를 mix-in 으로 끄고 Jackson BeanDeserializer(리플렉션 setter)로 바인딩
+ * blackbird: reflective 와 같은 BeanDeserializer 에 Blackbird 접근자만 적용
+ * specialized: 운영 구성. 페이로드는 global.codec 전용 역직렬화기, 봉투(MarketDataMessage/Metadata)는 Blackbird
+ *
+ * 할당량 비교는 -prof gc 와 함께 실행한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=PayloadDecodeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadDecodeBenchmark {
+
+	@Param({ "ticker", "trade", "orderbook" })
+	private String dataType;
+
+	@Param({ "reflective", "blackbird", "specialized" })
+	private String decoder;
+
+	private byte[] body;
+	private ObjectReader messageReader;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = switch (decoder) {
+			case "reflective" -> reflectiveBinding(new ObjectMapper());
+			case "blackbird" -> reflectiveBinding(new ObjectMapper().registerModule(new BlackbirdModule()));
+			case "specialized" -> new ObjectMapper().registerModule(new BlackbirdModule());
+			default -> throw new IllegalArgumentException("지원하지 않는 decoder: " + decoder);
+		};
+		body = MarketDataFixtures.body(dataType);
+		messageReader = objectMapper.readerFor(MarketDataFixtures.messageType(objectMapper, dataType));
+	}
+
+	/**
+	 * 메시지 1건을 바이트에서 MarketDataMessage 로 역직렬화한다.
+	 *
+	 * @return 역직렬화된 메시지
+	 * @throws IOException 역직렬화 실패 시
+	 */
+	@Benchmark
+	public Object decode() throws IOException {
+		return messageReader.readValue(body);
+	}
+
+	private static ObjectMapper reflectiveBinding(ObjectMapper objectMapper) {
+		return objectMapper
+			.addMixIn(TickerPayload.class, ReflectiveBinding.class)
+			.addMixIn(TradePayload.class, ReflectiveBinding.class)
+			.addMixIn(OrderBookPayload.class, ReflectiveBinding.class)
+			.addMixIn(OrderBookUnitPayload.class, ReflectiveBinding.class);
+	}
+
+	@JsonDeserialize(using = JsonDeserializer.None.class)
+	private abstract static class ReflectiveBinding {
+	}
+}
@@ -0,0 +1,107 @@
+package com.rabbittick.persister.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+/**
+ * 벤치마크용 Upbit 형태 메시지 픽스처.
+ *
+ * src/jmh/resources/fixtures 의 JSON 은 수집기가 실제로 발행하는 메시지 형태
+ * (orderbook 15호가, 8자리 소수 수량)를 그대로 따른다.
+ */
+public final class MarketDataFixtures {
+
+	private MarketDataFixtures() {
+	}
+
+	/**
+	 * 데이터 타입별 원본 메시지 바이트를 읽는다.
+	 *
+	 * @param dataType ticker, trade, orderbook
+	 * @return 메시지 본문 바이트
+	 */
+	public static byte[] body(String dataType) {
+		String resource = "/fixtures/upbit-" + dataType.toLowerCase() + ".json";
+		try (InputStream inputStream = MarketDataFixtures.class.getResourceAsStream(resource)) {
+			if (inputStream == null) {
+				throw new IllegalArgumentException("픽스처가 없습니다: " + resource);
+			}
+			return inputStream.readAllBytes();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * 데이터 타입별 MarketDataMessage 제네릭 타입을 만든다.
+	 *
+	 * @param objectMapper JSON 변환기
+	 * @param dataType ticker, trade, orderbook
+	 * @return MarketDataMessage&lt;Payload&gt; 타입
+	 */
+	public static JavaType messageType(ObjectMapper objectMapper, String dataType) {
+		Class<?> payloadType = switch (dataType.toLowerCase()) {
+			case "ticker" -> TickerPayload.class;
+			case "trade" -> TradePayload.class;
+			case "orderbook" -> OrderBookPayload.class;
+			default -> throw new IllegalArgumentException("지원하지 않는 dataType: " + dataType);
+		};
+		return objectMapper.getTypeFactory().constructParametricType(MarketDataMessage.class, payloadType);
+	}
+
+	/**
+	 * 픽스처를 MarketDataMessage 로 역직렬화한다.
+	 *
+	 * @param objectMapper JSON 변환기
+	 * @param dataType ticker, trade, orderbook
+	 * @param <T> payload 타입
+	 * @return 역직렬화된 메시지
+	 */
+	public static <T> MarketDataMessage<T> message(ObjectMapper objectMapper, String dataType) {
+		try {
+			return objectMapper.readValue(body(dataType), messageType(objectMapper, dataType));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * 모든 호출을 무시하는 RabbitMQ 채널을 만든다.
+	 *
+	 * @return no-op 채널
+	 */
+	public static Channel noopChannel() {
+		return (Channel) Proxy.newProxyInstance(
+			Channel.class.getClassLoader(),
+			new Class<?>[] { Channel.class },
+			(proxy, method, args) -> switch (method.getName()) {
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> "noopChannel";
+				default -> {
+					Class<?> returnType = method.getReturnType();
+					if (returnType == boolean.class) {
+						yield false;
+					}
+					if (returnType == int.class) {
+						yield 0;
+					}
+					if (returnType == long.class) {
+						yield 0L;
+					}
+					yield null;
+				}
+			}
+		);
+	}
+}
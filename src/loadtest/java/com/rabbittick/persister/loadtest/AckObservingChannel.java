@@ -0,0 +1,108 @@
+package com.rabbittick.persister.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.rabbitmq.client.Channel;
+
+/**
+ * basicAck/basicNack 호출을 CompletionTracker 에 통지하는 Channel 프록시.
+ *
+ * delegate 가 있으면 모든 호출을 그대로 위임하고(브로커 모드),
+ * 없으면 브로커 없이 Ack 만 관찰하는 스텁 채널로 동작한다(인프로세스 모드).
+ */
+final class AckObservingChannel implements InvocationHandler {
+
+	private final Channel delegate;
+	private final CompletionTracker tracker;
+	private Channel self;
+
+	private AckObservingChannel(Channel delegate, CompletionTracker tracker) {
+		this.delegate = delegate;
+		this.tracker = tracker;
+	}
+
+	/**
+	 * Ack 을 관찰하는 채널을 만든다.
+	 *
+	 * @param delegate 실제 채널 (null 이면 스텁)
+	 * @param tracker Ack 통지 대상
+	 * @return 관찰 채널
+	 */
+	static Channel wrap(Channel delegate, CompletionTracker tracker) {
+		AckObservingChannel handler = new AckObservingChannel(delegate, tracker);
+		handler.self = (Channel) Proxy.newProxyInstance(
+			Channel.class.getClassLoader(), new Class<?>[] { Channel.class }, handler);
+		return handler.self;
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+			case "hashCode":
+				if (args == null) {
+					return System.identityHashCode(proxy);
+				}
+				break;
+			case "equals":
+				if (args != null && args.length == 1) {
+					return proxy == args[0];
+				}
+				break;
+			case "toString":
+				if (args == null) {
+					return "AckObservingChannel[" + delegate + "]";
+				}
+				break;
+			default:
+				break;
+		}
+		Object result = delegate == null ? defaultValue(method.getReturnType()) : invokeDelegate(method, args);
+		if ("basicAck".equals(method.getName()) && args != null && args.length == 2) {
+			tracker.acked(self, (Long) args[0], (Boolean) args[1]);
+		} else if ("basicNack".equals(method.getName()) && args != null && args.length == 3) {
+			tracker.nacked(self, (Long) args[0], (Boolean) args[1]);
+		} else if ("basicReject".equals(method.getName()) && args != null && args.length == 2) {
+			tracker.nacked(self, (Long) args[0], false);
+		}
+		return result;
+	}
+
+	private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(delegate, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == void.class) {
+			return null;
+		}
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == double.class) {
+			return 0d;
+		}
+		if (type == float.class) {
+			return 0f;
+		}
+		if (type == char.class) {
+			return (char) 0;
+		}
+		if (type == byte.class) {
+			return (byte) 0;
+		}
+		if (type == short.class) {
+			return (short) 0;
+		}
+		return 0;
+	}
+}
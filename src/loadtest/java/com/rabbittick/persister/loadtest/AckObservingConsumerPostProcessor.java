@@ -0,0 +1,52 @@
+package com.rabbittick.persister.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.messaging.MarketDataConsumer;
+
+/**
+ * 브로커 모드에서 MarketDataConsumer 의 리스너 채널을 Ack 관찰 채널로 바꿔 끼우는 후처리기.
+ *
+ * RabbitListener 어노테이션 처리보다 먼저 적용되어야 하므로
+ * 컨텍스트 초기화 시 bean factory 에 직접 등록한다.
+ */
+class AckObservingConsumerPostProcessor implements BeanPostProcessor {
+
+	private final CompletionTracker tracker;
+	private final Map<Channel, Channel> observedChannels = new ConcurrentHashMap<>();
+
+	AckObservingConsumerPostProcessor(CompletionTracker tracker) {
+		this.tracker = tracker;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof MarketDataConsumer)) {
+			return bean;
+		}
+		ProxyFactory proxyFactory = new ProxyFactory(bean);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			Object[] args = invocation.getArguments();
+			if ("handleMarketDataMessage".equals(invocation.getMethod().getName())
+				&& args.length == 2 && args[0] instanceof Message message && args[1] instanceof Channel channel) {
+				Channel observed = observedChannels.computeIfAbsent(
+					channel, key -> AckObservingChannel.wrap(key, tracker));
+				Object intendedAt = message.getMessageProperties().getHeader(GeneratedMessage.SENT_AT_HEADER);
+				if (intendedAt instanceof Number number) {
+					tracker.register(observed, message.getMessageProperties().getDeliveryTag(), number.longValue());
+				}
+				args[1] = observed;
+			}
+			return invocation.proceed();
+		});
+		return proxyFactory.getProxy();
+	}
+}
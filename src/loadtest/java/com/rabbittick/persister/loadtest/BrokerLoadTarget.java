@@ -0,0 +1,39 @@
+package com.rabbittick.persister.loadtest;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * 실제 RabbitMQ 로 발행하고, 애플리케이션의 리스너 컨테이너가 소비하도록 하는 부하 대상.
+ *
+ * Ack 관찰은 AckObservingConsumerPostProcessor 가 리스너 채널을 감싸서 수행한다.
+ */
+class BrokerLoadTarget implements LoadTarget {
+
+	private final RabbitTemplate rabbitTemplate;
+	private final String exchange;
+
+	BrokerLoadTarget(RabbitTemplate rabbitTemplate, String exchange) {
+		this.rabbitTemplate = rabbitTemplate;
+		this.exchange = exchange;
+	}
+
+	@Override
+	public void start() {
+		// 리스너 컨테이너는 애플리케이션 컨텍스트가 시작한다.
+	}
+
+	@Override
+	public void submit(GeneratedMessage message) {
+		rabbitTemplate.send(exchange, message.routingKey(), message.toAmqpMessage());
+	}
+
+	@Override
+	public String name() {
+		return "broker(exchange=" + exchange + ")";
+	}
+
+	@Override
+	public void close() {
+		// 연결 정리는 컨텍스트 종료 시 수행된다.
+	}
+}
@@ -0,0 +1,76 @@
+package com.rabbittick.persister.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.rabbittick.persister.messaging.capture.CaptureRecord;
+import com.rabbittick.persister.messaging.capture.CaptureSegmentReader;
+
+/**
+ * 캡처 세그먼트를 원래 수신 간격대로 부하 대상에 다시 흘려보내는 재생기.
+ *
+ * speed 1 은 원래 속도, N 은 N배속, 0 은 대기 없이 최대 속도로 재생한다.
+ * 계획 발행 시각은 첫 레코드 기준 상대 수신 시각을 speed 로 나눈 값이며,
+ * 최대 속도 재생에서는 실제 발행 시각을 사용한다.
+ * 캡처한 content_type/content_encoding 을 그대로 실어 Smile·CBOR·MessagePack·gzip 본문도 재생한다
+ * (속성이 없는 v1 세그먼트는 JSON 으로 발행한다).
+ */
+class CaptureReplayer {
+
+	private final Path directory;
+	private final double speed;
+	private long baseMicros = -1;
+	private long startedAtNanos;
+
+	CaptureReplayer(Path directory, double speed) {
+		if (speed < 0) {
+			throw new IllegalArgumentException("speed는 0 이상이어야 한다: " + speed);
+		}
+		this.directory = directory;
+		this.speed = speed;
+	}
+
+	/**
+	 * 디렉터리의 모든 세그먼트를 순서대로 재생한다.
+	 *
+	 * @param target 부하 대상
+	 * @param tracker 발행 수 집계
+	 * @return 재생한 레코드 수
+	 * @throws IOException 세그먼트 읽기 실패 시
+	 */
+	long replay(LoadTarget target, CompletionTracker tracker) throws IOException {
+		List<Path> segments = CaptureSegmentReader.segments(directory);
+		if (segments.isEmpty()) {
+			throw new IllegalStateException("재생할 캡처 세그먼트가 없습니다: " + directory.toAbsolutePath());
+		}
+		long replayed = 0;
+		for (Path segment : segments) {
+			replayed += CaptureSegmentReader.read(segment, record -> {
+				target.submit(new GeneratedMessage(record.routingKey(), record.body(),
+					record.contentType(), record.contentEncoding(), awaitIntendedTime(record)));
+				tracker.offered();
+			});
+		}
+		return replayed;
+	}
+
+	private long awaitIntendedTime(CaptureRecord record) {
+		if (baseMicros < 0) {
+			baseMicros = record.receivedAtMicros();
+			startedAtNanos = System.nanoTime();
+		}
+		if (speed == 0) {
+			return System.nanoTime();
+		}
+		long offsetNanos = (long) (TimeUnit.MICROSECONDS.toNanos(record.receivedAtMicros() - baseMicros) / speed);
+		long intendedAt = startedAtNanos + Math.max(0, offsetNanos);
+		long now;
+		while ((now = System.nanoTime()) < intendedAt) {
+			LockSupport.parkNanos(intendedAt - now);
+		}
+		return intendedAt;
+	}
+}
@@ -0,0 +1,133 @@
+package com.rabbittick.persister.loadtest;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.rabbitmq.client.Channel;
+
+/**
+ * 발행된 메시지가 Ack 으로 정리될 때까지의 종단 간 지연과 처리량을 집계한다.
+ *
+ * 주요 책임:
+ *
+ * 채널·delivery tag 별 계획 발행 시각 보관
+ * basicAck/basicNack(multiple 포함) 시점에 지연 기록
+ * 발행·완료·실패 누적 카운트 제공
+ *
+ * 지연은 실제 발행 시각이 아닌 계획 발행 시각 기준으로 측정하므로
+ * 생성기가 밀려도 대기 시간이 지연에 포함된다 (coordinated omission 보정).
+ */
+class CompletionTracker {
+
+	private static final long MAX_TRACKABLE_NANOS = 3_600_000_000_000L;
+
+	private final Map<Channel, ConcurrentSkipListMap<Long, Long>> inFlight = new ConcurrentHashMap<>();
+	private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+	private final LongAdder offered = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	void offered() {
+		offered.increment();
+	}
+
+	/**
+	 * 소비가 시작된 메시지를 등록한다.
+	 *
+	 * @param channel 메시지를 전달받은 채널
+	 * @param deliveryTag 채널 delivery tag
+	 * @param intendedAtNanos 계획 발행 시각
+	 */
+	void register(Channel channel, long deliveryTag, long intendedAtNanos) {
+		inFlight.computeIfAbsent(channel, key -> new ConcurrentSkipListMap<>()).put(deliveryTag, intendedAtNanos);
+	}
+
+	/**
+	 * Ack 된 delivery tag 를 정리하고 지연을 기록한다.
+	 *
+	 * @param channel Ack 이 발행된 채널
+	 * @param deliveryTag delivery tag
+	 * @param multiple multiple Ack 여부
+	 */
+	void acked(Channel channel, long deliveryTag, boolean multiple) {
+		settle(channel, deliveryTag, multiple, false);
+	}
+
+	/**
+	 * Nack 된 delivery tag 를 실패로 정리한다.
+	 *
+	 * @param channel Nack 이 발행된 채널
+	 * @param deliveryTag delivery tag
+	 * @param multiple multiple Nack 여부
+	 */
+	void nacked(Channel channel, long deliveryTag, boolean multiple) {
+		settle(channel, deliveryTag, multiple, true);
+	}
+
+	private void settle(Channel channel, long deliveryTag, boolean multiple, boolean rejected) {
+		ConcurrentSkipListMap<Long, Long> tags = inFlight.get(channel);
+		if (tags == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (!multiple) {
+			Long intendedAt = tags.remove(deliveryTag);
+			if (intendedAt != null) {
+				record(now, intendedAt, rejected);
+			}
+			return;
+		}
+		ConcurrentNavigableMap<Long, Long> settled = tags.headMap(deliveryTag, true);
+		Iterator<Long> iterator = settled.values().iterator();
+		while (iterator.hasNext()) {
+			record(now, iterator.next(), rejected);
+			iterator.remove();
+		}
+	}
+
+	private void record(long now, long intendedAt, boolean rejected) {
+		if (rejected) {
+			failed.increment();
+			return;
+		}
+		completed.increment();
+		recorder.recordValue(Math.min(Math.max(0, now - intendedAt), MAX_TRACKABLE_NANOS));
+	}
+
+	/**
+	 * 마지막 호출 이후 기록된 지연 히스토그램을 반환한다.
+	 *
+	 * @return 구간 히스토그램 (나노초)
+	 */
+	Histogram intervalHistogram() {
+		return recorder.getIntervalHistogram();
+	}
+
+	long offeredCount() {
+		return offered.sum();
+	}
+
+	long completedCount() {
+		return completed.sum();
+	}
+
+	long failedCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * 발행되었지만 아직 Ack/Nack 되지 않은 메시지 수 (lag).
+	 *
+	 * @return 미정리 메시지 수
+	 */
+	long backlog() {
+		return offeredCount() - completedCount() - failedCount();
+	}
+}
@@ -0,0 +1,51 @@
+package com.rabbittick.persister.loadtest;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * 부하 생성기가 만든 메시지 1건.
+ *
+ * @param routingKey 발행 라우팅 키 (예: upbit.trade.krw-btc)
+ * @param body 본문
+ * @param contentType 발행 content_type (null 이면 JSON)
+ * @param contentEncoding 발행 content_encoding (null 이면 설정하지 않음)
+ * @param intendedAtNanos 계획된 발행 시각 (System.nanoTime 기준, 지연 측정 기준점)
+ */
+record GeneratedMessage(
+	String routingKey,
+	byte[] body,
+	String contentType,
+	String contentEncoding,
+	long intendedAtNanos
+) {
+
+	static final String SENT_AT_HEADER = "x-loadtest-sent-at";
+
+	/**
+	 * 인코딩 없는 JSON 메시지를 만든다.
+	 *
+	 * @param routingKey 발행 라우팅 키
+	 * @param body JSON 본문
+	 * @param intendedAtNanos 계획된 발행 시각
+	 */
+	GeneratedMessage(String routingKey, byte[] body, long intendedAtNanos) {
+		this(routingKey, body, MessageProperties.CONTENT_TYPE_JSON, null, intendedAtNanos);
+	}
+
+	/**
+	 * AMQP 메시지로 변환한다. 계획 발행 시각을 헤더에 싣는다.
+	 *
+	 * @return AMQP 메시지
+	 */
+	Message toAmqpMessage() {
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(contentType == null ? MessageProperties.CONTENT_TYPE_JSON : contentType);
+		if (contentEncoding != null) {
+			properties.setContentEncoding(contentEncoding);
+		}
+		properties.setReceivedRoutingKey(routingKey);
+		properties.setHeader(SENT_AT_HEADER, intendedAtNanos);
+		return new Message(body, properties);
+	}
+}
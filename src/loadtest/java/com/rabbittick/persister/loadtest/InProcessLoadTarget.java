@@ -0,0 +1,87 @@
+package com.rabbittick.persister.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.messaging.MarketDataConsumer;
+
+/**
+ * 브로커 없이 실제 MarketDataConsumer 를 직접 호출하는 부하 대상.
+ *
+ * 주요 책임:
+ *
+ * 무제한 큐로 브로커 큐 적체를 흉내 냄 (처리 용량 초과 시 lag 이 증가)
+ * 소비자 수만큼 전용 스레드·스텁 채널을 두고 채널별 delivery tag 를 단조 증가로 부여
+ * 리스너 예외는 재시도 없이 실패로 집계 (재시도·DLQ 경로는 브로커 모드에서 측정)
+ */
+class InProcessLoadTarget implements LoadTarget {
+
+	private static final Logger log = LoggerFactory.getLogger(InProcessLoadTarget.class);
+
+	private final MarketDataConsumer consumer;
+	private final CompletionTracker tracker;
+	private final int consumers;
+	private final BlockingQueue<GeneratedMessage> queue = new LinkedBlockingQueue<>();
+	private final List<Thread> workers = new ArrayList<>();
+
+	InProcessLoadTarget(MarketDataConsumer consumer, CompletionTracker tracker, int consumers) {
+		this.consumer = consumer;
+		this.tracker = tracker;
+		this.consumers = consumers;
+	}
+
+	@Override
+	public void start() {
+		for (int i = 0; i < consumers; i++) {
+			Thread worker = new Thread(this::consume, "loadtest-consumer-" + i);
+			worker.setDaemon(true);
+			workers.add(worker);
+			worker.start();
+		}
+	}
+
+	private void consume() {
+		Channel channel = AckObservingChannel.wrap(null, tracker);
+		long deliveryTag = 0;
+		while (!Thread.currentThread().isInterrupted()) {
+			GeneratedMessage generated;
+			try {
+				generated = queue.take();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			Message message = generated.toAmqpMessage();
+			message.getMessageProperties().setDeliveryTag(++deliveryTag);
+			tracker.register(channel, deliveryTag, generated.intendedAtNanos());
+			try {
+				consumer.handleMarketDataMessage(message, channel);
+			} catch (Exception ex) {
+				log.debug("리스너 처리에 실패했습니다. deliveryTag={}", deliveryTag, ex);
+				tracker.nacked(channel, deliveryTag, false);
+			}
+		}
+	}
+
+	@Override
+	public void submit(GeneratedMessage message) {
+		queue.add(message);
+	}
+
+	@Override
+	public String name() {
+		return "in-process(consumers=" + consumers + ")";
+	}
+
+	@Override
+	public void close() {
+		workers.forEach(Thread::interrupt);
+	}
+}
@@ -0,0 +1,29 @@
+package com.rabbittick.persister.loadtest;
+
+/**
+ * 생성된 메시지를 받아 소비 경로에 흘려보내는 부하 대상.
+ */
+interface LoadTarget extends AutoCloseable {
+
+	/**
+	 * 소비를 시작한다.
+	 */
+	void start();
+
+	/**
+	 * 메시지 1건을 발행한다. 페이서 스레드를 막지 않아야 한다.
+	 *
+	 * @param message 생성된 메시지
+	 */
+	void submit(GeneratedMessage message);
+
+	/**
+	 * 대상 이름 (리포트 표기용).
+	 *
+	 * @return 이름
+	 */
+	String name();
+
+	@Override
+	void close();
+}
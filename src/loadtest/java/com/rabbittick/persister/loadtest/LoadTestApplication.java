@@ -0,0 +1,143 @@
+package com.rabbittick.persister.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.MarketDataPersisterApplication;
+import com.rabbittick.persister.messaging.MarketDataConsumer;
+
+/**
+ * 종단 간 부하 테스트 진입점.
+ *
+ * 합성 메시지를 단계별 목표 속도로 발행하고, 실제 소비·저장·Ack 경로를 거쳐
+ * 정리될 때까지의 처리량, 지연 분포, lag 곡선을 측정한다.
+ *
+ * 실행 예:
+ * ./gradlew loadTest -PloadTestArgs="--target=inprocess --rates=1000,2000,4000 --step-seconds=20"
+ * ./gradlew loadTest -PloadTestArgs="--target=broker --db=app --spring.rabbitmq.host=localhost"
+ * ./gradlew loadTest -PloadTestArgs="--replay=./capture --speed=4"
+ *
+ * inprocess: 브로커 없이 MarketDataConsumer 를 직접 호출 (리스너 컨테이너 미기동)
+ * broker: 실제 RabbitMQ 로 발행하고 애플리케이션 리스너 컨테이너가 소비
+ * --replay 지정 시 합성 부하 대신 app.capture 로 기록한 세그먼트를 재생한다 (--speed=1|N|max).
+ */
+public final class LoadTestApplication {
+
+	private LoadTestApplication() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		CompletionTracker tracker = new CompletionTracker();
+
+		try (ConfigurableApplicationContext context = startContext(options, tracker)) {
+			LoadTarget target = options.inProcess()
+				? new InProcessLoadTarget(context.getBean(MarketDataConsumer.class), tracker, options.consumers())
+				: new BrokerLoadTarget(context.getBean(RabbitTemplate.class),
+					context.getEnvironment().getRequiredProperty("app.rabbitmq.exchange"));
+			LoadTestReporter reporter = new LoadTestReporter(tracker);
+
+			ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "loadtest-lag-sampler");
+				thread.setDaemon(true);
+				return thread;
+			});
+			target.start();
+			sampler.scheduleAtFixedRate(reporter::sampleLag, 1, 1, TimeUnit.SECONDS);
+			try {
+				if (options.replay()) {
+					reporter.beginStep(0);
+					new CaptureReplayer(options.replayDir(), options.replaySpeed()).replay(target, tracker);
+					reporter.endStep();
+				} else {
+					SyntheticMarketDataGenerator generator = new SyntheticMarketDataGenerator(
+						context.getBean(ObjectMapper.class), options);
+					for (int rate : options.rates()) {
+						reporter.beginStep(rate);
+						pace(generator, target, tracker, rate, options.stepSeconds());
+						reporter.endStep();
+					}
+				}
+				drain(tracker, options.drainSeconds());
+			} finally {
+				sampler.shutdownNow();
+				target.close();
+			}
+			reporter.write(options.reportDir(), target.name());
+		}
+	}
+
+	private static ConfigurableApplicationContext startContext(LoadTestOptions options, CompletionTracker tracker) {
+		List<String> properties = new ArrayList<>();
+		properties.add("spring.jpa.properties.hibernate.show_sql=false");
+		properties.add("spring.jpa.properties.hibernate.format_sql=false");
+		properties.add("logging.level.root=WARN");
+		if ("h2".equals(options.database())) {
+			properties.add("spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+			properties.add("spring.datasource.driver-class-name=org.h2.Driver");
+			properties.add("spring.datasource.username=sa");
+			properties.add("spring.datasource.password=");
+			properties.add("spring.jpa.hibernate.ddl-auto=create-drop");
+		}
+		if (options.inProcess()) {
+			properties.add("app.rabbitmq.auto-startup=false");
+		}
+		properties.addAll(options.springProperties());
+
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(MarketDataPersisterApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(properties.toArray(String[]::new));
+		if (!options.inProcess()) {
+			// RabbitListener 어노테이션 처리기보다 먼저 적용되도록 직접 등록한다.
+			builder.initializers(context -> context.getBeanFactory()
+				.addBeanPostProcessor(new AckObservingConsumerPostProcessor(tracker)));
+		}
+		return builder.run();
+	}
+
+	/**
+	 * 목표 속도로 메시지를 발행한다.
+	 * 발행이 밀리면 계획 시각이 지난 메시지를 몰아서 발행해 평균 속도를 유지한다.
+	 */
+	private static void pace(
+		SyntheticMarketDataGenerator generator,
+		LoadTarget target,
+		CompletionTracker tracker,
+		int rate,
+		int stepSeconds
+	) {
+		long intervalNanos = 1_000_000_000L / rate;
+		long startedAt = System.nanoTime();
+		long endsAt = startedAt + TimeUnit.SECONDS.toNanos(stepSeconds);
+		long next = startedAt;
+		while (next < endsAt) {
+			long now = System.nanoTime();
+			if (now < next) {
+				LockSupport.parkNanos(next - now);
+				continue;
+			}
+			while (next <= now && next < endsAt) {
+				target.submit(generator.next(next));
+				tracker.offered();
+				next += intervalNanos;
+			}
+		}
+	}
+
+	private static void drain(CompletionTracker tracker, int drainSeconds) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainSeconds);
+		while (tracker.backlog() > 0 && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+		}
+	}
+}
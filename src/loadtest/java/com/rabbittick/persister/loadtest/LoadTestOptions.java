@@ -0,0 +1,138 @@
+package com.rabbittick.persister.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 실행 옵션.
+ *
+ * --key=value 형식 인자를 해석한다. spring./app./logging. 으로 시작하는 인자는
+ * 애플리케이션 컨텍스트 속성으로 그대로 전달한다.
+ *
+ * @param target inprocess 또는 broker
+ * @param database h2 (인메모리 DB 대역) 또는 app (application.yml 의 데이터소스)
+ * @param markets 합성 마켓 수
+ * @param skew 마켓 선택 Zipf 지수
+ * @param rates 단계별 목표 발행 속도 (msg/s)
+ * @param stepSeconds 단계별 지속 시간 (초)
+ * @param drainSeconds 마지막 단계 후 잔여 메시지 정리 대기 시간 (초)
+ * @param consumers 인프로세스 모드 소비 스레드 수
+ * @param tickerWeight ticker 비율 가중치
+ * @param tradeWeight trade 비율 가중치
+ * @param orderBookWeight orderbook 비율 가중치
+ * @param reportDir 리포트 출력 디렉터리
+ * @param replayDir 캡처 재생 디렉터리 (null 이면 합성 부하)
+ * @param replaySpeed 재생 배속 (0 이면 최대 속도)
+ * @param springProperties 컨텍스트에 전달할 속성
+ */
+record LoadTestOptions(
+	String target,
+	String database,
+	int markets,
+	double skew,
+	int[] rates,
+	int stepSeconds,
+	int drainSeconds,
+	int consumers,
+	double tickerWeight,
+	double tradeWeight,
+	double orderBookWeight,
+	Path reportDir,
+	Path replayDir,
+	double replaySpeed,
+	List<String> springProperties
+) {
+
+	static LoadTestOptions parse(String[] args) {
+		String target = "inprocess";
+		String database = "h2";
+		int markets = 200;
+		double skew = 1.1;
+		int[] rates = { 500, 1000, 2000, 4000, 8000 };
+		int stepSeconds = 30;
+		int drainSeconds = 30;
+		int consumers = 6;
+		double[] mix = { 30, 50, 20 };
+		Path reportDir = Path.of("build", "reports", "loadtest");
+		Path replayDir = null;
+		double replaySpeed = 1;
+		List<String> springProperties = new ArrayList<>();
+
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("인자는 --key=value 형식이어야 한다: " + arg);
+			}
+			String key = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			if (key.startsWith("spring.") || key.startsWith("app.") || key.startsWith("logging.")) {
+				springProperties.add(key + "=" + value);
+				continue;
+			}
+			switch (key) {
+				case "target" -> target = value;
+				case "db" -> database = value;
+				case "markets" -> markets = Integer.parseInt(value);
+				case "skew" -> skew = Double.parseDouble(value);
+				case "rates" -> rates = Arrays.stream(value.split(",")).map(String::trim)
+					.mapToInt(Integer::parseInt).toArray();
+				case "step-seconds" -> stepSeconds = Integer.parseInt(value);
+				case "drain-seconds" -> drainSeconds = Integer.parseInt(value);
+				case "consumers" -> consumers = Integer.parseInt(value);
+				case "mix" -> mix = parseMix(value);
+				case "report-dir" -> reportDir = Path.of(value);
+				case "replay" -> replayDir = Path.of(value);
+				case "speed" -> replaySpeed = "max".equalsIgnoreCase(value) ? 0 : Double.parseDouble(value);
+				default -> throw new IllegalArgumentException("알 수 없는 옵션입니다: " + key);
+			}
+		}
+		if (!"inprocess".equals(target) && !"broker".equals(target)) {
+			throw new IllegalArgumentException("target은 inprocess 또는 broker 여야 한다: " + target);
+		}
+		if (!"h2".equals(database) && !"app".equals(database)) {
+			throw new IllegalArgumentException("db는 h2 또는 app 이어야 한다: " + database);
+		}
+		if (replaySpeed < 0) {
+			throw new IllegalArgumentException("speed는 0 이상 또는 max 여야 한다: " + replaySpeed);
+		}
+		if (markets <= 0 || stepSeconds <= 0 || consumers <= 0 || rates.length == 0
+			|| Arrays.stream(rates).anyMatch(rate -> rate <= 0)) {
+			throw new IllegalArgumentException("markets, step-seconds, consumers, rates는 양수여야 한다");
+		}
+		return new LoadTestOptions(target, database, markets, skew, rates, stepSeconds, drainSeconds, consumers,
+			mix[0], mix[1], mix[2], reportDir, replayDir, replaySpeed, List.copyOf(springProperties));
+	}
+
+	/**
+	 * ticker:30,trade:50,orderbook:20 형식의 비율을 해석한다.
+	 */
+	private static double[] parseMix(String value) {
+		double[] mix = new double[3];
+		for (String part : value.split(",")) {
+			String[] pair = part.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("mix는 type:weight 목록이어야 한다: " + value);
+			}
+			double weight = Double.parseDouble(pair[1]);
+			switch (pair[0].toLowerCase()) {
+				case "ticker" -> mix[0] = weight;
+				case "trade" -> mix[1] = weight;
+				case "orderbook" -> mix[2] = weight;
+				default -> throw new IllegalArgumentException("알 수 없는 dataType 입니다: " + pair[0]);
+			}
+		}
+		if (mix[0] + mix[1] + mix[2] <= 0) {
+			throw new IllegalArgumentException("mix 가중치 합은 양수여야 한다: " + value);
+		}
+		return mix;
+	}
+
+	boolean inProcess() {
+		return "inprocess".equals(target);
+	}
+
+	boolean replay() {
+		return replayDir != null;
+	}
+}
@@ -0,0 +1,114 @@
+package com.rabbittick.persister.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 단계별 처리량·지연·lag 를 집계해 콘솔과 CSV 로 출력한다.
+ *
+ * 주요 책임:
+ *
+ * 1초 간격 lag(미정리 메시지 수) 곡선 기록
+ * 단계 종료 시 목표/실측 처리량, p50/p99/p999 지연, 유지 가능 여부 산출
+ * steps.csv, lag.csv 작성
+ *
+ * 단계 종료 시점 backlog 가 목표 속도 1초 분량 이하이면 해당 속도를 유지 가능(sustained)으로 본다.
+ * 캡처 재생 단계(rate 0)는 실제 발행 속도를 기준으로 판단한다.
+ */
+class LoadTestReporter {
+
+	private final CompletionTracker tracker;
+	private final List<String> stepRows = new ArrayList<>();
+	private final List<String> lagRows = new ArrayList<>();
+	private final long startedAtNanos = System.nanoTime();
+	private int currentRate;
+	private long stepStartedAtNanos;
+	private long stepStartOffered;
+	private long stepStartCompleted;
+	private long stepStartFailed;
+	private int maxSustainedRate;
+
+	LoadTestReporter(CompletionTracker tracker) {
+		this.tracker = tracker;
+	}
+
+	void beginStep(int rate) {
+		tracker.intervalHistogram();
+		currentRate = rate;
+		stepStartedAtNanos = System.nanoTime();
+		stepStartOffered = tracker.offeredCount();
+		stepStartCompleted = tracker.completedCount();
+		stepStartFailed = tracker.failedCount();
+	}
+
+	/**
+	 * lag 곡선에 현재 지점을 추가한다. 스케줄러 스레드에서 1초마다 호출한다.
+	 */
+	synchronized void sampleLag() {
+		double elapsed = (System.nanoTime() - startedAtNanos) / 1e9;
+		lagRows.add(String.format(Locale.ROOT, "%.1f,%d,%d,%d,%d",
+			elapsed, currentRate, tracker.offeredCount(), tracker.completedCount(), tracker.backlog()));
+	}
+
+	void endStep() {
+		double seconds = (System.nanoTime() - stepStartedAtNanos) / 1e9;
+		long completed = tracker.completedCount() - stepStartCompleted;
+		long failed = tracker.failedCount() - stepStartFailed;
+		long backlog = tracker.backlog();
+		Histogram histogram = tracker.intervalHistogram();
+		double throughput = completed / seconds;
+		int effectiveRate = currentRate > 0
+			? currentRate
+			: (int) Math.ceil((tracker.offeredCount() - stepStartOffered) / seconds);
+		boolean sustained = backlog <= effectiveRate;
+		if (sustained) {
+			maxSustainedRate = Math.max(maxSustainedRate, effectiveRate);
+		}
+		String row = String.format(Locale.ROOT, "%d,%.1f,%d,%d,%.3f,%.3f,%.3f,%.3f,%s",
+			effectiveRate, throughput, failed, backlog,
+			millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1e6,
+			sustained);
+		stepRows.add(row);
+		System.out.printf(Locale.ROOT,
+			"rate=%6d msg/s  throughput=%9.1f msg/s  failed=%6d  backlog=%8d  p50=%9.3fms  p99=%9.3fms"
+				+ "  p999=%9.3fms  %s%n",
+			effectiveRate, throughput, failed, backlog,
+			millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+			sustained ? "SUSTAINED" : "SATURATED");
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1e6;
+	}
+
+	/**
+	 * 결과를 CSV 로 저장하고 요약을 출력한다.
+	 *
+	 * @param reportDir 출력 디렉터리
+	 * @param targetName 부하 대상 이름
+	 */
+	synchronized void write(Path reportDir, String targetName) {
+		try {
+			Files.createDirectories(reportDir);
+			List<String> steps = new ArrayList<>();
+			steps.add("target_rate,throughput,failed,backlog,p50_ms,p99_ms,p999_ms,max_ms,sustained");
+			steps.addAll(stepRows);
+			Files.write(reportDir.resolve("steps.csv"), steps);
+			List<String> lag = new ArrayList<>();
+			lag.add("elapsed_s,target_rate,offered,completed,backlog");
+			lag.addAll(lagRows);
+			Files.write(reportDir.resolve("lag.csv"), lag);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		System.out.printf(Locale.ROOT, "%s: max sustained rate=%d msg/s, report=%s%n",
+			targetName, maxSustainedRate, reportDir.toAbsolutePath());
+	}
+}
@@ -0,0 +1,207 @@
+package com.rabbittick.persister.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+/**
+ * Upbit 형태의 ticker/trade/orderbook 메시지를 합성하는 생성기.
+ *
+ * 주요 책임:
+ *
+ * Zipf 분포로 마켓 선택 (market skew)
+ * 데이터 타입 비율(mix)에 따른 타입 선택
+ * 마켓별 가격 랜덤 워크, 단조 증가 timestamp/sequentialId 유지 (UNIQUE 제약 충돌 방지)
+ *
+ * 단일 페이서 스레드에서만 호출한다.
+ */
+class SyntheticMarketDataGenerator {
+
+	private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
+	private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneOffset.UTC);
+	private static final int ORDERBOOK_DEPTH = 15;
+
+	private final ObjectMapper objectMapper;
+	private final ZipfSampler marketSampler;
+	private final List<MarketState> markets = new ArrayList<>();
+	private final double tickerRatio;
+	private final double tradeRatio;
+
+	SyntheticMarketDataGenerator(ObjectMapper objectMapper, LoadTestOptions options) {
+		this.objectMapper = objectMapper;
+		this.marketSampler = new ZipfSampler(options.markets(), options.skew());
+		double total = options.tickerWeight() + options.tradeWeight() + options.orderBookWeight();
+		this.tickerRatio = options.tickerWeight() / total;
+		this.tradeRatio = options.tradeWeight() / total;
+		for (int i = 0; i < options.markets(); i++) {
+			markets.add(new MarketState(String.format(Locale.ROOT, "KRW-S%03d", i), 1_000L + 997L * i));
+		}
+	}
+
+	/**
+	 * 다음 메시지를 생성한다.
+	 *
+	 * @param intendedAtNanos 계획된 발행 시각
+	 * @return 생성된 메시지
+	 */
+	GeneratedMessage next(long intendedAtNanos) {
+		MarketState market = markets.get(marketSampler.next());
+		double pick = ThreadLocalRandom.current().nextDouble();
+		try {
+			if (pick < tickerRatio) {
+				return message("ticker", market, ticker(market), intendedAtNanos);
+			}
+			if (pick < tickerRatio + tradeRatio) {
+				return message("trade", market, trade(market), intendedAtNanos);
+			}
+			return message("orderbook", market, orderBook(market), intendedAtNanos);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private GeneratedMessage message(String dataType, MarketState market, Object payload, long intendedAtNanos)
+		throws JsonProcessingException {
+		Metadata metadata = Metadata.builder()
+			.messageId(UUID.randomUUID().toString())
+			.exchange("UPBIT")
+			.dataType(dataType.toUpperCase(Locale.ROOT))
+			.collectedAt(Instant.now().toString())
+			.version("1.0")
+			.build();
+		byte[] body = objectMapper.writeValueAsBytes(new MarketDataMessage<>(metadata, payload));
+		String routingKey = "upbit." + dataType + "." + market.code.toLowerCase(Locale.ROOT);
+		return new GeneratedMessage(routingKey, body, intendedAtNanos);
+	}
+
+	private TickerPayload ticker(MarketState market) {
+		market.step();
+		return TickerPayload.builder()
+			.marketCode(market.code)
+			.tradePrice(market.price())
+			.tradeVolume(market.volume())
+			.openingPrice(market.openPrice)
+			.highPrice(market.price().max(market.openPrice))
+			.lowPrice(market.price().min(market.openPrice))
+			.prevClosingPrice(market.openPrice)
+			.accTradePrice24h(new BigDecimal("123456789012.12345678"))
+			.accTradeVolume24h(new BigDecimal("1234.12345678"))
+			.timestamp(market.nextTickerTimestamp())
+			.build();
+	}
+
+	private TradePayload trade(MarketState market) {
+		market.step();
+		long now = System.currentTimeMillis();
+		Instant instant = Instant.ofEpochMilli(now);
+		BigDecimal price = market.price();
+		BigDecimal change = price.subtract(market.openPrice);
+		return TradePayload.builder()
+			.marketCode(market.code)
+			.timestamp(now)
+			.tradeDate(DATE.format(instant))
+			.tradeTime(TIME.format(instant))
+			.tradeTimestamp(now)
+			.tradePrice(price)
+			.tradeVolume(market.volume())
+			.askBid(ThreadLocalRandom.current().nextBoolean() ? "ASK" : "BID")
+			.prevClosingPrice(market.openPrice)
+			.change(change.signum() > 0 ? "RISE" : change.signum() < 0 ? "FALL" : "EVEN")
+			.changePrice(change.abs())
+			.sequentialId(++market.sequentialId)
+			.bestAskPrice(price.add(market.tick))
+			.bestAskSize(market.volume())
+			.bestBidPrice(price)
+			.bestBidSize(market.volume())
+			.streamType("REALTIME")
+			.build();
+	}
+
+	private OrderBookPayload orderBook(MarketState market) {
+		market.step();
+		BigDecimal price = market.price();
+		List<OrderBookUnitPayload> units = new ArrayList<>(ORDERBOOK_DEPTH);
+		BigDecimal totalAsk = BigDecimal.ZERO;
+		BigDecimal totalBid = BigDecimal.ZERO;
+		for (int level = 0; level < ORDERBOOK_DEPTH; level++) {
+			BigDecimal offset = market.tick.multiply(BigDecimal.valueOf(level));
+			BigDecimal askSize = market.volume();
+			BigDecimal bidSize = market.volume();
+			totalAsk = totalAsk.add(askSize);
+			totalBid = totalBid.add(bidSize);
+			units.add(OrderBookUnitPayload.builder()
+				.askPrice(price.add(market.tick).add(offset))
+				.askSize(askSize)
+				.bidPrice(price.subtract(offset))
+				.bidSize(bidSize)
+				.build());
+		}
+		return OrderBookPayload.builder()
+			.marketCode(market.code)
+			.timestamp(market.nextOrderBookTimestamp())
+			.totalAskSize(totalAsk)
+			.totalBidSize(totalBid)
+			.orderbookUnits(units)
+			.build();
+	}
+
+	/**
+	 * 마켓별 합성 상태.
+	 */
+	private static final class MarketState {
+		private final String code;
+		private final BigDecimal openPrice;
+		private final BigDecimal tick;
+		private long priceTicks;
+		private long sequentialId;
+		private long lastTickerTimestamp;
+		private long lastOrderBookTimestamp;
+
+		private MarketState(String code, long openTicks) {
+			this.code = code;
+			this.tick = BigDecimal.ONE;
+			this.priceTicks = openTicks;
+			this.openPrice = BigDecimal.valueOf(openTicks);
+			this.sequentialId = System.currentTimeMillis() * 1000;
+		}
+
+		private void step() {
+			priceTicks = Math.max(1, priceTicks + ThreadLocalRandom.current().nextInt(-2, 3));
+		}
+
+		private BigDecimal price() {
+			return tick.multiply(BigDecimal.valueOf(priceTicks));
+		}
+
+		private BigDecimal volume() {
+			return BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble(0.0001, 5.0))
+				.setScale(8, RoundingMode.HALF_UP);
+		}
+
+		private long nextTickerTimestamp() {
+			lastTickerTimestamp = Math.max(System.currentTimeMillis(), lastTickerTimestamp + 1);
+			return lastTickerTimestamp;
+		}
+
+		private long nextOrderBookTimestamp() {
+			lastOrderBookTimestamp = Math.max(System.currentTimeMillis(), lastOrderBookTimestamp + 1);
+			return lastOrderBookTimestamp;
+		}
+	}
+}
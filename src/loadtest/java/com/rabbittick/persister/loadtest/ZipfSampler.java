@@ -0,0 +1,44 @@
+package com.rabbittick.persister.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipf 분포로 인덱스를 뽑는 샘플러.
+ *
+ * 상위 몇 개 마켓에 트래픽이 몰리는 실제 거래소 분포를 흉내 낸다.
+ * skew 0 이면 균등 분포, 1 이상이면 상위 마켓 쏠림이 강해진다.
+ */
+class ZipfSampler {
+
+	private final double[] cumulative;
+
+	ZipfSampler(int size, double skew) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("size는 양수여야 한다");
+		}
+		cumulative = new double[size];
+		double sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += 1.0 / Math.pow(i + 1, skew);
+			cumulative[i] = sum;
+		}
+		for (int i = 0; i < size; i++) {
+			cumulative[i] /= sum;
+		}
+	}
+
+	/**
+	 * 0 부터 size-1 사이의 인덱스를 뽑는다. 작은 인덱스일수록 자주 뽑힌다.
+	 *
+	 * @return 샘플 인덱스
+	 */
+	int next() {
+		double value = ThreadLocalRandom.current().nextDouble();
+		int index = Arrays.binarySearch(cumulative, value);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		return Math.min(index, cumulative.length - 1);
+	}
+}
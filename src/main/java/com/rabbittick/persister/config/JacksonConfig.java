@@ -0,0 +1,30 @@
+package com.rabbittick.persister.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson 역직렬화 설정.
+ *
+ * 페이로드 DTO 는 전용 역직렬화기(global.codec)로 읽고,
+ * 나머지 빈(MarketDataMessage, Metadata 등)은 Blackbird 가 생성한 LambdaMetafactory 접근자로
+ * 리플렉션 setter 호출을 대체한다. Spring Boot 가 Module 빈을 ObjectMapper 에 자동 등록한다.
+ */
+@Configuration
+public class JacksonConfig {
+
+	/**
+	 * Blackbird 모듈을 생성한다.
+	 *
+	 * @return Blackbird 모듈
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "app.jackson.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
@@ -0,0 +1,35 @@
+package com.rabbittick.persister.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rabbittick.persister.global.jdbc.JdbcInstrumentationPostProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * JDBC 단계별 지연 계측 설정.
+ *
+ * app.metrics.jdbc.enabled 가 true(기본)면 DataSource 를 계측 래퍼로 감싸
+ * 커넥션 획득, 문 실행(parent/child insert, update), 커밋 시간과 메시지당 왕복 횟수를 기록한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.metrics.jdbc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+	/**
+	 * DataSource 계측 후처리기를 등록한다.
+	 * 후처리기는 다른 빈보다 먼저 만들어져야 하므로 static 으로 선언한다.
+	 *
+	 * @param meterRegistry 메트릭 레지스트리 공급자
+	 * @return DataSource 계측 후처리기
+	 */
+	@Bean
+	public static JdbcInstrumentationPostProcessor jdbcInstrumentationPostProcessor(
+		ObjectProvider<MeterRegistry> meterRegistry
+	) {
+		return new JdbcInstrumentationPostProcessor(meterRegistry);
+	}
+}
@@ -0,0 +1,26 @@
+package com.rabbittick.persister.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rabbittick.persister.domain.market.RowFormat;
+
+/**
+ * 저장 형식 설정.
+ */
+@Configuration
+public class PersistenceConfig {
+
+	/**
+	 * trade/ticker 저장 행 형식을 생성한다.
+	 * v2 는 Flyway V2 마이그레이션(trade_v2/ticker_v2, 호환 뷰)을 전제로 한다.
+	 *
+	 * @param rowFormat app.persistence.row-format (v1 또는 v2)
+	 * @return 행 형식
+	 */
+	@Bean
+	public RowFormat rowFormat(@Value("${app.persistence.row-format:v1}") String rowFormat) {
+		return RowFormat.of(rowFormat);
+	}
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Map;
 
 import com.rabbittick.persister.messaging.AcknowledgingRepublishMessageRecoverer;
+import com.rabbittick.persister.messaging.capture.MessageCaptureWriter;
 import org.aopalliance.aop.Advice;
 import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
@@ -12,14 +13,18 @@ import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.DataAccessException;
+import org.springframework.classify.BinaryExceptionClassifier;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 
 import java.time.format.DateTimeParseException;
@@ -34,6 +39,10 @@ import com.fasterxml.jackson.databind.JsonMappingException;
  *
  * Exchange/Queue/Binding 선언
  * 수동 Ack 모드 컨테이너 팩토리 설정
+ *
+ * 리스너 컨테이너는 app.rabbitmq.container-type 으로 선택한다.
+ * simple(기본): SimpleMessageListenerContainer, 컨테이너 내부 큐와 소비자 전용 스레드를 사용
+ * direct: DirectMessageListenerContainer, AMQP 클라이언트 스레드에서 리스너를 직접 호출
  */
 @Configuration
 public class RabbitMqConfig {
@@ -59,9 +68,18 @@ public class RabbitMqConfig {
 	@Value("${app.rabbitmq.max-concurrent-consumers:4}")
 	private int maxConcurrentConsumers;
 
+	@Value("${app.rabbitmq.consumers-per-queue:2}")
+	private int consumersPerQueue;
+
+	@Value("${app.rabbitmq.direct-monitor-interval-ms:10000}")
+	private long directMonitorIntervalMs;
+
 	@Value("${app.rabbitmq.prefetch-count:50}")
 	private int prefetchCount;
 
+	@Value("${app.rabbitmq.auto-startup:true}")
+	private boolean autoStartup;
+
 	@Value("${app.rabbitmq.dlq-exchange:market-data.dlx}")
 	private String dlqExchangeName;
 
@@ -104,7 +122,29 @@ public class RabbitMqConfig {
 	 */
 	@Bean
 	public SimpleRetryPolicy messageRetryPolicy() {
-		Map<Class<? extends Throwable>, Boolean> retryableExceptions = Map.of(
+		return new SimpleRetryPolicy(
+			retryMaxAttempts,
+			retryableExceptions(),
+			true,  // traverseCauses: RuntimeException(cause)에서 cause 기준 분류
+			false  // defaultValue: 분류되지 않은 예외는 재시도 안 함 → DLQ로 보존
+		);
+	}
+
+	/**
+	 * messageRetryPolicy 와 같은 기준으로 예외가 재시도 대상인지 판별하는 분류기.
+	 * 배치 봉투의 레코드 단위 재저장에서 일시적 오류(봉투 전체 재시도)와 레코드 오류(해당 레코드만 DLQ)를 가른다.
+	 *
+	 * @return 재시도 대상이면 true 를 반환하는 분류기
+	 */
+	@Bean
+	public BinaryExceptionClassifier messageRetryClassifier() {
+		BinaryExceptionClassifier classifier = new BinaryExceptionClassifier(retryableExceptions(), false);
+		classifier.setTraverseCauses(true);
+		return classifier;
+	}
+
+	private static Map<Class<? extends Throwable>, Boolean> retryableExceptions() {
+		return Map.of(
 			// 재시도 O: 일시적 장애
 			DataAccessException.class, true,
 			IOException.class, true,
@@ -115,11 +155,21 @@ public class RabbitMqConfig {
 			DateTimeParseException.class, false,
 			NumberFormatException.class, false
 		);
-		return new SimpleRetryPolicy(
-			retryMaxAttempts,
-			retryableExceptions,
-			true,  // traverseCauses: RuntimeException(cause)에서 cause 기준 분류
-			false  // defaultValue: 분류되지 않은 예외는 재시도 안 함 → DLQ로 보존
+	}
+
+	/**
+	 * 실패 메시지를 DLQ로 발행한 뒤 원본을 Ack 처리하는 recoverer.
+	 * 동기 리스너의 재시도 어드바이스와 비동기 writer 가 함께 사용한다.
+	 *
+	 * @param rabbitTemplate Rabbit 템플릿
+	 * @return DLQ recoverer
+	 */
+	@Bean
+	public AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer(RabbitTemplate rabbitTemplate) {
+		return new AcknowledgingRepublishMessageRecoverer(
+			rabbitTemplate,
+			dlqExchangeName,
+			dlqRoutingKey
 		);
 	}
 
@@ -127,47 +177,92 @@ public class RabbitMqConfig {
 	 * 재시도 후 DLQ로 전달하는 인터셉터.
 	 * 재시도 가능 예외만 N회 재시도하고, 그 외는 즉시 recoverer(DLQ)로 보낸다.
 	 *
-	 * @param rabbitTemplate Rabbit 템플릿
+	 * @param dlqMessageRecoverer DLQ recoverer 빈
 	 * @param messageRetryPolicy 재시도 정책 빈
 	 * @return 재시도 어드바이스
 	 */
     @Bean
     public Advice retryAdvice(
-        RabbitTemplate rabbitTemplate,
+        AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer,
         SimpleRetryPolicy messageRetryPolicy
     ) {
-        AcknowledgingRepublishMessageRecoverer recoverer = new AcknowledgingRepublishMessageRecoverer(
-            rabbitTemplate,
-            dlqExchangeName,
-            dlqRoutingKey
-        );
         return RetryInterceptorBuilder.stateless()
             .retryPolicy(messageRetryPolicy)
-            .recoverer(recoverer)
+            .recoverer(dlqMessageRecoverer)
             .build();
     }
 
 	/**
-	 * 수동 Ack 모드 컨테이너 팩토리를 생성한다.
+	 * SimpleMessageListenerContainer 기반 수동 Ack 모드 컨테이너 팩토리를 생성한다.
 	 * 재시도 어드바이스를 적용하여 1~2회 재시도 후 DLQ로 전달한다.
 	 *
 	 * @param connectionFactory RabbitMQ 커넥션 팩토리
 	 * @param retryAdvice 재시도 어드바이스
+	 * @param messageCaptureWriter 수신 메시지 캡처 기록기
 	 * @return 리스너 컨테이너 팩토리
 	 */
-	@Bean
-	public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+	@Bean(name = "rabbitListenerContainerFactory")
+	@ConditionalOnProperty(prefix = "app.rabbitmq", name = "container-type", havingValue = "simple", matchIfMissing = true)
+	public SimpleRabbitListenerContainerFactory simpleRabbitListenerContainerFactory(
 		ConnectionFactory connectionFactory,
-		Advice retryAdvice
+		Advice retryAdvice,
+		MessageCaptureWriter messageCaptureWriter
 	) {
 		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-		factory.setConnectionFactory(connectionFactory);
-		factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+		configureCommon(factory, connectionFactory, retryAdvice, messageCaptureWriter);
 		factory.setConcurrentConsumers(concurrentConsumers);
 		factory.setMaxConcurrentConsumers(maxConcurrentConsumers);
+		return factory;
+	}
+
+	/**
+	 * DirectMessageListenerContainer 기반 수동 Ack 모드 컨테이너 팩토리를 생성한다.
+	 *
+	 * 큐당 consumers-per-queue 개의 채널을 열고, 각 채널의 prefetch 만큼 브로커가 메시지를 밀어 넣는다.
+	 * 컨테이너 내부 BlockingQueue 없이 클라이언트 스레드가 리스너를 호출하며,
+	 * Ack/재시도/DLQ 동작은 simple 팩토리와 동일하다.
+	 *
+	 * @param connectionFactory RabbitMQ 커넥션 팩토리
+	 * @param retryAdvice 재시도 어드바이스
+	 * @param messageCaptureWriter 수신 메시지 캡처 기록기
+	 * @return 리스너 컨테이너 팩토리
+	 */
+	@Bean(name = "rabbitListenerContainerFactory")
+	@ConditionalOnProperty(prefix = "app.rabbitmq", name = "container-type", havingValue = "direct")
+	public DirectRabbitListenerContainerFactory directRabbitListenerContainerFactory(
+		ConnectionFactory connectionFactory,
+		Advice retryAdvice,
+		MessageCaptureWriter messageCaptureWriter
+	) {
+		DirectRabbitListenerContainerFactory factory = new DirectRabbitListenerContainerFactory();
+		configureCommon(factory, connectionFactory, retryAdvice, messageCaptureWriter);
+		factory.setConsumersPerQueue(consumersPerQueue);
+		factory.setMonitorInterval(directMonitorIntervalMs);
+		return factory;
+	}
+
+	/**
+	 * 컨테이너 종류와 무관한 공통 설정(수동 Ack, prefetch, 재시도 어드바이스, 자동 시작, 캡처)을 적용한다.
+	 *
+	 * @param factory 리스너 컨테이너 팩토리
+	 * @param connectionFactory RabbitMQ 커넥션 팩토리
+	 * @param retryAdvice 재시도 어드바이스
+	 * @param messageCaptureWriter 수신 메시지 캡처 기록기
+	 */
+	private void configureCommon(
+		AbstractRabbitListenerContainerFactory<?> factory,
+		ConnectionFactory connectionFactory,
+		Advice retryAdvice,
+		MessageCaptureWriter messageCaptureWriter
+	) {
+		factory.setConnectionFactory(connectionFactory);
+		factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
 		factory.setPrefetchCount(prefetchCount);
 		factory.setEnforceImmediateAckForManual(true);
 		factory.setAdviceChain(retryAdvice);
-		return factory;
+		factory.setAutoStartup(autoStartup);
+		if (messageCaptureWriter.isEnabled()) {
+			factory.setAfterReceivePostProcessors(messageCaptureWriter::capture);
+		}
 	}
 }
@@ -0,0 +1,31 @@
+package com.rabbittick.persister.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rabbittick.persister.global.tuning.JdbcBatchSize;
+import com.rabbittick.persister.global.tuning.JpaDialectTuningPostProcessor;
+
+/**
+ * 런타임 튜닝(/actuator/tuning) 설정.
+ *
+ * JDBC 배치 크기를 트랜잭션마다 세션에 적용하도록 JpaDialect 를 교체한다.
+ */
+@Configuration
+public class RuntimeTuningConfig {
+
+	/**
+	 * JpaDialect 교체 후처리기를 등록한다.
+	 * 후처리기는 다른 빈보다 먼저 만들어져야 하므로 static 으로 선언한다.
+	 *
+	 * @param jdbcBatchSize JDBC 배치 크기 공급자
+	 * @return JpaDialect 교체 후처리기
+	 */
+	@Bean
+	public static JpaDialectTuningPostProcessor jpaDialectTuningPostProcessor(
+		ObjectProvider<JdbcBatchSize> jdbcBatchSize
+	) {
+		return new JpaDialectTuningPostProcessor(jdbcBatchSize);
+	}
+}
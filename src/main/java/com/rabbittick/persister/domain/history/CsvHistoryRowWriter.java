@@ -0,0 +1,113 @@
+package com.rabbittick.persister.domain.history;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * 첫 행 앞에 헤더를 쓰고 행마다 한 줄을 기록하는 CSV writer (RFC 4180 따옴표 규칙).
+ */
+class CsvHistoryRowWriter implements HistoryRowWriter {
+
+	private final Writer writer;
+	private ColumnKind[] kinds;
+
+	CsvHistoryRowWriter(OutputStream outputStream) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void writeRow(ResultSet resultSet) throws SQLException, IOException {
+		if (kinds == null) {
+			ResultSetMetaData metaData = resultSet.getMetaData();
+			String[] labels = new String[metaData.getColumnCount()];
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = metaData.getColumnLabel(i + 1);
+			}
+			writeHeader(labels, ColumnKind.of(metaData));
+		}
+		for (int i = 0; i < kinds.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeValue(resultSet, i);
+		}
+		writer.write('\n');
+	}
+
+	@Override
+	public void writeRow(String[] labels, ColumnKind[] kinds, Object[] values) throws IOException {
+		if (this.kinds == null) {
+			writeHeader(labels, kinds);
+		}
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			Object value = values[i];
+			if (value instanceof BigDecimal decimal) {
+				writer.write(decimal.toPlainString());
+			} else if (value instanceof Number number) {
+				writer.write(Long.toString(number.longValue()));
+			} else if (value != null) {
+				writeText(value.toString());
+			}
+		}
+		writer.write('\n');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	private void writeHeader(String[] labels, ColumnKind[] kinds) throws IOException {
+		this.kinds = kinds;
+		for (int i = 0; i < labels.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeText(labels[i]);
+		}
+		writer.write('\n');
+	}
+
+	private void writeValue(ResultSet resultSet, int index) throws SQLException, IOException {
+		int column = index + 1;
+		switch (kinds[index]) {
+			case LONG -> {
+				long value = resultSet.getLong(column);
+				if (!resultSet.wasNull()) {
+					writer.write(Long.toString(value));
+				}
+			}
+			case DECIMAL -> {
+				BigDecimal value = resultSet.getBigDecimal(column);
+				if (value != null) {
+					writer.write(value.toPlainString());
+				}
+			}
+			default -> writeText(resultSet.getString(column));
+		}
+	}
+
+	private void writeText(String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
@@ -0,0 +1,193 @@
+package com.rabbittick.persister.domain.history;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.rabbittick.persister.domain.market.RowFormat;
+
+/**
+ * 이력 조회 대상 데이터셋 정의.
+ *
+ * 주요 책임:
+ *
+ * 데이터셋별 조회 컬럼/테이블/시간 컬럼 정의
+ * keyset(seek) 페이지네이션에 사용할 정렬 키 정의
+ *
+ * 정렬 키는 (exchange, market_code, 시간 컬럼[, 보조 키]) 인덱스를 그대로 따라가도록 구성한다.
+ * v2 행 형식에서는 같은 컬럼 이름을 제공하는 호환 뷰(*_v2_compat)를 조회한다.
+ *
+ * 호가는 orderbook 행만 uk_orderbook_unique (exchange, market_code, timestamp[, id]) 순서로 페이지 조회하고,
+ * 페이지의 호가 단계는 orderbook_id IN (...) 으로 idx_orderbook_unit_ladder 를 따라 따로 읽는다.
+ * 두 테이블에 걸친 정렬은 인덱스로 만들 수 없어 페이지마다 남은 구간 전체를 조인·정렬하게 되기 때문이다.
+ */
+public enum HistoryDataset {
+
+	TRADES(
+		"trades",
+		"SELECT t.exchange AS exchange, t.market_code AS marketCode, t.timestamp AS timestamp,"
+			+ " t.trade_timestamp AS tradeTimestamp, t.trade_price AS tradePrice, t.trade_volume AS tradeVolume,"
+			+ " t.ask_bid AS askBid, t.prev_closing_price AS prevClosingPrice, t.`change` AS `change`,"
+			+ " t.change_price AS changePrice, t.sequential_id AS sequentialId,"
+			+ " t.best_ask_price AS bestAskPrice, t.best_ask_size AS bestAskSize,"
+			+ " t.best_bid_price AS bestBidPrice, t.best_bid_size AS bestBidSize, t.stream_type AS streamType"
+			+ " FROM trade t",
+		"trade t",
+		"trade_v2_compat t",
+		"t.exchange",
+		"t.market_code",
+		"t.trade_timestamp",
+		"t.sequential_id",
+		"tradeTimestamp",
+		"sequentialId"
+	),
+
+	TICKERS(
+		"tickers",
+		"SELECT t.exchange AS exchange, t.market_code AS marketCode, t.timestamp AS timestamp,"
+			+ " t.trade_price AS tradePrice, t.trade_volume AS tradeVolume, t.opening_price AS openingPrice,"
+			+ " t.high_price AS highPrice, t.low_price AS lowPrice, t.prev_closing_price AS prevClosingPrice,"
+			+ " t.acc_trade_price_24h AS accTradePrice24h, t.acc_trade_volume_24h AS accTradeVolume24h"
+			+ " FROM ticker t",
+		"ticker t",
+		"ticker_v2_compat t",
+		"t.exchange",
+		"t.market_code",
+		"t.timestamp",
+		null,
+		"timestamp",
+		null
+	),
+
+	ORDERBOOKS(
+		"orderbooks",
+		"SELECT o.id AS id, o.exchange AS exchange, o.market_code AS marketCode, o.timestamp AS timestamp,"
+			+ " o.total_ask_size AS totalAskSize, o.total_bid_size AS totalBidSize"
+			+ " FROM orderbook o",
+		null,
+		null,
+		"o.exchange",
+		"o.market_code",
+		"o.timestamp",
+		"o.id",
+		"timestamp",
+		"id"
+	);
+
+	private static final String LADDER_SQL_PREFIX = "SELECT u.orderbook_id AS orderbookId, u.unit_index AS unitIndex,"
+		+ " u.ask_price AS askPrice, u.ask_size AS askSize, u.bid_price AS bidPrice, u.bid_size AS bidSize"
+		+ " FROM orderbook_unit u WHERE u.orderbook_id IN (";
+	private static final String LADDER_SQL_SUFFIX = ") ORDER BY u.orderbook_id, u.unit_index";
+
+	private final String pathName;
+	private final String selectFrom;
+	private final String v1Table;
+	private final String v2Table;
+	private final String exchangeColumn;
+	private final String marketColumn;
+	private final String timeColumn;
+	private final String tieBreakerColumn;
+	private final String timeLabel;
+	private final String tieBreakerLabel;
+
+	HistoryDataset(
+		String pathName,
+		String selectFrom,
+		String v1Table,
+		String v2Table,
+		String exchangeColumn,
+		String marketColumn,
+		String timeColumn,
+		String tieBreakerColumn,
+		String timeLabel,
+		String tieBreakerLabel
+	) {
+		this.pathName = pathName;
+		this.selectFrom = selectFrom;
+		this.v1Table = v1Table;
+		this.v2Table = v2Table;
+		this.exchangeColumn = exchangeColumn;
+		this.marketColumn = marketColumn;
+		this.timeColumn = timeColumn;
+		this.tieBreakerColumn = tieBreakerColumn;
+		this.timeLabel = timeLabel;
+		this.tieBreakerLabel = tieBreakerLabel;
+	}
+
+	/**
+	 * URL 경로 이름으로 데이터셋을 찾는다.
+	 *
+	 * @param pathName 경로 이름 (trades, tickers, orderbooks)
+	 * @return 데이터셋
+	 */
+	public static Optional<HistoryDataset> fromPathName(String pathName) {
+		return Arrays.stream(values())
+			.filter(dataset -> dataset.pathName.equalsIgnoreCase(pathName))
+			.findFirst();
+	}
+
+	/**
+	 * keyset 페이지 조회 SQL을 생성한다.
+	 *
+	 * 바인딩 순서: exchange, marketCode, from, to, lastTime[, lastTime, lastTieBreaker], limit
+	 *
+	 * @return 페이지 조회 SQL
+	 */
+	String pageSql() {
+		return pageSql(RowFormat.V1);
+	}
+
+	/**
+	 * 행 형식에 맞는 keyset 페이지 조회 SQL을 생성한다.
+	 *
+	 * @param rowFormat 저장 행 형식
+	 * @return 페이지 조회 SQL
+	 */
+	String pageSql(RowFormat rowFormat) {
+		String from = rowFormat == RowFormat.V2 && v2Table != null
+			? selectFrom.replace(" FROM " + v1Table, " FROM " + v2Table)
+			: selectFrom;
+		StringBuilder sql = new StringBuilder(from)
+			.append(" WHERE ").append(exchangeColumn).append(" = ?")
+			.append(" AND ").append(marketColumn).append(" = ?")
+			.append(" AND ").append(timeColumn).append(" >= ?")
+			.append(" AND ").append(timeColumn).append(" < ?");
+		if (hasTieBreaker()) {
+			sql.append(" AND (").append(timeColumn).append(" > ?")
+				.append(" OR (").append(timeColumn).append(" = ? AND ").append(tieBreakerColumn).append(" > ?))")
+				.append(" ORDER BY ").append(timeColumn).append(", ").append(tieBreakerColumn);
+		} else {
+			sql.append(" AND ").append(timeColumn).append(" > ?")
+				.append(" ORDER BY ").append(timeColumn);
+		}
+		return sql.append(" LIMIT ?").toString();
+	}
+
+	/**
+	 * 호가 페이지의 호가 단계 조회 SQL을 생성한다.
+	 *
+	 * 바인딩 순서: orderbookId x orderBookCount
+	 *
+	 * @param orderBookCount 페이지의 호가 수
+	 * @return 호가 단계 조회 SQL
+	 */
+	static String orderBookLadderSql(int orderBookCount) {
+		StringBuilder sql = new StringBuilder(LADDER_SQL_PREFIX.length() + orderBookCount * 3 + LADDER_SQL_SUFFIX.length())
+			.append(LADDER_SQL_PREFIX);
+		for (int i = 0; i < orderBookCount; i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+		}
+		return sql.append(LADDER_SQL_SUFFIX).toString();
+	}
+
+	boolean hasTieBreaker() {
+		return tieBreakerColumn != null;
+	}
+
+	String timeLabel() {
+		return timeLabel;
+	}
+
+	String tieBreakerLabel() {
+		return tieBreakerLabel;
+	}
+}
@@ -0,0 +1,37 @@
+package com.rabbittick.persister.domain.history;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 이력 조회 응답 포맷.
+ */
+public enum HistoryFormat {
+
+	NDJSON("ndjson", "application/x-ndjson"),
+	CSV("csv", "text/csv");
+
+	private final String name;
+	private final String contentType;
+
+	HistoryFormat(String name, String contentType) {
+		this.name = name;
+		this.contentType = contentType;
+	}
+
+	/**
+	 * 포맷 이름으로 응답 포맷을 찾는다.
+	 *
+	 * @param name 포맷 이름 (ndjson, csv)
+	 * @return 응답 포맷
+	 */
+	public static Optional<HistoryFormat> fromName(String name) {
+		return Arrays.stream(values())
+			.filter(format -> format.name.equalsIgnoreCase(name))
+			.findFirst();
+	}
+
+	public String contentType() {
+		return contentType;
+	}
+}
@@ -0,0 +1,32 @@
+package com.rabbittick.persister.domain.history;
+
+import java.util.Objects;
+
+/**
+ * 이력 조회 조건.
+ *
+ * @param dataset 조회 대상 데이터셋
+ * @param exchange 거래소 이름 (예: UPBIT)
+ * @param marketCode 마켓 코드 (예: KRW-BTC)
+ * @param from 조회 시작 시각 (Unix timestamp ms, 포함)
+ * @param to 조회 종료 시각 (Unix timestamp ms, 제외)
+ * @param limit 최대 행 수 (0 이하면 제한 없음)
+ */
+public record HistoryQuery(
+	HistoryDataset dataset,
+	String exchange,
+	String marketCode,
+	long from,
+	long to,
+	long limit
+) {
+
+	public HistoryQuery {
+		Objects.requireNonNull(dataset, "dataset은 null일 수 없다");
+		Objects.requireNonNull(exchange, "exchange는 null일 수 없다");
+		Objects.requireNonNull(marketCode, "marketCode는 null일 수 없다");
+		if (from >= to) {
+			throw new IllegalArgumentException("from은 to보다 작아야 한다");
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.rabbittick.persister.domain.history;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 시장 데이터 이력 스트리밍 조회 API.
+ *
+ * 주요 책임:
+ *
+ * 거래소/마켓/시간 범위 조건 검증
+ * NDJSON/CSV chunked 스트리밍 응답 생성
+ */
+@RestController
+@RequestMapping("/api/v1/history")
+@RequiredArgsConstructor
+public class HistoryQueryController {
+
+	private final HistoryQueryService historyQueryService;
+
+	/**
+	 * 이력을 스트리밍으로 조회한다.
+	 *
+	 * @param dataset 데이터셋 (trades, tickers, orderbooks)
+	 * @param exchange 거래소 이름
+	 * @param market 마켓 코드
+	 * @param from 조회 시작 시각 (Unix timestamp ms, 포함)
+	 * @param to 조회 종료 시각 (Unix timestamp ms, 제외)
+	 * @param format 응답 포맷 (ndjson, csv)
+	 * @param limit 최대 행 수 (0 이면 제한 없음)
+	 * @return 스트리밍 응답
+	 */
+	@GetMapping("/{dataset}")
+	public ResponseEntity<StreamingResponseBody> stream(
+		@PathVariable String dataset,
+		@RequestParam String exchange,
+		@RequestParam String market,
+		@RequestParam long from,
+		@RequestParam long to,
+		@RequestParam(defaultValue = "ndjson") String format,
+		@RequestParam(defaultValue = "0") long limit
+	) {
+		HistoryDataset historyDataset = HistoryDataset.fromPathName(dataset)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "지원하지 않는 데이터셋입니다: " + dataset));
+		HistoryFormat historyFormat = HistoryFormat.fromName(format)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 포맷입니다: " + format));
+		HistoryQuery query;
+		try {
+			query = new HistoryQuery(historyDataset, exchange, market, from, to, limit);
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+		}
+
+		StreamingResponseBody body = outputStream -> historyQueryService.stream(query, historyFormat, outputStream);
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(historyFormat.contentType()))
+			.body(body);
+	}
+}
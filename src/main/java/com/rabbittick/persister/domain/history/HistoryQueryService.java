@@ -0,0 +1,20 @@
+package com.rabbittick.persister.domain.history;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 시장 데이터 이력 조회 서비스 인터페이스.
+ */
+public interface HistoryQueryService {
+
+	/**
+	 * 조회 결과를 지정한 포맷으로 출력 스트림에 기록한다.
+	 *
+	 * @param query 조회 조건
+	 * @param format 응답 포맷
+	 * @param outputStream 응답 출력 스트림
+	 * @throws IOException 응답 기록 실패 시
+	 */
+	void stream(HistoryQuery query, HistoryFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,252 @@
+package com.rabbittick.persister.domain.history;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.domain.history.HistoryRowWriter.ColumnKind;
+import com.rabbittick.persister.domain.market.RowFormat;
+
+/**
+ * keyset(seek) 페이지네이션 기반 이력 조회 서비스 구현체.
+ *
+ * 주요 책임:
+ *
+ * (exchange, market_code, 시간[, 보조 키]) 순서의 seek 조건으로 페이지 반복 조회
+ * forward-only 커서에서 읽은 행을 즉시 응답에 기록
+ * 페이지마다 flush 하여 chunk 단위로 전송
+ *
+ * OFFSET 을 사용하지 않으므로 조회 위치와 무관하게 페이지 비용이 일정하다.
+ * MySQL 에서 fetch-size 를 Integer.MIN_VALUE 로 두면 드라이버가 행을 버퍼링하지 않고 스트리밍한다.
+ *
+ * 호가는 orderbook 행을 orderbook-page-size 건씩 seek 조회한 뒤, 그 페이지의 호가 단계를
+ * orderbook_id IN (...) 으로 한 번에 읽어 호가 시각 순으로 펼쳐 기록한다 (페이지 단위로만 메모리에 보관).
+ */
+@Service
+public class HistoryQueryServiceImpl implements HistoryQueryService {
+
+	private static final String[] ORDERBOOK_LABELS = {
+		"exchange", "marketCode", "timestamp", "totalAskSize", "totalBidSize",
+		"unitIndex", "askPrice", "askSize", "bidPrice", "bidSize"
+	};
+	private static final ColumnKind[] ORDERBOOK_KINDS = {
+		ColumnKind.TEXT, ColumnKind.TEXT, ColumnKind.LONG, ColumnKind.DECIMAL, ColumnKind.DECIMAL,
+		ColumnKind.LONG, ColumnKind.DECIMAL, ColumnKind.DECIMAL, ColumnKind.DECIMAL, ColumnKind.DECIMAL
+	};
+	private static final RowMapper<OrderBookRow> ORDERBOOK_MAPPER = (rs, rowNum) -> new OrderBookRow(
+		rs.getLong("id"),
+		rs.getString("exchange"),
+		rs.getString("marketCode"),
+		rs.getLong("timestamp"),
+		rs.getBigDecimal("totalAskSize"),
+		rs.getBigDecimal("totalBidSize")
+	);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final int pageSize;
+	private final int orderBookPageSize;
+	private final RowFormat rowFormat;
+
+	/**
+	 * HistoryQueryServiceImpl 생성자.
+	 *
+	 * @param dataSource 데이터 소스
+	 * @param objectMapper JSON 변환기
+	 * @param pageSize keyset 페이지 크기
+	 * @param orderBookPageSize 호가 keyset 페이지 크기 (호가 수 기준)
+	 * @param fetchSize JDBC fetch size
+	 * @param rowFormat 저장 행 형식 (v2 면 호환 뷰 조회)
+	 */
+	public HistoryQueryServiceImpl(
+		DataSource dataSource,
+		ObjectMapper objectMapper,
+		@Value("${app.history.page-size:5000}") int pageSize,
+		@Value("${app.history.orderbook-page-size:500}") int orderBookPageSize,
+		@Value("${app.history.fetch-size:1000}") int fetchSize,
+		RowFormat rowFormat
+	) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(fetchSize);
+		this.objectMapper = objectMapper;
+		this.pageSize = pageSize;
+		this.orderBookPageSize = orderBookPageSize;
+		this.rowFormat = rowFormat;
+	}
+
+	@Override
+	public void stream(HistoryQuery query, HistoryFormat format, OutputStream outputStream) throws IOException {
+		HistoryDataset dataset = query.dataset();
+		HistoryRowWriter writer = createWriter(format, outputStream);
+		if (dataset == HistoryDataset.ORDERBOOKS) {
+			streamOrderBooks(query, writer);
+			return;
+		}
+		String sql = dataset.pageSql(rowFormat);
+		long remaining = query.limit() > 0 ? query.limit() : Long.MAX_VALUE;
+		SeekPosition position = new SeekPosition(query.from() - 1, Long.MIN_VALUE);
+
+		try {
+			while (remaining > 0) {
+				int pageLimit = (int) Math.min(pageSize, remaining);
+				SeekPosition start = position;
+				PageResult page = new PageResult(start);
+				jdbcTemplate.query(
+					sql,
+					ps -> bindPage(ps, query, start, pageLimit),
+					rs -> {
+						try {
+							writer.writeRow(rs);
+						} catch (IOException ex) {
+							throw new UncheckedIOException(ex);
+						}
+						page.rows++;
+						page.last = new SeekPosition(
+							rs.getLong(dataset.timeLabel()),
+							dataset.hasTieBreaker() ? rs.getLong(dataset.tieBreakerLabel()) : Long.MIN_VALUE
+						);
+					}
+				);
+				writer.flush();
+				remaining -= page.rows;
+				position = page.last;
+				if (page.rows < pageLimit) {
+					break;
+				}
+			}
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private void streamOrderBooks(HistoryQuery query, HistoryRowWriter writer) throws IOException {
+		String sql = HistoryDataset.ORDERBOOKS.pageSql(rowFormat);
+		long remaining = query.limit() > 0 ? query.limit() : Long.MAX_VALUE;
+		SeekPosition position = new SeekPosition(query.from() - 1, Long.MIN_VALUE);
+		Object[] values = new Object[ORDERBOOK_LABELS.length];
+
+		while (remaining > 0) {
+			int pageLimit = (int) Math.min(orderBookPageSize, remaining);
+			SeekPosition start = position;
+			List<OrderBookRow> orderBooks = jdbcTemplate.query(
+				sql, ps -> bindPage(ps, query, start, pageLimit), ORDERBOOK_MAPPER);
+			if (orderBooks.isEmpty()) {
+				break;
+			}
+			Map<Long, List<Object[]>> ladders = loadLadders(orderBooks);
+			for (OrderBookRow orderBook : orderBooks) {
+				values[0] = orderBook.exchange();
+				values[1] = orderBook.marketCode();
+				values[2] = orderBook.timestamp();
+				values[3] = orderBook.totalAskSize();
+				values[4] = orderBook.totalBidSize();
+				for (Object[] unit : ladders.getOrDefault(orderBook.id(), List.of())) {
+					if (remaining == 0) {
+						break;
+					}
+					System.arraycopy(unit, 0, values, 5, unit.length);
+					writer.writeRow(ORDERBOOK_LABELS, ORDERBOOK_KINDS, values);
+					remaining--;
+				}
+			}
+			writer.flush();
+			OrderBookRow last = orderBooks.get(orderBooks.size() - 1);
+			position = new SeekPosition(last.timestamp(), last.id());
+			if (orderBooks.size() < pageLimit) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * 페이지의 호가 단계를 orderbook_id, unit_index 순으로 읽어 호가별로 모은다.
+	 *
+	 * @param orderBooks 페이지의 호가 행
+	 * @return 호가 ID 별 단계 값 (unitIndex, askPrice, askSize, bidPrice, bidSize)
+	 */
+	private Map<Long, List<Object[]>> loadLadders(List<OrderBookRow> orderBooks) {
+		Object[] ids = new Object[orderBooks.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = orderBooks.get(i).id();
+		}
+		Map<Long, List<Object[]>> ladders = new HashMap<>(ids.length * 2);
+		jdbcTemplate.query(HistoryDataset.orderBookLadderSql(ids.length), rs -> {
+			ladders.computeIfAbsent(rs.getLong("orderbookId"), id -> new ArrayList<>()).add(new Object[] {
+				rs.getLong("unitIndex"),
+				rs.getBigDecimal("askPrice"),
+				rs.getBigDecimal("askSize"),
+				rs.getBigDecimal("bidPrice"),
+				rs.getBigDecimal("bidSize")
+			});
+		}, ids);
+		return ladders;
+	}
+
+	private void bindPage(PreparedStatement ps, HistoryQuery query, SeekPosition start, int pageLimit)
+		throws SQLException {
+		int index = 1;
+		ps.setString(index++, query.exchange());
+		ps.setString(index++, query.marketCode());
+		ps.setLong(index++, query.from());
+		ps.setLong(index++, query.to());
+		ps.setLong(index++, start.time());
+		if (query.dataset().hasTieBreaker()) {
+			ps.setLong(index++, start.time());
+			ps.setLong(index++, start.tieBreaker());
+		}
+		ps.setInt(index, pageLimit);
+	}
+
+	private HistoryRowWriter createWriter(HistoryFormat format, OutputStream outputStream) throws IOException {
+		return switch (format) {
+			case NDJSON -> new NdjsonHistoryRowWriter(objectMapper, outputStream);
+			case CSV -> new CsvHistoryRowWriter(outputStream);
+		};
+	}
+
+	/**
+	 * 마지막으로 읽은 행의 정렬 키.
+	 *
+	 * @param time 시간 컬럼 값
+	 * @param tieBreaker 보조 키 값 (없으면 Long.MIN_VALUE)
+	 */
+	private record SeekPosition(long time, long tieBreaker) {
+	}
+
+	/**
+	 * 호가 페이지에서 읽은 orderbook 행.
+	 */
+	private record OrderBookRow(
+		long id,
+		String exchange,
+		String marketCode,
+		long timestamp,
+		BigDecimal totalAskSize,
+		BigDecimal totalBidSize
+	) {
+	}
+
+	private static final class PageResult {
+		private int rows;
+		private SeekPosition last;
+
+		private PageResult(SeekPosition start) {
+			this.last = start;
+		}
+	}
+}
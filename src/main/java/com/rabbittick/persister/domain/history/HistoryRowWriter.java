@@ -0,0 +1,62 @@
+package com.rabbittick.persister.domain.history;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * 조회 결과 행을 응답 스트림에 즉시 기록하는 writer.
+ *
+ * 행을 모아두지 않고 ResultSet 커서에서 읽는 즉시 기록하므로 결과 크기와 무관하게 메모리 사용량이 일정하다.
+ */
+interface HistoryRowWriter {
+
+	/**
+	 * 현재 커서 위치의 행을 기록한다.
+	 *
+	 * @param resultSet 커서가 위치한 ResultSet
+	 * @throws SQLException 컬럼 조회 실패 시
+	 * @throws IOException 응답 기록 실패 시
+	 */
+	void writeRow(ResultSet resultSet) throws SQLException, IOException;
+
+	/**
+	 * 애플리케이션에서 조합한 행을 기록한다 (호가 + 호가 단계 등 한 번의 조회로 읽지 않은 행).
+	 *
+	 * @param labels 컬럼 이름
+	 * @param kinds 컬럼 값 종류
+	 * @param values 컬럼 값 (LONG 은 Number, DECIMAL 은 BigDecimal, TEXT 는 String, 없으면 null)
+	 * @throws IOException 응답 기록 실패 시
+	 */
+	void writeRow(String[] labels, ColumnKind[] kinds, Object[] values) throws IOException;
+
+	/**
+	 * 버퍼에 남은 내용을 응답으로 내보낸다. 페이지 단위로 호출되어 chunk 로 전송된다.
+	 *
+	 * @throws IOException 응답 기록 실패 시
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * 컬럼 값을 기록할 때 사용할 값 종류.
+	 */
+	enum ColumnKind {
+		LONG,
+		DECIMAL,
+		TEXT;
+
+		static ColumnKind[] of(ResultSetMetaData metaData) throws SQLException {
+			ColumnKind[] kinds = new ColumnKind[metaData.getColumnCount()];
+			for (int i = 0; i < kinds.length; i++) {
+				kinds[i] = switch (metaData.getColumnType(i + 1)) {
+					case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> LONG;
+					case Types.DECIMAL, Types.NUMERIC -> DECIMAL;
+					default -> TEXT;
+				};
+			}
+			return kinds;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.rabbittick.persister.domain.history;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 행마다 JSON 객체 한 줄을 기록하는 NDJSON writer.
+ */
+class NdjsonHistoryRowWriter implements HistoryRowWriter {
+
+	private final JsonGenerator generator;
+	private String[] labels;
+	private ColumnKind[] kinds;
+
+	NdjsonHistoryRowWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+		this.generator = objectMapper.getFactory().createGenerator(outputStream);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	@Override
+	public void writeRow(ResultSet resultSet) throws SQLException, IOException {
+		if (labels == null) {
+			ResultSetMetaData metaData = resultSet.getMetaData();
+			kinds = ColumnKind.of(metaData);
+			labels = new String[kinds.length];
+			for (int i = 0; i < labels.length; i++) {
+				labels[i] = metaData.getColumnLabel(i + 1);
+			}
+		}
+		generator.writeStartObject();
+		for (int i = 0; i < labels.length; i++) {
+			generator.writeFieldName(labels[i]);
+			writeValue(resultSet, i);
+		}
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void writeRow(String[] labels, ColumnKind[] kinds, Object[] values) throws IOException {
+		generator.writeStartObject();
+		for (int i = 0; i < labels.length; i++) {
+			generator.writeFieldName(labels[i]);
+			Object value = values[i];
+			if (value == null) {
+				generator.writeNull();
+			} else if (value instanceof BigDecimal decimal) {
+				generator.writeNumber(decimal);
+			} else if (value instanceof Number number) {
+				generator.writeNumber(number.longValue());
+			} else {
+				generator.writeString(value.toString());
+			}
+		}
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		generator.flush();
+	}
+
+	private void writeValue(ResultSet resultSet, int index) throws SQLException, IOException {
+		int column = index + 1;
+		switch (kinds[index]) {
+			case LONG -> {
+				long value = resultSet.getLong(column);
+				if (resultSet.wasNull()) {
+					generator.writeNull();
+				} else {
+					generator.writeNumber(value);
+				}
+			}
+			case DECIMAL -> {
+				BigDecimal value = resultSet.getBigDecimal(column);
+				if (value == null) {
+					generator.writeNull();
+				} else {
+					generator.writeNumber(value);
+				}
+			}
+			default -> generator.writeString(resultSet.getString(column));
+		}
+	}
+}
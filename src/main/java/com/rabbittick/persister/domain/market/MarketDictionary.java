@@ -0,0 +1,125 @@
+package com.rabbittick.persister.domain.market;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+import com.rabbittick.persister.global.symbol.SymbolTable;
+import com.rabbittick.persister.global.tx.AfterCommit;
+
+/**
+ * 거래소/마켓 코드를 SMALLINT 사전 ID 로 변환하는 사전.
+ *
+ * 주요 책임:
+ *
+ * 메모리 캐시 조회 (저장 경로의 일반적인 경우)
+ * 캐시 미스 시 market_dictionary 조회, 없으면 등록
+ * 기동 시 등록된 사전 전체를 캐시와 SymbolTable 에 적재
+ *
+ * 등록은 호출한 저장 트랜잭션의 커넥션에서 수행하고, 캐시에는 그 트랜잭션이 커밋된 뒤에만 넣는다.
+ * 별도 트랜잭션(REQUIRES_NEW)은 저장 트랜잭션이 이미 잡은 커넥션 외에 풀 커넥션을 하나 더 요구하므로
+ * 동시 저장이 풀 크기에 이르면 서로를 기다리며 멈출 수 있어 쓰지 않는다.
+ * 저장 트랜잭션이 롤백되면 등록도 함께 롤백되고 캐시에도 남지 않는다.
+ * 여러 트랜잭션·인스턴스가 동시에 등록하면 UNIQUE 제약으로 한쪽만 성공하고,
+ * 나머지는 먼저 등록한 쪽이 끝날 때까지 기다린 뒤 잠금 읽기로 재조회한다.
+ */
+@Component
+public class MarketDictionary implements SmartInitializingSingleton {
+
+	private static final Logger log = LoggerFactory.getLogger(MarketDictionary.class);
+	private static final String SELECT_ID = "SELECT id FROM market_dictionary WHERE exchange = ? AND market_code = ?";
+	private static final String SELECT_ID_LOCKING = SELECT_ID + " FOR UPDATE";
+	private static final String SELECT_ALL = "SELECT id, exchange, market_code FROM market_dictionary";
+	private static final String INSERT = "INSERT INTO market_dictionary (exchange, market_code) VALUES (?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final SymbolTable symbolTable = SymbolTable.shared();
+	private final Map<MarketKey, Short> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * MarketDictionary 생성자.
+	 *
+	 * @param dataSource 데이터 소스 (저장 트랜잭션과 같은 커넥션을 쓰도록 JPA 와 같은 빈)
+	 */
+	public MarketDictionary(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * 리스너 컨테이너가 시작되기 전에 등록된 사전을 적재한다.
+	 * 디코더가 처음 받는 메시지부터 정규 문자열을 재사용하고, 저장 경로의 캐시 미스도 없앤다.
+	 * 테이블이 아직 없으면(v1 전용 스키마 등) 적재를 건너뛰고 첫 조회 때 채운다.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		try {
+			jdbcTemplate.query(SELECT_ALL, rs -> {
+				MarketKey key = new MarketKey(
+					symbolTable.intern(rs.getString("exchange")),
+					symbolTable.intern(rs.getString("market_code"))
+				);
+				ids.put(key, rs.getShort("id"));
+			});
+			log.info("마켓 사전을 적재했습니다. markets={}", ids.size());
+		} catch (DataAccessException ex) {
+			log.warn("마켓 사전을 적재하지 못했습니다. 첫 조회 시 채웁니다.", ex);
+		}
+	}
+
+	/**
+	 * 마켓의 사전 ID 를 반환한다. 처음 보는 마켓이면 현재 트랜잭션 안에서 등록한다.
+	 *
+	 * @param key 정규화된 마켓 키
+	 * @return 사전 ID
+	 */
+	public short resolve(MarketKey key) {
+		Short id = ids.get(key);
+		return id != null ? id : load(key);
+	}
+
+	private short load(MarketKey key) {
+		Short id = selectOrInsert(key);
+		if (id == null) {
+			throw new IllegalStateException("마켓 사전 ID를 등록하지 못했다: " + key);
+		}
+		MarketKey canonical = new MarketKey(symbolTable.intern(key.exchange()), symbolTable.intern(key.marketCode()));
+		AfterCommit.run(() -> ids.putIfAbsent(canonical, id));
+		return id;
+	}
+
+	private Short selectOrInsert(MarketKey key) {
+		Short id = select(key);
+		if (id != null) {
+			return id;
+		}
+		try {
+			jdbcTemplate.update(INSERT, key.exchange(), key.marketCode());
+		} catch (DuplicateKeyException ex) {
+			// 다른 트랜잭션이 먼저 등록했다. 일관성 읽기 스냅샷에는 보이지 않으므로 잠금 읽기로 재조회한다.
+		}
+		return selectLocking(key);
+	}
+
+	private Short select(MarketKey key) {
+		return first(jdbcTemplate.queryForList(SELECT_ID, Short.class, key.exchange(), key.marketCode()));
+	}
+
+	private Short selectLocking(MarketKey key) {
+		return first(jdbcTemplate.queryForList(SELECT_ID_LOCKING, Short.class, key.exchange(), key.marketCode()));
+	}
+
+	private static Short first(List<Short> found) {
+		return found.isEmpty() ? null : found.get(0);
+	}
+}
@@ -0,0 +1,41 @@
+package com.rabbittick.persister.domain.market;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 거래소/마켓 코드 사전 엔트리.
+ *
+ * v2 행 형식은 exchange/market_code 문자열 대신 이 사전의 SMALLINT ID 를 저장한다.
+ * 엔트리 생성은 MarketDictionary 가 담당한다.
+ */
+@Entity
+@Table(
+	name = "market_dictionary",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_market_dictionary",
+		columnNames = { "exchange", "market_code" }
+	)
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MarketDictionaryEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Short id;
+
+	@Column(nullable = false, length = 20)
+	private String exchange;
+
+	@Column(name = "market_code", nullable = false, length = 20)
+	private String marketCode;
+}
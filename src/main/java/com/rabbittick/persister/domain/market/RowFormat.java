@@ -0,0 +1,29 @@
+package com.rabbittick.persister.domain.market;
+
+import java.util.Locale;
+
+/**
+ * trade/ticker 저장 행 형식.
+ *
+ * V1: exchange/market_code 문자열, 문자열 코드 컬럼, 파생 날짜/시각, created_at 을 모두 저장하는 기존 형식
+ * V2: 마켓 사전 ID(SMALLINT)와 TINYINT 코드로 줄인 compact 형식 (trade_v2/ticker_v2, 읽기는 *_v2_compat 뷰)
+ */
+public enum RowFormat {
+
+	V1,
+	V2;
+
+	/**
+	 * 설정 문자열로 행 형식을 찾는다.
+	 *
+	 * @param value v1 또는 v2
+	 * @return 행 형식
+	 */
+	public static RowFormat of(String value) {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("app.persistence.row-format은 v1 또는 v2여야 한다: " + value, ex);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.rabbittick.persister.domain.orderbook;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,13 +18,17 @@ import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
  *
  * 입력 메시지/페이로드 필수 필드 검증
  * 엔티티 필드 매핑
+ * 최우선 호가·유동성 지표(OrderBookTop) 계산
  *
  * 이 매퍼는 저장 계층으로 전달되는 데이터의 품질을 보장하며,
  * 누락된 필드가 있을 경우 명확한 예외를 발생시킨다.
  */
 @Component
 public class OrderBookMapper {
-	
+
+	private static final int SCALE = 8;
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
 	/**
 	 * MarketDataMessage를 OrderBook 엔티티로 변환한다.
 	 *
@@ -53,6 +59,50 @@ public class OrderBookMapper {
 			.build();
 	}
 
+	/**
+	 * 변환된 호가 엔티티에서 최우선 호가·유동성 지표를 계산한다.
+	 * 호가 단위는 최우선 호가부터 정렬되어 있다고 본다 (orderbook_units[0] 이 최우선).
+	 *
+	 * @param orderBook toEntity 로 변환한 호가 엔티티
+	 * @param depthLevels 잔량을 합산할 최대 호가 단계 수
+	 * @return 변환된 OrderBookTop 엔티티
+	 * @throws IllegalArgumentException depthLevels 가 1 ~ 127 범위가 아닌 경우
+	 */
+	public OrderBookTop toTopEntity(OrderBook orderBook, int depthLevels) {
+		if (depthLevels < 1 || depthLevels > Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("depthLevels는 1 이상 127 이하여야 한다");
+		}
+		List<OrderBookUnit> units = orderBook.getOrderbookUnits();
+		OrderBookUnit best = units.get(0);
+		int levels = Math.min(depthLevels, units.size());
+		BigDecimal bidDepth = BigDecimal.ZERO;
+		BigDecimal askDepth = BigDecimal.ZERO;
+		for (int i = 0; i < levels; i++) {
+			bidDepth = bidDepth.add(units.get(i).getBidSize());
+			askDepth = askDepth.add(units.get(i).getAskSize());
+		}
+		BigDecimal totalDepth = bidDepth.add(askDepth);
+		BigDecimal imbalance = totalDepth.signum() == 0
+			? BigDecimal.ZERO
+			: bidDepth.subtract(askDepth).divide(totalDepth, SCALE, RoundingMode.HALF_EVEN);
+
+		return OrderBookTop.builder()
+			.exchange(orderBook.getExchange())
+			.marketCode(orderBook.getMarketCode())
+			.timestamp(orderBook.getTimestamp())
+			.bestBidPrice(best.getBidPrice())
+			.bestBidSize(best.getBidSize())
+			.bestAskPrice(best.getAskPrice())
+			.bestAskSize(best.getAskSize())
+			.spread(best.getAskPrice().subtract(best.getBidPrice()))
+			.midPrice(best.getAskPrice().add(best.getBidPrice()).divide(TWO).setScale(SCALE, RoundingMode.HALF_EVEN))
+			.depthLevels((byte) levels)
+			.bidDepth(bidDepth)
+			.askDepth(askDepth)
+			.imbalance(imbalance)
+			.build();
+	}
+
 	/**
 	 * 호가 단위 payload를 OrderBookUnit 엔티티로 변환한다.
 	 *
@@ -1,27 +1,66 @@
 package com.rabbittick.persister.domain.orderbook;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.rabbittick.persister.domain.snapshot.MarketSnapshotStore;
 import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.OrderBookPayload;
-
-import lombok.RequiredArgsConstructor;
+import com.rabbittick.persister.global.jfr.MapEvent;
 
 /**
  * 호가 저장 도메인 서비스 구현체.
  *
  * 주요 책임:
  *
- * 메시지 -> 엔티티 변환 호출
- * 트랜잭션 내 저장 처리
+ * 메시지 -> 엔티티 변환 호출 (JFR MapEvent 기록)
+ * 트랜잭션 내 저장 처리 (배치 봉투는 한 트랜잭션으로 저장)
+ * 같은 트랜잭션에서 최우선 호가·유동성 지표(orderbook_top) 저장
+ * 커밋 이후 최신 상태 스냅샷 갱신
  */
 @Service
-@RequiredArgsConstructor
 public class OrderBookServiceImpl implements OrderBookService {
 	
 	private final OrderBookRepository orderBookRepository;
+	private final OrderBookTopRepository orderBookTopRepository;
 	private final OrderBookMapper orderBookMapper;
+	private final MarketSnapshotStore marketSnapshotStore;
+	private final boolean topEnabled;
+	private final int topDepthLevels;
+
+	/**
+	 * OrderBookServiceImpl 생성자.
+	 *
+	 * @param orderBookRepository 호가 저장소
+	 * @param orderBookTopRepository 최우선 호가 지표 저장소
+	 * @param orderBookMapper 호가 매퍼
+	 * @param marketSnapshotStore 최신 상태 스냅샷 스토어
+	 * @param topEnabled orderbook_top 저장 여부
+	 * @param topDepthLevels 잔량을 합산할 최대 호가 단계 수
+	 */
+	public OrderBookServiceImpl(
+		OrderBookRepository orderBookRepository,
+		OrderBookTopRepository orderBookTopRepository,
+		OrderBookMapper orderBookMapper,
+		MarketSnapshotStore marketSnapshotStore,
+		@Value("${app.orderbook-top.enabled:true}") boolean topEnabled,
+		@Value("${app.orderbook-top.depth-levels:5}") int topDepthLevels
+	) {
+		if (topDepthLevels < 1 || topDepthLevels > Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("app.orderbook-top.depth-levels는 1 이상 127 이하여야 한다");
+		}
+		this.orderBookRepository = orderBookRepository;
+		this.orderBookTopRepository = orderBookTopRepository;
+		this.orderBookMapper = orderBookMapper;
+		this.marketSnapshotStore = marketSnapshotStore;
+		this.topEnabled = topEnabled;
+		this.topDepthLevels = topDepthLevels;
+	}
 
 	/**
 	 * 호가 메시지를 저장한다.
@@ -31,7 +70,47 @@ public class OrderBookServiceImpl implements OrderBookService {
 	@Override
 	@Transactional
 	public void saveOrderBook(MarketDataMessage<OrderBookPayload> message) {
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
 		OrderBook orderBook = orderBookMapper.toEntity(message);
+		mapEvent.complete("orderbook", message.getPayload().getMarketCode(), 1);
 		orderBookRepository.save(orderBook);
+		if (topEnabled) {
+			orderBookTopRepository.save(orderBookMapper.toTopEntity(orderBook, topDepthLevels));
+		}
+		marketSnapshotStore.onOrderBookPersisted(orderBook);
+	}
+
+	/**
+	 * 배치 봉투의 호가 레코드를 한 트랜잭션으로 저장한다.
+	 * orderbook 은 IDENTITY 키이고 orderbook_unit 이 생성된 ID 를 참조하므로 JDBC 배치로 묶지 않는다.
+	 * saveAll 은 호가마다 INSERT 를 보내며, 묶음의 이점은 트랜잭션·커밋이 한 번이라는 것뿐이다.
+	 * 한 레코드라도 실패하면 전체가 롤백되며, 레코드 단위 재처리는 호출자가 담당한다.
+	 *
+	 * @param metadata 배치 공통 메타데이터
+	 * @param payloads 페이로드 목록
+	 */
+	@Override
+	@Transactional
+	public void saveOrderBooks(Metadata metadata, List<OrderBookPayload> payloads) {
+		if (payloads.isEmpty()) {
+			return;
+		}
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
+		List<OrderBook> orderBooks = new ArrayList<>(payloads.size());
+		for (OrderBookPayload payload : payloads) {
+			orderBooks.add(orderBookMapper.toEntity(new MarketDataMessage<>(metadata, payload)));
+		}
+		mapEvent.complete("orderbook", payloads.get(0).getMarketCode(), orderBooks.size());
+		orderBookRepository.saveAll(orderBooks);
+		if (topEnabled) {
+			List<OrderBookTop> tops = new ArrayList<>(orderBooks.size());
+			for (OrderBook orderBook : orderBooks) {
+				tops.add(orderBookMapper.toTopEntity(orderBook, topDepthLevels));
+			}
+			orderBookTopRepository.saveAll(tops);
+		}
+		orderBooks.forEach(marketSnapshotStore::onOrderBookPersisted);
 	}
 }
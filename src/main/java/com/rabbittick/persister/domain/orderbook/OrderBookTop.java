@@ -0,0 +1,106 @@
+package com.rabbittick.persister.domain.orderbook;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 호가 스냅샷마다 수집 시점에 계산한 최우선 호가·유동성 지표 엔티티.
+ *
+ * 주요 책임:
+ *
+ * orderbook_top 스키마와의 정확한 매핑
+ * UNIQUE 제약(orderbook 과 같은 키)을 통한 멱등성 기반 지원
+ *
+ * 스프레드·호가 불균형 조회가 orderbook_unit 을 orderbook 과 조인하지 않도록 스냅샷당 1행만 저장한다.
+ * created_at 은 두지 않는다.
+ */
+@Entity
+@Table(
+	name = "orderbook_top",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_orderbook_top_unique",
+		columnNames = { "exchange", "market_code", "timestamp" }
+	)
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class OrderBookTop {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, length = 20)
+	private String exchange;
+
+	@Column(name = "market_code", nullable = false, length = 20)
+	private String marketCode;
+
+	/**
+	 * 호가 스냅샷 생성 시각 (Unix timestamp, milliseconds).
+	 */
+	@Column(nullable = false)
+	private long timestamp;
+
+	@Column(name = "best_bid_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestBidPrice;
+
+	@Column(name = "best_bid_size", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestBidSize;
+
+	@Column(name = "best_ask_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestAskPrice;
+
+	@Column(name = "best_ask_size", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestAskSize;
+
+	/**
+	 * 최우선 매도호가 - 최우선 매수호가.
+	 */
+	@Column(nullable = false, precision = 20, scale = 8)
+	private BigDecimal spread;
+
+	/**
+	 * (최우선 매도호가 + 최우선 매수호가) / 2.
+	 */
+	@Column(name = "mid_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal midPrice;
+
+	/**
+	 * bid_depth, ask_depth 를 합산한 호가 단계 수 (app.orderbook-top.depth-levels 와 스냅샷 단계 수 중 작은 값).
+	 */
+	@Column(name = "depth_levels", nullable = false)
+	private byte depthLevels;
+
+	/**
+	 * 상위 depth_levels 단계 매수 잔량 합.
+	 */
+	@Column(name = "bid_depth", nullable = false, precision = 24, scale = 8)
+	private BigDecimal bidDepth;
+
+	/**
+	 * 상위 depth_levels 단계 매도 잔량 합.
+	 */
+	@Column(name = "ask_depth", nullable = false, precision = 24, scale = 8)
+	private BigDecimal askDepth;
+
+	/**
+	 * (bid_depth - ask_depth) / (bid_depth + ask_depth), -1 ~ 1 (잔량이 모두 0이면 0).
+	 */
+	@Column(nullable = false, precision = 9, scale = 8)
+	private BigDecimal imbalance;
+}
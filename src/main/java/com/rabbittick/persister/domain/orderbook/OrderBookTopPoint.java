@@ -0,0 +1,33 @@
+package com.rabbittick.persister.domain.orderbook;
+
+import java.math.BigDecimal;
+
+/**
+ * 호가 스냅샷 1건의 최우선 호가·유동성 지표.
+ *
+ * @param timestamp 호가 스냅샷 생성 시각 (Unix timestamp ms)
+ * @param bestBidPrice 최우선 매수호가
+ * @param bestBidSize 최우선 매수 잔량
+ * @param bestAskPrice 최우선 매도호가
+ * @param bestAskSize 최우선 매도 잔량
+ * @param spread 최우선 매도호가 - 최우선 매수호가
+ * @param midPrice 중간 가격
+ * @param depthLevels 잔량을 합산한 호가 단계 수
+ * @param bidDepth 상위 depthLevels 단계 매수 잔량 합
+ * @param askDepth 상위 depthLevels 단계 매도 잔량 합
+ * @param imbalance (bidDepth - askDepth) / (bidDepth + askDepth)
+ */
+public record OrderBookTopPoint(
+	long timestamp,
+	BigDecimal bestBidPrice,
+	BigDecimal bestBidSize,
+	BigDecimal bestAskPrice,
+	BigDecimal bestAskSize,
+	BigDecimal spread,
+	BigDecimal midPrice,
+	int depthLevels,
+	BigDecimal bidDepth,
+	BigDecimal askDepth,
+	BigDecimal imbalance
+) {
+}
@@ -0,0 +1,29 @@
+package com.rabbittick.persister.domain.orderbook;
+
+/**
+ * 최우선 호가·유동성 지표(orderbook_top) 조회 서비스 인터페이스.
+ */
+public interface OrderBookTopQueryService {
+
+	/**
+	 * 최근 N건을 오름차순으로 조회한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param count 조회 건수
+	 * @return 조회 결과
+	 */
+	OrderBookTopResponse latest(String exchange, String marketCode, int count);
+
+	/**
+	 * 시간 구간 [from, to) 를 오름차순으로 조회한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param from 조회 시작 시각 (Unix timestamp ms, 포함)
+	 * @param to 조회 종료 시각 (Unix timestamp ms, 제외)
+	 * @param limit 최대 건수
+	 * @return 조회 결과
+	 */
+	OrderBookTopResponse range(String exchange, String marketCode, long from, long to, int limit);
+}
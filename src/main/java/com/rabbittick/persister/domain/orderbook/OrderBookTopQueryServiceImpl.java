@@ -0,0 +1,63 @@
+package com.rabbittick.persister.domain.orderbook;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * orderbook_top 조회 서비스 구현체.
+ *
+ * uk_orderbook_top_unique (exchange, market_code, timestamp) 인덱스 구간 조회만 사용하며
+ * orderbook, orderbook_unit 테이블은 읽지 않는다.
+ */
+@Service
+public class OrderBookTopQueryServiceImpl implements OrderBookTopQueryService {
+
+	private static final String SELECT = "SELECT timestamp, best_bid_price, best_bid_size, best_ask_price,"
+		+ " best_ask_size, spread, mid_price, depth_levels, bid_depth, ask_depth, imbalance"
+		+ " FROM orderbook_top WHERE exchange = ? AND market_code = ?";
+	private static final String LATEST_SQL = SELECT + " ORDER BY timestamp DESC LIMIT ?";
+	private static final String RANGE_SQL = SELECT + " AND timestamp >= ? AND timestamp < ? ORDER BY timestamp LIMIT ?";
+	private static final RowMapper<OrderBookTopPoint> POINT_MAPPER = (rs, rowNum) -> new OrderBookTopPoint(
+		rs.getLong("timestamp"),
+		rs.getBigDecimal("best_bid_price"),
+		rs.getBigDecimal("best_bid_size"),
+		rs.getBigDecimal("best_ask_price"),
+		rs.getBigDecimal("best_ask_size"),
+		rs.getBigDecimal("spread"),
+		rs.getBigDecimal("mid_price"),
+		rs.getInt("depth_levels"),
+		rs.getBigDecimal("bid_depth"),
+		rs.getBigDecimal("ask_depth"),
+		rs.getBigDecimal("imbalance")
+	);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * OrderBookTopQueryServiceImpl 생성자.
+	 *
+	 * @param dataSource 데이터 소스
+	 */
+	public OrderBookTopQueryServiceImpl(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public OrderBookTopResponse latest(String exchange, String marketCode, int count) {
+		List<OrderBookTopPoint> points = jdbcTemplate.query(LATEST_SQL, POINT_MAPPER, exchange, marketCode, count);
+		Collections.reverse(points);
+		return new OrderBookTopResponse(exchange, marketCode, points);
+	}
+
+	@Override
+	public OrderBookTopResponse range(String exchange, String marketCode, long from, long to, int limit) {
+		List<OrderBookTopPoint> points = jdbcTemplate.query(RANGE_SQL, POINT_MAPPER, exchange, marketCode, from, to, limit);
+		return new OrderBookTopResponse(exchange, marketCode, points);
+	}
+}
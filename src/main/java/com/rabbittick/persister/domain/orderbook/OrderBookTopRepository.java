@@ -0,0 +1,9 @@
+package com.rabbittick.persister.domain.orderbook;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * OrderBookTop 엔티티 저장소.
+ */
+public interface OrderBookTopRepository extends JpaRepository<OrderBookTop, Long> {
+}
@@ -0,0 +1,17 @@
+package com.rabbittick.persister.domain.orderbook;
+
+import java.util.List;
+
+/**
+ * 최우선 호가·유동성 지표 조회 응답.
+ *
+ * @param exchange 거래소 이름
+ * @param marketCode 마켓 코드
+ * @param points 시각 오름차순 지표 목록
+ */
+public record OrderBookTopResponse(
+	String exchange,
+	String marketCode,
+	List<OrderBookTopPoint> points
+) {
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -18,7 +19,13 @@ import lombok.NoArgsConstructor;
  * 호가 단위 데이터를 저장하는 엔티티.
  */
 @Entity
-@Table(name = "orderbook_unit")
+@Table(
+	name = "orderbook_unit",
+	indexes = @Index(
+		name = "idx_orderbook_unit_ladder",
+		columnList = "orderbook_id, unit_index"
+	)
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -0,0 +1,48 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 가격·수량을 소수점 8자리 고정소수점 long 으로 변환하는 유틸리티.
+ *
+ * 소수 8자리는 거래소 수량 정밀도(사토시 단위)와 같고,
+ * KRW 가격 기준 약 9.2e10 까지 오버플로 없이 표현한다.
+ * 표현할 수 없는 값과 null 은 NULL 값으로 기록하고 조회 시 null 로 복원한다.
+ */
+final class FixedPoint {
+
+	static final int SCALE = 8;
+	static final long NULL = Long.MIN_VALUE;
+
+	private FixedPoint() {
+	}
+
+	/**
+	 * BigDecimal 을 고정소수점 값으로 변환한다. 8자리를 넘는 소수는 반올림한다.
+	 *
+	 * @param value 원래 값 (nullable)
+	 * @return 고정소수점 값 (null 이거나 범위를 넘으면 NULL)
+	 */
+	static long toFixed(BigDecimal value) {
+		if (value == null) {
+			return NULL;
+		}
+		try {
+			long fixed = value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+			return fixed == NULL ? NULL : fixed;
+		} catch (ArithmeticException ex) {
+			return NULL;
+		}
+	}
+
+	/**
+	 * 고정소수점 값을 BigDecimal 로 복원한다.
+	 *
+	 * @param fixed 고정소수점 값
+	 * @return 원래 값 (NULL 이면 null)
+	 */
+	static BigDecimal toDecimal(long fixed) {
+		return fixed == NULL ? null : BigDecimal.valueOf(fixed, SCALE);
+	}
+}
@@ -0,0 +1,119 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.rabbittick.persister.domain.market.RowFormat;
+
+/**
+ * 최근 구간 조회 대상 데이터셋 정의.
+ *
+ * 주요 책임:
+ *
+ * URL 경로 이름과 데이터셋 매핑
+ * 메모리 구간 밖 조회용 DB 보충 SQL 정의 (구간 조회, 최근 N건 조회)
+ *
+ * 조회 컬럼은 RecentSeries 의 컬럼(시각, 가격, 수량, 순번, 매수/매도)과 같은 순서로 맞춘다.
+ * v2 행 형식에서는 같은 컬럼 이름을 제공하는 호환 뷰(*_v2_compat)를 조회한다.
+ */
+public enum RecentDataset {
+
+	TRADES(
+		"trades",
+		"SELECT t.trade_timestamp AS time, t.trade_price AS price, t.trade_volume AS volume,"
+			+ " t.sequential_id AS sequence, t.ask_bid AS side FROM %s t",
+		"trade",
+		"trade_v2_compat",
+		"t.trade_timestamp",
+		"t.sequential_id"
+	),
+
+	TICKERS(
+		"tickers",
+		"SELECT t.timestamp AS time, t.trade_price AS price, t.trade_volume AS volume,"
+			+ " NULL AS sequence, NULL AS side FROM %s t",
+		"ticker",
+		"ticker_v2_compat",
+		"t.timestamp",
+		null
+	);
+
+	private final String pathName;
+	private final String selectFrom;
+	private final String v1Table;
+	private final String v2Table;
+	private final String timeColumn;
+	private final String tieBreakerColumn;
+
+	RecentDataset(
+		String pathName,
+		String selectFrom,
+		String v1Table,
+		String v2Table,
+		String timeColumn,
+		String tieBreakerColumn
+	) {
+		this.pathName = pathName;
+		this.selectFrom = selectFrom;
+		this.v1Table = v1Table;
+		this.v2Table = v2Table;
+		this.timeColumn = timeColumn;
+		this.tieBreakerColumn = tieBreakerColumn;
+	}
+
+	/**
+	 * URL 경로 이름으로 데이터셋을 찾는다.
+	 *
+	 * @param pathName 경로 이름 (trades, tickers)
+	 * @return 데이터셋
+	 */
+	public static Optional<RecentDataset> fromPathName(String pathName) {
+		return Arrays.stream(values())
+			.filter(dataset -> dataset.pathName.equalsIgnoreCase(pathName))
+			.findFirst();
+	}
+
+	public String pathName() {
+		return pathName;
+	}
+
+	/**
+	 * 시간 구간 오름차순 조회 SQL을 생성한다.
+	 *
+	 * 바인딩 순서: exchange, marketCode, from, to, limit
+	 *
+	 * @param rowFormat 저장 행 형식
+	 * @return 구간 조회 SQL
+	 */
+	String rangeSql(RowFormat rowFormat) {
+		return select(rowFormat)
+			+ " AND " + timeColumn + " >= ? AND " + timeColumn + " < ?"
+			+ " ORDER BY " + orderBy("") + " LIMIT ?";
+	}
+
+	/**
+	 * 기준 시각 이전 최근 N건 내림차순 조회 SQL을 생성한다.
+	 *
+	 * 바인딩 순서: exchange, marketCode, before, limit
+	 *
+	 * @param rowFormat 저장 행 형식
+	 * @return 최근 N건 조회 SQL
+	 */
+	String latestSql(RowFormat rowFormat) {
+		return select(rowFormat)
+			+ " AND " + timeColumn + " < ?"
+			+ " ORDER BY " + orderBy(" DESC") + " LIMIT ?";
+	}
+
+	private String select(RowFormat rowFormat) {
+		String table = rowFormat == RowFormat.V2 ? v2Table : v1Table;
+		return String.format(selectFrom, table) + " WHERE t.exchange = ? AND t.market_code = ?";
+	}
+
+	private String orderBy(String direction) {
+		if (tieBreakerColumn == null) {
+			return timeColumn + direction;
+		}
+		return timeColumn + direction + ", " + tieBreakerColumn + direction;
+	}
+}
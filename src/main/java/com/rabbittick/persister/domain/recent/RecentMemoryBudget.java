@@ -0,0 +1,52 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 마켓 시계열이 공유하는 메모리 예산.
+ *
+ * 시계열은 배열을 늘리기 전에 예산을 예약하고, 줄이거나 제거할 때 반납한다.
+ * 예약에 실패한 시계열은 배열을 늘리지 않고 가장 오래된 지점을 덮어쓴다.
+ */
+final class RecentMemoryBudget {
+
+	private final long maxBytes;
+	private final AtomicLong usedBytes = new AtomicLong();
+
+	RecentMemoryBudget(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("maxBytes는 양수여야 한다");
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * 예산을 예약한다.
+	 *
+	 * @param bytes 예약할 바이트 수
+	 * @return 예약 성공 여부
+	 */
+	boolean tryReserve(long bytes) {
+		while (true) {
+			long used = usedBytes.get();
+			if (used + bytes > maxBytes) {
+				return false;
+			}
+			if (usedBytes.compareAndSet(used, used + bytes)) {
+				return true;
+			}
+		}
+	}
+
+	void release(long bytes) {
+		usedBytes.addAndGet(-bytes);
+	}
+
+	long usedBytes() {
+		return usedBytes.get();
+	}
+
+	long maxBytes() {
+		return maxBytes;
+	}
+}
@@ -0,0 +1,26 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 최근 구간 조회 결과의 한 지점.
+ *
+ * 거래 체결은 체결 시각(tradeTimestamp)과 순번·매수/매도 구분을, 티커는 수신 시각(timestamp)을 쓴다.
+ *
+ * @param timestamp 시각 (Unix timestamp ms)
+ * @param price 가격
+ * @param volume 수량
+ * @param sequentialId 체결 순번 (티커는 null)
+ * @param askBid 매수/매도 구분 (티커는 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecentPoint(
+	long timestamp,
+	BigDecimal price,
+	BigDecimal volume,
+	Long sequentialId,
+	String askBid
+) {
+}
@@ -0,0 +1,87 @@
+package com.rabbittick.persister.domain.recent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 최근 구간 거래 체결·티커 조회 API.
+ *
+ * 주요 책임:
+ *
+ * 최근 N건(last) 또는 시간 구간(from, to) 조건 검증
+ * 응답 건수 상한(app.recent.max-response-points) 적용
+ * RecentQueryService 호출 (메모리 우선, 구간 밖은 DB)
+ */
+@RestController
+@RequestMapping("/api/v1/recent")
+public class RecentQueryController {
+
+	private final RecentQueryService recentQueryService;
+	private final int maxResponsePoints;
+
+	/**
+	 * RecentQueryController 생성자.
+	 *
+	 * @param recentQueryService 최근 구간 조회 서비스
+	 * @param maxResponsePoints 응답 최대 건수
+	 */
+	public RecentQueryController(
+		RecentQueryService recentQueryService,
+		@Value("${app.recent.max-response-points:10000}") int maxResponsePoints
+	) {
+		this.recentQueryService = recentQueryService;
+		this.maxResponsePoints = maxResponsePoints;
+	}
+
+	/**
+	 * 최근 N건 또는 시간 구간을 조회한다.
+	 *
+	 * last 를 지정하면 최근 N건을, 아니면 from·to 구간을 조회한다.
+	 *
+	 * @param dataset 데이터셋 (trades, tickers)
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param last 최근 건수 (선택)
+	 * @param from 조회 시작 시각 (Unix timestamp ms, 포함, last 미지정 시 필수)
+	 * @param to 조회 종료 시각 (Unix timestamp ms, 제외, last 미지정 시 필수)
+	 * @param limit 구간 조회 최대 건수
+	 * @return 조회 결과
+	 */
+	@GetMapping("/{dataset}/{exchange}/{marketCode}")
+	public RecentSeriesResponse query(
+		@PathVariable String dataset,
+		@PathVariable String exchange,
+		@PathVariable String marketCode,
+		@RequestParam(required = false) Integer last,
+		@RequestParam(required = false) Long from,
+		@RequestParam(required = false) Long to,
+		@RequestParam(defaultValue = "1000") int limit
+	) {
+		RecentDataset recentDataset = RecentDataset.fromPathName(dataset)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "지원하지 않는 데이터셋입니다: " + dataset));
+		if (last != null) {
+			return recentQueryService.latest(recentDataset, exchange, marketCode, checkCount("last", last));
+		}
+		if (from == null || to == null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "last 또는 from, to를 지정해야 한다");
+		}
+		if (from >= to) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from은 to보다 작아야 한다");
+		}
+		return recentQueryService.range(recentDataset, exchange, marketCode, from, to, checkCount("limit", limit));
+	}
+
+	private int checkCount(String name, int value) {
+		if (value < 1 || value > maxResponsePoints) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+				name + "는 1 이상 " + maxResponsePoints + " 이하여야 한다");
+		}
+		return value;
+	}
+}
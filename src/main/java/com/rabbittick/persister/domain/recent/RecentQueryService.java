@@ -0,0 +1,31 @@
+package com.rabbittick.persister.domain.recent;
+
+/**
+ * 최근 구간 시계열 조회 서비스 인터페이스.
+ */
+public interface RecentQueryService {
+
+	/**
+	 * 최근 N건을 오름차순으로 조회한다.
+	 *
+	 * @param dataset 데이터셋
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param count 조회 건수
+	 * @return 조회 결과
+	 */
+	RecentSeriesResponse latest(RecentDataset dataset, String exchange, String marketCode, int count);
+
+	/**
+	 * 시간 구간 [from, to) 를 오름차순으로 조회한다.
+	 *
+	 * @param dataset 데이터셋
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param from 조회 시작 시각 (Unix timestamp ms, 포함)
+	 * @param to 조회 종료 시각 (Unix timestamp ms, 제외)
+	 * @param limit 최대 건수
+	 * @return 조회 결과
+	 */
+	RecentSeriesResponse range(RecentDataset dataset, String exchange, String marketCode, long from, long to, int limit);
+}
@@ -0,0 +1,128 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import com.rabbittick.persister.domain.market.RowFormat;
+
+/**
+ * 메모리 시계열 우선, 구간 밖은 DB 로 보충하는 최근 구간 조회 서비스 구현체.
+ *
+ * 주요 책임:
+ *
+ * RecentWindowStore 조회 결과와 coveredFrom 확인
+ * coveredFrom 이전 구간만 DB 에서 조회해 메모리 결과 앞에 병합
+ * 조회 출처(memory, database, mixed) 표시
+ *
+ * 메모리는 coveredFrom 이후를 빠짐없이 보관하므로 DB 조회 구간과 겹치거나 비는 구간이 없다.
+ */
+@Service
+public class RecentQueryServiceImpl implements RecentQueryService {
+
+	private static final RowMapper<RecentPoint> POINT_MAPPER = (rs, rowNum) -> {
+		long sequence = rs.getLong("sequence");
+		Long sequentialId = rs.wasNull() ? null : sequence;
+		return new RecentPoint(
+			rs.getLong("time"),
+			rs.getBigDecimal("price"),
+			rs.getBigDecimal("volume"),
+			sequentialId,
+			rs.getString("side")
+		);
+	};
+
+	private final RecentWindowStore recentWindowStore;
+	private final JdbcTemplate jdbcTemplate;
+	private final RowFormat rowFormat;
+
+	/**
+	 * RecentQueryServiceImpl 생성자.
+	 *
+	 * @param recentWindowStore 메모리 시계열 스토어
+	 * @param dataSource 데이터 소스
+	 * @param rowFormat 저장 행 형식 (v2 면 호환 뷰 조회)
+	 */
+	public RecentQueryServiceImpl(RecentWindowStore recentWindowStore, DataSource dataSource, RowFormat rowFormat) {
+		this.recentWindowStore = recentWindowStore;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.rowFormat = rowFormat;
+	}
+
+	@Override
+	public RecentSeriesResponse latest(RecentDataset dataset, String exchange, String marketCode, int count) {
+		RecentSlice slice = recentWindowStore.latest(dataset, exchange, marketCode, count);
+		List<RecentPoint> memory = slice.points();
+		if (memory.size() >= count) {
+			return response(dataset, exchange, marketCode, "memory", memory);
+		}
+		List<RecentPoint> older = jdbcTemplate.query(
+			dataset.latestSql(rowFormat),
+			POINT_MAPPER,
+			exchange,
+			marketCode,
+			slice.coveredFrom(),
+			count - memory.size()
+		);
+		Collections.reverse(older);
+		return merge(dataset, exchange, marketCode, older, memory, count);
+	}
+
+	@Override
+	public RecentSeriesResponse range(
+		RecentDataset dataset,
+		String exchange,
+		String marketCode,
+		long from,
+		long to,
+		int limit
+	) {
+		RecentSlice slice = recentWindowStore.range(dataset, exchange, marketCode, from, to, limit);
+		if (from >= slice.coveredFrom()) {
+			return response(dataset, exchange, marketCode, "memory", slice.points());
+		}
+		List<RecentPoint> older = jdbcTemplate.query(
+			dataset.rangeSql(rowFormat),
+			POINT_MAPPER,
+			exchange,
+			marketCode,
+			from,
+			Math.min(to, slice.coveredFrom()),
+			limit
+		);
+		return merge(dataset, exchange, marketCode, older, slice.points(), limit);
+	}
+
+	private RecentSeriesResponse merge(
+		RecentDataset dataset,
+		String exchange,
+		String marketCode,
+		List<RecentPoint> older,
+		List<RecentPoint> memory,
+		int limit
+	) {
+		if (memory.isEmpty() || older.size() >= limit) {
+			return response(dataset, exchange, marketCode, "database", older.subList(0, Math.min(older.size(), limit)));
+		}
+		List<RecentPoint> points = new ArrayList<>(Math.min(older.size() + memory.size(), limit));
+		points.addAll(older);
+		points.addAll(memory.subList(0, Math.min(memory.size(), limit - older.size())));
+		return response(dataset, exchange, marketCode, older.isEmpty() ? "memory" : "mixed", points);
+	}
+
+	private RecentSeriesResponse response(
+		RecentDataset dataset,
+		String exchange,
+		String marketCode,
+		String source,
+		List<RecentPoint> points
+	) {
+		return new RecentSeriesResponse(exchange, marketCode, dataset.pathName(), source, points);
+	}
+}
@@ -0,0 +1,520 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.rabbittick.persister.domain.trade.AskBid;
+import com.rabbittick.persister.global.timeseries.TimeSeriesBlock;
+import com.rabbittick.persister.global.timeseries.TimeSeriesBlockEncoder;
+import com.rabbittick.persister.global.timeseries.TimeSeriesCursor;
+
+/**
+ * 한 마켓·한 데이터셋의 최근 구간을 보관하는 시계열.
+ *
+ * 주요 책임:
+ *
+ * 최근 지점은 컬럼 배열 링 버퍼(hot tail)에 보관 (지점당 객체 없음, 늦게 도착한 지점 삽입 가능)
+ * hot tail 이 차면 오래된 BLOCK_POINTS 건을 압축 블록(TimeSeriesBlock, direct 메모리)으로 봉인
+ * 구간 길이(window)·마켓당 지점 수·메모리 예산을 넘으면 가장 오래된 블록부터 제거
+ * 구간 조회, 최근 N건 조회 (블록은 잠금 밖에서 풀어 임계 구역을 짧게 유지)
+ *
+ * coveredFrom 이후 시각의 지점은 저장된 것이 모두 메모리에 있다.
+ * 그 이전 구간(시작 전 데이터, 제거된 데이터)은 DB 에서 조회해야 한다.
+ * 봉인된 블록은 다시 쓰지 않으므로, 블록 구간 안쪽 시각으로 늦게 도착한 지점은 작은 late 버퍼(LATE_POINTS 건)에 두고
+ * 조회 시 블록 지점과 병합한다. late 버퍼가 넘칠 때만 가장 오래된 late 지점까지 coveredFrom 을 올려 DB 조회로 넘긴다.
+ */
+final class RecentSeries {
+
+	static final int BYTES_PER_POINT = Long.BYTES * 4 + Byte.BYTES;
+	static final int BLOCK_POINTS = 256;
+	static final int HOT_CAPACITY = BLOCK_POINTS * 2;
+	static final int LATE_POINTS = 64;
+
+	private final long windowMillis;
+	private final int maxPoints;
+	private final RecentMemoryBudget budget;
+	private final ArrayDeque<TimeSeriesBlock> blocks = new ArrayDeque<>();
+
+	private long[] times;
+	private long[] prices;
+	private long[] volumes;
+	private long[] sequences;
+	private byte[] sides;
+	private long[] lateTimes;
+	private long[] latePrices;
+	private long[] lateVolumes;
+	private long[] lateSequences;
+	private byte[] lateSides;
+	private int lateSize;
+	private int mask;
+	private int head;
+	private int size;
+	private int blockPoints;
+	private long blockBytes;
+	private long coveredFrom = Long.MIN_VALUE;
+	private boolean released;
+
+	private RecentSeries(long windowMillis, int maxPoints, RecentMemoryBudget budget, int hotCapacity) {
+		this.windowMillis = windowMillis;
+		this.maxPoints = maxPoints;
+		this.budget = budget;
+		allocate(hotCapacity);
+	}
+
+	/**
+	 * hot tail 배열 예산을 예약하고 시계열을 만든다.
+	 *
+	 * @param windowMillis 보관 구간 길이
+	 * @param maxPoints 최대 지점 수 (2의 거듭제곱)
+	 * @param budget 공유 메모리 예산
+	 * @return 시계열 (예산이 부족하면 null)
+	 */
+	static RecentSeries create(long windowMillis, int maxPoints, RecentMemoryBudget budget) {
+		int hotCapacity = hotCapacity(maxPoints);
+		if (!budget.tryReserve((long) hotCapacity * BYTES_PER_POINT)) {
+			return null;
+		}
+		return new RecentSeries(windowMillis, maxPoints, budget, hotCapacity);
+	}
+
+	/**
+	 * hot tail 크기. 최대 지점 수가 hot tail 이하이면 블록을 만들지 않고 링 버퍼만 쓴다.
+	 *
+	 * @param maxPoints 최대 지점 수
+	 * @return hot tail 지점 수
+	 */
+	static int hotCapacity(int maxPoints) {
+		return Math.min(HOT_CAPACITY, maxPoints);
+	}
+
+	/**
+	 * 지점을 추가한다.
+	 *
+	 * @param time 시각 (Unix timestamp ms)
+	 * @param price 고정소수점 가격
+	 * @param volume 고정소수점 수량
+	 * @param sequence 순번 (없으면 FixedPoint.NULL)
+	 * @param side 매수/매도 코드 (없으면 0)
+	 * @return 추가 여부 (coveredFrom 이전 시각이거나 해제된 시계열이면 false)
+	 */
+	synchronized boolean append(long time, long price, long volume, long sequence, byte side) {
+		if (released) {
+			return false;
+		}
+		if (coveredFrom == Long.MIN_VALUE) {
+			coveredFrom = time;
+		}
+		if (time < coveredFrom) {
+			return false;
+		}
+		if (!blocks.isEmpty() && time < blocks.peekLast().lastTime()) {
+			return appendLate(time, price, volume, sequence, side);
+		}
+		if (size == times.length && !sealOldest()) {
+			evictOldest();
+			if (time < coveredFrom) {
+				return false;
+			}
+		}
+		int position = size;
+		while (position > 0 && timeAt(position - 1) > time) {
+			copy(position - 1, position);
+			position--;
+		}
+		int slot = slot(position);
+		times[slot] = time;
+		prices[slot] = price;
+		volumes[slot] = volume;
+		sequences[slot] = sequence;
+		sides[slot] = side;
+		size++;
+		evictOlderThan(timeAt(size - 1) - windowMillis);
+		return true;
+	}
+
+	/**
+	 * 시간 구간 [from, to) 의 지점을 오름차순으로 담는다. coveredFrom 이전은 제외한다.
+	 *
+	 * @param from 시작 시각 (포함)
+	 * @param to 종료 시각 (제외)
+	 * @param limit 최대 지점 수
+	 * @param out 결과 목록
+	 * @return 조회 시점의 coveredFrom
+	 */
+	long range(long from, long to, int limit, List<RecentPoint> out) {
+		List<TimeSeriesBlock> overlapping = new ArrayList<>();
+		List<RecentPoint> late = new ArrayList<>();
+		List<RecentPoint> hot = new ArrayList<>();
+		long lower;
+		long covered;
+		synchronized (this) {
+			lower = Math.max(from, coveredFrom);
+			covered = coveredFrom();
+			for (TimeSeriesBlock block : blocks) {
+				if (block.lastTime() >= lower && block.firstTime() < to) {
+					overlapping.add(block);
+				}
+			}
+			for (int i = 0; i < lateSize && late.size() < limit; i++) {
+				if (lateTimes[i] >= lower && lateTimes[i] < to) {
+					late.add(latePointAt(i));
+				}
+			}
+			int start = lowerBound(lower);
+			int end = Math.min(lowerBound(to), start + limit);
+			for (int i = start; i < end; i++) {
+				hot.add(pointAt(i));
+			}
+		}
+		List<RecentPoint> older = new ArrayList<>();
+		for (TimeSeriesBlock block : overlapping) {
+			decode(block, lower, to, limit, older);
+		}
+		merge(older, late, limit, out);
+		for (Iterator<RecentPoint> it = hot.iterator(); it.hasNext() && out.size() < limit; ) {
+			out.add(it.next());
+		}
+		return covered;
+	}
+
+	/**
+	 * 최근 N건을 오름차순으로 담는다. coveredFrom 이전은 제외한다.
+	 *
+	 * @param count 최대 지점 수
+	 * @param out 결과 목록
+	 * @return 조회 시점의 coveredFrom
+	 */
+	long latest(int count, List<RecentPoint> out) {
+		List<TimeSeriesBlock> newest = new ArrayList<>();
+		List<RecentPoint> late = new ArrayList<>();
+		List<RecentPoint> hot = new ArrayList<>();
+		long lower;
+		long covered;
+		synchronized (this) {
+			lower = coveredFrom;
+			covered = coveredFrom();
+			int start = Math.max(lowerBound(coveredFrom), size - count);
+			for (int i = start; i < size; i++) {
+				hot.add(pointAt(i));
+			}
+			int needed = count - hot.size();
+			for (int i = 0; i < lateSize && needed > 0; i++) {
+				if (lateTimes[i] >= coveredFrom) {
+					late.add(latePointAt(i));
+				}
+			}
+			for (Iterator<TimeSeriesBlock> it = blocks.descendingIterator(); it.hasNext() && needed > 0; ) {
+				TimeSeriesBlock block = it.next();
+				if (block.lastTime() < coveredFrom) {
+					break;
+				}
+				newest.add(0, block);
+				needed -= block.count();
+			}
+		}
+		if (!newest.isEmpty() || !late.isEmpty()) {
+			List<RecentPoint> older = new ArrayList<>();
+			for (TimeSeriesBlock block : newest) {
+				decode(block, lower, Long.MAX_VALUE, Integer.MAX_VALUE, older);
+			}
+			List<RecentPoint> merged = new ArrayList<>(older.size() + late.size());
+			merge(older, late, Integer.MAX_VALUE, merged);
+			int needed = count - hot.size();
+			out.addAll(merged.subList(Math.max(0, merged.size() - needed), merged.size()));
+		}
+		out.addAll(hot);
+		return covered;
+	}
+
+	/**
+	 * 이 시각 이후 저장된 지점은 모두 메모리에 있다.
+	 *
+	 * @return 보관 시작 시각 (지점을 받은 적이 없으면 Long.MAX_VALUE)
+	 */
+	synchronized long coveredFrom() {
+		return coveredFrom == Long.MIN_VALUE ? Long.MAX_VALUE : coveredFrom;
+	}
+
+	/**
+	 * 현재 시각 기준으로 구간을 넘은 지점과 블록을 제거한다.
+	 *
+	 * @param nowMillis 현재 시각
+	 * @return 남은 지점 수
+	 */
+	synchronized int sweep(long nowMillis) {
+		if (coveredFrom != Long.MIN_VALUE) {
+			evictOlderThan(nowMillis - windowMillis);
+		}
+		return size + blockPoints + lateSize;
+	}
+
+	/**
+	 * 배열과 블록을 해제하고 예약한 예산을 모두 반납한다. 이후에는 사용하지 않는다.
+	 */
+	synchronized void release() {
+		budget.release(capacityBytes());
+		blocks.clear();
+		blockPoints = 0;
+		blockBytes = 0;
+		allocate(0);
+		releaseLate();
+		size = 0;
+		released = true;
+	}
+
+	synchronized boolean isReleased() {
+		return released;
+	}
+
+	synchronized int size() {
+		return size + blockPoints + lateSize;
+	}
+
+	synchronized long capacityBytes() {
+		long lateBytes = lateTimes == null ? 0 : (long) lateTimes.length * BYTES_PER_POINT;
+		return (long) times.length * BYTES_PER_POINT + blockBytes + lateBytes;
+	}
+
+	/**
+	 * 봉인 블록 구간 안쪽 시각의 지점을 late 버퍼에 시각 순으로 넣는다.
+	 * 버퍼가 차면 새 지점과 가장 오래된 late 지점 중 더 오래된 쪽까지 coveredFrom 을 올려 자리를 만든다.
+	 *
+	 * @return 추가 여부 (late 버퍼 예산이 없거나 넘쳐 버려졌으면 false)
+	 */
+	private boolean appendLate(long time, long price, long volume, long sequence, byte side) {
+		if (lateTimes == null && !allocateLate()) {
+			dropBlocksBefore(time + 1);
+			return false;
+		}
+		if (lateSize == lateTimes.length) {
+			dropBlocksBefore(Math.min(time, lateTimes[0]) + 1);
+			if (time < coveredFrom) {
+				return false;
+			}
+		}
+		int position = lateSize;
+		while (position > 0 && lateTimes[position - 1] > time) {
+			lateTimes[position] = lateTimes[position - 1];
+			latePrices[position] = latePrices[position - 1];
+			lateVolumes[position] = lateVolumes[position - 1];
+			lateSequences[position] = lateSequences[position - 1];
+			lateSides[position] = lateSides[position - 1];
+			position--;
+		}
+		lateTimes[position] = time;
+		latePrices[position] = price;
+		lateVolumes[position] = volume;
+		lateSequences[position] = sequence;
+		lateSides[position] = side;
+		lateSize++;
+		return true;
+	}
+
+	private boolean allocateLate() {
+		if (!budget.tryReserve((long) LATE_POINTS * BYTES_PER_POINT)) {
+			return false;
+		}
+		lateTimes = new long[LATE_POINTS];
+		latePrices = new long[LATE_POINTS];
+		lateVolumes = new long[LATE_POINTS];
+		lateSequences = new long[LATE_POINTS];
+		lateSides = new byte[LATE_POINTS];
+		return true;
+	}
+
+	private void releaseLate() {
+		lateTimes = null;
+		latePrices = null;
+		lateVolumes = null;
+		lateSequences = null;
+		lateSides = null;
+		lateSize = 0;
+	}
+
+	/**
+	 * hot tail 의 오래된 BLOCK_POINTS 건을 압축 블록으로 봉인해 자리를 만든다.
+	 *
+	 * @return 자리를 만들었으면 true (블록을 쓰지 않는 작은 시계열이면 false)
+	 */
+	private boolean sealOldest() {
+		if (times.length < HOT_CAPACITY || maxPoints <= HOT_CAPACITY) {
+			return false;
+		}
+		TimeSeriesBlockEncoder encoder = new TimeSeriesBlockEncoder(BLOCK_POINTS);
+		for (int i = 0; i < BLOCK_POINTS; i++) {
+			int slot = slot(i);
+			encoder.append(times[slot], prices[slot], volumes[slot], sequences[slot], sides[slot]);
+		}
+		TimeSeriesBlock block = encoder.seal();
+		while (!blocks.isEmpty() && blockPoints + size >= maxPoints) {
+			dropOldestBlock();
+		}
+		boolean reserved = budget.tryReserve(block.sizeBytes());
+		while (!reserved && !blocks.isEmpty()) {
+			dropOldestBlock();
+			reserved = budget.tryReserve(block.sizeBytes());
+		}
+		head = (head + BLOCK_POINTS) & mask;
+		size -= BLOCK_POINTS;
+		if (!reserved) {
+			// 예산이 없으면 봉인한 지점을 버린다 (DB 조회로 처리).
+			raiseCoveredFrom(block.lastTime() + 1);
+			return true;
+		}
+		blocks.addLast(block);
+		blockPoints += block.count();
+		blockBytes += block.sizeBytes();
+		return true;
+	}
+
+	private void evictOlderThan(long cutoff) {
+		dropBlocksBefore(cutoff);
+		if (blocks.isEmpty()) {
+			while (size > 0 && timeAt(0) < cutoff) {
+				evictOldest();
+			}
+		}
+		raiseCoveredFrom(cutoff);
+	}
+
+	private void dropBlocksBefore(long cutoff) {
+		while (!blocks.isEmpty() && blocks.peekFirst().lastTime() < cutoff) {
+			dropOldestBlock();
+		}
+		raiseCoveredFrom(cutoff);
+	}
+
+	private void dropOldestBlock() {
+		TimeSeriesBlock block = blocks.pollFirst();
+		blockPoints -= block.count();
+		blockBytes -= block.sizeBytes();
+		budget.release(block.sizeBytes());
+		raiseCoveredFrom(block.lastTime() + 1);
+	}
+
+	private void evictOldest() {
+		long evicted = timeAt(0);
+		head = (head + 1) & mask;
+		size--;
+		raiseCoveredFrom(evicted + 1);
+	}
+
+	/**
+	 * coveredFrom 을 올리고, 그보다 오래된 late 지점을 버린다.
+	 */
+	private void raiseCoveredFrom(long cutoff) {
+		coveredFrom = Math.max(coveredFrom, cutoff);
+		int dropped = 0;
+		while (dropped < lateSize && lateTimes[dropped] < coveredFrom) {
+			dropped++;
+		}
+		if (dropped == 0) {
+			return;
+		}
+		lateSize -= dropped;
+		System.arraycopy(lateTimes, dropped, lateTimes, 0, lateSize);
+		System.arraycopy(latePrices, dropped, latePrices, 0, lateSize);
+		System.arraycopy(lateVolumes, dropped, lateVolumes, 0, lateSize);
+		System.arraycopy(lateSequences, dropped, lateSequences, 0, lateSize);
+		System.arraycopy(lateSides, dropped, lateSides, 0, lateSize);
+	}
+
+	private void allocate(int capacity) {
+		times = new long[capacity];
+		prices = new long[capacity];
+		volumes = new long[capacity];
+		sequences = new long[capacity];
+		sides = new byte[capacity];
+		mask = capacity - 1;
+		head = 0;
+	}
+
+	private int lowerBound(long time) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (timeAt(mid) < time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void copy(int fromIndex, int toIndex) {
+		int from = slot(fromIndex);
+		int to = slot(toIndex);
+		times[to] = times[from];
+		prices[to] = prices[from];
+		volumes[to] = volumes[from];
+		sequences[to] = sequences[from];
+		sides[to] = sides[from];
+	}
+
+	private RecentPoint pointAt(int index) {
+		int slot = slot(index);
+		return point(times[slot], prices[slot], volumes[slot], sequences[slot], sides[slot]);
+	}
+
+	private RecentPoint latePointAt(int index) {
+		return point(lateTimes[index], latePrices[index], lateVolumes[index], lateSequences[index], lateSides[index]);
+	}
+
+	private long timeAt(int index) {
+		return times[slot(index)];
+	}
+
+	private int slot(int index) {
+		return (head + index) & mask;
+	}
+
+	private static void decode(TimeSeriesBlock block, long from, long to, int limit, List<RecentPoint> out) {
+		TimeSeriesCursor cursor = block.cursor();
+		while (out.size() < limit && cursor.next()) {
+			long time = cursor.time();
+			if (time >= to) {
+				return;
+			}
+			if (time >= from) {
+				out.add(point(time, cursor.price(), cursor.volume(), cursor.sequence(), cursor.side()));
+			}
+		}
+	}
+
+	/**
+	 * 시각 순으로 정렬된 두 목록을 병합한다. 같은 시각이면 블록 지점을 먼저 둔다.
+	 */
+	private static void merge(List<RecentPoint> decoded, List<RecentPoint> late, int limit, List<RecentPoint> out) {
+		int i = 0;
+		int j = 0;
+		while (out.size() < limit && (i < decoded.size() || j < late.size())) {
+			if (j == late.size()
+				|| (i < decoded.size() && decoded.get(i).timestamp() <= late.get(j).timestamp())) {
+				out.add(decoded.get(i++));
+			} else {
+				out.add(late.get(j++));
+			}
+		}
+	}
+
+	private static RecentPoint point(long time, long price, long volume, long sequence, byte side) {
+		return new RecentPoint(
+			time,
+			FixedPoint.toDecimal(price),
+			FixedPoint.toDecimal(volume),
+			sequence == FixedPoint.NULL ? null : sequence,
+			sideName(side)
+		);
+	}
+
+	private static String sideName(byte code) {
+		if (code == AskBid.ASK.code()) {
+			return AskBid.ASK.name();
+		}
+		return code == AskBid.BID.code() ? AskBid.BID.name() : null;
+	}
+}
@@ -0,0 +1,21 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.List;
+
+/**
+ * 최근 구간 조회 응답.
+ *
+ * @param exchange 거래소 이름
+ * @param marketCode 마켓 코드
+ * @param dataset 데이터셋 경로 이름 (trades, tickers)
+ * @param source 조회 출처 (memory, database, mixed)
+ * @param points 오름차순 지점 목록
+ */
+public record RecentSeriesResponse(
+	String exchange,
+	String marketCode,
+	String dataset,
+	String source,
+	List<RecentPoint> points
+) {
+}
@@ -0,0 +1,12 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.List;
+
+/**
+ * 메모리 시계열에서 읽은 조회 결과.
+ *
+ * @param points 오름차순 지점 목록
+ * @param coveredFrom 이 시각 이후 지점은 모두 메모리에 있다 (그 이전은 DB 조회 대상)
+ */
+public record RecentSlice(List<RecentPoint> points, long coveredFrom) {
+}
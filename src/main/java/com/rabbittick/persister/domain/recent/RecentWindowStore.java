@@ -0,0 +1,251 @@
+package com.rabbittick.persister.domain.recent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+import com.rabbittick.persister.domain.trade.AskBid;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.global.tx.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 거래소/마켓별 최근 구간 거래 체결·티커를 메모리에 보관하는 스토어.
+ *
+ * 주요 책임:
+ *
+ * 저장 트랜잭션 커밋 이후 마켓별 RecentSeries 에 지점 추가
+ * 전체 메모리 예산(app.recent.max-memory-mb)과 마켓당 지점 수 상한 적용
+ * 주기적으로 구간을 넘은 지점 제거, 빈 시계열 해제
+ * 최근 N건·시간 구간 조회 제공 (DB 미사용)
+ *
+ * 가격·수량은 소수 8자리 고정소수점 long 으로 보관한다. 최근 지점(hot tail)은 지점당 33바이트 배열에,
+ * 그 이전은 압축 블록(direct 메모리, 체결 기준 지점당 약 10바이트)에 보관하며 둘 다 예산에 포함한다.
+ * 예산이 부족하면 기존 시계열은 가장 오래된 블록·지점을 버리고, 새 마켓은 보관하지 않는다 (DB 조회로 처리).
+ */
+@Component
+public class RecentWindowStore {
+
+	private static final String METRIC_MEMORY = "market_data.recent.memory";
+	private static final String METRIC_SERIES = "market_data.recent.series";
+	private static final String METRIC_REJECTED = "market_data.recent.rejected";
+
+	private final boolean enabled;
+	private final long windowMillis;
+	private final int maxPointsPerMarket;
+	private final RecentMemoryBudget budget;
+	private final Map<SeriesKey, RecentSeries> series = new ConcurrentHashMap<>();
+	private final Counter rejected;
+
+	/**
+	 * RecentWindowStore 생성자.
+	 *
+	 * @param enabled 사용 여부 (false 면 모든 조회를 DB 로 처리)
+	 * @param windowSeconds 보관 구간 길이
+	 * @param maxPointsPerMarket 마켓·데이터셋당 최대 지점 수 (2의 거듭제곱으로 올림)
+	 * @param maxMemoryMb 전체 메모리 상한 (hot tail 배열과 압축 블록)
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public RecentWindowStore(
+		@Value("${app.recent.enabled:true}") boolean enabled,
+		@Value("${app.recent.window-seconds:300}") long windowSeconds,
+		@Value("${app.recent.max-points-per-market:65536}") int maxPointsPerMarket,
+		@Value("${app.recent.max-memory-mb:64}") long maxMemoryMb,
+		MeterRegistry meterRegistry
+	) {
+		if (windowSeconds <= 0 || maxPointsPerMarket <= 0 || maxMemoryMb <= 0) {
+			throw new IllegalArgumentException("app.recent.window-seconds, max-points-per-market, max-memory-mb는 양수여야 한다");
+		}
+		this.enabled = enabled;
+		this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+		this.maxPointsPerMarket = maxPointsPerMarket == 1 ? 1 : Integer.highestOneBit(maxPointsPerMarket - 1) << 1;
+		this.budget = new RecentMemoryBudget(maxMemoryMb * 1024 * 1024);
+		this.rejected = Counter.builder(METRIC_REJECTED)
+			.description("Points not kept in memory because the memory budget was exhausted")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_MEMORY, budget, RecentMemoryBudget::usedBytes)
+			.description("Bytes reserved by in-memory recent series")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_SERIES, series, Map::size)
+			.description("In-memory recent series (market x dataset)")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 저장된 거래 체결을 반영한다. 트랜잭션 안이면 커밋 이후에 반영한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param payloads 저장된 페이로드 목록
+	 */
+	public void onTradesPersisted(String exchange, List<TradePayload> payloads) {
+		if (!enabled || exchange == null) {
+			return;
+		}
+		AfterCommit.run(() -> {
+			for (TradePayload payload : payloads) {
+				if (payload.getMarketCode() == null) {
+					continue;
+				}
+				append(
+					new SeriesKey(RecentDataset.TRADES, MarketKey.of(exchange, payload.getMarketCode())),
+					payload.getTradeTimestamp(),
+					FixedPoint.toFixed(payload.getTradePrice()),
+					FixedPoint.toFixed(payload.getTradeVolume()),
+					payload.getSequentialId(),
+					sideCode(payload.getAskBid())
+				);
+			}
+		});
+	}
+
+	/**
+	 * 저장된 티커를 반영한다. 트랜잭션 안이면 커밋 이후에 반영한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param payloads 저장된 페이로드 목록
+	 */
+	public void onTickersPersisted(String exchange, List<TickerPayload> payloads) {
+		if (!enabled || exchange == null) {
+			return;
+		}
+		AfterCommit.run(() -> {
+			for (TickerPayload payload : payloads) {
+				if (payload.getMarketCode() == null) {
+					continue;
+				}
+				append(
+					new SeriesKey(RecentDataset.TICKERS, MarketKey.of(exchange, payload.getMarketCode())),
+					payload.getTimestamp(),
+					FixedPoint.toFixed(payload.getTradePrice()),
+					FixedPoint.toFixed(payload.getTradeVolume()),
+					FixedPoint.NULL,
+					(byte) 0
+				);
+			}
+		});
+	}
+
+	/**
+	 * 최근 N건을 조회한다.
+	 *
+	 * @param dataset 데이터셋
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param count 최대 지점 수
+	 * @return 조회 결과 (보관하지 않는 마켓이면 빈 목록과 Long.MAX_VALUE)
+	 */
+	public RecentSlice latest(RecentDataset dataset, String exchange, String marketCode, int count) {
+		RecentSeries found = find(dataset, exchange, marketCode);
+		if (found == null) {
+			return new RecentSlice(List.of(), Long.MAX_VALUE);
+		}
+		List<RecentPoint> points = new ArrayList<>(Math.min(count, 1024));
+		long coveredFrom = found.latest(count, points);
+		return new RecentSlice(points, coveredFrom);
+	}
+
+	/**
+	 * 시간 구간 [from, to) 를 조회한다.
+	 *
+	 * @param dataset 데이터셋
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @param from 시작 시각 (포함)
+	 * @param to 종료 시각 (제외)
+	 * @param limit 최대 지점 수
+	 * @return 조회 결과 (보관하지 않는 마켓이면 빈 목록과 Long.MAX_VALUE)
+	 */
+	public RecentSlice range(RecentDataset dataset, String exchange, String marketCode, long from, long to, int limit) {
+		RecentSeries found = find(dataset, exchange, marketCode);
+		if (found == null) {
+			return new RecentSlice(List.of(), Long.MAX_VALUE);
+		}
+		List<RecentPoint> points = new ArrayList<>(Math.min(limit, 1024));
+		long coveredFrom = found.range(from, to, limit, points);
+		return new RecentSlice(points, coveredFrom);
+	}
+
+	/**
+	 * 현재 시각 기준으로 구간을 넘은 지점을 제거하고 빈 시계열을 해제한다.
+	 */
+	@Scheduled(
+		fixedDelayString = "${app.recent.sweep-seconds:10}",
+		initialDelayString = "${app.recent.sweep-seconds:10}",
+		timeUnit = TimeUnit.SECONDS
+	)
+	public void sweep() {
+		long now = System.currentTimeMillis();
+		series.forEach((key, value) -> {
+			if (value.sweep(now) == 0) {
+				series.computeIfPresent(key, (k, current) -> {
+					if (current != value || current.size() > 0) {
+						return current;
+					}
+					current.release();
+					return null;
+				});
+			}
+		});
+	}
+
+	long usedBytes() {
+		return budget.usedBytes();
+	}
+
+	private void append(SeriesKey key, long time, long price, long volume, long sequence, byte side) {
+		while (true) {
+			RecentSeries target = series.computeIfAbsent(
+				key,
+				k -> RecentSeries.create(windowMillis, maxPointsPerMarket, budget)
+			);
+			if (target == null) {
+				rejected.increment();
+				return;
+			}
+			if (target.append(time, price, volume, sequence, side) || !target.isReleased()) {
+				return;
+			}
+			// sweep 이 해제한 시계열에 쓰려던 경우 새 시계열로 다시 시도한다.
+			series.remove(key, target);
+		}
+	}
+
+	private RecentSeries find(RecentDataset dataset, String exchange, String marketCode) {
+		if (!enabled) {
+			return null;
+		}
+		return series.get(new SeriesKey(dataset, MarketKey.of(exchange, marketCode)));
+	}
+
+	private static byte sideCode(String askBid) {
+		if (askBid == null) {
+			return 0;
+		}
+		return switch (askBid) {
+			case "ASK" -> AskBid.ASK.code();
+			case "BID" -> AskBid.BID.code();
+			default -> 0;
+		};
+	}
+
+	/**
+	 * 시계열 식별자.
+	 *
+	 * @param dataset 데이터셋
+	 * @param market 마켓 키
+	 */
+	private record SeriesKey(RecentDataset dataset, MarketKey market) {
+	}
+}
@@ -0,0 +1,34 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 거래소/마켓 조합 식별자.
+ *
+ * 대소문자를 구분하지 않도록 대문자로 정규화해 보관한다.
+ *
+ * @param exchange 거래소 이름 (예: UPBIT)
+ * @param marketCode 마켓 코드 (예: KRW-BTC)
+ */
+public record MarketKey(String exchange, String marketCode) {
+
+	public MarketKey {
+		Objects.requireNonNull(exchange, "exchange는 null일 수 없다");
+		Objects.requireNonNull(marketCode, "marketCode는 null일 수 없다");
+	}
+
+	/**
+	 * 정규화된 MarketKey 를 생성한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @return 정규화된 키
+	 */
+	public static MarketKey of(String exchange, String marketCode) {
+		return new MarketKey(
+			exchange.trim().toUpperCase(Locale.ROOT),
+			marketCode.trim().toUpperCase(Locale.ROOT)
+		);
+	}
+}
@@ -0,0 +1,47 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 마켓별 최신 상태 스냅샷.
+ *
+ * 주요 책임:
+ *
+ * 최신 티커·호가 시세 보관 (불변 객체, 갱신 시 교체)
+ * ETag 계산을 위한 갱신 버전 제공
+ *
+ * 조회 API 응답 본문으로 그대로 쓰이므로 JPA 엔티티를 담지 않고 시세 필드만 옮긴 레코드를 담는다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true)
+public class MarketSnapshot {
+
+	/**
+	 * 거래소 이름 (예: UPBIT).
+	 */
+	private final String exchange;
+
+	/**
+	 * 마켓 코드 (예: KRW-BTC).
+	 */
+	private final String marketCode;
+
+	/**
+	 * 가장 최근에 저장된 티커 (없으면 null).
+	 */
+	private final TickerSnapshot ticker;
+
+	/**
+	 * 가장 최근에 저장된 호가 (없으면 null).
+	 */
+	private final OrderBookSnapshot orderBook;
+
+	/**
+	 * 마지막 갱신 시점의 스토어 전역 버전.
+	 */
+	private final long version;
+}
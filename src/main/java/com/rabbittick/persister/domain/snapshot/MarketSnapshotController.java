@@ -0,0 +1,86 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 마켓 최신 상태 조회 API.
+ *
+ * 주요 책임:
+ *
+ * MarketSnapshotStore 기반 최신 티커·호가 시세 조회 (DB 미사용, 엔티티 미노출)
+ * 스냅샷 버전 기반 ETag 제공 (If-None-Match 일치 시 304)
+ */
+@RestController
+@RequestMapping("/api/v1/snapshots")
+@RequiredArgsConstructor
+public class MarketSnapshotController {
+
+	private final MarketSnapshotStore marketSnapshotStore;
+
+	/**
+	 * 단일 마켓의 최신 상태를 조회한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @return 스냅샷 (없으면 404)
+	 */
+	@GetMapping("/{exchange}/{marketCode}")
+	public ResponseEntity<MarketSnapshot> getSnapshot(
+		@PathVariable String exchange,
+		@PathVariable String marketCode
+	) {
+		MarketSnapshot snapshot = marketSnapshotStore.find(exchange, marketCode);
+		if (snapshot == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok()
+			.eTag(Long.toString(snapshot.getVersion()))
+			.body(snapshot);
+	}
+
+	/**
+	 * 여러 마켓 또는 전체 마켓의 최신 상태를 조회한다.
+	 *
+	 * markets 를 지정하지 않으면 전체(exchange 지정 시 해당 거래소 전체)를 반환한다.
+	 *
+	 * @param exchange 거래소 이름 (선택)
+	 * @param markets 마켓 코드 목록 (선택, exchange 필수)
+	 * @return 스냅샷 목록
+	 */
+	@GetMapping
+	public ResponseEntity<List<MarketSnapshot>> getSnapshots(
+		@RequestParam(required = false) String exchange,
+		@RequestParam(required = false) List<String> markets
+	) {
+		if (markets == null || markets.isEmpty()) {
+			long version = marketSnapshotStore.currentVersion();
+			return ResponseEntity.ok()
+				.eTag("all-" + version)
+				.body(marketSnapshotStore.findAll(exchange));
+		}
+		if (exchange == null || exchange.isBlank()) {
+			return ResponseEntity.badRequest().build();
+		}
+		List<MarketSnapshot> snapshots = marketSnapshotStore.findAll(exchange, markets);
+		return ResponseEntity.ok()
+			.eTag(combinedVersion(snapshots))
+			.body(snapshots);
+	}
+
+	private String combinedVersion(List<MarketSnapshot> snapshots) {
+		long hash = 1125899906842597L;
+		for (MarketSnapshot snapshot : snapshots) {
+			hash = 31 * hash + snapshot.getVersion();
+		}
+		return snapshots.size() + "-" + Long.toHexString(hash);
+	}
+}
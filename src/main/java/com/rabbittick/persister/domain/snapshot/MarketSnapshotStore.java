@@ -0,0 +1,134 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.domain.orderbook.OrderBook;
+import com.rabbittick.persister.domain.ticker.Ticker;
+import com.rabbittick.persister.global.tx.AfterCommit;
+
+/**
+ * 거래소/마켓별 최신 Ticker/OrderBook 을 메모리에 보관하는 스토어.
+ *
+ * 주요 책임:
+ *
+ * 저장 트랜잭션 커밋 이후 최신 상태 갱신
+ * 늦게 도착한(더 오래된 timestamp) 데이터로 최신 상태를 덮어쓰지 않음
+ * DB 조회 없이 최신 상태 조회 제공
+ * 엔티티를 보관하지 않고 응답용 스냅샷 레코드(TickerSnapshot, OrderBookSnapshot)로 옮겨 보관
+ */
+@Component
+public class MarketSnapshotStore {
+
+	private final Map<MarketKey, MarketSnapshot> snapshots = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * 저장된 티커를 반영한다. 트랜잭션 안이면 커밋 이후에 반영한다.
+	 *
+	 * @param ticker 저장된 티커 엔티티
+	 */
+	public void onTickerPersisted(Ticker ticker) {
+		AfterCommit.run(() -> updateTicker(ticker));
+	}
+
+	/**
+	 * 저장된 호가를 반영한다. 트랜잭션 안이면 커밋 이후에 반영한다.
+	 *
+	 * @param orderBook 저장된 호가 엔티티
+	 */
+	public void onOrderBookPersisted(OrderBook orderBook) {
+		AfterCommit.run(() -> updateOrderBook(orderBook));
+	}
+
+	/**
+	 * 단일 마켓 스냅샷을 조회한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCode 마켓 코드
+	 * @return 스냅샷 (없으면 null)
+	 */
+	public MarketSnapshot find(String exchange, String marketCode) {
+		return snapshots.get(MarketKey.of(exchange, marketCode));
+	}
+
+	/**
+	 * 여러 마켓 스냅샷을 조회한다. 존재하지 않는 마켓은 제외한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param marketCodes 마켓 코드 목록
+	 * @return 스냅샷 목록
+	 */
+	public List<MarketSnapshot> findAll(String exchange, Collection<String> marketCodes) {
+		List<MarketSnapshot> result = new ArrayList<>(marketCodes.size());
+		for (String marketCode : marketCodes) {
+			MarketSnapshot snapshot = find(exchange, marketCode);
+			if (snapshot != null) {
+				result.add(snapshot);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 전체 스냅샷을 조회한다.
+	 *
+	 * @param exchange 거래소 필터 (null 이면 전체)
+	 * @return 스냅샷 목록
+	 */
+	public List<MarketSnapshot> findAll(String exchange) {
+		List<MarketSnapshot> result = new ArrayList<>(snapshots.size());
+		for (MarketSnapshot snapshot : snapshots.values()) {
+			if (exchange == null || snapshot.getExchange().equalsIgnoreCase(exchange)) {
+				result.add(snapshot);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 스토어 전역 버전을 반환한다. 어떤 마켓이든 갱신되면 증가한다.
+	 *
+	 * @return 전역 버전
+	 */
+	public long currentVersion() {
+		return version.get();
+	}
+
+	void updateTicker(Ticker ticker) {
+		MarketKey key = MarketKey.of(ticker.getExchange(), ticker.getMarketCode());
+		snapshots.compute(key, (k, current) -> {
+			if (current != null && current.getTicker() != null
+				&& current.getTicker().timestamp() > ticker.getTimestamp()) {
+				return current;
+			}
+			return base(k, current).ticker(TickerSnapshot.from(ticker)).version(version.incrementAndGet()).build();
+		});
+	}
+
+	void updateOrderBook(OrderBook orderBook) {
+		MarketKey key = MarketKey.of(orderBook.getExchange(), orderBook.getMarketCode());
+		snapshots.compute(key, (k, current) -> {
+			if (current != null && current.getOrderBook() != null
+				&& current.getOrderBook().timestamp() > orderBook.getTimestamp()) {
+				return current;
+			}
+			return base(k, current).orderBook(OrderBookSnapshot.from(orderBook)).version(version.incrementAndGet()).build();
+		});
+	}
+
+	private MarketSnapshot.MarketSnapshotBuilder base(MarketKey key, MarketSnapshot current) {
+		if (current != null) {
+			return current.toBuilder();
+		}
+		return MarketSnapshot.builder()
+			.exchange(key.exchange())
+			.marketCode(key.marketCode());
+	}
+}
@@ -0,0 +1,61 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rabbittick.persister.domain.orderbook.OrderBook;
+import com.rabbittick.persister.domain.orderbook.OrderBookUnit;
+
+/**
+ * 스냅샷 응답에 담는 호가.
+ *
+ * 엔티티 식별자(id, 호가 단위 id)와 저장 시각(createdAt)은 담지 않는다.
+ *
+ * @param timestamp 데이터 발생 시각 (Unix timestamp ms)
+ * @param totalAskSize 총 매도 잔량
+ * @param totalBidSize 총 매수 잔량
+ * @param orderbookUnits 호가 단위 목록 (최우선 호가부터)
+ */
+public record OrderBookSnapshot(
+	long timestamp,
+	BigDecimal totalAskSize,
+	BigDecimal totalBidSize,
+	List<Unit> orderbookUnits
+) {
+
+	/**
+	 * 저장된 호가 엔티티에서 시세 필드만 옮긴다.
+	 *
+	 * @param orderBook 호가 엔티티
+	 * @return 호가 스냅샷
+	 */
+	public static OrderBookSnapshot from(OrderBook orderBook) {
+		List<Unit> units = new ArrayList<>(orderBook.getOrderbookUnits().size());
+		for (OrderBookUnit unit : orderBook.getOrderbookUnits()) {
+			units.add(new Unit(unit.getAskPrice(), unit.getAskSize(), unit.getBidPrice(), unit.getBidSize()));
+		}
+		return new OrderBookSnapshot(
+			orderBook.getTimestamp(),
+			orderBook.getTotalAskSize(),
+			orderBook.getTotalBidSize(),
+			List.copyOf(units)
+		);
+	}
+
+	/**
+	 * 호가 단위.
+	 *
+	 * @param askPrice 매도 호가
+	 * @param askSize 매도 잔량
+	 * @param bidPrice 매수 호가
+	 * @param bidSize 매수 잔량
+	 */
+	public record Unit(
+		BigDecimal askPrice,
+		BigDecimal askSize,
+		BigDecimal bidPrice,
+		BigDecimal bidSize
+	) {
+	}
+}
@@ -0,0 +1,54 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import java.math.BigDecimal;
+
+import com.rabbittick.persister.domain.ticker.Ticker;
+
+/**
+ * 스냅샷 응답에 담는 티커 시세.
+ *
+ * 엔티티 식별자(id)와 저장 시각(createdAt)은 담지 않는다.
+ * 배치 저장·v2 경로에서는 채워지지 않아 API 에 null 로 노출되기 때문이다.
+ *
+ * @param tradePrice 현재가
+ * @param tradeVolume 최근 거래량
+ * @param openingPrice 시가
+ * @param highPrice 고가
+ * @param lowPrice 저가
+ * @param prevClosingPrice 전일 종가
+ * @param accTradePrice24h 24시간 누적 거래대금
+ * @param accTradeVolume24h 24시간 누적 거래량
+ * @param timestamp 데이터 발생 시각 (Unix timestamp ms)
+ */
+public record TickerSnapshot(
+	BigDecimal tradePrice,
+	BigDecimal tradeVolume,
+	BigDecimal openingPrice,
+	BigDecimal highPrice,
+	BigDecimal lowPrice,
+	BigDecimal prevClosingPrice,
+	BigDecimal accTradePrice24h,
+	BigDecimal accTradeVolume24h,
+	long timestamp
+) {
+
+	/**
+	 * 저장된 티커 엔티티에서 시세 필드만 옮긴다.
+	 *
+	 * @param ticker 티커 엔티티
+	 * @return 티커 스냅샷
+	 */
+	public static TickerSnapshot from(Ticker ticker) {
+		return new TickerSnapshot(
+			ticker.getTradePrice(),
+			ticker.getTradeVolume(),
+			ticker.getOpeningPrice(),
+			ticker.getHighPrice(),
+			ticker.getLowPrice(),
+			ticker.getPrevClosingPrice(),
+			ticker.getAccTradePrice24h(),
+			ticker.getAccTradeVolume24h(),
+			ticker.getTimestamp()
+		);
+	}
+}
@@ -0,0 +1,78 @@
+package com.rabbittick.persister.domain.ticker;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 봉투의 티커 행을 JDBC 배치로 INSERT 하는 기록기.
+ *
+ * 주요 책임:
+ *
+ * ticker / ticker_v2 행을 batchUpdate 한 번으로 전송
+ * 호출한 저장 트랜잭션의 커넥션 사용 (롤백 시 함께 롤백)
+ *
+ * 저장 방식의 배경은 TradeBatchWriter 와 같다 (IDENTITY 키라 saveAll 은 레코드마다 INSERT).
+ */
+@Component
+public class TickerBatchWriter {
+
+	private static final String INSERT = "INSERT INTO ticker (exchange, market_code, trade_price, trade_volume,"
+		+ " opening_price, high_price, low_price, prev_closing_price, acc_trade_price_24h, acc_trade_volume_24h,"
+		+ " timestamp, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_COMPACT = "INSERT INTO ticker_v2 (market_id, trade_price, trade_volume,"
+		+ " opening_price, high_price, low_price, prev_closing_price, acc_trade_price_24h, acc_trade_volume_24h,"
+		+ " timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * TickerBatchWriter 생성자.
+	 *
+	 * @param dataSource 데이터 소스 (저장 트랜잭션과 같은 커넥션을 쓰도록 JPA 와 같은 빈)
+	 */
+	public TickerBatchWriter(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * ticker 행을 JDBC 배치로 INSERT 한다.
+	 *
+	 * @param tickers 저장할 엔티티 목록
+	 */
+	public void insert(List<Ticker> tickers) {
+		Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(tickers.size());
+		for (Ticker ticker : tickers) {
+			rows.add(new Object[] {
+				ticker.getExchange(), ticker.getMarketCode(), ticker.getTradePrice(), ticker.getTradeVolume(),
+				ticker.getOpeningPrice(), ticker.getHighPrice(), ticker.getLowPrice(), ticker.getPrevClosingPrice(),
+				ticker.getAccTradePrice24h(), ticker.getAccTradeVolume24h(), ticker.getTimestamp(), createdAt
+			});
+		}
+		jdbcTemplate.batchUpdate(INSERT, rows);
+	}
+
+	/**
+	 * ticker_v2 행을 JDBC 배치로 INSERT 한다.
+	 *
+	 * @param tickers 저장할 compact 엔티티 목록
+	 */
+	public void insertCompact(List<TickerV2> tickers) {
+		List<Object[]> rows = new ArrayList<>(tickers.size());
+		for (TickerV2 ticker : tickers) {
+			rows.add(new Object[] {
+				ticker.getMarketId(), ticker.getTradePrice(), ticker.getTradeVolume(), ticker.getOpeningPrice(),
+				ticker.getHighPrice(), ticker.getLowPrice(), ticker.getPrevClosingPrice(),
+				ticker.getAccTradePrice24h(), ticker.getAccTradeVolume24h(), ticker.getTimestamp()
+			});
+		}
+		jdbcTemplate.batchUpdate(INSERT_COMPACT, rows);
+	}
+}
@@ -51,6 +51,31 @@ public class TickerMapper {
 			.build();
 	}
 
+	/**
+	 * 검증·변환된 Ticker 를 compact 행(v2)으로 변환한다.
+	 * 최신 상태 스냅샷은 Ticker 를 그대로 쓰므로, v2 저장 시에도 toEntity 결과를 재사용한다.
+	 *
+	 * @param ticker toEntity 로 변환된 티커
+	 * @param marketId 마켓 사전 ID
+	 * @return 변환된 TickerV2 엔티티
+	 */
+	public TickerV2 toCompactEntity(Ticker ticker, short marketId) {
+		Objects.requireNonNull(ticker, "ticker는 null일 수 없다");
+
+		return TickerV2.builder()
+			.marketId(marketId)
+			.tradePrice(ticker.getTradePrice())
+			.tradeVolume(ticker.getTradeVolume())
+			.openingPrice(ticker.getOpeningPrice())
+			.highPrice(ticker.getHighPrice())
+			.lowPrice(ticker.getLowPrice())
+			.prevClosingPrice(ticker.getPrevClosingPrice())
+			.accTradePrice24h(ticker.getAccTradePrice24h())
+			.accTradeVolume24h(ticker.getAccTradeVolume24h())
+			.timestamp(ticker.getTimestamp())
+			.build();
+	}
+
 	/**
 	 * TickerPayload 필수 필드를 검증한다.
 	 *
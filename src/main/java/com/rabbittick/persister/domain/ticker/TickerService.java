@@ -1,6 +1,9 @@
 package com.rabbittick.persister.domain.ticker;
 
+import java.util.List;
+
 import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.TickerPayload;
 
 /**
@@ -14,4 +17,17 @@ public interface TickerService {
 	 * @param message 표준 시장 데이터 메시지
 	 */
 	void saveTicker(MarketDataMessage<TickerPayload> message);
+
+	/**
+	 * 배치 봉투의 티커 레코드를 저장한다.
+	 * 기본 구현은 레코드마다 saveTicker 를 호출하며, 구현체는 한 트랜잭션으로 묶어 저장한다.
+	 *
+	 * @param metadata 배치 공통 메타데이터
+	 * @param payloads 페이로드 목록
+	 */
+	default void saveTickers(Metadata metadata, List<TickerPayload> payloads) {
+		for (TickerPayload payload : payloads) {
+			saveTicker(new MarketDataMessage<>(metadata, payload));
+		}
+	}
 }
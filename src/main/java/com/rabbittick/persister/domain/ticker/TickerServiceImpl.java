@@ -1,10 +1,20 @@
 package com.rabbittick.persister.domain.ticker;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.rabbittick.persister.domain.market.MarketDictionary;
+import com.rabbittick.persister.domain.market.RowFormat;
+import com.rabbittick.persister.domain.recent.RecentWindowStore;
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+import com.rabbittick.persister.domain.snapshot.MarketSnapshotStore;
 import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.jfr.MapEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -13,8 +23,11 @@ import lombok.RequiredArgsConstructor;
  *
  * 주요 책임:
  *
- * 메시지 -> 엔티티 변환 호출
- * 트랜잭션 내 저장 처리
+ * 메시지 -> 엔티티 변환 호출 (JFR MapEvent 기록)
+ * 트랜잭션 내 저장 처리 (배치 봉투는 한 트랜잭션 안에서 TickerBatchWriter 로 JDBC 배치 INSERT)
+ * 커밋 이후 최신 상태 스냅샷·최근 구간 시계열(RecentWindowStore) 갱신
+ *
+ * app.persistence.row-format 이 v2 면 마켓 사전 ID 로 변환한 compact 행(ticker_v2)으로 저장한다.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +35,12 @@ public class TickerServiceImpl implements TickerService {
 	
 	private final TickerRepository tickerRepository;
 	private final TickerMapper tickerMapper;
+	private final MarketSnapshotStore marketSnapshotStore;
+	private final TickerV2Repository tickerV2Repository;
+	private final TickerBatchWriter tickerBatchWriter;
+	private final MarketDictionary marketDictionary;
+	private final RowFormat rowFormat;
+	private final RecentWindowStore recentWindowStore;
 
 	/**
 	 * 티커 메시지를 저장한다.
@@ -31,7 +50,52 @@ public class TickerServiceImpl implements TickerService {
 	@Override
 	@Transactional
 	public void saveTicker(MarketDataMessage<TickerPayload> message) {
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
 		Ticker ticker = tickerMapper.toEntity(message);
-		tickerRepository.save(ticker);
+		mapEvent.complete("ticker", message.getPayload().getMarketCode(), 1);
+		if (rowFormat == RowFormat.V2) {
+			MarketKey marketKey = MarketKey.of(ticker.getExchange(), ticker.getMarketCode());
+			tickerV2Repository.save(tickerMapper.toCompactEntity(ticker, marketDictionary.resolve(marketKey)));
+		} else {
+			tickerRepository.save(ticker);
+		}
+		marketSnapshotStore.onTickerPersisted(ticker);
+		recentWindowStore.onTickersPersisted(message.getMetadata().getExchange(), List.of(message.getPayload()));
+	}
+
+	/**
+	 * 배치 봉투의 티커 레코드를 한 트랜잭션으로 저장한다.
+	 * IDENTITY 키 엔티티의 saveAll 은 레코드마다 INSERT 를 보내므로 JDBC 배치(batchUpdate)로 INSERT 한다.
+	 * 한 레코드라도 실패하면 전체가 롤백되며, 레코드 단위 재처리는 호출자가 담당한다.
+	 *
+	 * @param metadata 배치 공통 메타데이터
+	 * @param payloads 페이로드 목록
+	 */
+	@Override
+	@Transactional
+	public void saveTickers(Metadata metadata, List<TickerPayload> payloads) {
+		if (payloads.isEmpty()) {
+			return;
+		}
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
+		List<Ticker> tickers = new ArrayList<>(payloads.size());
+		for (TickerPayload payload : payloads) {
+			tickers.add(tickerMapper.toEntity(new MarketDataMessage<>(metadata, payload)));
+		}
+		mapEvent.complete("ticker", payloads.get(0).getMarketCode(), tickers.size());
+		if (rowFormat == RowFormat.V2) {
+			List<TickerV2> compact = new ArrayList<>(tickers.size());
+			for (Ticker ticker : tickers) {
+				MarketKey marketKey = MarketKey.of(ticker.getExchange(), ticker.getMarketCode());
+				compact.add(tickerMapper.toCompactEntity(ticker, marketDictionary.resolve(marketKey)));
+			}
+			tickerBatchWriter.insertCompact(compact);
+		} else {
+			tickerBatchWriter.insert(tickers);
+		}
+		tickers.forEach(marketSnapshotStore::onTickerPersisted);
+		recentWindowStore.onTickersPersisted(metadata.getExchange(), payloads);
 	}
 }
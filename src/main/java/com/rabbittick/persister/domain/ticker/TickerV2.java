@@ -0,0 +1,74 @@
+package com.rabbittick.persister.domain.ticker;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 티커 compact 행(v2) 엔티티.
+ *
+ * v1 대비 exchange/market_code 를 market_dictionary 의 SMALLINT market_id 로 바꾸고 created_at 을 제거했다.
+ * 기존 컬럼 이름으로 읽으려면 ticker_v2_compat 뷰를 사용한다.
+ */
+@Entity
+@Table(
+	name = "ticker_v2",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_ticker_v2_unique",
+		columnNames = { "market_id", "timestamp" }
+	)
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class TickerV2 {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * market_dictionary ID.
+	 */
+	@Column(name = "market_id", nullable = false)
+	private short marketId;
+
+	@Column(name = "trade_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal tradePrice;
+
+	@Column(name = "trade_volume", nullable = false, precision = 20, scale = 8)
+	private BigDecimal tradeVolume;
+
+	@Column(name = "opening_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal openingPrice;
+
+	@Column(name = "high_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal highPrice;
+
+	@Column(name = "low_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal lowPrice;
+
+	@Column(name = "prev_closing_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal prevClosingPrice;
+
+	@Column(name = "acc_trade_price_24h", nullable = false, precision = 30, scale = 8)
+	private BigDecimal accTradePrice24h;
+
+	@Column(name = "acc_trade_volume_24h", nullable = false, precision = 20, scale = 8)
+	private BigDecimal accTradeVolume24h;
+
+	@Column(nullable = false)
+	private long timestamp;
+}
@@ -0,0 +1,9 @@
+package com.rabbittick.persister.domain.ticker;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * TickerV2 엔티티 저장소.
+ */
+public interface TickerV2Repository extends JpaRepository<TickerV2, Long> {
+}
@@ -0,0 +1,35 @@
+package com.rabbittick.persister.domain.trade;
+
+/**
+ * 매수/매도 구분. v2 행 형식에서 TINYINT 코드로 저장한다.
+ */
+public enum AskBid {
+
+	ASK((byte) 1),
+	BID((byte) 2);
+
+	private final byte code;
+
+	AskBid(byte code) {
+		this.code = code;
+	}
+
+	public byte code() {
+		return code;
+	}
+
+	/**
+	 * 메시지 문자열 값으로 구분을 찾는다.
+	 *
+	 * @param value ASK 또는 BID
+	 * @return 매수/매도 구분
+	 * @throws IllegalArgumentException 알 수 없는 값인 경우
+	 */
+	public static AskBid from(String value) {
+		return switch (value) {
+			case "ASK" -> ASK;
+			case "BID" -> BID;
+			default -> throw new IllegalArgumentException("askBid 값이 올바르지 않다: " + value);
+		};
+	}
+}
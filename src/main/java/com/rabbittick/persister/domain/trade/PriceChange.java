@@ -0,0 +1,37 @@
+package com.rabbittick.persister.domain.trade;
+
+/**
+ * 전일 종가 대비 등락 구분. v2 행 형식에서 TINYINT 코드로 저장한다.
+ */
+public enum PriceChange {
+
+	EVEN((byte) 0),
+	RISE((byte) 1),
+	FALL((byte) 2);
+
+	private final byte code;
+
+	PriceChange(byte code) {
+		this.code = code;
+	}
+
+	public byte code() {
+		return code;
+	}
+
+	/**
+	 * 메시지 문자열 값으로 등락 구분을 찾는다.
+	 *
+	 * @param value EVEN, RISE, FALL
+	 * @return 등락 구분
+	 * @throws IllegalArgumentException 알 수 없는 값인 경우
+	 */
+	public static PriceChange from(String value) {
+		return switch (value) {
+			case "EVEN" -> EVEN;
+			case "RISE" -> RISE;
+			case "FALL" -> FALL;
+			default -> throw new IllegalArgumentException("change 값이 올바르지 않다: " + value);
+		};
+	}
+}
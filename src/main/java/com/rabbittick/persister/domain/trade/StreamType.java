@@ -0,0 +1,35 @@
+package com.rabbittick.persister.domain.trade;
+
+/**
+ * 수신 스트림 구분. v2 행 형식에서 TINYINT 코드로 저장한다.
+ */
+public enum StreamType {
+
+	REALTIME((byte) 1),
+	SNAPSHOT((byte) 2);
+
+	private final byte code;
+
+	StreamType(byte code) {
+		this.code = code;
+	}
+
+	public byte code() {
+		return code;
+	}
+
+	/**
+	 * 메시지 문자열 값으로 스트림 구분을 찾는다.
+	 *
+	 * @param value REALTIME 또는 SNAPSHOT
+	 * @return 스트림 구분
+	 * @throws IllegalArgumentException 알 수 없는 값인 경우
+	 */
+	public static StreamType from(String value) {
+		return switch (value) {
+			case "REALTIME" -> REALTIME;
+			case "SNAPSHOT" -> SNAPSHOT;
+			default -> throw new IllegalArgumentException("streamType 값이 올바르지 않다: " + value);
+		};
+	}
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
@@ -25,6 +26,7 @@ import lombok.NoArgsConstructor;
  *
  * trade 스키마와의 정확한 매핑
  * UNIQUE 제약을 통한 멱등성 기반 지원
+ * 마켓별 체결 시각 순 keyset 조회를 위한 복합 인덱스 제공
  */
 @Entity
 @Table(
@@ -32,6 +34,10 @@ import lombok.NoArgsConstructor;
 	uniqueConstraints = @UniqueConstraint(
 		name = "uk_trade_unique",
 		columnNames = { "exchange", "market_code", "sequential_id" }
+	),
+	indexes = @Index(
+		name = "idx_trade_market_time",
+		columnList = "exchange, market_code, trade_timestamp, sequential_id"
 	)
 )
 @Getter
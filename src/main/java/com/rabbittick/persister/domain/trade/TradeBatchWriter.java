@@ -0,0 +1,85 @@
+package com.rabbittick.persister.domain.trade;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 봉투의 거래 체결 행을 JDBC 배치로 INSERT 하는 기록기.
+ *
+ * 주요 책임:
+ *
+ * trade / trade_v2 행을 batchUpdate 한 번으로 전송
+ * 호출한 저장 트랜잭션의 커넥션 사용 (롤백 시 함께 롤백)
+ *
+ * id 가 IDENTITY 라 Hibernate 는 saveAll 도 레코드마다 INSERT 를 보내고 jdbc.batch_size 를 적용하지 않는다.
+ * 생성 키가 필요 없는 봉투 저장은 이 기록기로 보내고, rewriteBatchedStatements=true 인 MySQL 드라이버가
+ * 다중 행 INSERT 로 묶는다. 단건 저장(saveTrade)은 기존처럼 JPA 저장소를 쓴다.
+ */
+@Component
+public class TradeBatchWriter {
+
+	private static final String INSERT = "INSERT INTO trade (exchange, market_code, timestamp, trade_date, trade_time,"
+		+ " trade_timestamp, trade_price, trade_volume, ask_bid, prev_closing_price, `change`, change_price,"
+		+ " sequential_id, best_ask_price, best_ask_size, best_bid_price, best_bid_size, stream_type, created_at)"
+		+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_COMPACT = "INSERT INTO trade_v2 (market_id, timestamp, trade_timestamp,"
+		+ " trade_price, trade_volume, ask_bid, prev_closing_price, `change`, change_price, sequential_id,"
+		+ " best_ask_price, best_ask_size, best_bid_price, best_bid_size, stream_type)"
+		+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * TradeBatchWriter 생성자.
+	 *
+	 * @param dataSource 데이터 소스 (저장 트랜잭션과 같은 커넥션을 쓰도록 JPA 와 같은 빈)
+	 */
+	public TradeBatchWriter(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * trade 행을 JDBC 배치로 INSERT 한다.
+	 *
+	 * @param trades 저장할 엔티티 목록
+	 */
+	public void insert(List<Trade> trades) {
+		Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(trades.size());
+		for (Trade trade : trades) {
+			rows.add(new Object[] {
+				trade.getExchange(), trade.getMarketCode(), trade.getTimestamp(), trade.getTradeDate(),
+				trade.getTradeTime(), trade.getTradeTimestamp(), trade.getTradePrice(), trade.getTradeVolume(),
+				trade.getAskBid(), trade.getPrevClosingPrice(), trade.getChange(), trade.getChangePrice(),
+				trade.getSequentialId(), trade.getBestAskPrice(), trade.getBestAskSize(), trade.getBestBidPrice(),
+				trade.getBestBidSize(), trade.getStreamType(), createdAt
+			});
+		}
+		jdbcTemplate.batchUpdate(INSERT, rows);
+	}
+
+	/**
+	 * trade_v2 행을 JDBC 배치로 INSERT 한다.
+	 *
+	 * @param trades 저장할 compact 엔티티 목록
+	 */
+	public void insertCompact(List<TradeV2> trades) {
+		List<Object[]> rows = new ArrayList<>(trades.size());
+		for (TradeV2 trade : trades) {
+			rows.add(new Object[] {
+				trade.getMarketId(), trade.getTimestamp(), trade.getTradeTimestamp(), trade.getTradePrice(),
+				trade.getTradeVolume(), trade.getAskBid(), trade.getPrevClosingPrice(), trade.getChange(),
+				trade.getChangePrice(), trade.getSequentialId(), trade.getBestAskPrice(), trade.getBestAskSize(),
+				trade.getBestBidPrice(), trade.getBestBidSize(), trade.getStreamType()
+			});
+		}
+		jdbcTemplate.batchUpdate(INSERT_COMPACT, rows);
+	}
+}
@@ -58,6 +58,43 @@ public class TradeMapper {
 			.build();
 	}
 
+	/**
+	 * MarketDataMessage를 compact 행(v2) TradeV2 엔티티로 변환한다.
+	 * 문자열 코드는 TINYINT 코드로 바꾸고, tradeDate/tradeTime 은 tradeTimestamp 로 대체되므로 저장하지 않는다.
+	 *
+	 * @param message 표준 시장 데이터 메시지
+	 * @param marketId 마켓 사전 ID
+	 * @return 변환된 TradeV2 엔티티
+	 * @throws NullPointerException 필수 필드가 null인 경우
+	 * @throws IllegalArgumentException askBid/change/streamType 값이 알 수 없는 값인 경우
+	 */
+	public TradeV2 toCompactEntity(MarketDataMessage<TradePayload> message, short marketId) {
+		Objects.requireNonNull(message, "message는 null일 수 없다");
+		Objects.requireNonNull(message.getMetadata(), "metadata는 null일 수 없다");
+		Objects.requireNonNull(message.getPayload(), "payload는 null일 수 없다");
+
+		TradePayload payload = message.getPayload();
+		validatePayload(payload);
+
+		return TradeV2.builder()
+			.marketId(marketId)
+			.timestamp(payload.getTimestamp())
+			.tradeTimestamp(payload.getTradeTimestamp())
+			.tradePrice(payload.getTradePrice())
+			.tradeVolume(payload.getTradeVolume())
+			.askBid(AskBid.from(payload.getAskBid()).code())
+			.prevClosingPrice(payload.getPrevClosingPrice())
+			.change(PriceChange.from(payload.getChange()).code())
+			.changePrice(payload.getChangePrice())
+			.sequentialId(payload.getSequentialId())
+			.bestAskPrice(payload.getBestAskPrice())
+			.bestAskSize(payload.getBestAskSize())
+			.bestBidPrice(payload.getBestBidPrice())
+			.bestBidSize(payload.getBestBidSize())
+			.streamType(StreamType.from(payload.getStreamType()).code())
+			.build();
+	}
+
 	/**
 	 * TradePayload 필수 필드를 검증한다.
 	 *
@@ -1,10 +1,20 @@
 package com.rabbittick.persister.domain.trade;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.rabbittick.persister.domain.market.MarketDictionary;
+import com.rabbittick.persister.domain.market.RowFormat;
+import com.rabbittick.persister.domain.recent.RecentWindowStore;
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+import com.rabbittick.persister.domain.trade.gap.SequenceGapTracker;
 import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.global.jfr.MapEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -13,8 +23,11 @@ import lombok.RequiredArgsConstructor;
  *
  * 주요 책임:
  *
- * 메시지 -> 엔티티 변환 호출
- * 트랜잭션 내 저장 처리
+ * 메시지 -> 엔티티 변환 호출 (JFR MapEvent 기록)
+ * 트랜잭션 내 저장 처리 (배치 봉투는 한 트랜잭션 안에서 TradeBatchWriter 로 JDBC 배치 INSERT)
+ * 커밋 이후 최근 구간 시계열(RecentWindowStore)·순번 연속성(SequenceGapTracker) 갱신
+ *
+ * app.persistence.row-format 이 v2 면 마켓 사전 ID 로 변환한 compact 행(trade_v2)으로 저장한다.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +35,12 @@ public class TradeServiceImpl implements TradeService {
 	
 	private final TradeRepository tradeRepository;
 	private final TradeMapper tradeMapper;
+	private final TradeV2Repository tradeV2Repository;
+	private final TradeBatchWriter tradeBatchWriter;
+	private final MarketDictionary marketDictionary;
+	private final RowFormat rowFormat;
+	private final RecentWindowStore recentWindowStore;
+	private final SequenceGapTracker sequenceGapTracker;
 
 	/**
 	 * 거래 체결 메시지를 저장한다.
@@ -31,7 +50,58 @@ public class TradeServiceImpl implements TradeService {
 	@Override
 	@Transactional
 	public void saveTrade(MarketDataMessage<TradePayload> message) {
-		Trade trade = tradeMapper.toEntity(message);
-		tradeRepository.save(trade);
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
+		if (rowFormat == RowFormat.V2) {
+			MarketKey marketKey = MarketKey.of(message.getMetadata().getExchange(), message.getPayload().getMarketCode());
+			TradeV2 trade = tradeMapper.toCompactEntity(message, marketDictionary.resolve(marketKey));
+			mapEvent.complete("trade", message.getPayload().getMarketCode(), 1);
+			tradeV2Repository.save(trade);
+		} else {
+			Trade trade = tradeMapper.toEntity(message);
+			mapEvent.complete("trade", message.getPayload().getMarketCode(), 1);
+			tradeRepository.save(trade);
+		}
+		List<TradePayload> persisted = List.of(message.getPayload());
+		recentWindowStore.onTradesPersisted(message.getMetadata().getExchange(), persisted);
+		sequenceGapTracker.onTradesPersisted(message.getMetadata().getExchange(), persisted);
+	}
+
+	/**
+	 * 배치 봉투의 거래 체결 레코드를 한 트랜잭션으로 저장한다.
+	 * IDENTITY 키 엔티티의 saveAll 은 레코드마다 INSERT 를 보내므로 JDBC 배치(batchUpdate)로 INSERT 한다.
+	 * 한 레코드라도 실패하면 전체가 롤백되며, 레코드 단위 재처리는 호출자가 담당한다.
+	 *
+	 * @param metadata 배치 공통 메타데이터
+	 * @param payloads 페이로드 목록
+	 */
+	@Override
+	@Transactional
+	public void saveTrades(Metadata metadata, List<TradePayload> payloads) {
+		if (payloads.isEmpty()) {
+			return;
+		}
+		MapEvent mapEvent = new MapEvent();
+		mapEvent.begin();
+		String marketCode = payloads.get(0).getMarketCode();
+		if (rowFormat == RowFormat.V2) {
+			List<TradeV2> trades = new ArrayList<>(payloads.size());
+			for (TradePayload payload : payloads) {
+				MarketKey marketKey = MarketKey.of(metadata.getExchange(), payload.getMarketCode());
+				trades.add(tradeMapper.toCompactEntity(
+					new MarketDataMessage<>(metadata, payload), marketDictionary.resolve(marketKey)));
+			}
+			mapEvent.complete("trade", marketCode, trades.size());
+			tradeBatchWriter.insertCompact(trades);
+		} else {
+			List<Trade> trades = new ArrayList<>(payloads.size());
+			for (TradePayload payload : payloads) {
+				trades.add(tradeMapper.toEntity(new MarketDataMessage<>(metadata, payload)));
+			}
+			mapEvent.complete("trade", marketCode, trades.size());
+			tradeBatchWriter.insert(trades);
+		}
+		recentWindowStore.onTradesPersisted(metadata.getExchange(), payloads);
+		sequenceGapTracker.onTradesPersisted(metadata.getExchange(), payloads);
 	}
 }
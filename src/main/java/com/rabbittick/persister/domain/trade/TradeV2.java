@@ -0,0 +1,107 @@
+package com.rabbittick.persister.domain.trade;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 거래 체결 compact 행(v2) 엔티티.
+ *
+ * v1 대비 변경:
+ *
+ * exchange/market_code → market_dictionary 의 SMALLINT market_id
+ * ask_bid/change/stream_type → TINYINT 코드 (AskBid, PriceChange, StreamType)
+ * trade_date/trade_time 제거 (trade_timestamp 에서 계산, trade_v2_compat 뷰 제공)
+ * created_at 제거
+ */
+@Entity
+@Table(
+	name = "trade_v2",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_trade_v2_unique",
+		columnNames = { "market_id", "sequential_id" }
+	),
+	indexes = @Index(
+		name = "idx_trade_v2_market_time",
+		columnList = "market_id, trade_timestamp, sequential_id"
+	)
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class TradeV2 {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * market_dictionary ID.
+	 */
+	@Column(name = "market_id", nullable = false)
+	private short marketId;
+
+	@Column(nullable = false)
+	private long timestamp;
+
+	@Column(name = "trade_timestamp", nullable = false)
+	private long tradeTimestamp;
+
+	@Column(name = "trade_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal tradePrice;
+
+	@Column(name = "trade_volume", nullable = false, precision = 20, scale = 8)
+	private BigDecimal tradeVolume;
+
+	/**
+	 * AskBid 코드.
+	 */
+	@Column(name = "ask_bid", nullable = false)
+	private byte askBid;
+
+	@Column(name = "prev_closing_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal prevClosingPrice;
+
+	/**
+	 * PriceChange 코드.
+	 */
+	@Column(name = "`change`", nullable = false)
+	private byte change;
+
+	@Column(name = "change_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal changePrice;
+
+	@Column(name = "sequential_id", nullable = false)
+	private long sequentialId;
+
+	@Column(name = "best_ask_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestAskPrice;
+
+	@Column(name = "best_ask_size", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestAskSize;
+
+	@Column(name = "best_bid_price", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestBidPrice;
+
+	@Column(name = "best_bid_size", nullable = false, precision = 20, scale = 8)
+	private BigDecimal bestBidSize;
+
+	/**
+	 * StreamType 코드.
+	 */
+	@Column(name = "stream_type", nullable = false)
+	private byte streamType;
+}
@@ -0,0 +1,9 @@
+package com.rabbittick.persister.domain.trade;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * TradeV2 엔티티 저장소.
+ */
+public interface TradeV2Repository extends JpaRepository<TradeV2, Long> {
+}
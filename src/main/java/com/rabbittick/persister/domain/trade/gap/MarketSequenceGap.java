@@ -0,0 +1,27 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+import java.util.List;
+
+/**
+ * 마켓별 체결 순번 연속성 현황.
+ *
+ * @param exchange 거래소
+ * @param marketCode 마켓 코드
+ * @param contiguous 빠짐없이 도착한 최대 순번
+ * @param highest 지금까지 본 최대 순번
+ * @param missing 아직 도착하지 않은 순번 수 (contiguous 와 highest 사이)
+ * @param openGaps 아직 도착하지 않은 순번 구간 수
+ * @param lost 창을 넘어 유실로 확정한 순번 수 (누적)
+ * @param ranges 빈 구간 (앞에서부터 최대 app.trade-gaps.max-reported-ranges 개)
+ */
+public record MarketSequenceGap(
+	String exchange,
+	String marketCode,
+	long contiguous,
+	long highest,
+	long missing,
+	int openGaps,
+	long lost,
+	List<SequenceGapRange> ranges
+) {
+}
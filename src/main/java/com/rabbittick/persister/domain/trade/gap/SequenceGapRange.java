@@ -0,0 +1,10 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+/**
+ * 아직 도착하지 않은 체결 순번 구간.
+ *
+ * @param from 시작 순번 (포함)
+ * @param to 종료 순번 (포함)
+ */
+public record SequenceGapRange(long from, long to) {
+}
@@ -0,0 +1,205 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.global.tx.AfterCommit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 거래소/마켓별 체결 순번(sequentialId) 연속성을 추적하는 트래커.
+ *
+ * 주요 책임:
+ *
+ * 저장 트랜잭션 커밋 이후 마켓별 SequenceState 를 CAS 로 갱신 (잠금 없음)
+ * 빈 순번 발생·유실 확정·중복 도착 카운터, 순서 바뀐 도착의 거리 분포 기록
+ * 현재 빈 순번 수·빈 구간 수 게이지, 마켓별 현황은 tradegaps actuator 엔드포인트로 제공
+ *
+ * 순서대로 도착하면 비트맵 없이 상태 객체 하나만 교체하므로 저장 경로에 잠금이나 배열 복사를 더하지 않는다.
+ * 메트릭에는 마켓 태그를 붙이지 않는다 (마켓별 현황은 엔드포인트로 확인).
+ */
+@Component
+public class SequenceGapTracker {
+
+	private static final String METRIC_GAPS = "market_data.trade.sequence.gaps";
+	private static final String METRIC_LOST = "market_data.trade.sequence.lost";
+	private static final String METRIC_DUPLICATES = "market_data.trade.sequence.duplicates";
+	private static final String METRIC_REORDER = "market_data.trade.sequence.reorder.distance";
+	private static final String METRIC_MISSING = "market_data.trade.sequence.missing";
+	private static final String METRIC_OPEN_GAPS = "market_data.trade.sequence.open_gaps";
+
+	private final boolean enabled;
+	private final int window;
+	private final int maxReportedRanges;
+	private final Map<MarketKey, AtomicReference<SequenceState>> states = new ConcurrentHashMap<>();
+	private final Counter gaps;
+	private final Counter lost;
+	private final Counter duplicates;
+	private final DistributionSummary reorderDistance;
+
+	/**
+	 * SequenceGapTracker 생성자.
+	 *
+	 * @param enabled 사용 여부
+	 * @param window 마켓당 순서 바뀐 도착을 기다리는 순번 수 (64의 배수로 올림)
+	 * @param maxReportedRanges 엔드포인트에 표시할 마켓당 최대 빈 구간 수
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public SequenceGapTracker(
+		@Value("${app.trade-gaps.enabled:true}") boolean enabled,
+		@Value("${app.trade-gaps.window:1024}") int window,
+		@Value("${app.trade-gaps.max-reported-ranges:20}") int maxReportedRanges,
+		MeterRegistry meterRegistry
+	) {
+		if (window <= 0 || maxReportedRanges < 0) {
+			throw new IllegalArgumentException("app.trade-gaps.window는 양수, max-reported-ranges는 0 이상이어야 한다");
+		}
+		this.enabled = enabled;
+		this.window = (window + Long.SIZE - 1) / Long.SIZE * Long.SIZE;
+		this.maxReportedRanges = maxReportedRanges;
+		this.gaps = Counter.builder(METRIC_GAPS)
+			.description("Sequence gaps opened (a trade arrived beyond the next expected sequence)")
+			.register(meterRegistry);
+		this.lost = Counter.builder(METRIC_LOST)
+			.description("Sequences given up as lost after falling out of the reorder window")
+			.register(meterRegistry);
+		this.duplicates = Counter.builder(METRIC_DUPLICATES)
+			.description("Trades whose sequence had already been seen")
+			.register(meterRegistry);
+		this.reorderDistance = DistributionSummary.builder(METRIC_REORDER)
+			.description("How far behind the highest seen sequence an out-of-order trade arrived")
+			.baseUnit("sequences")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_MISSING, this, SequenceGapTracker::totalMissing)
+			.description("Sequences not yet received between the contiguous and highest sequence, over all markets")
+			.register(meterRegistry);
+		Gauge.builder(METRIC_OPEN_GAPS, this, SequenceGapTracker::totalOpenGaps)
+			.description("Open sequence gap ranges over all markets")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 저장된 거래 체결의 순번을 반영한다. 트랜잭션 안이면 커밋 이후에 반영한다.
+	 *
+	 * @param exchange 거래소 이름
+	 * @param payloads 저장된 페이로드 목록
+	 */
+	public void onTradesPersisted(String exchange, List<TradePayload> payloads) {
+		if (!enabled || exchange == null) {
+			return;
+		}
+		AfterCommit.run(() -> {
+			for (TradePayload payload : payloads) {
+				if (payload.getMarketCode() != null && payload.getSequentialId() > 0) {
+					record(MarketKey.of(exchange, payload.getMarketCode()), payload.getSequentialId());
+				}
+			}
+		});
+	}
+
+	/**
+	 * 순번 도착 1건을 반영한다.
+	 *
+	 * @param key 마켓 키
+	 * @param sequence 순번
+	 */
+	void record(MarketKey key, long sequence) {
+		AtomicReference<SequenceState> state = states.get(key);
+		if (state == null) {
+			state = states.computeIfAbsent(key, k -> new AtomicReference<>());
+		}
+		while (true) {
+			SequenceState current = state.get();
+			SequenceState next = current == null ? SequenceState.first(sequence) : current.accept(sequence, window);
+			if (next == current) {
+				duplicates.increment();
+				return;
+			}
+			if (state.compareAndSet(current, next)) {
+				publish(current, next, sequence);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 마켓별 현황을 빈 순번이 많은 순으로 반환한다.
+	 *
+	 * @return 마켓별 현황
+	 */
+	public List<MarketSequenceGap> report() {
+		List<MarketSequenceGap> result = new ArrayList<>(states.size());
+		states.forEach((key, state) -> {
+			SequenceState current = state.get();
+			if (current == null) {
+				return;
+			}
+			List<SequenceGapRange> ranges = new ArrayList<>();
+			int openGaps = current.openRanges(maxReportedRanges, ranges);
+			result.add(new MarketSequenceGap(
+				key.exchange(),
+				key.marketCode(),
+				current.contiguous,
+				current.highest,
+				current.missing(),
+				openGaps,
+				current.lost,
+				List.copyOf(ranges)
+			));
+		});
+		result.sort(Comparator.comparingLong(MarketSequenceGap::missing).reversed()
+			.thenComparing(MarketSequenceGap::exchange)
+			.thenComparing(MarketSequenceGap::marketCode));
+		return result;
+	}
+
+	private void publish(SequenceState previous, SequenceState next, long sequence) {
+		if (previous == null) {
+			return;
+		}
+		if (sequence > previous.highest + 1) {
+			gaps.increment();
+		} else if (sequence < previous.highest) {
+			reorderDistance.record(previous.highest - sequence);
+		}
+		if (next.lost > previous.lost) {
+			lost.increment(next.lost - previous.lost);
+		}
+	}
+
+	private double totalMissing() {
+		long total = 0;
+		for (AtomicReference<SequenceState> state : states.values()) {
+			SequenceState current = state.get();
+			if (current != null) {
+				total += current.missing();
+			}
+		}
+		return total;
+	}
+
+	private double totalOpenGaps() {
+		long total = 0;
+		List<SequenceGapRange> ignored = new ArrayList<>(0);
+		for (AtomicReference<SequenceState> state : states.values()) {
+			SequenceState current = state.get();
+			if (current != null) {
+				total += current.openRanges(0, ignored);
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,182 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+import java.util.List;
+
+/**
+ * 한 마켓의 체결 순번 연속성 상태 (불변).
+ *
+ * 주요 책임:
+ *
+ * 빠짐없이 도착한 최대 순번(contiguous)과 지금까지 본 최대 순번(highest) 보관
+ * contiguous 다음부터 window 개 순번의 도착 여부를 비트맵(long[])으로 보관 (순서가 바뀐 도착만 비트 사용)
+ * window 를 넘어선 순번이 오면 가장 오래된 빈 순번을 유실(lost)로 확정하고 창을 민다
+ *
+ * 순서대로 도착하면 비트맵을 만들지 않으며(null), 갱신은 새 상태를 만들어 CAS 로 교체한다.
+ * 비트 i 는 순번 contiguous + 1 + i 를 뜻하며, 비트 0 은 항상 비어 있다 (도착하면 contiguous 가 전진).
+ */
+final class SequenceState {
+
+	final long contiguous;
+	final long highest;
+	final long lost;
+	private final long[] pending;
+
+	private SequenceState(long contiguous, long highest, long[] pending, long lost) {
+		this.contiguous = contiguous;
+		this.highest = highest;
+		this.pending = pending;
+		this.lost = lost;
+	}
+
+	/**
+	 * 마켓의 첫 순번으로 상태를 만든다. 그 이전 순번은 알 수 없으므로 빈 순번으로 보지 않는다.
+	 *
+	 * @param sequence 첫 순번
+	 * @return 상태
+	 */
+	static SequenceState first(long sequence) {
+		return new SequenceState(sequence, sequence, null, 0);
+	}
+
+	/**
+	 * 순번 도착을 반영한 새 상태를 만든다.
+	 *
+	 * @param sequence 도착한 순번
+	 * @param window 비트맵 크기 (64의 배수)
+	 * @return 새 상태 (이미 반영된 순번이면 this)
+	 */
+	SequenceState accept(long sequence, int window) {
+		if (sequence <= contiguous) {
+			return this;
+		}
+		long offset = sequence - contiguous - 1;
+		if (offset < window && isSet(pending, offset)) {
+			return this;
+		}
+		long base = contiguous;
+		long[] bits = pending;
+		long lostCount = lost;
+		if (offset >= window) {
+			long skip = offset - window + 1;
+			lostCount += skip - countSet(bits, skip);
+			bits = shift(bits, skip);
+			base += skip;
+			offset -= skip;
+			long arrived = onesFrom(bits, 0);
+			bits = shift(bits, arrived);
+			base += arrived;
+			offset -= arrived;
+		}
+		if (offset == 0) {
+			long run = 1 + onesFrom(bits, 1);
+			bits = shift(bits, run);
+			base += run;
+		} else {
+			bits = withBit(bits, (int) offset, window);
+		}
+		return new SequenceState(base, Math.max(highest, sequence), bits, lostCount);
+	}
+
+	/**
+	 * @return contiguous 이후 highest 까지 아직 도착하지 않은 순번 수
+	 */
+	long missing() {
+		long span = highest - contiguous;
+		return span - countSet(pending, span);
+	}
+
+	/**
+	 * 아직 도착하지 않은 순번 구간을 오름차순으로 담는다.
+	 *
+	 * @param limit 최대 구간 수
+	 * @param out 결과 목록
+	 * @return 전체 빈 구간 수
+	 */
+	int openRanges(int limit, List<SequenceGapRange> out) {
+		int ranges = 0;
+		long span = highest - contiguous;
+		long start = -1;
+		for (long i = 0; i < span; i++) {
+			boolean arrived = isSet(pending, i);
+			if (!arrived && start < 0) {
+				start = i;
+			} else if (arrived && start >= 0) {
+				if (ranges++ < limit) {
+					out.add(new SequenceGapRange(contiguous + 1 + start, contiguous + i));
+				}
+				start = -1;
+			}
+		}
+		return ranges;
+	}
+
+	private static boolean isSet(long[] bits, long index) {
+		if (bits == null || index >= (long) bits.length * Long.SIZE) {
+			return false;
+		}
+		return (bits[(int) (index >>> 6)] & (1L << index)) != 0;
+	}
+
+	private static long[] withBit(long[] bits, int index, int window) {
+		long[] copy = bits == null ? new long[window / Long.SIZE] : bits.clone();
+		copy[index >>> 6] |= 1L << index;
+		return copy;
+	}
+
+	/**
+	 * 비트 [0, count) 중 설정된 비트 수.
+	 */
+	private static long countSet(long[] bits, long count) {
+		if (bits == null) {
+			return 0;
+		}
+		long total = 0;
+		int fullWords = (int) Math.min(count >>> 6, bits.length);
+		for (int i = 0; i < fullWords; i++) {
+			total += Long.bitCount(bits[i]);
+		}
+		int rest = (int) (count & 63);
+		if (fullWords < bits.length && rest > 0) {
+			total += Long.bitCount(bits[fullWords] & ((1L << rest) - 1));
+		}
+		return total;
+	}
+
+	/**
+	 * start 부터 연속으로 설정된 비트 수.
+	 */
+	private static long onesFrom(long[] bits, long start) {
+		long count = 0;
+		while (isSet(bits, start + count)) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 비트를 count 만큼 앞으로 당긴다 (새 비트 i = 기존 비트 i + count).
+	 *
+	 * @return 당긴 비트맵 (모두 비면 null)
+	 */
+	private static long[] shift(long[] bits, long count) {
+		if (count == 0) {
+			return bits;
+		}
+		if (bits == null || count >= (long) bits.length * Long.SIZE) {
+			return null;
+		}
+		int wordShift = (int) (count >>> 6);
+		int bitShift = (int) (count & 63);
+		long[] shifted = new long[bits.length];
+		boolean any = false;
+		for (int i = 0; i + wordShift < bits.length; i++) {
+			long word = bits[i + wordShift] >>> bitShift;
+			if (bitShift > 0 && i + wordShift + 1 < bits.length) {
+				word |= bits[i + wordShift + 1] << (Long.SIZE - bitShift);
+			}
+			shifted[i] = word;
+			any |= word != 0;
+		}
+		return any ? shifted : null;
+	}
+}
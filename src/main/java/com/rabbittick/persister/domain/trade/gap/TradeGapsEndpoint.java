@@ -0,0 +1,59 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 마켓별 체결 순번 빈 구간을 조회하는 actuator 엔드포인트 (/actuator/tradegaps).
+ *
+ * 게이지는 전체 합계만 노출하므로, 어느 마켓의 어느 순번이 비었는지는 이 엔드포인트로 확인한다.
+ */
+@Component
+@Endpoint(id = "tradegaps")
+@RequiredArgsConstructor
+public class TradeGapsEndpoint {
+
+	private final SequenceGapTracker sequenceGapTracker;
+
+	/**
+	 * 전체 합계와 마켓별 현황을 반환한다.
+	 *
+	 * @return 순번 빈 구간 보고서
+	 */
+	@ReadOperation
+	public TradeGapsReport tradeGaps() {
+		List<MarketSequenceGap> markets = sequenceGapTracker.report();
+		long missing = 0;
+		long openGaps = 0;
+		long lost = 0;
+		for (MarketSequenceGap market : markets) {
+			missing += market.missing();
+			openGaps += market.openGaps();
+			lost += market.lost();
+		}
+		return new TradeGapsReport(markets.size(), missing, openGaps, lost, markets);
+	}
+
+	/**
+	 * 순번 빈 구간 보고서.
+	 *
+	 * @param trackedMarkets 추적 중인 마켓 수
+	 * @param missing 아직 도착하지 않은 순번 수 합계
+	 * @param openGaps 빈 구간 수 합계
+	 * @param lost 유실로 확정한 순번 수 합계
+	 * @param markets 마켓별 현황 (빈 순번이 많은 순)
+	 */
+	public record TradeGapsReport(
+		int trackedMarkets,
+		long missing,
+		long openGaps,
+		long lost,
+		List<MarketSequenceGap> markets
+	) {
+	}
+}
@@ -0,0 +1,70 @@
+package com.rabbittick.persister.global.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+
+/**
+ * OrderBookPayload 전용 역직렬화기.
+ *
+ * 호가 단위 배열은 OrderBookUnitPayloadDeserializer 로 직접 읽어 컬렉션 역직렬화기 조회를 생략한다.
+ * 목록은 호가 단계 수(보통 15)에 맞춰 한 번에 할당한다.
+ */
+public class OrderBookPayloadDeserializer extends PayloadDeserializer<OrderBookPayload> {
+
+	private static final int EXPECTED_UNITS = 15;
+
+	private final OrderBookUnitPayloadDeserializer unitDeserializer = new OrderBookUnitPayloadDeserializer();
+
+	/**
+	 * OrderBookPayloadDeserializer 생성자. @JsonDeserialize 에서 리플렉션으로 호출된다.
+	 */
+	public OrderBookPayloadDeserializer() {
+		super(OrderBookPayload.class);
+	}
+
+	@Override
+	protected OrderBookPayload create() {
+		return new OrderBookPayload();
+	}
+
+	@Override
+	protected boolean readField(JsonParser parser, DeserializationContext context, String field, OrderBookPayload target)
+		throws IOException {
+		switch (field) {
+			case "marketCode" -> target.setMarketCode(readSymbol(parser, context));
+			case "timestamp" -> target.setTimestamp(readLong(parser, context));
+			case "totalAskSize" -> target.setTotalAskSize(readDecimal(parser, context));
+			case "totalBidSize" -> target.setTotalBidSize(readDecimal(parser, context));
+			case "orderbookUnits" -> target.setOrderbookUnits(readUnits(parser, context));
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<OrderBookUnitPayload> readUnits(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (token != JsonToken.START_ARRAY) {
+			@SuppressWarnings("unchecked")
+			List<OrderBookUnitPayload> unexpected = (List<OrderBookUnitPayload>) context.handleUnexpectedToken(
+				List.class, parser);
+			return unexpected;
+		}
+		List<OrderBookUnitPayload> units = new ArrayList<>(EXPECTED_UNITS);
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			units.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : unitDeserializer.deserialize(parser, context));
+		}
+		return units;
+	}
+}
@@ -0,0 +1,40 @@
+package com.rabbittick.persister.global.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+
+/**
+ * OrderBookUnitPayload 전용 역직렬화기.
+ */
+public class OrderBookUnitPayloadDeserializer extends PayloadDeserializer<OrderBookUnitPayload> {
+
+	/**
+	 * OrderBookUnitPayloadDeserializer 생성자. @JsonDeserialize 에서 리플렉션으로 호출된다.
+	 */
+	public OrderBookUnitPayloadDeserializer() {
+		super(OrderBookUnitPayload.class);
+	}
+
+	@Override
+	protected OrderBookUnitPayload create() {
+		return new OrderBookUnitPayload();
+	}
+
+	@Override
+	protected boolean readField(JsonParser parser, DeserializationContext context, String field, OrderBookUnitPayload target)
+		throws IOException {
+		switch (field) {
+			case "askPrice" -> target.setAskPrice(readDecimal(parser, context));
+			case "askSize" -> target.setAskSize(readDecimal(parser, context));
+			case "bidPrice" -> target.setBidPrice(readDecimal(parser, context));
+			case "bidSize" -> target.setBidSize(readDecimal(parser, context));
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+}
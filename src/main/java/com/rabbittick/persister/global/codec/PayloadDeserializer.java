@@ -0,0 +1,150 @@
+package com.rabbittick.persister.global.codec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.rabbittick.persister.global.symbol.SymbolTable;
+
+/**
+ * 페이로드 DTO 전용 역직렬화기의 공통 기반.
+ *
+ * 주요 책임:
+ *
+ * 객체 필드 순회 및 알 수 없는 필드 건너뛰기
+ * BigDecimal 을 파서 버퍼에서 바로 생성 (Jackson 일반 숫자 변환 경로 우회)
+ * 심볼 필드를 SymbolTable 정규 인스턴스로 변환
+ *
+ * 필드 이름은 파서가 UTF-8 바이트에서 바로 정규화한 문자열이므로,
+ * 하위 클래스의 switch 는 해시 비교 후 동일 인스턴스 비교로 끝난다.
+ *
+ * @param <T> 페이로드 타입
+ */
+public abstract class PayloadDeserializer<T> extends StdDeserializer<T> {
+
+	private final transient SymbolTable symbolTable = SymbolTable.shared();
+
+	/**
+	 * PayloadDeserializer 생성자.
+	 *
+	 * @param payloadType 페이로드 타입
+	 */
+	protected PayloadDeserializer(Class<T> payloadType) {
+		super(payloadType);
+	}
+
+	@Override
+	public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = parser.nextToken();
+		} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+			@SuppressWarnings("unchecked")
+			T unexpected = (T) context.handleUnexpectedToken(handledType(), parser);
+			return unexpected;
+		}
+		T target = create();
+		for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+			String field = parser.currentName();
+			parser.nextToken();
+			if (!readField(parser, context, field, target)) {
+				parser.skipChildren();
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * 값을 채울 빈 페이로드를 만든다.
+	 *
+	 * @return 새 페이로드
+	 */
+	protected abstract T create();
+
+	/**
+	 * 현재 값 토큰을 필드에 기록한다.
+	 *
+	 * @param parser 값 토큰에 위치한 파서
+	 * @param context 역직렬화 컨텍스트
+	 * @param field 필드 이름
+	 * @param target 대상 페이로드
+	 * @return 처리한 필드이면 true (false 이면 값을 건너뛴다)
+	 * @throws IOException 값 읽기 실패 시
+	 */
+	protected abstract boolean readField(JsonParser parser, DeserializationContext context, String field, T target)
+		throws IOException;
+
+	/**
+	 * 숫자 또는 숫자 문자열을 BigDecimal 로 읽는다. 빈 문자열과 null 은 null 이다.
+	 * 숫자 문자열은 Jackson 기본 역직렬화기처럼 앞뒤 공백을 무시하고, 공백뿐이거나 "null" 이면 null 이다.
+	 */
+	protected BigDecimal readDecimal(JsonParser parser, DeserializationContext context) throws IOException {
+		return switch (parser.currentToken()) {
+			case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+			case VALUE_STRING -> parseDecimal(parser, context);
+			case VALUE_NULL -> null;
+			default -> (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+		};
+	}
+
+	private BigDecimal parseDecimal(JsonParser parser, DeserializationContext context) throws IOException {
+		char[] text = parser.getTextCharacters();
+		int start = parser.getTextOffset();
+		int end = start + parser.getTextLength();
+		while (start < end && text[start] <= ' ') {
+			start++;
+		}
+		while (end > start && text[end - 1] <= ' ') {
+			end--;
+		}
+		int length = end - start;
+		if (length == 0 || isNullLiteral(text, start, length)) {
+			return null;
+		}
+		try {
+			return new BigDecimal(text, start, length);
+		} catch (NumberFormatException ex) {
+			return (BigDecimal) context.handleWeirdStringValue(BigDecimal.class, parser.getText(), "숫자 형식이 아니다");
+		}
+	}
+
+	private static boolean isNullLiteral(char[] text, int start, int length) {
+		return length == 4 && text[start] == 'n' && text[start + 1] == 'u' && text[start + 2] == 'l'
+			&& text[start + 3] == 'l';
+	}
+
+	/**
+	 * 정수 값을 읽는다. 문자열·null 은 Jackson 기본 강제 변환 규칙을 따른다.
+	 */
+	protected long readLong(JsonParser parser, DeserializationContext context) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+			return parser.getLongValue();
+		}
+		return _parseLongPrimitive(parser, context);
+	}
+
+	/**
+	 * 반복되는 짧은 코드 값을 SymbolTable 정규 인스턴스로 읽는다.
+	 */
+	protected String readSymbol(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_STRING) {
+			return symbolTable.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+		}
+		return token == JsonToken.VALUE_NULL ? null : symbolTable.intern(_parseString(parser, context));
+	}
+
+	/**
+	 * 일반 문자열 값을 읽는다.
+	 */
+	protected String readText(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		if (token == JsonToken.VALUE_STRING) {
+			return parser.getText();
+		}
+		return token == JsonToken.VALUE_NULL ? null : _parseString(parser, context);
+	}
+}
@@ -0,0 +1,46 @@
+package com.rabbittick.persister.global.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.rabbittick.persister.global.dto.TickerPayload;
+
+/**
+ * TickerPayload 전용 역직렬화기.
+ */
+public class TickerPayloadDeserializer extends PayloadDeserializer<TickerPayload> {
+
+	/**
+	 * TickerPayloadDeserializer 생성자. @JsonDeserialize 에서 리플렉션으로 호출된다.
+	 */
+	public TickerPayloadDeserializer() {
+		super(TickerPayload.class);
+	}
+
+	@Override
+	protected TickerPayload create() {
+		return new TickerPayload();
+	}
+
+	@Override
+	protected boolean readField(JsonParser parser, DeserializationContext context, String field, TickerPayload target)
+		throws IOException {
+		switch (field) {
+			case "marketCode" -> target.setMarketCode(readSymbol(parser, context));
+			case "tradePrice" -> target.setTradePrice(readDecimal(parser, context));
+			case "tradeVolume" -> target.setTradeVolume(readDecimal(parser, context));
+			case "openingPrice" -> target.setOpeningPrice(readDecimal(parser, context));
+			case "highPrice" -> target.setHighPrice(readDecimal(parser, context));
+			case "lowPrice" -> target.setLowPrice(readDecimal(parser, context));
+			case "prevClosingPrice" -> target.setPrevClosingPrice(readDecimal(parser, context));
+			case "accTradePrice24h" -> target.setAccTradePrice24h(readDecimal(parser, context));
+			case "accTradeVolume24h" -> target.setAccTradeVolume24h(readDecimal(parser, context));
+			case "timestamp" -> target.setTimestamp(readLong(parser, context));
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,55 @@
+package com.rabbittick.persister.global.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+/**
+ * TradePayload 전용 역직렬화기.
+ *
+ * marketCode/askBid/change/streamType 은 심볼로, tradeDate/tradeTime 은 일반 문자열로 읽는다.
+ */
+public class TradePayloadDeserializer extends PayloadDeserializer<TradePayload> {
+
+	/**
+	 * TradePayloadDeserializer 생성자. @JsonDeserialize 에서 리플렉션으로 호출된다.
+	 */
+	public TradePayloadDeserializer() {
+		super(TradePayload.class);
+	}
+
+	@Override
+	protected TradePayload create() {
+		return new TradePayload();
+	}
+
+	@Override
+	protected boolean readField(JsonParser parser, DeserializationContext context, String field, TradePayload target)
+		throws IOException {
+		switch (field) {
+			case "marketCode" -> target.setMarketCode(readSymbol(parser, context));
+			case "timestamp" -> target.setTimestamp(readLong(parser, context));
+			case "tradeDate" -> target.setTradeDate(readText(parser, context));
+			case "tradeTime" -> target.setTradeTime(readText(parser, context));
+			case "tradeTimestamp" -> target.setTradeTimestamp(readLong(parser, context));
+			case "tradePrice" -> target.setTradePrice(readDecimal(parser, context));
+			case "tradeVolume" -> target.setTradeVolume(readDecimal(parser, context));
+			case "askBid" -> target.setAskBid(readSymbol(parser, context));
+			case "prevClosingPrice" -> target.setPrevClosingPrice(readDecimal(parser, context));
+			case "change" -> target.setChange(readSymbol(parser, context));
+			case "changePrice" -> target.setChangePrice(readDecimal(parser, context));
+			case "sequentialId" -> target.setSequentialId(readLong(parser, context));
+			case "bestAskPrice" -> target.setBestAskPrice(readDecimal(parser, context));
+			case "bestAskSize" -> target.setBestAskSize(readDecimal(parser, context));
+			case "bestBidPrice" -> target.setBestBidPrice(readDecimal(parser, context));
+			case "bestBidSize" -> target.setBestBidSize(readDecimal(parser, context));
+			case "streamType" -> target.setStreamType(readSymbol(parser, context));
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+}
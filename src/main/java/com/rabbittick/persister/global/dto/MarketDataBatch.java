@@ -0,0 +1,38 @@
+package com.rabbittick.persister.global.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 여러 레코드를 한 AMQP 메시지로 보내는 MarketDataMessage 의 배치 봉투 형식.
+ *
+ * 주요 책임:
+ *
+ * 메타데이터 1개와 같은 dataType 의 페이로드 배열 전달
+ * 레코드당 브로커 발행·Ack 비용을 배치 단위로 분산
+ *
+ * 본문의 payload 대신 payloads 필드를 쓰며, 소비자는 payloads 유무로 단건/배치를 구분한다.
+ * 메타데이터(exchange, dataType, collectedAt 등)는 모든 레코드에 공통으로 적용된다.
+ *
+ * @param <T> 페이로드 타입 (TickerPayload, TradePayload 등)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketDataBatch<T> {
+
+	/**
+	 * 배치 공통 메타데이터.
+	 */
+	private Metadata metadata;
+
+	/**
+	 * 같은 타입의 페이로드 목록.
+	 */
+	private List<T> payloads;
+}
@@ -1,5 +1,8 @@
 package com.rabbittick.persister.global.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.symbol.InternedStringDeserializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,11 +31,13 @@ public class Metadata {
 	/**
 	 * 거래소 이름 (UPBIT, BITHUMB 등).
 	 */
+	@JsonDeserialize(using = InternedStringDeserializer.class)
 	private String exchange;
 
 	/**
 	 * 데이터 타입 (TICKER, TRADE, ORDERBOOK 등).
 	 */
+	@JsonDeserialize(using = InternedStringDeserializer.class)
 	private String dataType;
 
 	/**
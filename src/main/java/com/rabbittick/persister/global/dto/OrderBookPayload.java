@@ -3,6 +3,9 @@ package com.rabbittick.persister.global.dto;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.codec.OrderBookPayloadDeserializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +22,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonDeserialize(using = OrderBookPayloadDeserializer.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderBookPayload {
@@ -2,6 +2,9 @@ package com.rabbittick.persister.global.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.codec.OrderBookUnitPayloadDeserializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +15,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonDeserialize(using = OrderBookUnitPayloadDeserializer.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderBookUnitPayload {
@@ -2,6 +2,9 @@ package com.rabbittick.persister.global.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.codec.TickerPayloadDeserializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +21,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonDeserialize(using = TickerPayloadDeserializer.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TickerPayload {
@@ -2,6 +2,9 @@ package com.rabbittick.persister.global.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.codec.TradePayloadDeserializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +22,7 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @Builder
+@JsonDeserialize(using = TradePayloadDeserializer.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TradePayload {
@@ -0,0 +1,230 @@
+package com.rabbittick.persister.global.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 커넥션 획득·문 실행·커밋 시간을 측정하는 DataSource 래퍼.
+ *
+ * 주요 책임:
+ *
+ * getConnection() 대기 시간(풀 대기 포함) 측정
+ * Connection/Statement 를 JDK 동적 프록시로 감싸 execute* 와 commit/rollback 시간 측정
+ * 커넥션 반납 시 해당 임대 동안의 DB 왕복 횟수 기록 (메시지 1건 = 트랜잭션 1개 = 임대 1회)
+ *
+ * 외부 에이전트나 드라이버 교체 없이 동작하며, 데이터 타입은 JdbcPhaseContext 에서 읽는다.
+ * 빈을 대체하므로 컨텍스트 종료 시 close() 로 대상 풀(HikariDataSource 등)을 닫는다.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+	private final Supplier<JdbcPhaseMetrics> metrics;
+
+	InstrumentedDataSource(DataSource target, Supplier<JdbcPhaseMetrics> metrics) {
+		super(target);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		long startedAt = System.nanoTime();
+		Connection connection = super.getConnection();
+		return instrument(connection, startedAt);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		long startedAt = System.nanoTime();
+		Connection connection = super.getConnection(username, password);
+		return instrument(connection, startedAt);
+	}
+
+	/**
+	 * 대상 DataSource 가 닫을 수 있는 풀이면 닫는다. 빈 소멸 시 호출된다.
+	 *
+	 * @throws Exception 대상 종료 실패 시
+	 */
+	@Override
+	public void close() throws Exception {
+		DataSource target = getTargetDataSource();
+		if (target instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	private Connection instrument(Connection connection, long startedAt) {
+		String dataType = JdbcPhaseContext.currentDataType();
+		metrics.get().recordAcquire(dataType, System.nanoTime() - startedAt);
+		return (Connection) Proxy.newProxyInstance(
+			Connection.class.getClassLoader(),
+			new Class<?>[] { Connection.class },
+			new ConnectionHandler(connection, dataType));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	/**
+	 * 커넥션 임대 1회 동안의 호출을 측정한다.
+	 */
+	private final class ConnectionHandler implements InvocationHandler {
+
+		private final Connection target;
+		private final String dataType;
+		private int roundTrips;
+		private boolean closed;
+
+		private ConnectionHandler(Connection target, String dataType) {
+			this.target = target;
+			this.dataType = dataType;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Instrumented[" + target + "]";
+				case "commit":
+				case "rollback":
+					if (args == null) {
+						return timeTransactionEnd(method);
+					}
+					break;
+				case "close":
+					return close();
+				default:
+					break;
+			}
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			if (result instanceof Statement statement && isStatementFactory(method)) {
+				String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+				return wrapStatement(statement, method.getReturnType(), sql);
+			}
+			return result;
+		}
+
+		private boolean isStatementFactory(Method method) {
+			String name = method.getName();
+			return name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall");
+		}
+
+		private Object timeTransactionEnd(Method method) throws Throwable {
+			long startedAt = System.nanoTime();
+			try {
+				return InstrumentedDataSource.invoke(target, method, null);
+			} finally {
+				roundTrips++;
+				metrics.get().recordCommit(dataType, method.getName(), System.nanoTime() - startedAt);
+			}
+		}
+
+		private Object close() throws SQLException {
+			if (!closed) {
+				closed = true;
+				metrics.get().recordRoundTrips(dataType, roundTrips);
+			}
+			target.close();
+			return null;
+		}
+
+		private Object wrapStatement(Statement statement, Class<?> type, String sql) {
+			Class<?> proxyType = CallableStatement.class.isAssignableFrom(type) ? CallableStatement.class
+				: PreparedStatement.class.isAssignableFrom(type) ? PreparedStatement.class
+				: Statement.class;
+			return Proxy.newProxyInstance(
+				Statement.class.getClassLoader(),
+				new Class<?>[] { proxyType },
+				new StatementHandler(statement, sql, this));
+		}
+	}
+
+	/**
+	 * 문 실행(execute*) 시간을 종류별로 측정한다.
+	 */
+	private final class StatementHandler implements InvocationHandler {
+
+		private final Statement target;
+		private final StatementKind preparedKind;
+		private final ConnectionHandler connection;
+		private StatementKind batchKind;
+
+		private StatementHandler(Statement target, String sql, ConnectionHandler connection) {
+			this.target = target;
+			this.preparedKind = sql == null ? null : StatementKind.classify(sql);
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Instrumented[" + target + "]";
+				case "addBatch":
+					if (args != null && args.length == 1 && args[0] instanceof String sql && batchKind == null) {
+						batchKind = StatementKind.classify(sql);
+					}
+					break;
+				default:
+					break;
+			}
+			if (!name.startsWith("execute")) {
+				return InstrumentedDataSource.invoke(target, method, args);
+			}
+			StatementKind kind = kindOf(name, args);
+			long startedAt = System.nanoTime();
+			try {
+				return InstrumentedDataSource.invoke(target, method, args);
+			} finally {
+				connection.roundTrips++;
+				metrics.get().recordStatement(connection.dataType, kind, System.nanoTime() - startedAt);
+			}
+		}
+
+		private StatementKind kindOf(String methodName, Object[] args) {
+			if (args != null && args.length > 0 && args[0] instanceof String sql) {
+				return StatementKind.classify(sql);
+			}
+			if (methodName.equals("executeBatch") || methodName.equals("executeLargeBatch")) {
+				StatementKind kind = preparedKind != null ? preparedKind : batchKind;
+				batchKind = null;
+				return kind == null ? StatementKind.OTHER : kind;
+			}
+			return preparedKind == null ? StatementKind.OTHER : preparedKind;
+		}
+	}
+}
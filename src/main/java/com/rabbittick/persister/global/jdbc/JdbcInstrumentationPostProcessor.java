@@ -0,0 +1,38 @@
+package com.rabbittick.persister.global.jdbc;
+
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.function.SingletonSupplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * DataSource 빈을 InstrumentedDataSource 로 감싸는 후처리기.
+ *
+ * MeterRegistry 는 첫 JDBC 호출 시점에 조회해 후처리기 등록 시점의 조기 초기화를 피한다.
+ */
+public class JdbcInstrumentationPostProcessor implements BeanPostProcessor {
+
+	private final Supplier<JdbcPhaseMetrics> metrics;
+
+	/**
+	 * JdbcInstrumentationPostProcessor 생성자.
+	 *
+	 * @param meterRegistry 메트릭 레지스트리 공급자
+	 */
+	public JdbcInstrumentationPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.metrics = SingletonSupplier.of(() -> new JdbcPhaseMetrics(meterRegistry.getObject()));
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+			return new InstrumentedDataSource(dataSource, metrics);
+		}
+		return bean;
+	}
+}
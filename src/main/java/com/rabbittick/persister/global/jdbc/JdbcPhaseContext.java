@@ -0,0 +1,40 @@
+package com.rabbittick.persister.global.jdbc;
+
+/**
+ * 현재 스레드에서 수행 중인 저장 작업의 데이터 타입을 JDBC 계측 계층에 전달하는 컨텍스트.
+ *
+ * 컨텍스트 밖에서 발생한 JDBC 호출(이력 조회 등)은 dataType "none" 으로 집계된다.
+ */
+public final class JdbcPhaseContext {
+
+	static final String NONE = "none";
+	private static final ThreadLocal<String> DATA_TYPE = new ThreadLocal<>();
+
+	private JdbcPhaseContext() {
+	}
+
+	/**
+	 * 데이터 타입 컨텍스트 안에서 작업을 수행한다.
+	 *
+	 * @param dataType 데이터 타입 태그
+	 * @param task 저장 작업
+	 */
+	public static void run(String dataType, Runnable task) {
+		String previous = DATA_TYPE.get();
+		DATA_TYPE.set(dataType);
+		try {
+			task.run();
+		} finally {
+			if (previous == null) {
+				DATA_TYPE.remove();
+			} else {
+				DATA_TYPE.set(previous);
+			}
+		}
+	}
+
+	static String currentDataType() {
+		String dataType = DATA_TYPE.get();
+		return dataType == null ? NONE : dataType;
+	}
+}
@@ -0,0 +1,60 @@
+package com.rabbittick.persister.global.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * JDBC 단계별(커넥션 획득, 문 실행, 커밋) 지연과 왕복 횟수 미터 모음.
+ *
+ * 미터는 태그 조합별로 캐시해 호출마다 빌더를 만들지 않는다.
+ */
+class JdbcPhaseMetrics {
+
+	private static final String METRIC_ACQUIRE = "market_data.jdbc.acquire";
+	private static final String METRIC_STATEMENT = "market_data.jdbc.statement";
+	private static final String METRIC_COMMIT = "market_data.jdbc.commit";
+	private static final String METRIC_ROUND_TRIPS = "market_data.jdbc.round_trips";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+	private final Map<String, DistributionSummary> roundTrips = new ConcurrentHashMap<>();
+
+	JdbcPhaseMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	void recordAcquire(String dataType, long nanos) {
+		timer(METRIC_ACQUIRE, "Connection acquisition from the pool", dataType, "phase", "acquire")
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	void recordStatement(String dataType, StatementKind kind, long nanos) {
+		timer(METRIC_STATEMENT, "JDBC statement execution", dataType, "statement", kind.tag())
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	void recordCommit(String dataType, String operation, long nanos) {
+		timer(METRIC_COMMIT, "Transaction commit or rollback", dataType, "operation", operation)
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	void recordRoundTrips(String dataType, int count) {
+		roundTrips.computeIfAbsent(dataType, key -> DistributionSummary.builder(METRIC_ROUND_TRIPS)
+				.description("Database round trips per connection lease (one message transaction)")
+				.tags("dataType", key)
+				.register(meterRegistry))
+			.record(count);
+	}
+
+	private Timer timer(String name, String description, String dataType, String tagKey, String tagValue) {
+		return timers.computeIfAbsent(name + '|' + dataType + '|' + tagValue, key -> Timer.builder(name)
+			.description(description)
+			.tags("dataType", dataType, tagKey, tagValue)
+			.register(meterRegistry));
+	}
+}
@@ -0,0 +1,81 @@
+package com.rabbittick.persister.global.jdbc;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * SQL 문 종류. 저장 지연 분해 시 statement 태그로 사용한다.
+ */
+enum StatementKind {
+
+	PARENT_INSERT("parent_insert"),
+	CHILD_INSERT("child_insert"),
+	UPDATE("update"),
+	DELETE("delete"),
+	SELECT("select"),
+	OTHER("other");
+
+	/**
+	 * 부모 행에 종속되어 함께 저장되는 자식 테이블.
+	 */
+	private static final Set<String> CHILD_TABLES = Set.of("orderbook_unit");
+
+	private final String tag;
+
+	StatementKind(String tag) {
+		this.tag = tag;
+	}
+
+	String tag() {
+		return tag;
+	}
+
+	/**
+	 * SQL 문자열로 종류를 판별한다.
+	 *
+	 * @param sql SQL 문
+	 * @return 문 종류
+	 */
+	static StatementKind classify(String sql) {
+		if (sql == null) {
+			return OTHER;
+		}
+		String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+		if (normalized.startsWith("insert")) {
+			String table = tableAfter(normalized, "into");
+			return CHILD_TABLES.contains(table) ? CHILD_INSERT : PARENT_INSERT;
+		}
+		if (normalized.startsWith("update")) {
+			return UPDATE;
+		}
+		if (normalized.startsWith("delete")) {
+			return DELETE;
+		}
+		if (normalized.startsWith("select") || normalized.startsWith("with")) {
+			return SELECT;
+		}
+		return OTHER;
+	}
+
+	private static String tableAfter(String sql, String keyword) {
+		int index = sql.indexOf(keyword + ' ');
+		if (index < 0) {
+			return "";
+		}
+		int start = index + keyword.length() + 1;
+		while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+			start++;
+		}
+		int end = start;
+		while (end < sql.length()) {
+			char c = sql.charAt(end);
+			if (Character.isWhitespace(c) || c == '(') {
+				break;
+			}
+			end++;
+		}
+		String table = sql.substring(start, end).replace("`", "");
+		int dot = table.lastIndexOf('.');
+		return dot < 0 ? table : table.substring(dot + 1);
+	}
+}
@@ -0,0 +1,14 @@
+package com.rabbittick.persister.global.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 브로커 Ack 발행 단계. 병합 Ack 이면 batchSize 는 함께 정리된 delivery tag 수다.
+ */
+@Name("com.rabbittick.persister.Ack")
+@Label("Ack")
+@Description("Broker acknowledgement")
+public class AckEvent extends PipelineEvent {
+}
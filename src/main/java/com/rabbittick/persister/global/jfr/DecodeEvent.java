@@ -0,0 +1,14 @@
+package com.rabbittick.persister.global.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 메시지 본문 역직렬화 단계 (JSON 파싱, dataType 추출, payload 바인딩).
+ */
+@Name("com.rabbittick.persister.Decode")
+@Label("Decode")
+@Description("Message body deserialization")
+public class DecodeEvent extends PipelineEvent {
+}
@@ -0,0 +1,236 @@
+package com.rabbittick.persister.global.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * 재시작 없이 JFR 녹화를 제어하는 actuator 엔드포인트 (/actuator/jfr).
+ *
+ * 주요 책임:
+ *
+ * POST /actuator/jfr/start : 녹화 시작 (durationSeconds, maxSizeMb, settings)
+ * POST /actuator/jfr/stop : 녹화 종료 후 파일로 저장
+ * GET /actuator/jfr : 녹화 상태 조회
+ * GET /actuator/jfr/recording : 마지막 .jfr 파일 다운로드 (녹화 중이면 현재까지의 스냅샷)
+ *
+ * 녹화 길이와 크기는 app.jfr.max-duration-seconds, app.jfr.max-size-mb 를 넘을 수 없고,
+ * 동시에 하나의 녹화만 허용한다. 파이프라인 이벤트(PipelineEvent)는 항상 포함된다.
+ * 인증 없이 녹화를 시작·다운로드할 수 있으므로 기본 web exposure 에 포함하지 않는다 (내부 전용 management 포트에서만 노출).
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+	private static final List<Class<? extends PipelineEvent>> PIPELINE_EVENTS = List.of(
+		DecodeEvent.class, MapEvent.class, PersistEvent.class, AckEvent.class);
+
+	private final Path directory;
+	private final int maxDurationSeconds;
+	private final int maxSizeMb;
+	private Recording recording;
+	private boolean dumped;
+	private Path lastFile;
+
+	/**
+	 * JfrRecordingEndpoint 생성자.
+	 *
+	 * @param directory .jfr 파일 저장 디렉터리
+	 * @param maxDurationSeconds 녹화 최대 길이 (초)
+	 * @param maxSizeMb 녹화 최대 크기 (MB)
+	 */
+	public JfrRecordingEndpoint(
+		@Value("${app.jfr.directory:${java.io.tmpdir}}") String directory,
+		@Value("${app.jfr.max-duration-seconds:300}") int maxDurationSeconds,
+		@Value("${app.jfr.max-size-mb:100}") int maxSizeMb
+	) {
+		this.directory = Path.of(directory);
+		this.maxDurationSeconds = maxDurationSeconds;
+		this.maxSizeMb = maxSizeMb;
+	}
+
+	/**
+	 * 녹화 상태를 반환한다.
+	 *
+	 * @return 상태 정보
+	 */
+	@ReadOperation
+	public synchronized Map<String, Object> status() {
+		dumpIfStopped();
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("state", recording == null ? "NONE" : recording.getState().name());
+		if (recording != null) {
+			status.put("startTime", recording.getStartTime());
+			status.put("duration", recording.getDuration());
+			status.put("maxSizeBytes", recording.getMaxSize());
+			status.put("sizeBytes", recording.getSize());
+		}
+		status.put("file", lastFile == null ? null : lastFile.toString());
+		return status;
+	}
+
+	/**
+	 * 녹화를 시작하거나 종료한다.
+	 *
+	 * @param action start 또는 stop
+	 * @param durationSeconds 녹화 길이 (초, 생략 시 최대값)
+	 * @param maxSizeMb 녹화 최대 크기 (MB, 생략 시 최대값)
+	 * @param settings JFR 설정 이름 (default/profile, 생략 시 profile)
+	 * @return 변경 후 상태
+	 */
+	@WriteOperation
+	public synchronized Map<String, Object> control(
+		@Selector String action,
+		@Nullable Integer durationSeconds,
+		@Nullable Integer maxSizeMb,
+		@Nullable String settings
+	) {
+		switch (action) {
+			case "start" -> start(durationSeconds, maxSizeMb, settings);
+			case "stop" -> stop();
+			default -> throw new InvalidEndpointRequestException(
+				"지원하지 않는 action 입니다: " + action, "action must be start or stop");
+		}
+		return status();
+	}
+
+	/**
+	 * 마지막 녹화 파일을 반환한다. 녹화 중이면 현재까지의 내용을 새 파일로 덤프해 반환한다.
+	 *
+	 * @param name recording 고정
+	 * @return .jfr 파일
+	 */
+	@ReadOperation(produces = "application/octet-stream")
+	public synchronized Resource download(@Selector String name) {
+		if (!"recording".equals(name)) {
+			throw new InvalidEndpointRequestException("알 수 없는 리소스입니다: " + name, "use /recording");
+		}
+		if (recording != null && recording.getState() == RecordingState.RUNNING) {
+			replaceLastFile(dump(recording));
+		}
+		dumpIfStopped();
+		if (lastFile == null || !Files.exists(lastFile)) {
+			throw new InvalidEndpointRequestException("다운로드할 녹화가 없습니다", "no recording");
+		}
+		return new FileSystemResource(lastFile);
+	}
+
+	private void start(Integer durationSeconds, Integer requestedSizeMb, String settings) {
+		if (recording != null && recording.getState() == RecordingState.RUNNING) {
+			throw new InvalidEndpointRequestException("이미 녹화 중입니다", "recording already running");
+		}
+		dumpIfStopped();
+		closeRecording();
+		int duration = bounded(durationSeconds, maxDurationSeconds, "durationSeconds");
+		int sizeMb = bounded(requestedSizeMb, maxSizeMb, "maxSizeMb");
+		Recording newRecording = new Recording(configuration(settings));
+		newRecording.setName("market-data-persister-" + Instant.now().toEpochMilli());
+		newRecording.setDuration(Duration.ofSeconds(duration));
+		newRecording.setMaxSize(sizeMb * 1024L * 1024L);
+		newRecording.setToDisk(true);
+		PIPELINE_EVENTS.forEach(event -> newRecording.enable(event).withThreshold(Duration.ZERO));
+		newRecording.start();
+		recording = newRecording;
+		dumped = false;
+		log.info("JFR 녹화를 시작합니다. duration={}s, maxSize={}MB", duration, sizeMb);
+	}
+
+	private void stop() {
+		if (recording != null && recording.getState() == RecordingState.RUNNING) {
+			recording.stop();
+		}
+		dumpIfStopped();
+	}
+
+	/**
+	 * 종료(수동 또는 duration 만료)된 녹화를 아직 저장하지 않았다면 파일로 저장한다.
+	 */
+	private void dumpIfStopped() {
+		if (recording == null || dumped || recording.getState() != RecordingState.STOPPED) {
+			return;
+		}
+		replaceLastFile(dump(recording));
+		dumped = true;
+		log.info("JFR 녹화를 저장했습니다. file={}", lastFile);
+	}
+
+	private Path dump(Recording source) {
+		try {
+			Files.createDirectories(directory);
+			Path file = Files.createTempFile(directory, "market-data-persister-", ".jfr");
+			source.dump(file);
+			return file;
+		} catch (IOException ex) {
+			throw new UncheckedIOException("JFR 녹화를 파일로 저장하지 못했습니다", ex);
+		}
+	}
+
+	private void replaceLastFile(Path file) {
+		if (lastFile != null && !lastFile.equals(file)) {
+			try {
+				Files.deleteIfExists(lastFile);
+			} catch (IOException ex) {
+				log.warn("이전 JFR 파일을 삭제하지 못했습니다. file={}", lastFile, ex);
+			}
+		}
+		lastFile = file;
+	}
+
+	private Configuration configuration(String settings) {
+		String name = settings == null || settings.isBlank() ? "profile" : settings;
+		try {
+			return Configuration.getConfiguration(name);
+		} catch (IOException | ParseException ex) {
+			throw new InvalidEndpointRequestException("JFR 설정을 찾을 수 없습니다: " + name, "unknown settings");
+		}
+	}
+
+	private static int bounded(Integer requested, int max, String name) {
+		if (requested == null) {
+			return max;
+		}
+		if (requested <= 0 || requested > max) {
+			throw new InvalidEndpointRequestException(
+				name + "는 1 이상 " + max + " 이하여야 한다: " + requested, name + " out of range");
+		}
+		return requested;
+	}
+
+	private void closeRecording() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+		}
+	}
+
+	@Override
+	public synchronized void destroy() {
+		closeRecording();
+	}
+}
@@ -0,0 +1,14 @@
+package com.rabbittick.persister.global.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * payload 검증 및 엔티티 변환 단계.
+ */
+@Name("com.rabbittick.persister.Map")
+@Label("Map")
+@Description("Payload validation and entity mapping")
+public class MapEvent extends PipelineEvent {
+}
@@ -0,0 +1,14 @@
+package com.rabbittick.persister.global.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * DB 저장 단계. 트랜잭션 시작(커넥션 획득)부터 커밋까지 포함한다.
+ */
+@Name("com.rabbittick.persister.Persist")
+@Label("Persist")
+@Description("Transaction including connection acquire and commit")
+public class PersistEvent extends PipelineEvent {
+}
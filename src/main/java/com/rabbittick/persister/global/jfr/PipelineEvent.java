@@ -0,0 +1,47 @@
+package com.rabbittick.persister.global.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 메시지 처리 파이프라인 단계별 JFR 이벤트의 공통 필드.
+ *
+ * 사용 패턴:
+ *
+ * event.begin() → 단계 수행 → event.complete(dataType, market, batchSize)
+ *
+ * 필드 설정과 commit 은 shouldCommit() 이 참일 때만 수행하므로
+ * 녹화 중이 아니면 JIT 가 이벤트 객체 생성까지 제거해 비용이 거의 없다.
+ */
+@Category({ "RabbitTick", "Pipeline" })
+@StackTrace(false)
+public abstract class PipelineEvent extends Event {
+
+	@Label("Data Type")
+	protected String dataType;
+
+	@Label("Market")
+	protected String market;
+
+	@Label("Batch Size")
+	protected int batchSize;
+
+	/**
+	 * 단계를 끝내고 녹화 중이면 이벤트를 기록한다.
+	 *
+	 * @param dataType 데이터 타입 (ticker/trade/orderbook)
+	 * @param market 마켓 코드 (알 수 없으면 null)
+	 * @param batchSize 함께 처리한 레코드 수
+	 */
+	public void complete(String dataType, String market, int batchSize) {
+		end();
+		if (shouldCommit()) {
+			this.dataType = dataType;
+			this.market = market;
+			this.batchSize = batchSize;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.rabbittick.persister.global.symbol;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+/**
+ * 문자열 필드를 SymbolTable 의 정규 인스턴스로 역직렬화하는 Jackson 역직렬화기.
+ *
+ * 파서의 문자 버퍼를 그대로 조회하므로 이미 등록된 심볼은 String 을 새로 만들지 않는다.
+ * 값 종류가 적고 반복되는 필드(exchange, dataType, marketCode, askBid 등)에만 붙인다.
+ */
+public class InternedStringDeserializer extends StdScalarDeserializer<String> {
+
+	private final transient SymbolTable symbolTable;
+
+	/**
+	 * 전역 심볼 테이블을 쓰는 생성자. @JsonDeserialize 에서 리플렉션으로 호출된다.
+	 */
+	public InternedStringDeserializer() {
+		this(SymbolTable.shared());
+	}
+
+	/**
+	 * InternedStringDeserializer 생성자.
+	 *
+	 * @param symbolTable 심볼 테이블
+	 */
+	public InternedStringDeserializer(SymbolTable symbolTable) {
+		super(String.class);
+		this.symbolTable = symbolTable;
+	}
+
+	@Override
+	public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		if (parser.hasToken(JsonToken.VALUE_STRING)) {
+			return symbolTable.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+		}
+		return symbolTable.intern(_parseString(parser, context));
+	}
+}
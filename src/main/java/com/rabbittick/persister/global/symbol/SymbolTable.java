@@ -0,0 +1,202 @@
+package com.rabbittick.persister.global.symbol;
+
+import java.util.Arrays;
+
+/**
+ * 거래소·마켓 코드·데이터 타입처럼 반복되는 짧은 문자열을 정규 인스턴스로 바꿔 주는 심볼 테이블.
+ *
+ * 주요 책임:
+ *
+ * 문자 배열 구간(char[], offset, length)으로 조회해 이미 등록된 심볼이면 할당 없이 반환
+ * 처음 보는 심볼 등록 및 등록 순서 기반 정수 ID 부여
+ * 등록 수 상한 관리 (상한을 넘으면 등록하지 않고 새 문자열 반환)
+ *
+ * 조회는 잠금 없이 volatile 배열 스냅샷을 읽고, 등록만 잠금 안에서 배열을 복사해 교체한다.
+ * 심볼 종류는 수백 개 수준에서 빠르게 포화되므로 copy-on-write 비용은 기동 직후에만 든다.
+ * Jackson 역직렬화기는 리플렉션으로 생성되므로 애플리케이션 전역 인스턴스(shared)를 함께 쓴다.
+ */
+public final class SymbolTable {
+
+	/**
+	 * 전역 테이블의 등록 상한.
+	 */
+	public static final int DEFAULT_MAX_SYMBOLS = 4096;
+
+	/**
+	 * 이 길이를 넘는 값은 심볼이 아닌 것으로 보고 등록하지 않는다.
+	 */
+	static final int MAX_SYMBOL_LENGTH = 64;
+
+	private static final SymbolTable SHARED = new SymbolTable(DEFAULT_MAX_SYMBOLS);
+
+	private final int maxSymbols;
+	private volatile Entry[] buckets;
+	private volatile String[] byId;
+	private int size;
+
+	/**
+	 * SymbolTable 생성자.
+	 *
+	 * @param maxSymbols 등록 가능한 최대 심볼 수
+	 */
+	public SymbolTable(int maxSymbols) {
+		if (maxSymbols < 1) {
+			throw new IllegalArgumentException("maxSymbols는 1 이상이어야 한다");
+		}
+		this.maxSymbols = maxSymbols;
+		this.buckets = new Entry[tableSizeFor(maxSymbols)];
+		this.byId = new String[0];
+	}
+
+	/**
+	 * 애플리케이션 전역 심볼 테이블을 반환한다.
+	 *
+	 * @return 전역 심볼 테이블
+	 */
+	public static SymbolTable shared() {
+		return SHARED;
+	}
+
+	/**
+	 * 문자 배열 구간에 해당하는 정규 문자열을 반환한다.
+	 * 이미 등록된 심볼이면 새 객체를 만들지 않는다.
+	 *
+	 * @param chars 문자 버퍼
+	 * @param offset 시작 위치
+	 * @param length 길이
+	 * @return 정규 문자열 (상한 초과 시 등록되지 않은 새 문자열)
+	 */
+	public String intern(char[] chars, int offset, int length) {
+		int hash = hash(chars, offset, length);
+		Entry found = find(buckets, chars, offset, length, hash);
+		if (found != null) {
+			return found.symbol;
+		}
+		String symbol = new String(chars, offset, length);
+		if (length > MAX_SYMBOL_LENGTH) {
+			return symbol;
+		}
+		return register(symbol, hash).symbol;
+	}
+
+	/**
+	 * 문자열의 정규 인스턴스를 반환한다. 처음 보는 값이면 등록한다.
+	 *
+	 * @param value 문자열 (nullable)
+	 * @return 정규 문자열 (null 이면 null)
+	 */
+	public String intern(String value) {
+		if (value == null || value.length() > MAX_SYMBOL_LENGTH) {
+			return value;
+		}
+		char[] chars = value.toCharArray();
+		int hash = hash(chars, 0, chars.length);
+		Entry found = find(buckets, chars, 0, chars.length, hash);
+		return found != null ? found.symbol : register(value, hash).symbol;
+	}
+
+	/**
+	 * 등록된 심볼의 정수 ID 를 반환한다.
+	 *
+	 * @param symbol 심볼 문자열
+	 * @return 등록 순서 기반 ID (등록되지 않았으면 -1)
+	 */
+	public int idOf(String symbol) {
+		if (symbol == null || symbol.length() > MAX_SYMBOL_LENGTH) {
+			return -1;
+		}
+		char[] chars = symbol.toCharArray();
+		Entry found = find(buckets, chars, 0, chars.length, hash(chars, 0, chars.length));
+		return found != null ? found.id : -1;
+	}
+
+	/**
+	 * ID 에 해당하는 심볼을 반환한다.
+	 *
+	 * @param id 심볼 ID
+	 * @return 심볼 문자열 (없으면 null)
+	 */
+	public String symbolOf(int id) {
+		String[] snapshot = byId;
+		return id >= 0 && id < snapshot.length ? snapshot[id] : null;
+	}
+
+	/**
+	 * 등록된 심볼 수를 반환한다.
+	 *
+	 * @return 심볼 수
+	 */
+	public int size() {
+		return byId.length;
+	}
+
+	private synchronized Entry register(String symbol, int hash) {
+		Entry[] current = buckets;
+		char[] chars = symbol.toCharArray();
+		Entry found = find(current, chars, 0, chars.length, hash);
+		if (found != null) {
+			return found;
+		}
+		if (size >= maxSymbols) {
+			return new Entry(symbol, hash, -1, null);
+		}
+		Entry[] next = Arrays.copyOf(current, current.length);
+		int index = hash & (next.length - 1);
+		Entry entry = new Entry(symbol, hash, size, next[index]);
+		next[index] = entry;
+		String[] nextById = Arrays.copyOf(byId, size + 1);
+		nextById[size] = symbol;
+		size++;
+		byId = nextById;
+		buckets = next;
+		return entry;
+	}
+
+	private static Entry find(Entry[] table, char[] chars, int offset, int length, int hash) {
+		for (Entry entry = table[hash & (table.length - 1)]; entry != null; entry = entry.next) {
+			if (entry.hash == hash && entry.matches(chars, offset, length)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private static int hash(char[] chars, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int tableSizeFor(int maxSymbols) {
+		int capacity = Integer.highestOneBit(Math.max(maxSymbols, 8) * 2 - 1);
+		return Math.min(capacity << 1, 1 << 16);
+	}
+
+	private static final class Entry {
+		private final String symbol;
+		private final int hash;
+		private final int id;
+		private final Entry next;
+
+		private Entry(String symbol, int hash, int id, Entry next) {
+			this.symbol = symbol;
+			this.hash = hash;
+			this.id = id;
+			this.next = next;
+		}
+
+		private boolean matches(char[] chars, int offset, int length) {
+			if (symbol.length() != length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (symbol.charAt(i) != chars[offset + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
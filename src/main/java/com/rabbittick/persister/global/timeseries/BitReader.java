@@ -0,0 +1,81 @@
+package com.rabbittick.persister.global.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * direct ByteBuffer 를 절대 위치로 읽는 비트 단위 판독기.
+ *
+ * 버퍼의 position 을 바꾸지 않으므로 여러 판독기가 같은 블록을 동시에 읽을 수 있다.
+ */
+final class BitReader {
+
+	private final ByteBuffer buffer;
+	private int position;
+	private long pending;
+	private int pendingBits;
+
+	BitReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	boolean readBit() {
+		return readChunk(1) != 0;
+	}
+
+	/**
+	 * bits 비트를 부호 없는 값으로 읽는다.
+	 *
+	 * @param bits 비트 수 (1~64)
+	 * @return 값
+	 */
+	long readBits(int bits) {
+		if (bits > 32) {
+			long high = readChunk(bits - 32);
+			return (high << 32) | readChunk(32);
+		}
+		return readChunk(bits);
+	}
+
+	/**
+	 * bits 비트를 2의 보수 부호 있는 값으로 읽는다.
+	 *
+	 * @param bits 비트 수 (1~64)
+	 * @return 부호 확장한 값
+	 */
+	long readSigned(int bits) {
+		int shift = 64 - bits;
+		return (readBits(bits) << shift) >> shift;
+	}
+
+	/**
+	 * 7비트 그룹 varint 를 읽는다.
+	 *
+	 * @return 부호 없는 값
+	 */
+	long readVarLong() {
+		long value = 0;
+		for (int shift = 0; ; shift += 7) {
+			long group = readChunk(8);
+			value |= (group & 0x7F) << shift;
+			if ((group & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+	private long readChunk(int bits) {
+		while (pendingBits < bits) {
+			pending = (pending << 8) | (buffer.get(position++) & 0xFF);
+			pendingBits += 8;
+		}
+		pendingBits -= bits;
+		return (pending >>> pendingBits) & ((1L << bits) - 1);
+	}
+
+	/**
+	 * zigzag 역변환.
+	 */
+	static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
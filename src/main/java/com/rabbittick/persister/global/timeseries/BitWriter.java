@@ -0,0 +1,98 @@
+package com.rabbittick.persister.global.timeseries;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 비트 단위 기록기. 블록을 인코딩하는 동안 힙 배열에 쓰고, 봉인 시 direct ByteBuffer 로 옮긴다.
+ *
+ * 비트는 바이트 안에서 상위 비트부터 채운다 (BitReader 와 같은 순서).
+ */
+final class BitWriter {
+
+	private byte[] bytes;
+	private int position;
+	private long pending;
+	private int pendingBits;
+
+	BitWriter(int initialBytes) {
+		this.bytes = new byte[Math.max(initialBytes, 16)];
+	}
+
+	void writeBit(boolean bit) {
+		writeBits(bit ? 1 : 0, 1);
+	}
+
+	/**
+	 * 값의 하위 bits 비트를 기록한다.
+	 *
+	 * @param value 값
+	 * @param bits 비트 수 (1~64)
+	 */
+	void writeBits(long value, int bits) {
+		if (bits > 32) {
+			writeChunk(value >>> 32, bits - 32);
+			writeChunk(value, 32);
+			return;
+		}
+		writeChunk(value, bits);
+	}
+
+	/**
+	 * 부호 없는 값을 7비트 그룹 varint 로 기록한다.
+	 *
+	 * @param value 부호 없는 값
+	 */
+	void writeVarLong(long value) {
+		while ((value & ~0x7FL) != 0) {
+			writeChunk((value & 0x7F) | 0x80, 8);
+			value >>>= 7;
+		}
+		writeChunk(value, 8);
+	}
+
+	/**
+	 * 남은 비트를 바이트 경계까지 채우고 정확한 크기의 direct ByteBuffer 로 복사한다.
+	 *
+	 * @return 읽기 전용 direct ByteBuffer
+	 */
+	ByteBuffer toDirectBuffer() {
+		if (pendingBits > 0) {
+			appendByte((int) (pending << (8 - pendingBits)));
+			pendingBits = 0;
+			pending = 0;
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(position);
+		buffer.put(bytes, 0, position).flip();
+		return buffer.asReadOnlyBuffer();
+	}
+
+	void reset() {
+		position = 0;
+		pending = 0;
+		pendingBits = 0;
+	}
+
+	private void writeChunk(long value, int bits) {
+		pending = (pending << bits) | (value & ((1L << bits) - 1));
+		pendingBits += bits;
+		while (pendingBits >= 8) {
+			pendingBits -= 8;
+			appendByte((int) (pending >>> pendingBits));
+		}
+	}
+
+	private void appendByte(int value) {
+		if (position == bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		}
+		bytes[position++] = (byte) value;
+	}
+
+	/**
+	 * zigzag 변환 (작은 음수를 작은 양수로).
+	 */
+	static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+}
@@ -0,0 +1,66 @@
+package com.rabbittick.persister.global.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 압축 봉인된 시계열 블록. 데이터는 힙 밖(direct ByteBuffer)에 있다.
+ *
+ * 주요 책임:
+ *
+ * 지점 수, 첫·마지막 시각 보관 (블록을 풀지 않고 구간 가지치기)
+ * 박싱 없이 지점을 순서대로 푸는 TimeSeriesCursor 제공
+ *
+ * 블록은 불변이며, 여러 스레드가 각자 커서를 만들어 동시에 읽을 수 있다.
+ * direct 메모리는 블록 객체가 수거될 때 함께 반환된다.
+ */
+public final class TimeSeriesBlock {
+
+	private final ByteBuffer data;
+	private final int count;
+	private final long firstTime;
+	private final long lastTime;
+
+	TimeSeriesBlock(ByteBuffer data, int count, long firstTime, long lastTime) {
+		this.data = data;
+		this.count = count;
+		this.firstTime = firstTime;
+		this.lastTime = lastTime;
+	}
+
+	/**
+	 * @return 지점 수
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * @return 첫 지점 시각 (블록 안 최소 시각)
+	 */
+	public long firstTime() {
+		return firstTime;
+	}
+
+	/**
+	 * @return 마지막 지점 시각 (블록 안 최대 시각)
+	 */
+	public long lastTime() {
+		return lastTime;
+	}
+
+	/**
+	 * @return 압축 데이터 크기 (direct 메모리 바이트)
+	 */
+	public int sizeBytes() {
+		return data.capacity();
+	}
+
+	/**
+	 * 첫 지점부터 읽는 커서를 만든다.
+	 *
+	 * @return 커서
+	 */
+	public TimeSeriesCursor cursor() {
+		return new TimeSeriesCursor(this, new BitReader(data));
+	}
+}
@@ -0,0 +1,153 @@
+package com.rabbittick.persister.global.timeseries;
+
+/**
+ * 시각 순으로 들어오는 지점을 압축해 TimeSeriesBlock 으로 봉인하는 인코더.
+ *
+ * 주요 책임:
+ *
+ * 시각: delta-of-delta 를 0/7/9/12/32/64 비트 구간으로 기록 (첫 지점은 블록 헤더에 보관)
+ * 가격: 직전 값과의 XOR 를 선행·후행 0 비트 창으로 기록 (Gorilla 방식, 고정소수점 long 대상)
+ * 수량: zigzag varint, 순번: 직전 값과의 차이를 zigzag varint, 매수/매도: 2비트
+ *
+ * 인코더는 스레드 안전하지 않으며, seal 이후 reset 해서 재사용한다.
+ */
+public final class TimeSeriesBlockEncoder {
+
+	static final int SIDE_BITS = 2;
+	static final int LEADING_BITS = 6;
+	static final int LENGTH_BITS = 6;
+
+	private final BitWriter writer;
+	private int count;
+	private long firstTime;
+	private long previousTime;
+	private long previousDelta;
+	private long previousPrice;
+	private int previousLeading = -1;
+	private int previousTrailing;
+	private long previousSequence;
+
+	/**
+	 * TimeSeriesBlockEncoder 생성자.
+	 *
+	 * @param expectedPoints 블록당 예상 지점 수 (초기 버퍼 크기 산정용)
+	 */
+	public TimeSeriesBlockEncoder(int expectedPoints) {
+		this.writer = new BitWriter(expectedPoints * 16);
+	}
+
+	/**
+	 * 지점을 추가한다.
+	 *
+	 * @param time 시각 (직전 지점 이상)
+	 * @param price 고정소수점 가격
+	 * @param volume 고정소수점 수량
+	 * @param sequence 순번
+	 * @param side 매수/매도 코드 (0~3)
+	 */
+	public void append(long time, long price, long volume, long sequence, byte side) {
+		if (count > 0 && time < previousTime) {
+			throw new IllegalArgumentException("time은 직전 지점 이상이어야 한다: " + time + " < " + previousTime);
+		}
+		if (count == 0) {
+			firstTime = time;
+			writer.writeBits(price, 64);
+		} else {
+			writeTime(time);
+			writePrice(price);
+		}
+		writer.writeVarLong(BitWriter.zigzag(volume));
+		writer.writeVarLong(BitWriter.zigzag(sequence - previousSequence));
+		writer.writeBits(side, SIDE_BITS);
+		previousTime = time;
+		previousPrice = price;
+		previousSequence = sequence;
+		count++;
+	}
+
+	/**
+	 * @return 봉인 전 지점 수
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * 지금까지 추가한 지점을 direct ByteBuffer 블록으로 봉인하고 인코더를 비운다.
+	 *
+	 * @return 봉인된 블록
+	 */
+	public TimeSeriesBlock seal() {
+		if (count == 0) {
+			throw new IllegalStateException("빈 블록은 봉인할 수 없다");
+		}
+		TimeSeriesBlock block = new TimeSeriesBlock(writer.toDirectBuffer(), count, firstTime, previousTime);
+		reset();
+		return block;
+	}
+
+	/**
+	 * 추가한 지점을 버리고 처음 상태로 되돌린다.
+	 */
+	public void reset() {
+		writer.reset();
+		count = 0;
+		previousDelta = 0;
+		previousLeading = -1;
+		previousTrailing = 0;
+		previousSequence = 0;
+	}
+
+	private void writeTime(long time) {
+		long delta = time - previousTime;
+		long deltaOfDelta = delta - previousDelta;
+		previousDelta = delta;
+		if (deltaOfDelta == 0) {
+			writer.writeBit(false);
+		} else if (fits(deltaOfDelta, 7)) {
+			writer.writeBits(0b10, 2);
+			writer.writeBits(deltaOfDelta, 7);
+		} else if (fits(deltaOfDelta, 9)) {
+			writer.writeBits(0b110, 3);
+			writer.writeBits(deltaOfDelta, 9);
+		} else if (fits(deltaOfDelta, 12)) {
+			writer.writeBits(0b1110, 4);
+			writer.writeBits(deltaOfDelta, 12);
+		} else if (fits(deltaOfDelta, 32)) {
+			writer.writeBits(0b11110, 5);
+			writer.writeBits(deltaOfDelta, 32);
+		} else {
+			writer.writeBits(0b11111, 5);
+			writer.writeBits(deltaOfDelta, 64);
+		}
+	}
+
+	private void writePrice(long price) {
+		long xor = price ^ previousPrice;
+		if (xor == 0) {
+			writer.writeBit(false);
+			return;
+		}
+		writer.writeBit(true);
+		int leading = Long.numberOfLeadingZeros(xor);
+		int trailing = Long.numberOfTrailingZeros(xor);
+		if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+			// 직전 유효 비트 창 안에 들어가면 창 정보 없이 값만 기록한다.
+			writer.writeBit(false);
+			writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+			return;
+		}
+		int length = 64 - leading - trailing;
+		writer.writeBit(true);
+		writer.writeBits(leading, LEADING_BITS);
+		writer.writeBits(length - 1, LENGTH_BITS);
+		writer.writeBits(xor >>> trailing, length);
+		previousLeading = leading;
+		previousTrailing = trailing;
+	}
+
+	private static boolean fits(long value, int bits) {
+		long bound = 1L << (bits - 1);
+		return value >= -bound && value < bound;
+	}
+}
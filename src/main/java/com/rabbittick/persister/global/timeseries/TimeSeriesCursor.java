@@ -0,0 +1,108 @@
+package com.rabbittick.persister.global.timeseries;
+
+/**
+ * TimeSeriesBlock 을 앞에서부터 한 지점씩 푸는 커서.
+ *
+ * 현재 지점의 값을 원시 타입 접근자로 돌려주므로 지점마다 객체를 만들지 않는다.
+ * 커서는 스레드 안전하지 않다.
+ *
+ * <pre>
+ * TimeSeriesCursor cursor = block.cursor();
+ * while (cursor.next()) {
+ *     long time = cursor.time();
+ * }
+ * </pre>
+ */
+public final class TimeSeriesCursor {
+
+	private final TimeSeriesBlock block;
+	private final BitReader reader;
+	private int index;
+	private long time;
+	private long delta;
+	private long price;
+	private int leading = -1;
+	private int trailing;
+	private long volume;
+	private long sequence;
+	private byte side;
+
+	TimeSeriesCursor(TimeSeriesBlock block, BitReader reader) {
+		this.block = block;
+		this.reader = reader;
+	}
+
+	/**
+	 * 다음 지점으로 이동한다.
+	 *
+	 * @return 지점이 있으면 true
+	 */
+	public boolean next() {
+		if (index == block.count()) {
+			return false;
+		}
+		if (index == 0) {
+			time = block.firstTime();
+			price = reader.readBits(64);
+		} else {
+			readTime();
+			readPrice();
+		}
+		volume = BitReader.unzigzag(reader.readVarLong());
+		sequence += BitReader.unzigzag(reader.readVarLong());
+		side = (byte) reader.readBits(TimeSeriesBlockEncoder.SIDE_BITS);
+		index++;
+		return true;
+	}
+
+	public long time() {
+		return time;
+	}
+
+	public long price() {
+		return price;
+	}
+
+	public long volume() {
+		return volume;
+	}
+
+	public long sequence() {
+		return sequence;
+	}
+
+	public byte side() {
+		return side;
+	}
+
+	private void readTime() {
+		long deltaOfDelta;
+		if (!reader.readBit()) {
+			deltaOfDelta = 0;
+		} else if (!reader.readBit()) {
+			deltaOfDelta = reader.readSigned(7);
+		} else if (!reader.readBit()) {
+			deltaOfDelta = reader.readSigned(9);
+		} else if (!reader.readBit()) {
+			deltaOfDelta = reader.readSigned(12);
+		} else if (!reader.readBit()) {
+			deltaOfDelta = reader.readSigned(32);
+		} else {
+			deltaOfDelta = reader.readBits(64);
+		}
+		delta += deltaOfDelta;
+		time += delta;
+	}
+
+	private void readPrice() {
+		if (!reader.readBit()) {
+			return;
+		}
+		if (reader.readBit()) {
+			leading = (int) reader.readBits(TimeSeriesBlockEncoder.LEADING_BITS);
+			int length = (int) reader.readBits(TimeSeriesBlockEncoder.LENGTH_BITS) + 1;
+			trailing = 64 - leading - length;
+		}
+		price ^= reader.readBits(64 - leading - trailing) << trailing;
+	}
+}
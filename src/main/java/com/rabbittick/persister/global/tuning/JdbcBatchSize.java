@@ -0,0 +1,49 @@
+package com.rabbittick.persister.global.tuning;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실행 중에 변경 가능한 JDBC 배치 크기.
+ *
+ * 초기값은 hibernate.jdbc.batch_size 이며, TunableHibernateJpaDialect 가
+ * 트랜잭션을 시작할 때마다 세션에 적용한다.
+ *
+ * 모든 엔티티가 GenerationType.IDENTITY 키를 사용하므로 Hibernate 는 INSERT 를 JDBC 배치로 묶지 않는다.
+ * 이 값은 INSERT 이외의 문(orderbook_unit 의 orderbook_id·unit_index UPDATE 등)에만 영향을 준다.
+ */
+@Component
+public class JdbcBatchSize {
+
+	private volatile int value;
+
+	/**
+	 * JdbcBatchSize 생성자.
+	 *
+	 * @param initialValue 초기 배치 크기
+	 */
+	public JdbcBatchSize(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int initialValue) {
+		set(initialValue);
+	}
+
+	/**
+	 * 현재 배치 크기를 반환한다.
+	 *
+	 * @return 배치 크기
+	 */
+	public int get() {
+		return value;
+	}
+
+	/**
+	 * 배치 크기를 변경한다. 이후 시작되는 트랜잭션부터 적용된다.
+	 *
+	 * @param value 배치 크기
+	 */
+	public void set(int value) {
+		if (value < 1) {
+			throw new IllegalArgumentException("JDBC 배치 크기는 1 이상이어야 한다");
+		}
+		this.value = value;
+	}
+}
@@ -0,0 +1,36 @@
+package com.rabbittick.persister.global.tuning;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * EntityManagerFactory 빈에 TunableHibernateJpaDialect 를 지정하는 후처리기.
+ *
+ * JpaTransactionManager 는 EntityManagerFactory 의 JpaDialect 로 트랜잭션을 시작하므로,
+ * 초기화 전에 지정하면 모든 @Transactional 저장에 런타임 배치 크기가 적용된다.
+ */
+public class JpaDialectTuningPostProcessor implements BeanPostProcessor {
+
+	private final Supplier<JdbcBatchSize> jdbcBatchSize;
+
+	/**
+	 * JpaDialectTuningPostProcessor 생성자.
+	 *
+	 * @param jdbcBatchSize JDBC 배치 크기 공급자 (첫 트랜잭션 시점에 조회)
+	 */
+	public JpaDialectTuningPostProcessor(ObjectProvider<JdbcBatchSize> jdbcBatchSize) {
+		this.jdbcBatchSize = SingletonSupplier.of(jdbcBatchSize::getObject);
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+			factoryBean.setJpaDialect(new TunableHibernateJpaDialect(() -> jdbcBatchSize.get().get()));
+		}
+		return bean;
+	}
+}
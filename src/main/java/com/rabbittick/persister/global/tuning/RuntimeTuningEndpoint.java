@@ -0,0 +1,257 @@
+package com.rabbittick.persister.global.tuning;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.messaging.AsyncPersistenceWriter;
+
+/**
+ * 재시작 없이 소비·저장 파라미터를 바꾸는 actuator 엔드포인트 (/actuator/tuning).
+ *
+ * 주요 책임:
+ *
+ * GET /actuator/tuning : 현재 값과 최근 변경 이력 조회
+ * POST /actuator/tuning/{setting} {"value": n} : 값 검증 후 실행 중인 컴포넌트에 적용
+ * 변경마다 요청자·이전 값·새 값을 감사 로그와 이력에 남김
+ *
+ * 지원 설정:
+ *
+ * prefetch-count : 모든 리스너 컨테이너의 prefetch. 채널 QoS 는 소비자 생성 시 고정되므로 실행 중인 컨테이너를 재기동한다
+ * concurrent-consumers / max-concurrent-consumers : simple 컨테이너 소비자 수 (즉시 증감)
+ * consumers-per-queue : direct 컨테이너 큐당 소비자 수 (즉시 증감)
+ * retry-max-attempts : messageRetryPolicy 최대 시도 횟수 (동기 재시도 어드바이스와 비동기 writer 공용)
+ * writer-threads : 비동기 writer 스레드 수
+ * jdbc-batch-size : Hibernate JDBC 배치 크기 (다음 트랜잭션부터 적용). IDENTITY 키 INSERT 는 배치되지 않으므로
+ *   orderbook_unit 의 FK·순서 컬럼 UPDATE 등 INSERT 이외의 문에만 효과가 있다
+ *
+ * prefetch 재기동 시 Ack 되지 않은 메시지는 재전달되며, 기존 중복 저장 처리로 흡수된다.
+ *
+ * 이 프로젝트에는 인증 계층이 없으므로 기본 web exposure 에 포함하지 않는다.
+ * 내부 전용 management 포트에서만 노출하며, 그 경우 감사 로그의 요청자는 anonymous 로 기록된다.
+ */
+@Component
+@Endpoint(id = "tuning")
+public class RuntimeTuningEndpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(RuntimeTuningEndpoint.class);
+	private static final int HISTORY_SIZE = 100;
+
+	static final String PREFETCH_COUNT = "prefetch-count";
+	static final String CONCURRENT_CONSUMERS = "concurrent-consumers";
+	static final String MAX_CONCURRENT_CONSUMERS = "max-concurrent-consumers";
+	static final String CONSUMERS_PER_QUEUE = "consumers-per-queue";
+	static final String RETRY_MAX_ATTEMPTS = "retry-max-attempts";
+	static final String WRITER_THREADS = "writer-threads";
+	static final String JDBC_BATCH_SIZE = "jdbc-batch-size";
+
+	private static final Map<String, int[]> LIMITS = Map.of(
+		PREFETCH_COUNT, new int[] { 1, 10_000 },
+		CONCURRENT_CONSUMERS, new int[] { 1, 64 },
+		MAX_CONCURRENT_CONSUMERS, new int[] { 1, 64 },
+		CONSUMERS_PER_QUEUE, new int[] { 1, 64 },
+		RETRY_MAX_ATTEMPTS, new int[] { 1, 10 },
+		WRITER_THREADS, new int[] { 1, 128 },
+		JDBC_BATCH_SIZE, new int[] { 1, 1_000 }
+	);
+
+	private final RabbitListenerEndpointRegistry listenerEndpointRegistry;
+	private final SimpleRetryPolicy messageRetryPolicy;
+	private final AsyncPersistenceWriter asyncPersistenceWriter;
+	private final JdbcBatchSize jdbcBatchSize;
+	private final Deque<TuningChange> history = new ArrayDeque<>();
+	private int prefetchCount;
+	private int concurrentConsumers;
+	private int maxConcurrentConsumers;
+	private int consumersPerQueue;
+
+	/**
+	 * RuntimeTuningEndpoint 생성자. 컨테이너 설정값은 RabbitMqConfig 와 같은 프로퍼티로 초기화한다.
+	 *
+	 * @param listenerEndpointRegistry 리스너 컨테이너 레지스트리
+	 * @param messageRetryPolicy 재시도 정책 빈
+	 * @param asyncPersistenceWriter 비동기 저장기
+	 * @param jdbcBatchSize JDBC 배치 크기
+	 * @param prefetchCount 초기 prefetch
+	 * @param concurrentConsumers 초기 simple 소비자 수
+	 * @param maxConcurrentConsumers 초기 simple 최대 소비자 수
+	 * @param consumersPerQueue 초기 direct 큐당 소비자 수
+	 */
+	public RuntimeTuningEndpoint(
+		RabbitListenerEndpointRegistry listenerEndpointRegistry,
+		SimpleRetryPolicy messageRetryPolicy,
+		AsyncPersistenceWriter asyncPersistenceWriter,
+		JdbcBatchSize jdbcBatchSize,
+		@Value("${app.rabbitmq.prefetch-count:50}") int prefetchCount,
+		@Value("${app.rabbitmq.concurrent-consumers:2}") int concurrentConsumers,
+		@Value("${app.rabbitmq.max-concurrent-consumers:4}") int maxConcurrentConsumers,
+		@Value("${app.rabbitmq.consumers-per-queue:2}") int consumersPerQueue
+	) {
+		this.listenerEndpointRegistry = listenerEndpointRegistry;
+		this.messageRetryPolicy = messageRetryPolicy;
+		this.asyncPersistenceWriter = asyncPersistenceWriter;
+		this.jdbcBatchSize = jdbcBatchSize;
+		this.prefetchCount = prefetchCount;
+		this.concurrentConsumers = concurrentConsumers;
+		this.maxConcurrentConsumers = maxConcurrentConsumers;
+		this.consumersPerQueue = consumersPerQueue;
+	}
+
+	/**
+	 * 현재 설정값과 최근 변경 이력을 반환한다.
+	 *
+	 * @return 설정 보고서
+	 */
+	@ReadOperation
+	public synchronized TuningReport settings() {
+		Map<String, Integer> values = new LinkedHashMap<>();
+		values.put(PREFETCH_COUNT, prefetchCount);
+		values.put(CONCURRENT_CONSUMERS, concurrentConsumers);
+		values.put(MAX_CONCURRENT_CONSUMERS, maxConcurrentConsumers);
+		values.put(CONSUMERS_PER_QUEUE, consumersPerQueue);
+		values.put(RETRY_MAX_ATTEMPTS, messageRetryPolicy.getMaxAttempts());
+		values.put(WRITER_THREADS, asyncPersistenceWriter.isEnabled() ? asyncPersistenceWriter.getWriterThreads() : 0);
+		values.put(JDBC_BATCH_SIZE, jdbcBatchSize.get());
+		List<String> containers = listenerEndpointRegistry.getListenerContainers().stream()
+			.map(container -> container.getClass().getSimpleName() + (container.isRunning() ? "(running)" : "(stopped)"))
+			.toList();
+		return new TuningReport(values, containers, List.copyOf(history));
+	}
+
+	/**
+	 * 설정 하나를 변경한다.
+	 *
+	 * @param setting 설정 이름
+	 * @param value 새 값
+	 * @param principal 요청자 (nullable)
+	 * @return 적용된 변경 이력
+	 */
+	@WriteOperation
+	public synchronized TuningChange tune(@Selector String setting, int value, @Nullable Principal principal) {
+		int[] limit = LIMITS.get(setting);
+		if (limit == null) {
+			throw new InvalidEndpointRequestException(
+				"지원하지 않는 설정입니다: " + setting, "setting must be one of " + LIMITS.keySet());
+		}
+		if (value < limit[0] || value > limit[1]) {
+			throw new InvalidEndpointRequestException(
+				setting + "는 " + limit[0] + " 이상 " + limit[1] + " 이하여야 한다",
+				setting + " out of range [" + limit[0] + ", " + limit[1] + "]");
+		}
+		int previousValue = apply(setting, value);
+		TuningChange change = new TuningChange(
+			Instant.now(), principal == null ? "anonymous" : principal.getName(), setting, previousValue, value);
+		history.addFirst(change);
+		if (history.size() > HISTORY_SIZE) {
+			history.removeLast();
+		}
+		log.warn("런타임 튜닝 값을 변경했습니다. setting={}, {} -> {}, principal={}",
+			setting, previousValue, value, change.principal());
+		return change;
+	}
+
+	private int apply(String setting, int value) {
+		int previousValue;
+		switch (setting) {
+			case PREFETCH_COUNT -> {
+				previousValue = prefetchCount;
+				containers(AbstractMessageListenerContainer.class).forEach(container -> {
+					container.setPrefetchCount(value);
+					if (container.isRunning()) {
+						container.stop();
+						container.start();
+					}
+				});
+				prefetchCount = value;
+			}
+			case CONCURRENT_CONSUMERS -> {
+				if (value > maxConcurrentConsumers) {
+					throw new InvalidEndpointRequestException(
+						"concurrent-consumers는 max-concurrent-consumers(" + maxConcurrentConsumers + ") 이하여야 한다",
+						"concurrent-consumers exceeds max-concurrent-consumers");
+				}
+				previousValue = concurrentConsumers;
+				containers(SimpleMessageListenerContainer.class)
+					.forEach(container -> container.setConcurrentConsumers(value));
+				concurrentConsumers = value;
+			}
+			case MAX_CONCURRENT_CONSUMERS -> {
+				if (value < concurrentConsumers) {
+					throw new InvalidEndpointRequestException(
+						"max-concurrent-consumers는 concurrent-consumers(" + concurrentConsumers + ") 이상이어야 한다",
+						"max-concurrent-consumers below concurrent-consumers");
+				}
+				previousValue = maxConcurrentConsumers;
+				containers(SimpleMessageListenerContainer.class)
+					.forEach(container -> container.setMaxConcurrentConsumers(value));
+				maxConcurrentConsumers = value;
+			}
+			case CONSUMERS_PER_QUEUE -> {
+				previousValue = consumersPerQueue;
+				containers(DirectMessageListenerContainer.class)
+					.forEach(container -> container.setConsumersPerQueue(value));
+				consumersPerQueue = value;
+			}
+			case RETRY_MAX_ATTEMPTS -> {
+				previousValue = messageRetryPolicy.getMaxAttempts();
+				messageRetryPolicy.setMaxAttempts(value);
+			}
+			case WRITER_THREADS -> {
+				if (!asyncPersistenceWriter.isEnabled()) {
+					throw new InvalidEndpointRequestException(
+						"비동기 저장이 비활성화되어 writer-threads를 변경할 수 없다", "async persistence disabled");
+				}
+				previousValue = asyncPersistenceWriter.getWriterThreads();
+				asyncPersistenceWriter.resize(value);
+			}
+			case JDBC_BATCH_SIZE -> {
+				previousValue = jdbcBatchSize.get();
+				jdbcBatchSize.set(value);
+			}
+			default -> throw new IllegalStateException("처리되지 않은 설정: " + setting);
+		}
+		return previousValue;
+	}
+
+	private <T extends MessageListenerContainer> List<T> containers(Class<T> type) {
+		List<T> matched = new ArrayList<>();
+		for (MessageListenerContainer container : listenerEndpointRegistry.getListenerContainers()) {
+			if (type.isInstance(container)) {
+				matched.add(type.cast(container));
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * 런타임 튜닝 보고서.
+	 *
+	 * @param settings 설정 이름별 현재 값 (writer-threads 는 비동기 저장 비활성 시 0)
+	 * @param containers 리스너 컨테이너 종류와 실행 상태
+	 * @param history 최근 변경 이력 (최신순)
+	 */
+	public record TuningReport(Map<String, Integer> settings, List<String> containers, List<TuningChange> history) {
+	}
+}
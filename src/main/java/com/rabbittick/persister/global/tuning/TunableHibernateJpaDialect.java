@@ -0,0 +1,37 @@
+package com.rabbittick.persister.global.tuning;
+
+import java.sql.SQLException;
+import java.util.function.IntSupplier;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 트랜잭션 시작 시 현재 JDBC 배치 크기를 Hibernate 세션에 적용하는 JpaDialect.
+ *
+ * hibernate.jdbc.batch_size 는 SessionFactory 생성 시 고정되므로,
+ * 세션 단위 설정(Session#setJdbcBatchSize)으로 재시작 없이 값을 바꾼다.
+ */
+public class TunableHibernateJpaDialect extends HibernateJpaDialect {
+
+	private final transient IntSupplier jdbcBatchSize;
+
+	/**
+	 * TunableHibernateJpaDialect 생성자.
+	 *
+	 * @param jdbcBatchSize 현재 배치 크기 공급자
+	 */
+	public TunableHibernateJpaDialect(IntSupplier jdbcBatchSize) {
+		this.jdbcBatchSize = jdbcBatchSize;
+	}
+
+	@Override
+	public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+		throws SQLException {
+		entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize.getAsInt());
+		return super.beginTransaction(entityManager, definition);
+	}
+}
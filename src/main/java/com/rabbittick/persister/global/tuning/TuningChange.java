@@ -0,0 +1,21 @@
+package com.rabbittick.persister.global.tuning;
+
+import java.time.Instant;
+
+/**
+ * 런타임 튜닝 변경 이력 한 건.
+ *
+ * @param changedAt 변경 시각
+ * @param principal 변경 요청자 (인증 정보가 없으면 anonymous)
+ * @param setting 설정 이름
+ * @param previousValue 변경 전 값
+ * @param newValue 변경 후 값
+ */
+public record TuningChange(
+	Instant changedAt,
+	String principal,
+	String setting,
+	int previousValue,
+	int newValue
+) {
+}
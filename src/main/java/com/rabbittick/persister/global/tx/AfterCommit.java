@@ -0,0 +1,34 @@
+package com.rabbittick.persister.global.tx;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 저장 트랜잭션이 커밋된 뒤에만 메모리 상태를 갱신하도록 작업을 미루는 헬퍼.
+ *
+ * 트랜잭션 동기화가 활성화되어 있지 않으면(트랜잭션 밖 호출) 즉시 실행한다.
+ * 롤백되면 작업은 실행되지 않는다.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/**
+	 * 현재 트랜잭션 커밋 이후에 작업을 실행한다.
+	 *
+	 * @param action 커밋 이후 실행할 작업
+	 */
+	public static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,254 @@
+package com.rabbittick.persister.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.Channel;
+
+/**
+ * 리스너 스레드에서 넘겨받은 저장 작업을 별도 writer 스레드에서 수행하는 비동기 저장기.
+ *
+ * 주요 책임:
+ *
+ * writer 스레드 풀에서 저장 작업 실행
+ * messageRetryPolicy 기준 재시도 및 DLQ 전달 (동기 경로의 retryAdvice 와 동일한 분류)
+ * 채널별 DeliveryAckTracker 를 통한 순서 보장·병합 Ack
+ *
+ * 작업 큐가 가득 차면 리스너 스레드가 직접 저장을 수행해 자연스럽게 소비 속도를 늦춘다.
+ * 동시 처리량 상한은 채널 prefetch 로 제한된다.
+ */
+@Component
+public class AsyncPersistenceWriter implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(AsyncPersistenceWriter.class);
+
+	private final boolean enabled;
+	private final ThreadPoolTaskExecutor executor;
+	private final RetryTemplate retryTemplate;
+	private final AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer;
+	private final Map<Channel, DeliveryAckTracker> trackers = new ConcurrentHashMap<>();
+
+	/**
+	 * AsyncPersistenceWriter 생성자.
+	 *
+	 * @param enabled 비동기 저장 사용 여부
+	 * @param writerThreads writer 스레드 수
+	 * @param queueCapacity writer 작업 큐 크기
+	 * @param messageRetryPolicy 재시도 정책 빈
+	 * @param dlqMessageRecoverer DLQ 전달 recoverer
+	 */
+	public AsyncPersistenceWriter(
+		@Value("${app.persistence.async.enabled:false}") boolean enabled,
+		@Value("${app.persistence.async.writer-threads:8}") int writerThreads,
+		@Value("${app.persistence.async.queue-capacity:500}") int queueCapacity,
+		SimpleRetryPolicy messageRetryPolicy,
+		AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer
+	) {
+		this.enabled = enabled;
+		this.dlqMessageRecoverer = dlqMessageRecoverer;
+		this.retryTemplate = new RetryTemplate();
+		this.retryTemplate.setRetryPolicy(messageRetryPolicy);
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setThreadNamePrefix("persist-writer-");
+		this.executor.setCorePoolSize(writerThreads);
+		this.executor.setMaxPoolSize(writerThreads);
+		this.executor.setQueueCapacity(queueCapacity);
+		this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.setWaitForTasksToCompleteOnShutdown(true);
+		this.executor.setAwaitTerminationSeconds(30);
+		if (enabled) {
+			this.executor.initialize();
+		}
+	}
+
+	/**
+	 * 비동기 저장 사용 여부를 반환한다.
+	 *
+	 * @return 사용 여부
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 현재 writer 스레드 수를 반환한다.
+	 *
+	 * @return writer 스레드 수
+	 */
+	public int getWriterThreads() {
+		return executor.getCorePoolSize();
+	}
+
+	/**
+	 * 실행 중에 writer 스레드 수를 변경한다.
+	 * 줄이는 경우 진행 중인 작업을 마친 스레드부터 정리된다.
+	 *
+	 * @param writerThreads 변경할 writer 스레드 수
+	 */
+	public synchronized void resize(int writerThreads) {
+		if (writerThreads < 1) {
+			throw new IllegalArgumentException("writerThreads는 1 이상이어야 한다");
+		}
+		// core <= max 제약을 지키도록 늘릴 때는 max 먼저, 줄일 때는 core 먼저 바꾼다.
+		if (writerThreads > executor.getMaxPoolSize()) {
+			executor.setMaxPoolSize(writerThreads);
+			executor.setCorePoolSize(writerThreads);
+		} else {
+			executor.setCorePoolSize(writerThreads);
+			executor.setMaxPoolSize(writerThreads);
+		}
+	}
+
+	/**
+	 * 저장 작업을 writer 스레드에 넘긴다.
+	 * 호출 즉시 delivery tag 를 채널 트래커에 등록하므로 리스너 스레드에서 호출해야 한다.
+	 *
+	 * @param message 원본 AMQP 메시지 (DLQ 재발행용)
+	 * @param channel 메시지를 수신한 채널
+	 * @param persistence 저장 작업
+	 * @param callback 저장 결과가 브로커에 반영된 뒤 호출할 콜백
+	 */
+	public void submit(Message message, Channel channel, Runnable persistence, Callback callback) {
+		PendingDelivery delivery = register(message, channel);
+		executor.execute(() -> persist(delivery, persistence, callback));
+	}
+
+	/**
+	 * delivery tag 를 채널 트래커에 등록만 하고, 저장·정리는 호출자가 나중에 수행한다.
+	 * 등록 순서가 곧 Ack 순서이므로 리스너 스레드에서 호출해야 한다 (TradeReorderBuffer 등).
+	 *
+	 * @param message 원본 AMQP 메시지
+	 * @param channel 메시지를 수신한 채널
+	 * @return 미정리 delivery
+	 */
+	public PendingDelivery register(Message message, Channel channel) {
+		long deliveryTag = message.getMessageProperties().getDeliveryTag();
+		DeliveryAckTracker tracker = trackerFor(channel);
+		tracker.register(deliveryTag);
+		return new PendingDelivery(message, deliveryTag, tracker);
+	}
+
+	/**
+	 * 작업을 writer 스레드 풀에서 실행한다. 큐가 가득 차면 호출 스레드에서 실행한다.
+	 *
+	 * @param task 작업
+	 */
+	public void execute(Runnable task) {
+		executor.execute(task);
+	}
+
+	/**
+	 * 현재 스레드에서 저장 작업을 재시도 정책으로 수행하고 결과를 트래커에 반영한다.
+	 * 중복은 Ack, 재시도 소진 시 DLQ 발행 후 Ack, DLQ 발행 실패 시 Nack(requeue) 한다.
+	 *
+	 * @param delivery 등록된 delivery
+	 * @param persistence 저장 작업
+	 * @param callback 저장 결과가 브로커에 반영된 뒤 호출할 콜백
+	 */
+	public void persist(PendingDelivery delivery, Runnable persistence, Callback callback) {
+		long deliveryTag = delivery.deliveryTag();
+		String outcome;
+		try {
+			outcome = retryTemplate.execute(context -> {
+				try {
+					persistence.run();
+					return "success";
+				} catch (DataIntegrityViolationException ex) {
+					log.warn("중복 데이터로 판단되어 저장을 생략합니다. deliveryTag={}", deliveryTag, ex);
+					return "duplicate";
+				}
+			});
+		} catch (Exception ex) {
+			log.error("메시지 비동기 저장에 실패했습니다. deliveryTag={}", deliveryTag, ex);
+			if (!deadLetter(delivery.message(), ex)) {
+				delivery.tracker().reject(deliveryTag, () -> callback.onSettled("error", false));
+				return;
+			}
+			outcome = "dead_lettered";
+		}
+		complete(delivery, outcome, callback);
+	}
+
+	/**
+	 * 이미 저장이 끝난 delivery 를 Ack 대상으로 기록한다.
+	 *
+	 * @param delivery 등록된 delivery
+	 * @param outcome 처리 결과
+	 * @param callback 저장 결과가 브로커에 반영된 뒤 호출할 콜백
+	 */
+	public void complete(PendingDelivery delivery, String outcome, Callback callback) {
+		delivery.tracker().complete(delivery.deliveryTag(), () -> callback.onSettled(outcome, true));
+	}
+
+	/**
+	 * 재시도 후에도 실패한 메시지를 DLQ로 전달한다.
+	 * 배치 봉투의 실패 레코드 발행에도 사용된다.
+	 *
+	 * @param message DLQ 로 보낼 메시지
+	 * @param cause 실패 원인
+	 * @return DLQ 발행 성공 여부 (실패 시 재전달 대상)
+	 */
+	public boolean deadLetter(Message message, Throwable cause) {
+		try {
+			dlqMessageRecoverer.recover(message, cause);
+			return true;
+		} catch (ImmediateAcknowledgeAmqpException ex) {
+			return true;
+		} catch (RuntimeException ex) {
+			log.error("DLQ 발행에 실패했습니다. 메시지를 재전달합니다.", ex);
+			return false;
+		}
+	}
+
+	private DeliveryAckTracker trackerFor(Channel channel) {
+		return trackers.computeIfAbsent(channel, key -> {
+			key.addShutdownListener(cause -> trackers.remove(key));
+			return new DeliveryAckTracker(key);
+		});
+	}
+
+	@Override
+	public void destroy() {
+		if (enabled) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * 채널 트래커에 등록되어 Ack/Nack 을 기다리는 delivery.
+	 *
+	 * @param message 원본 AMQP 메시지 (DLQ 재발행용)
+	 * @param deliveryTag 채널 delivery tag
+	 * @param tracker 채널 트래커
+	 */
+	public record PendingDelivery(Message message, long deliveryTag, DeliveryAckTracker tracker) {
+	}
+
+	/**
+	 * 비동기 저장 결과 통지 콜백.
+	 */
+	@FunctionalInterface
+	public interface Callback {
+
+		/**
+		 * 저장 결과가 브로커에 Ack/Nack 으로 반영된 뒤 호출된다.
+		 *
+		 * @param outcome 처리 결과 (success, duplicate, dead_lettered, error)
+		 * @param acked Ack 여부 (false 이면 재전달을 위해 Nack 됨)
+		 */
+		void onSettled(String outcome, boolean acked);
+	}
+}
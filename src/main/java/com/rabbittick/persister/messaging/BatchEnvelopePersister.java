@@ -0,0 +1,159 @@
+package com.rabbittick.persister.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.messaging.encoding.MarketDataEnvelope;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 배치 봉투를 저장하고 실패 레코드만 DLQ 로 보내는 저장기.
+ *
+ * 주요 책임:
+ *
+ * 정상 레코드를 한 트랜잭션(서비스 saveXxxs)으로 일괄 저장
+ * 일괄 저장 실패 시 레코드 단위 재저장 (중복은 건너뛰고, 재시도 대상이 아닌 오류의 레코드만 분리)
+ * 역직렬화·검증 실패 레코드를 단건 메시지로 추출해 DLQ 발행
+ * 레코드 결과별 메트릭 기록 (market_data.batch.records, market_data.batch.size)
+ *
+ * 레코드 단위 재저장의 오류는 retryAdvice 와 같은 분류기(messageRetryClassifier)로 나눈다.
+ * 재시도 대상(DB 연결 실패 등 일시적 오류)만 그대로 던져 봉투 전체를 재시도하고,
+ * 그 밖의 오류(검증 실패, 사전 등록 실패 등)는 해당 레코드만 DLQ 로 보낸다.
+ * 재전달 시 이미 저장된 레코드는 UNIQUE 제약으로 중복 처리되므로 Ack 은 봉투 단위로 한 번만 한다.
+ */
+public class BatchEnvelopePersister {
+
+	private static final Logger log = LoggerFactory.getLogger(BatchEnvelopePersister.class);
+	private static final String METRIC_BATCH_RECORDS = "market_data.batch.records";
+	private static final String METRIC_BATCH_SIZE = "market_data.batch.size";
+
+	private final BiPredicate<Message, Throwable> deadLetter;
+	private final BinaryExceptionClassifier retryClassifier;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * BatchEnvelopePersister 생성자.
+	 *
+	 * @param deadLetter 레코드 메시지를 DLQ 로 발행하고 성공 여부를 반환하는 함수
+	 * @param retryClassifier 재시도 대상 예외 분류기 (messageRetryPolicy 와 같은 기준)
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public BatchEnvelopePersister(
+		BiPredicate<Message, Throwable> deadLetter,
+		BinaryExceptionClassifier retryClassifier,
+		MeterRegistry meterRegistry
+	) {
+		this.deadLetter = deadLetter;
+		this.retryClassifier = retryClassifier;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * 배치 봉투를 저장한다.
+	 *
+	 * @param messageTypeTag 데이터 타입 태그
+	 * @param envelope 디코딩된 배치 봉투
+	 * @param saveBatch 일괄 저장 함수
+	 * @param saveOne 단건 저장 함수
+	 * @param recordMessage 레코드 인덱스로 DLQ 발행용 단건 메시지를 만드는 함수
+	 * @param <T> 페이로드 타입
+	 * @throws IllegalStateException 실패 레코드의 DLQ 발행에 실패한 경우 (봉투 전체 재처리)
+	 */
+	public <T> void persist(
+		String messageTypeTag,
+		MarketDataEnvelope<T> envelope,
+		BiConsumer<Metadata, List<T>> saveBatch,
+		Consumer<MarketDataMessage<T>> saveOne,
+		IntFunction<Message> recordMessage
+	) {
+		Metadata metadata = envelope.metadata();
+		List<T> payloads = envelope.payloads();
+		Map<Integer, Exception> failures = new TreeMap<>(envelope.failures());
+		List<T> valid = new ArrayList<>(payloads.size());
+		for (int index = 0; index < payloads.size(); index++) {
+			T payload = payloads.get(index);
+			if (payload != null) {
+				valid.add(payload);
+			} else {
+				failures.putIfAbsent(index, new IllegalArgumentException("payloads[" + index + "]는 null일 수 없다"));
+			}
+		}
+
+		int saved = 0;
+		int duplicates = 0;
+		try {
+			if (!valid.isEmpty()) {
+				saveBatch.accept(metadata, valid);
+			}
+			saved = valid.size();
+		} catch (RuntimeException batchFailure) {
+			log.warn("배치 저장에 실패해 레코드 단위로 저장합니다. dataType={}, records={}",
+				messageTypeTag, valid.size(), batchFailure);
+			for (int index = 0; index < payloads.size(); index++) {
+				T payload = payloads.get(index);
+				if (payload == null) {
+					continue;
+				}
+				try {
+					saveOne.accept(new MarketDataMessage<>(metadata, payload));
+					saved++;
+				} catch (DataIntegrityViolationException ex) {
+					duplicates++;
+				} catch (RuntimeException ex) {
+					if (retryClassifier.classify(ex)) {
+						throw ex;
+					}
+					failures.put(index, ex);
+				}
+			}
+		}
+
+		for (Map.Entry<Integer, Exception> failure : failures.entrySet()) {
+			log.warn("배치 레코드를 DLQ로 보냅니다. dataType={}, index={}", messageTypeTag, failure.getKey(),
+				failure.getValue());
+			if (!deadLetter.test(recordMessage.apply(failure.getKey()), failure.getValue())) {
+				throw new IllegalStateException("배치 레코드 DLQ 발행에 실패했다. index=" + failure.getKey());
+			}
+		}
+		recordMetrics(messageTypeTag, payloads.size(), saved, duplicates, failures.size());
+	}
+
+	private void recordMetrics(String messageTypeTag, int size, int saved, int duplicates, int deadLettered) {
+		DistributionSummary.builder(METRIC_BATCH_SIZE)
+			.description("Records per batch envelope")
+			.tags("dataType", messageTypeTag)
+			.register(meterRegistry)
+			.record(size);
+		incrementRecords(messageTypeTag, "success", saved);
+		incrementRecords(messageTypeTag, "duplicate", duplicates);
+		incrementRecords(messageTypeTag, "dead_lettered", deadLettered);
+	}
+
+	private void incrementRecords(String messageTypeTag, String outcome, int count) {
+		if (count == 0) {
+			return;
+		}
+		Counter.builder(METRIC_BATCH_RECORDS)
+			.description("Batch envelope records by outcome")
+			.tags("dataType", messageTypeTag, "outcome", outcome)
+			.register(meterRegistry)
+			.increment(count);
+	}
+}
@@ -0,0 +1,155 @@
+package com.rabbittick.persister.messaging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.global.jfr.AckEvent;
+
+/**
+ * 채널 단위로 비동기 처리 중인 delivery tag 의 완료 상태를 추적하고 Ack 을 합쳐서 발행하는 트래커.
+ *
+ * 주요 책임:
+ *
+ * 등록 순서(= 브로커 전달 순서)대로 delivery tag 보관
+ * 앞에서부터 연속으로 완료된 구간을 basicAck(tag, true) 한 번으로 Ack
+ * 개별 실패(requeue 대상)는 해당 tag 만 basicNack 처리
+ *
+ * 등록되지 않은 tag 는 리스너 스레드에서 이미 동기적으로 Ack 된 메시지이므로
+ * multiple Ack 범위에 포함되어도 안전하다.
+ * 채널 연산은 순서 보장을 위해 모두 트래커 잠금 안에서 수행한다.
+ */
+public class DeliveryAckTracker {
+
+	private static final Logger log = LoggerFactory.getLogger(DeliveryAckTracker.class);
+
+	private final Channel channel;
+	private final TreeMap<Long, Delivery> pending = new TreeMap<>();
+
+	/**
+	 * DeliveryAckTracker 생성자.
+	 *
+	 * @param channel Ack/Nack 을 발행할 RabbitMQ 채널
+	 */
+	public DeliveryAckTracker(Channel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * 비동기 처리를 시작할 delivery tag 를 등록한다.
+	 *
+	 * @param deliveryTag 채널 delivery tag
+	 */
+	public synchronized void register(long deliveryTag) {
+		pending.put(deliveryTag, new Delivery());
+	}
+
+	/**
+	 * 처리가 끝나 Ack 대상이 된 delivery tag 를 기록한다.
+	 * 연속 완료 구간이 생기면 즉시 multiple Ack 을 발행한다.
+	 *
+	 * @param deliveryTag 채널 delivery tag
+	 * @param onSettled Ack 발행 후 호출할 콜백 (nullable)
+	 */
+	public void complete(long deliveryTag, Runnable onSettled) {
+		settle(deliveryTag, false, onSettled);
+	}
+
+	/**
+	 * 처리에 실패해 재전달이 필요한 delivery tag 를 기록한다.
+	 * 앞선 tag 들이 모두 정리되는 시점에 해당 tag 만 basicNack(requeue=true) 한다.
+	 *
+	 * @param deliveryTag 채널 delivery tag
+	 * @param onSettled Nack 발행 후 호출할 콜백 (nullable)
+	 */
+	public void reject(long deliveryTag, Runnable onSettled) {
+		settle(deliveryTag, true, onSettled);
+	}
+
+	/**
+	 * 아직 Ack/Nack 되지 않은 delivery tag 수를 반환한다.
+	 *
+	 * @return 미정리 tag 수
+	 */
+	public synchronized int pendingCount() {
+		return pending.size();
+	}
+
+	private void settle(long deliveryTag, boolean rejected, Runnable onSettled) {
+		List<Runnable> callbacks = new ArrayList<>();
+		synchronized (this) {
+			Delivery delivery = pending.get(deliveryTag);
+			if (delivery == null) {
+				log.warn("등록되지 않은 delivery tag 입니다. deliveryTag={}", deliveryTag);
+				return;
+			}
+			delivery.done = true;
+			delivery.rejected = rejected;
+			delivery.onSettled = onSettled;
+			drain(callbacks);
+		}
+		callbacks.forEach(Runnable::run);
+	}
+
+	/**
+	 * 앞에서부터 연속으로 완료된 tag 를 정리한다. 호출자는 잠금을 보유해야 한다.
+	 *
+	 * @param callbacks 정리된 tag 의 콜백을 모을 목록
+	 */
+	private void drain(List<Runnable> callbacks) {
+		long ackUpTo = -1;
+		int coalesced = 0;
+		Iterator<Map.Entry<Long, Delivery>> iterator = pending.entrySet().iterator();
+		try {
+			while (iterator.hasNext()) {
+				Map.Entry<Long, Delivery> entry = iterator.next();
+				Delivery delivery = entry.getValue();
+				if (!delivery.done) {
+					break;
+				}
+				if (delivery.rejected) {
+					if (ackUpTo > 0) {
+						ack(ackUpTo, coalesced);
+						ackUpTo = -1;
+						coalesced = 0;
+					}
+					channel.basicNack(entry.getKey(), false, true);
+				} else {
+					ackUpTo = entry.getKey();
+					coalesced++;
+				}
+				iterator.remove();
+				if (delivery.onSettled != null) {
+					callbacks.add(delivery.onSettled);
+				}
+			}
+			if (ackUpTo > 0) {
+				ack(ackUpTo, coalesced);
+			}
+		} catch (IOException | RuntimeException ex) {
+			// 채널이 닫히면 브로커가 미확인 메시지를 재전달하므로 남은 tag 는 버린다.
+			log.warn("Ack 발행에 실패했습니다. 미정리 tag 를 폐기합니다. pending={}", pending.size(), ex);
+			pending.clear();
+		}
+	}
+
+	private void ack(long deliveryTag, int coalesced) throws IOException {
+		AckEvent ackEvent = new AckEvent();
+		ackEvent.begin();
+		channel.basicAck(deliveryTag, true);
+		ackEvent.complete(null, null, coalesced);
+	}
+
+	private static final class Delivery {
+		private boolean done;
+		private boolean rejected;
+		private Runnable onSettled;
+	}
+}
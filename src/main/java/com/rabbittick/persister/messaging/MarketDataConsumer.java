@@ -1,29 +1,54 @@
 package com.rabbittick.persister.messaging;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.classify.BinaryExceptionClassifier;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.rabbitmq.client.Channel;
 import com.rabbittick.persister.domain.orderbook.OrderBookService;
+import com.rabbittick.persister.domain.snapshot.MarketKey;
 import com.rabbittick.persister.domain.trade.TradeService;
 import com.rabbittick.persister.domain.ticker.TickerService;
 import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.OrderBookPayload;
 import com.rabbittick.persister.global.dto.TickerPayload;
 import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.global.jdbc.JdbcPhaseContext;
+import com.rabbittick.persister.global.jfr.AckEvent;
+import com.rabbittick.persister.global.jfr.DecodeEvent;
+import com.rabbittick.persister.global.jfr.PersistEvent;
+import com.rabbittick.persister.global.symbol.SymbolTable;
+import com.rabbittick.persister.messaging.decoder.MarketDataDecoder;
+import com.rabbittick.persister.messaging.decoder.MarketDataDecoderRegistry;
+import com.rabbittick.persister.messaging.encoding.ContentEncoding;
+import com.rabbittick.persister.messaging.encoding.MarketDataCodec;
+import com.rabbittick.persister.messaging.encoding.MarketDataEnvelope;
+import com.rabbittick.persister.messaging.encoding.MessageFormat;
+import com.rabbittick.persister.messaging.hotmarket.MarketHeavyHitterTracker;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
@@ -35,10 +60,20 @@ import io.micrometer.core.instrument.Timer;
  *
  * 주요 책임:
  *
- * 수신 메시지 역직렬화
- * 데이터 타입 분기 처리 (ticker/trade/orderbook)
+ * 수신 메시지 역직렬화 (dataType·version 스트리밍 확인 후 타입별 DTO 로 1회 역직렬화)
+ * (dataType, metadata.version) 별 디코더 조회 (MarketDataDecoderRegistry, 미등록 version 은 기본 디코더)
+ * contentType(JSON/Smile/CBOR/MessagePack)·contentEncoding(gzip/deflate)에 따른 본문 해석
+ * 배치 봉투(payloads) 일괄 저장 및 레코드 단위 오류 격리 (BatchEnvelopePersister)
+ * 데이터 타입 분기 처리 (ticker/trade/orderbook, MarketDataType)
  * DB 저장 처리 및 Ack/Nack 정책 적용
  * 예외 및 멱등성 처리 로그 기록
+ * 마켓별 처리량·지연을 MarketHeavyHitterTracker 에 기록
+ * 단계별 JFR 이벤트(decode, persist, ack) 발행
+ * 표본 메시지의 단계별 할당 바이트·CPU 시간 측정 (MessageResourceSampler)
+ *
+ * 비동기 저장(app.persistence.async.enabled)이 켜져 있으면 역직렬화까지만 리스너 스레드에서 수행하고
+ * 저장과 Ack 은 AsyncPersistenceWriter 에 위임한다. 재정렬 버퍼(app.persistence.reorder.enabled)가 켜져 있으면
+ * 거래 체결은 TradeReorderBuffer 에서 인덱스 순으로 모아 저장한다.
  */
 @Component
 public class MarketDataConsumer {
@@ -50,14 +85,21 @@ public class MarketDataConsumer {
 	private static final String METRIC_PARSE_LATENCY = "market_data.segment.parse.latency";
 	private static final String METRIC_COMMIT_LATENCY = "market_data.segment.commit.latency";
 	private static final String METRIC_INGEST_LAG = "market_data.ingest.lag";
+	private static final String METRIC_MESSAGE_SIZE = "market_data.message.size";
+	private static final String HEADER_BATCH_INDEX = "x-batch-index";
 	private static final String METRIC_ACK = "market_data.ack";
 	private static final String METRIC_NACK = "market_data.nack";
 
 	private final ObjectMapper objectMapper;
-	private final TickerService tickerService;
-	private final TradeService tradeService;
-	private final OrderBookService orderBookService;
 	private final MeterRegistry meterRegistry;
+	private final AsyncPersistenceWriter asyncPersistenceWriter;
+	private final MarketHeavyHitterTracker marketHeavyHitterTracker;
+	private final MessageResourceSampler messageResourceSampler;
+	private final SymbolTable symbolTable;
+	private final MarketDataCodec codec;
+	private final BatchEnvelopePersister batchEnvelopePersister;
+	private final MarketDataDecoderRegistry decoderRegistry;
+	private final TradeReorderBuffer tradeReorderBuffer;
 
 	/**
 	 * MarketDataConsumer 생성자.
@@ -67,19 +109,46 @@ public class MarketDataConsumer {
 	 * @param tradeService 거래 체결 저장 서비스
 	 * @param orderBookService 호가 저장 서비스
 	 * @param meterRegistry 메트릭 레지스트리
+	 * @param asyncPersistenceWriter 비동기 저장기
+	 * @param marketHeavyHitterTracker 마켓별 처리 통계 트래커
+	 * @param messageResourceSampler 단계별 할당·CPU 샘플러
+	 * @param versionedDecoders 기본 디코더 외에 등록할 metadata.version 별 디코더 빈 (없으면 빈 목록)
+	 * @param tradeReorderBuffer 거래 체결 재정렬 버퍼 (꺼져 있으면 사용하지 않음)
+	 * @param messageRetryClassifier 재시도 대상 예외 분류기 (배치 봉투 레코드 오류 격리용)
 	 */
+	@Autowired
 	public MarketDataConsumer(
 		ObjectMapper objectMapper,
 		TickerService tickerService,
 		TradeService tradeService,
 		OrderBookService orderBookService,
-		MeterRegistry meterRegistry
+		MeterRegistry meterRegistry,
+		AsyncPersistenceWriter asyncPersistenceWriter,
+		MarketHeavyHitterTracker marketHeavyHitterTracker,
+		MessageResourceSampler messageResourceSampler,
+		List<MarketDataDecoder<?>> versionedDecoders,
+		TradeReorderBuffer tradeReorderBuffer,
+		BinaryExceptionClassifier messageRetryClassifier
 	) {
 		this.objectMapper = objectMapper;
-		this.tickerService = tickerService;
-		this.tradeService = tradeService;
-		this.orderBookService = orderBookService;
 		this.meterRegistry = meterRegistry;
+		this.asyncPersistenceWriter = asyncPersistenceWriter;
+		this.marketHeavyHitterTracker = marketHeavyHitterTracker;
+		this.messageResourceSampler = messageResourceSampler;
+		this.tradeReorderBuffer = tradeReorderBuffer;
+		this.symbolTable = SymbolTable.shared();
+		this.codec = new MarketDataCodec(objectMapper);
+		this.batchEnvelopePersister = new BatchEnvelopePersister(
+			asyncPersistenceWriter::deadLetter, messageRetryClassifier, meterRegistry);
+		List<MarketDataDecoder<?>> decoders = new ArrayList<>(versionedDecoders.size() + 3);
+		decoders.add(MarketDataDecoder.fallback(MarketDataType.TICKER, TickerPayload.class,
+			TickerPayload::getMarketCode, tickerService::saveTicker, tickerService::saveTickers));
+		decoders.add(MarketDataDecoder.fallback(MarketDataType.TRADE, TradePayload.class,
+			TradePayload::getMarketCode, tradeService::saveTrade, tradeService::saveTrades));
+		decoders.add(MarketDataDecoder.fallback(MarketDataType.ORDERBOOK, OrderBookPayload.class,
+			OrderBookPayload::getMarketCode, orderBookService::saveOrderBook, orderBookService::saveOrderBooks));
+		decoders.addAll(versionedDecoders);
+		this.decoderRegistry = new MarketDataDecoderRegistry(codec, decoders);
 	}
 
 	/**
@@ -91,139 +160,343 @@ public class MarketDataConsumer {
 	 */
 	@RabbitListener(
 		queues = "${app.rabbitmq.queue}",
-		containerFactory = "rabbitListenerContainerFactory",
-		concurrency = "${app.rabbitmq.listener-concurrency:2-4}"
+		containerFactory = "rabbitListenerContainerFactory"
 	)
 	public void handleMarketDataMessage(Message message, Channel channel) throws IOException {
+		MessageResourceSampler.Probe messageProbe = messageResourceSampler.begin();
 		long deliveryTag = message.getMessageProperties().getDeliveryTag();
-		String body = new String(message.getBody(), StandardCharsets.UTF_8);
 		Timer.Sample totalSample = Timer.start(meterRegistry);
 		Timer.Sample parseSample = Timer.start(meterRegistry);
+		DecodeEvent decodeEvent = new DecodeEvent();
+		decodeEvent.begin();
 		boolean parseStopped = false;
-		String messageType = "unknown";
+		String messageTypeTag = "unknown";
 		String outcome = "success";
 		boolean acked = false;
 		boolean nacked = false;
+		boolean dispatched = false;
 		Long ingestLagMs = null;
 		Timer.Sample commitSample = null;
 
 		try {
-			String normalizedJson = normalizeBody(body);
-			JsonNode rootNode = objectMapper.readTree(normalizedJson);
-			messageType = extractDataType(rootNode);
-			String messageTypeTag = normalizeDataType(messageType);
-			ingestLagMs = extractIngestLagMs(rootNode);
+			MessageProperties properties = message.getMessageProperties();
+			MessageFormat format = MessageFormat.fromContentType(properties.getContentType());
+			ContentEncoding encoding = ContentEncoding.fromHeader(properties.getContentEncoding());
+			recordMessageSize(format, encoding, message.getBody().length);
+			byte[] body = encoding.decode(message.getBody());
+			byte[] json = format == MessageFormat.JSON ? normalizeBody(body) : body;
+			MetadataHeader header = peekHeader(format, json);
+			String messageType = header.dataType();
+			MarketDataType dataType = MarketDataType.of(messageType);
+			messageTypeTag = dataType != null ? dataType.tag() : normalizeDataType(messageType);
 			if (messageType == null) {
 				outcome = "missing_type";
 				parseSample.stop(parseTimer(messageTypeTag, outcome));
 				parseStopped = true;
-				log.warn("metadata.dataType이 누락되었습니다. messageBody={}", body);
+				log.warn("metadata.dataType이 누락되었습니다. messageBody={}", bodyOf(message));
 				channel.basicAck(deliveryTag, false);
 				acked = true;
 				return;
 			}
-
-			if (isTickerType(messageType)) {
-				MarketDataMessage<TickerPayload> marketDataMessage = objectMapper.readValue(
-					normalizedJson,
-					new TypeReference<MarketDataMessage<TickerPayload>>() {}
-				);
-				parseSample.stop(parseTimer(messageTypeTag, outcome));
-				parseStopped = true;
-				recordPersistLatency(messageTypeTag, () -> tickerService.saveTicker(marketDataMessage));
-				commitSample = Timer.start(meterRegistry);
-			} else if (isTradeType(messageType)) {
-				MarketDataMessage<TradePayload> marketDataMessage = objectMapper.readValue(
-					normalizedJson,
-					new TypeReference<MarketDataMessage<TradePayload>>() {}
-				);
-				parseSample.stop(parseTimer(messageTypeTag, outcome));
-				parseStopped = true;
-				recordPersistLatency(messageTypeTag, () -> tradeService.saveTrade(marketDataMessage));
-				commitSample = Timer.start(meterRegistry);
-			} else if (isOrderBookType(messageType)) {
-				MarketDataMessage<OrderBookPayload> marketDataMessage = objectMapper.readValue(
-					normalizedJson,
-					new TypeReference<MarketDataMessage<OrderBookPayload>>() {}
-				);
-				parseSample.stop(parseTimer(messageTypeTag, outcome));
-				parseStopped = true;
-				recordPersistLatency(messageTypeTag, () -> orderBookService.saveOrderBook(marketDataMessage));
-				commitSample = Timer.start(meterRegistry);
-			} else {
+			if (dataType == null) {
 				outcome = "unsupported_type";
 				parseSample.stop(parseTimer(messageTypeTag, outcome));
 				parseStopped = true;
-				log.warn("지원하지 않는 dataType 입니다. dataType={}, messageBody={}", messageType, body);
+				log.warn("지원하지 않는 dataType 입니다. dataType={}, messageBody={}", messageType, bodyOf(message));
 				channel.basicAck(deliveryTag, false);
 				acked = true;
 				return;
 			}
 
-			channel.basicAck(deliveryTag, false);
-			if (commitSample != null) {
-				commitSample.stop(commitTimer(messageTypeTag, outcome));
+			Decoded decoded = decode(
+				decoderRegistry.resolve(dataType, header.version()),
+				format,
+				json,
+				recordIndex -> recordMessage(message, json, recordIndex)
+			);
+			Runnable persistence = decoded.persistence();
+			ingestLagMs = extractIngestLagMs(decoded.metadata());
+			parseSample.stop(parseTimer(messageTypeTag, outcome));
+			parseStopped = true;
+			List<MarketKey> marketKeys = decoded.marketKeys();
+			MarketKey marketKey = marketKeys.isEmpty() ? null : marketKeys.get(0);
+			String persistTypeTag = messageTypeTag;
+			decodeEvent.complete(persistTypeTag, marketCodeOf(marketKey), Math.max(marketKeys.size(), 1));
+			messageResourceSampler.lap(messageProbe, persistTypeTag, "parse");
+			boolean sampled = messageProbe != null;
+			Long messageIngestLagMs = ingestLagMs;
+			Runnable measuredPersistence = () -> {
+				MessageResourceSampler.Probe persistProbe = sampled ? messageResourceSampler.start() : null;
+				recordPersistLatency(persistTypeTag, marketKeys, messageIngestLagMs, persistence);
+				messageResourceSampler.lap(persistProbe, persistTypeTag, "persist");
+			};
+
+			if (asyncPersistenceWriter.isEnabled()) {
+				if (!submitReordered(message, channel, messageTypeTag, decoded, ingestLagMs, measuredPersistence,
+					totalSample)) {
+					submitAsync(message, channel, messageTypeTag, measuredPersistence, totalSample);
+				}
+				dispatched = true;
+				return;
 			}
+
+			measuredPersistence.run();
+			commitSample = Timer.start(meterRegistry);
+			MessageResourceSampler.Probe ackProbe = sampled ? messageResourceSampler.start() : null;
+			AckEvent ackEvent = new AckEvent();
+			ackEvent.begin();
+			channel.basicAck(deliveryTag, false);
+			ackEvent.complete(messageTypeTag, marketCodeOf(marketKey), 1);
+			messageResourceSampler.lap(ackProbe, messageTypeTag, "ack");
+			commitSample.stop(commitTimer(messageTypeTag, outcome));
 			acked = true;
 		} catch (DataIntegrityViolationException ex) {
 			outcome = "duplicate";
-			log.warn("중복 데이터로 판단되어 저장을 생략합니다. messageBody={}", body, ex);
+			log.warn("중복 데이터로 판단되어 저장을 생략합니다. messageBody={}", bodyOf(message), ex);
 			channel.basicAck(deliveryTag, false);
 			acked = true;
 		} catch (Exception ex) {
 			outcome = "error";
-			log.error("메시지 처리에 실패했습니다. messageBody={}", body, ex);
+			log.error("메시지 처리에 실패했습니다. messageBody={}", bodyOf(message), ex);
 			throw new RuntimeException(ex);
 		} finally {
-			String messageTypeTag = normalizeDataType(messageType);
 			if (!parseStopped) {
 				parseSample.stop(parseTimer(messageTypeTag, outcome));
 			}
-			recordProcessingMetrics(messageTypeTag, outcome, totalSample, acked, nacked);
+			if (!dispatched) {
+				recordProcessingMetrics(messageTypeTag, outcome, totalSample, acked, nacked);
+			}
 			recordIngestLag(messageTypeTag, ingestLagMs);
+			messageResourceSampler.lap(messageProbe, messageTypeTag, "listener");
 		}
 	}
 
-	private boolean isTickerType(String dataType) {
-		return dataType != null && dataType.equalsIgnoreCase("TICKER");
+	/**
+	 * 저장 작업을 비동기 writer 에 넘기고, 결과가 브로커에 반영되면 처리 메트릭을 기록한다.
+	 *
+	 * @param message 원본 메시지
+	 * @param channel 수신 채널
+	 * @param messageTypeTag 데이터 타입 태그
+	 * @param persistence 저장 지연 측정이 포함된 저장 작업
+	 * @param totalSample 전체 처리 시간 샘플
+	 */
+	private void submitAsync(
+		Message message,
+		Channel channel,
+		String messageTypeTag,
+		Runnable persistence,
+		Timer.Sample totalSample
+	) {
+		AtomicReference<Timer.Sample> commitSample = new AtomicReference<>();
+		asyncPersistenceWriter.submit(
+			message,
+			channel,
+			() -> {
+				persistence.run();
+				commitSample.set(Timer.start(meterRegistry));
+			},
+			(outcome, acked) -> {
+				Timer.Sample sample = commitSample.get();
+				if (sample != null && acked) {
+					sample.stop(commitTimer(messageTypeTag, outcome));
+				}
+				recordProcessingMetrics(messageTypeTag, outcome, totalSample, acked, !acked);
+			}
+		);
+	}
+
+	/**
+	 * 기본 디코더로 읽은 거래 체결을 재정렬 버퍼에 넘긴다.
+	 * 버퍼가 꺼져 있거나 역직렬화에 실패한 레코드가 있으면 넘기지 않는다 (레코드 단위 DLQ 는 원래 경로에서 처리).
+	 *
+	 * 버퍼에서 함께 저장되는 동안의 저장 지연은 market_data.reorder.* 로 기록하므로,
+	 * 마켓별 처리 통계에는 처리량과 수집 지연만 기록한다.
+	 *
+	 * @param message 원본 메시지
+	 * @param channel 수신 채널
+	 * @param messageTypeTag 데이터 타입 태그
+	 * @param decoded 역직렬화 결과
+	 * @param ingestLagMs 수집 지연
+	 * @param persistence 일괄 저장 실패 시 사용할 메시지 단위 저장 작업
+	 * @param totalSample 전체 처리 시간 샘플
+	 * @return 버퍼에 넘겼으면 true
+	 */
+	private boolean submitReordered(
+		Message message,
+		Channel channel,
+		String messageTypeTag,
+		Decoded decoded,
+		Long ingestLagMs,
+		Runnable persistence,
+		Timer.Sample totalSample
+	) {
+		if (!tradeReorderBuffer.isEnabled() || decoded.reorderableTrades() == null) {
+			return false;
+		}
+		boolean buffered = tradeReorderBuffer.submit(
+			message,
+			channel,
+			decoded.metadata(),
+			decoded.reorderableTrades(),
+			persistence,
+			(outcome, acked) -> recordProcessingMetrics(messageTypeTag, outcome, totalSample, acked, !acked)
+		);
+		if (buffered) {
+			for (MarketKey marketKey : decoded.marketKeys()) {
+				marketHeavyHitterTracker.record(marketKey, -1, ingestLagMs);
+			}
+		}
+		return buffered;
 	}
 
 	/**
-	 * trade 타입 여부를 확인한다.
+	 * metadata.dataType, metadata.version 값만 스트리밍 파서로 먼저 읽는다.
 	 *
-	 * @param dataType 데이터 타입
-	 * @return trade 타입 여부
+	 * 트리를 만들지 않고, 찾은 값은 SymbolTable 의 정규 인스턴스로 반환한다.
+	 * dataType 을 찾지 못한 경우에만 문서 끝까지 읽어 형식 오류를 드러낸다.
+	 *
+	 * @param format 본문 형식
+	 * @param json 메시지 본문 (압축 해제 후)
+	 * @return dataType, version (없으면 각각 null)
+	 * @throws IOException JSON 형식이 올바르지 않은 경우
 	 */
-	private boolean isTradeType(String dataType) {
-		return dataType != null && dataType.equalsIgnoreCase("TRADE");
+	private MetadataHeader peekHeader(MessageFormat format, byte[] json) throws IOException {
+		try (JsonParser parser = codec.mapper(format).getFactory().createParser(json)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				return MetadataHeader.EMPTY;
+			}
+			String dataType = null;
+			String version = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (!"metadata".equals(field) || value != JsonToken.START_OBJECT) {
+					parser.skipChildren();
+					continue;
+				}
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String metadataField = parser.currentName();
+					JsonToken metadataValue = parser.nextToken();
+					if ("dataType".equals(metadataField) && metadataValue.isScalarValue()) {
+						dataType = internScalar(parser, metadataValue);
+					} else if ("version".equals(metadataField) && metadataValue.isScalarValue()) {
+						version = internScalar(parser, metadataValue);
+					} else {
+						parser.skipChildren();
+						continue;
+					}
+					if (dataType != null && version != null) {
+						break;
+					}
+				}
+				if (dataType != null) {
+					return new MetadataHeader(dataType, version);
+				}
+			}
+			return new MetadataHeader(dataType, version);
+		}
+	}
+
+	private String internScalar(JsonParser parser, JsonToken value) throws IOException {
+		if (value == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		return symbolTable.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
 	}
 
 	/**
-	 * orderbook 타입 여부를 확인한다.
+	 * 단건 메시지 또는 배치 봉투를 한 번의 스트리밍 파싱으로 역직렬화하고 저장 작업을 만든다.
 	 *
-	 * @param dataType 데이터 타입
-	 * @return orderbook 타입 여부
+	 * @param binding (dataType, version) 으로 찾은 디코더
+	 * @param format 본문 형식
+	 * @param json 메시지 본문 (압축 해제 후)
+	 * @param recordMessage 배치 레코드 인덱스로 DLQ 발행용 단건 메시지를 만드는 함수
+	 * @param <T> 페이로드 타입
+	 * @return 역직렬화 결과
+	 * @throws IOException 역직렬화 실패 시
 	 */
-	private boolean isOrderBookType(String dataType) {
-		return dataType != null && dataType.equalsIgnoreCase("ORDERBOOK");
+	private <T> Decoded decode(
+		MarketDataDecoderRegistry.Binding<T> binding,
+		MessageFormat format,
+		byte[] json,
+		IntFunction<Message> recordMessage
+	) throws IOException {
+		MarketDataDecoder<T> decoder = binding.decoder();
+		MarketDataEnvelope<T> envelope = binding.read(format, json);
+		Metadata metadata = envelope.metadata();
+		Function<T, String> marketCodeOf = decoder.marketCode();
+		if (!envelope.batch()) {
+			T payload = envelope.payloads().get(0);
+			MarketKey marketKey = payload == null ? null : extractMarketKey(metadata, marketCodeOf.apply(payload));
+			MarketDataMessage<T> marketDataMessage = new MarketDataMessage<>(metadata, payload);
+			Consumer<MarketDataMessage<T>> saveOne = decoder.saveOne();
+			return new Decoded(
+				metadata,
+				marketKey == null ? List.of() : List.of(marketKey),
+				() -> saveOne.accept(marketDataMessage),
+				reorderableTrades(decoder, envelope)
+			);
+		}
+		List<MarketKey> marketKeys = new ArrayList<>(envelope.payloads().size());
+		for (T payload : envelope.payloads()) {
+			MarketKey marketKey = payload == null ? null : extractMarketKey(metadata, marketCodeOf.apply(payload));
+			if (marketKey != null) {
+				marketKeys.add(marketKey);
+			}
+		}
+		String messageTypeTag = decoder.dataType().tag();
+		return new Decoded(
+			metadata,
+			marketKeys,
+			() -> batchEnvelopePersister.persist(
+				messageTypeTag,
+				envelope,
+				decoder.saveBatch(),
+				decoder.saveOne(),
+				recordMessage
+			),
+			reorderableTrades(decoder, envelope)
+		);
 	}
 
 	/**
-	 * metadata에서 dataType을 추출한다.
+	 * 재정렬 버퍼로 넘길 수 있는 거래 체결 목록을 반환한다.
+	 * 서비스에 연결된 기본 trade 디코더이고 모든 레코드가 역직렬화된 경우에만 해당한다.
 	 *
-	 * @param rootNode 메시지 루트 노드
-	 * @return dataType 문자열 (없으면 null)
+	 * @param decoder 디코더
+	 * @param envelope 역직렬화 결과
+	 * @return 거래 체결 목록 (해당하지 않으면 null)
 	 */
-	private String extractDataType(JsonNode rootNode) {
-		JsonNode metadataNode = rootNode.get("metadata");
-		if (metadataNode == null) {
+	@SuppressWarnings("unchecked")
+	private static List<TradePayload> reorderableTrades(MarketDataDecoder<?> decoder, MarketDataEnvelope<?> envelope) {
+		if (decoder.dataType() != MarketDataType.TRADE || decoder.version() != null || !envelope.failures().isEmpty()) {
 			return null;
 		}
-		JsonNode dataTypeNode = metadataNode.get("dataType");
-		if (dataTypeNode == null || dataTypeNode.isNull()) {
-			return null;
+		return (List<TradePayload>) envelope.payloads();
+	}
+
+	/**
+	 * 배치 봉투의 레코드 하나를 DLQ 발행용 단건 메시지로 만든다.
+	 * 본문은 압축하지 않은 원래 형식이며, 원본 속성에 배치 내 위치 헤더를 더한다.
+	 *
+	 * @param envelope 원본 봉투 메시지
+	 * @param body 봉투 본문 (압축 해제 후)
+	 * @param index 레코드 인덱스
+	 * @return 단건 메시지
+	 */
+	private Message recordMessage(Message envelope, byte[] body, int index) {
+		MessageProperties envelopeProperties = envelope.getMessageProperties();
+		MessageFormat format = MessageFormat.fromContentType(envelopeProperties.getContentType());
+		try {
+			return MessageBuilder.withBody(codec.extractRecord(format, body, index))
+				.copyProperties(envelopeProperties)
+				.setContentEncoding(null)
+				.setHeader(HEADER_BATCH_INDEX, index)
+				.build();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
 		}
-		return dataTypeNode.asText();
 	}
 
 	private String normalizeDataType(String dataType) {
@@ -233,19 +506,11 @@ public class MarketDataConsumer {
 		return dataType.trim().toLowerCase();
 	}
 
-	private Long extractIngestLagMs(JsonNode rootNode) {
-		if (rootNode == null) {
-			return null;
-		}
-		JsonNode metadataNode = rootNode.get("metadata");
-		if (metadataNode == null) {
-			return null;
-		}
-		JsonNode collectedAtNode = metadataNode.get("collectedAt");
-		if (collectedAtNode == null || collectedAtNode.isNull()) {
+	private Long extractIngestLagMs(Metadata metadata) {
+		if (metadata == null) {
 			return null;
 		}
-		String collectedAt = collectedAtNode.asText();
+		String collectedAt = metadata.getCollectedAt();
 		if (collectedAt == null || collectedAt.isBlank()) {
 			return null;
 		}
@@ -258,20 +523,54 @@ public class MarketDataConsumer {
 		}
 	}
 
-	private void recordPersistLatency(String messageTypeTag, Runnable persistence) {
+	private void recordPersistLatency(
+		String messageTypeTag,
+		List<MarketKey> marketKeys,
+		Long ingestLagMs,
+		Runnable persistence
+	) {
 		Timer.Sample persistSample = Timer.start(meterRegistry);
+		PersistEvent persistEvent = new PersistEvent();
+		persistEvent.begin();
+		long persistNanos = -1;
 		try {
-			persistence.run();
-			persistSample.stop(persistTimer(messageTypeTag, "success"));
+			JdbcPhaseContext.run(messageTypeTag, persistence);
+			persistNanos = persistSample.stop(persistTimer(messageTypeTag, "success"));
 		} catch (DataIntegrityViolationException ex) {
-			persistSample.stop(persistTimer(messageTypeTag, "duplicate"));
+			persistNanos = persistSample.stop(persistTimer(messageTypeTag, "duplicate"));
 			throw ex;
 		} catch (RuntimeException ex) {
 			persistSample.stop(persistTimer(messageTypeTag, "error"));
 			throw ex;
+		} finally {
+			int records = marketKeys.size();
+			persistEvent.complete(messageTypeTag, records == 0 ? null : marketKeys.get(0).marketCode(), Math.max(records, 1));
+			// 배치 봉투는 저장 시간을 레코드 수로 나눠 마켓별로 기록한다.
+			long recordNanos = persistNanos < 0 || records == 0 ? persistNanos : persistNanos / records;
+			for (MarketKey marketKey : marketKeys) {
+				marketHeavyHitterTracker.record(marketKey, recordNanos, ingestLagMs);
+			}
 		}
 	}
 
+	/**
+	 * metadata.exchange 와 payload.marketCode 로 마켓 키를 만든다.
+	 *
+	 * @param metadata 메시지 메타데이터
+	 * @param marketCode 페이로드 마켓 코드
+	 * @return 마켓 키 (식별 불가 시 null)
+	 */
+	private MarketKey extractMarketKey(Metadata metadata, String marketCode) {
+		if (metadata == null || metadata.getExchange() == null || marketCode == null) {
+			return null;
+		}
+		return MarketKey.of(metadata.getExchange(), marketCode);
+	}
+
+	private static String marketCodeOf(MarketKey marketKey) {
+		return marketKey == null ? null : marketKey.marketCode();
+	}
+
 	private void recordProcessingMetrics(
 		String messageTypeTag,
 		String outcome,
@@ -301,6 +600,15 @@ public class MarketDataConsumer {
 		}
 	}
 
+	private void recordMessageSize(MessageFormat format, ContentEncoding encoding, int bytes) {
+		DistributionSummary.builder(METRIC_MESSAGE_SIZE)
+			.baseUnit("bytes")
+			.description("Message body size on the wire")
+			.tags("format", format.tag(), "encoding", encoding.tag())
+			.register(meterRegistry)
+			.record(bytes);
+	}
+
 	private void recordIngestLag(String messageTypeTag, Long ingestLagMs) {
 		if (ingestLagMs == null) {
 			return;
@@ -336,7 +644,7 @@ public class MarketDataConsumer {
 
 	private Timer commitTimer(String messageTypeTag, String outcome) {
 		return Timer.builder(METRIC_COMMIT_LATENCY)
-			.description("Commit segment: persist complete to broker ack")
+			.description("Commit segment: persist complete to broker ack (coalesced in async mode)")
 			.tags("dataType", messageTypeTag, "outcome", outcome)
 			.register(meterRegistry);
 	}
@@ -345,16 +653,154 @@ public class MarketDataConsumer {
 	 * 메시지 본문을 정규화한다.
 	 *
 	 * JSON 문자열이 따옴표로 감싸져 들어온 경우 한 번 더 역직렬화하여 실제 JSON을 얻는다.
+	 * 일반적인 경우에는 원본 바이트 배열을 그대로 반환한다.
 	 *
 	 * @param body 원본 본문
-	 * @return 정규화된 JSON 문자열
+	 * @return 정규화된 JSON 바이트
 	 * @throws IOException 역직렬화 실패 시
 	 */
-	private String normalizeBody(String body) throws IOException {
-		String trimmed = body.trim();
-		if (trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
-			return objectMapper.readValue(trimmed, String.class);
+	private byte[] normalizeBody(byte[] body) throws IOException {
+		for (byte b : body) {
+			if (!Character.isWhitespace(b)) {
+				if (b == '"') {
+					return objectMapper.readValue(body, String.class).getBytes(StandardCharsets.UTF_8);
+				}
+				return body;
+			}
 		}
 		return body;
 	}
+
+	/**
+	 * 로그용 본문 문자열. 경고·오류 경로에서만 만든다.
+	 */
+	private static String bodyOf(Message message) {
+		return new String(message.getBody(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 타입별 역직렬화 결과.
+	 *
+	 * @param metadata 메시지 메타데이터
+	 * @param marketKeys 레코드별 마켓 키 (단건이면 최대 1개)
+	 * @param persistence 저장 작업
+	 * @param reorderableTrades 재정렬 버퍼로 넘길 수 있는 거래 체결 (해당하지 않으면 null)
+	 */
+	private record Decoded(
+		Metadata metadata,
+		List<MarketKey> marketKeys,
+		Runnable persistence,
+		List<TradePayload> reorderableTrades
+	) {
+	}
+
+	/**
+	 * 스트리밍으로 먼저 읽은 metadata 헤더 값.
+	 *
+	 * @param dataType metadata.dataType (nullable)
+	 * @param version metadata.version (nullable)
+	 */
+	private record MetadataHeader(String dataType, String version) {
+
+		private static final MetadataHeader EMPTY = new MetadataHeader(null, null);
+	}
+
+	/**
+	 * 스프링 컨텍스트 밖(테스트, 워밍업, 벤치마크)에서 소비자를 만드는 빌더를 반환한다.
+	 * 버전별 디코더는 빈 목록, 재정렬 버퍼는 꺼진 버퍼가 기본값이다.
+	 * 재시도 분류기는 기본값이 없으며 messageRetryClassifier 빈과 같은 분류기를 넘긴다.
+	 *
+	 * @return 빌더
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * MarketDataConsumer 빌더.
+	 */
+	public static final class Builder {
+
+		private ObjectMapper objectMapper;
+		private TickerService tickerService;
+		private TradeService tradeService;
+		private OrderBookService orderBookService;
+		private MeterRegistry meterRegistry;
+		private AsyncPersistenceWriter asyncPersistenceWriter;
+		private MarketHeavyHitterTracker marketHeavyHitterTracker;
+		private MessageResourceSampler messageResourceSampler;
+		private List<MarketDataDecoder<?>> versionedDecoders = List.of();
+		private TradeReorderBuffer tradeReorderBuffer;
+		private BinaryExceptionClassifier messageRetryClassifier;
+
+		private Builder() {
+		}
+
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		public Builder tickerService(TickerService tickerService) {
+			this.tickerService = tickerService;
+			return this;
+		}
+
+		public Builder tradeService(TradeService tradeService) {
+			this.tradeService = tradeService;
+			return this;
+		}
+
+		public Builder orderBookService(OrderBookService orderBookService) {
+			this.orderBookService = orderBookService;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public Builder asyncPersistenceWriter(AsyncPersistenceWriter asyncPersistenceWriter) {
+			this.asyncPersistenceWriter = asyncPersistenceWriter;
+			return this;
+		}
+
+		public Builder marketHeavyHitterTracker(MarketHeavyHitterTracker marketHeavyHitterTracker) {
+			this.marketHeavyHitterTracker = marketHeavyHitterTracker;
+			return this;
+		}
+
+		public Builder messageResourceSampler(MessageResourceSampler messageResourceSampler) {
+			this.messageResourceSampler = messageResourceSampler;
+			return this;
+		}
+
+		public Builder versionedDecoders(List<MarketDataDecoder<?>> versionedDecoders) {
+			this.versionedDecoders = versionedDecoders;
+			return this;
+		}
+
+		public Builder tradeReorderBuffer(TradeReorderBuffer tradeReorderBuffer) {
+			this.tradeReorderBuffer = tradeReorderBuffer;
+			return this;
+		}
+
+		public Builder messageRetryClassifier(BinaryExceptionClassifier messageRetryClassifier) {
+			this.messageRetryClassifier = messageRetryClassifier;
+			return this;
+		}
+
+		/**
+		 * 소비자를 만든다.
+		 *
+		 * @return 소비자
+		 */
+		public MarketDataConsumer build() {
+			return new MarketDataConsumer(objectMapper, tickerService, tradeService, orderBookService,
+				meterRegistry, asyncPersistenceWriter, marketHeavyHitterTracker, messageResourceSampler,
+				versionedDecoders, tradeReorderBuffer != null ? tradeReorderBuffer : TradeReorderBuffer.disabled(),
+				messageRetryClassifier);
+		}
+	}
 }
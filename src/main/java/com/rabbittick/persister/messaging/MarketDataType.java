@@ -0,0 +1,66 @@
+package com.rabbittick.persister.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 소비자가 처리하는 metadata.dataType 종류.
+ *
+ * 주요 책임:
+ *
+ * dataType 문자열을 대소문자 구분 없이 타입으로 변환
+ * 메트릭·JFR 이벤트에 쓰는 소문자 태그 제공
+ *
+ * dataType 은 InternedStringDeserializer 로 정규 인스턴스가 되므로,
+ * 한 번 확인한 표기는 캐시에서 바로 찾고 equalsIgnoreCase 비교를 반복하지 않는다.
+ */
+public enum MarketDataType {
+
+	TICKER("ticker"),
+	TRADE("trade"),
+	ORDERBOOK("orderbook");
+
+	private static final int MAX_CACHED_SPELLINGS = 64;
+	private static final Map<String, MarketDataType> SPELLINGS = new ConcurrentHashMap<>();
+
+	private final String tag;
+
+	MarketDataType(String tag) {
+		this.tag = tag;
+	}
+
+	/**
+	 * 메트릭 태그 값을 반환한다.
+	 *
+	 * @return 소문자 태그
+	 */
+	public String tag() {
+		return tag;
+	}
+
+	/**
+	 * dataType 문자열을 타입으로 변환한다.
+	 *
+	 * @param dataType metadata.dataType 값 (nullable)
+	 * @return 처리 대상 타입 (지원하지 않거나 null 이면 null)
+	 */
+	public static MarketDataType of(String dataType) {
+		if (dataType == null) {
+			return null;
+		}
+		MarketDataType cached = SPELLINGS.get(dataType);
+		if (cached != null) {
+			return cached;
+		}
+		for (MarketDataType type : values()) {
+			if (type.name().equalsIgnoreCase(dataType)) {
+				// 지원하는 타입의 표기만 캐시하므로 잘못된 값이 쌓이지 않는다.
+				if (SPELLINGS.size() < MAX_CACHED_SPELLINGS) {
+					SPELLINGS.put(dataType, type);
+				}
+				return type;
+			}
+		}
+		return null;
+	}
+}
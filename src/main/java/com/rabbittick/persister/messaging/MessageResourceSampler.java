@@ -0,0 +1,157 @@
+package com.rabbittick.persister.messaging;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 메시지 처리 단계별 할당 바이트와 스레드 CPU 시간을 표본 측정하는 샘플러.
+ *
+ * 주요 책임:
+ *
+ * app.metrics.resource-sampling.rate 비율로 측정 대상 메시지 선택
+ * ThreadMXBean 으로 현재 스레드의 할당 바이트·CPU 시간 차이 계산
+ * dataType·stage 별 DistributionSummary(market_data.stage.allocated, market_data.stage.cpu) 기록
+ *
+ * 측정은 같은 스레드 안에서만 유효하므로, 비동기 저장 단계는 writer 스레드에서 따로 시작한다.
+ * 표본이 아닌 메시지는 begin() 이 null 을 반환하고 이후 호출은 모두 무시된다.
+ */
+@Component
+public class MessageResourceSampler {
+
+	private static final Logger log = LoggerFactory.getLogger(MessageResourceSampler.class);
+	private static final String METRIC_ALLOCATED = "market_data.stage.allocated";
+	private static final String METRIC_CPU = "market_data.stage.cpu";
+
+	private final boolean enabled;
+	private final double rate;
+	private final com.sun.management.ThreadMXBean threadMXBean;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, DistributionSummary> allocatedSummaries = new ConcurrentHashMap<>();
+	private final Map<String, DistributionSummary> cpuSummaries = new ConcurrentHashMap<>();
+
+	/**
+	 * MessageResourceSampler 생성자.
+	 *
+	 * @param enabled 측정 사용 여부
+	 * @param rate 측정 비율 (0~1)
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public MessageResourceSampler(
+		@Value("${app.metrics.resource-sampling.enabled:false}") boolean enabled,
+		@Value("${app.metrics.resource-sampling.rate:0.01}") double rate,
+		MeterRegistry meterRegistry
+	) {
+		if (rate < 0 || rate > 1) {
+			throw new IllegalArgumentException("resource-sampling.rate는 0 이상 1 이하여야 한다: " + rate);
+		}
+		this.rate = rate;
+		this.meterRegistry = meterRegistry;
+		this.threadMXBean = enabled ? supportedThreadMXBean() : null;
+		this.enabled = threadMXBean != null;
+	}
+
+	private static com.sun.management.ThreadMXBean supportedThreadMXBean() {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+			|| !bean.isThreadAllocatedMemorySupported()
+			|| !bean.isCurrentThreadCpuTimeSupported()) {
+			log.warn("현재 JVM 에서 스레드 할당/CPU 측정을 지원하지 않아 resource sampling 을 끕니다.");
+			return null;
+		}
+		bean.setThreadAllocatedMemoryEnabled(true);
+		bean.setThreadCpuTimeEnabled(true);
+		return bean;
+	}
+
+	/**
+	 * 표본 여부를 정하고, 표본이면 현재 스레드 기준 측정을 시작한다.
+	 *
+	 * @return 측정 시작점 (표본이 아니면 null)
+	 */
+	public Probe begin() {
+		if (!enabled || ThreadLocalRandom.current().nextDouble() >= rate) {
+			return null;
+		}
+		return start();
+	}
+
+	/**
+	 * 표본 여부와 무관하게 현재 스레드 기준 측정을 시작한다.
+	 * 이미 표본으로 선택된 메시지의 다른 스레드 단계를 측정할 때 사용한다.
+	 *
+	 * @return 측정 시작점 (측정 불가 시 null)
+	 */
+	public Probe start() {
+		if (!enabled) {
+			return null;
+		}
+		return new Probe(
+			Thread.currentThread().threadId(),
+			threadMXBean.getCurrentThreadAllocatedBytes(),
+			threadMXBean.getCurrentThreadCpuTime()
+		);
+	}
+
+	/**
+	 * 시작점 이후 사용량을 단계 값으로 기록하고, 다음 단계용 시작점을 반환한다.
+	 *
+	 * @param probe 측정 시작점 (nullable)
+	 * @param dataType 데이터 타입 태그
+	 * @param stage 단계 이름 (parse, persist, ack 등)
+	 * @return 다음 단계 시작점 (probe 가 null 이면 null)
+	 */
+	public Probe lap(Probe probe, String dataType, String stage) {
+		if (probe == null) {
+			return null;
+		}
+		Probe next = start();
+		if (probe.threadId != next.threadId) {
+			// 다른 스레드 값끼리의 차이는 의미가 없으므로 버린다.
+			return next;
+		}
+		summary(allocatedSummaries, METRIC_ALLOCATED, "bytes", "Bytes allocated per message stage", dataType, stage)
+			.record(Math.max(0, next.allocatedBytes - probe.allocatedBytes));
+		summary(cpuSummaries, METRIC_CPU, "nanoseconds", "Thread CPU time per message stage", dataType, stage)
+			.record(Math.max(0, next.cpuNanos - probe.cpuNanos));
+		return next;
+	}
+
+	private DistributionSummary summary(
+		Map<String, DistributionSummary> cache,
+		String name,
+		String baseUnit,
+		String description,
+		String dataType,
+		String stage
+	) {
+		return cache.computeIfAbsent(dataType + '|' + stage, key -> DistributionSummary.builder(name)
+			.baseUnit(baseUnit)
+			.description(description)
+			.tags("dataType", dataType, "stage", stage)
+			.register(meterRegistry));
+	}
+
+	/**
+	 * 한 스레드에서의 측정 시작점.
+	 */
+	public static final class Probe {
+		private final long threadId;
+		private final long allocatedBytes;
+		private final long cpuNanos;
+
+		private Probe(long threadId, long allocatedBytes, long cpuNanos) {
+			this.threadId = threadId;
+			this.allocatedBytes = allocatedBytes;
+			this.cpuNanos = cpuNanos;
+		}
+	}
+}
@@ -0,0 +1,282 @@
+package com.rabbittick.persister.messaging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 거래 체결을 짧게 모아 uk_trade_unique 인덱스 순서로 정렬한 뒤 일괄 저장하는 재정렬 버퍼.
+ *
+ * 주요 책임:
+ *
+ * 리스너 스레드에서 delivery tag 를 채널 트래커에 등록하고 메시지를 버퍼에 추가
+ * 레코드 수(max-records) 또는 가장 오래된 메시지의 대기 시간(max-delay-ms) 도달 시 버퍼 비우기
+ * 거래소별로 나눠 (market_code, sequential_id) 순으로 정렬 후 saveTrades 한 번으로 저장, 메시지별 Ack
+ * 일괄 저장 실패 시 메시지별 원래 저장 경로(재시도·중복·DLQ)로 재처리
+ *
+ * 여러 마켓·스레드의 체결이 섞여 들어오면 UNIQUE 인덱스에 임의 순서로 삽입되어 페이지 분할이 잦아진다.
+ * 정렬해서 넣으면 인접한 키가 같은 페이지에 연속으로 들어간다. 대신 메시지당 최대 max-delay-ms 만큼 Ack 이 늦어진다.
+ * trade 저장은 metadata 중 exchange 만 사용하므로 같은 거래소 메시지는 한 saveTrades 호출로 합친다.
+ * 비동기 저장(app.persistence.async.enabled)이 켜져 있을 때만 동작한다.
+ */
+@Component
+public class TradeReorderBuffer implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(TradeReorderBuffer.class);
+	private static final String METRIC_WAIT = "market_data.reorder.wait";
+	private static final String METRIC_FLUSH_RECORDS = "market_data.reorder.flush.records";
+	private static final String METRIC_FLUSH_LATENCY = "market_data.reorder.flush.latency";
+	private static final Comparator<TradePayload> INDEX_ORDER = Comparator
+		.comparing(TradePayload::getMarketCode)
+		.thenComparingLong(TradePayload::getSequentialId);
+
+	private final boolean enabled;
+	private final long maxDelayNanos;
+	private final int maxRecords;
+	private final TradeService tradeService;
+	private final AsyncPersistenceWriter asyncPersistenceWriter;
+	private final MeterRegistry meterRegistry;
+	private final Timer waitTimer;
+	private final DistributionSummary flushRecords;
+	private final ScheduledExecutorService flusher;
+	private List<Pending> pending = new ArrayList<>();
+	private int pendingRecords;
+	private long oldestNanos;
+
+	/**
+	 * TradeReorderBuffer 생성자.
+	 *
+	 * @param enabled 재정렬 버퍼 사용 여부
+	 * @param maxDelayMs 메시지 최대 대기 시간
+	 * @param maxRecords 버퍼를 비우는 레코드 수
+	 * @param tradeService 거래 체결 저장 서비스
+	 * @param asyncPersistenceWriter 비동기 저장기 (트래커 등록·writer 스레드·재처리)
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public TradeReorderBuffer(
+		@Value("${app.persistence.reorder.enabled:false}") boolean enabled,
+		@Value("${app.persistence.reorder.max-delay-ms:20}") long maxDelayMs,
+		@Value("${app.persistence.reorder.max-records:500}") int maxRecords,
+		TradeService tradeService,
+		AsyncPersistenceWriter asyncPersistenceWriter,
+		MeterRegistry meterRegistry
+	) {
+		if (maxDelayMs <= 0 || maxRecords <= 0) {
+			throw new IllegalArgumentException("app.persistence.reorder.max-delay-ms, max-records는 양수여야 한다");
+		}
+		this.enabled = enabled && asyncPersistenceWriter.isEnabled();
+		this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+		this.maxRecords = maxRecords;
+		this.tradeService = tradeService;
+		this.asyncPersistenceWriter = asyncPersistenceWriter;
+		this.meterRegistry = meterRegistry;
+		this.waitTimer = Timer.builder(METRIC_WAIT)
+			.description("Time a trade message waited in the reorder buffer before its batch insert started")
+			.register(meterRegistry);
+		this.flushRecords = DistributionSummary.builder(METRIC_FLUSH_RECORDS)
+			.description("Trade records per sorted batch insert")
+			.register(meterRegistry);
+		if (this.enabled) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "trade-reorder-flusher");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long tickNanos = Math.max(maxDelayNanos / 4, TimeUnit.MILLISECONDS.toNanos(1));
+			this.flusher.scheduleWithFixedDelay(this::flushIfDue, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	/**
+	 * 사용하지 않는 재정렬 버퍼를 만든다. 스프링 컨텍스트 밖에서 만든 소비자의 기본값이다.
+	 *
+	 * @return 꺼진 재정렬 버퍼
+	 */
+	static TradeReorderBuffer disabled() {
+		return new TradeReorderBuffer(false, 1, 1, null, null, new SimpleMeterRegistry());
+	}
+
+	/**
+	 * 재정렬 버퍼 사용 여부를 반환한다.
+	 *
+	 * @return 사용 여부 (비동기 저장이 꺼져 있으면 false)
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 거래 체결 메시지를 버퍼에 추가한다. 리스너 스레드에서 호출해야 한다.
+	 *
+	 * @param message 원본 AMQP 메시지
+	 * @param channel 메시지를 수신한 채널
+	 * @param metadata 메시지 메타데이터
+	 * @param payloads 역직렬화에 모두 성공한 페이로드 목록
+	 * @param fallback 일괄 저장 실패 시 이 메시지만 저장하는 원래 저장 작업
+	 * @param callback 저장 결과가 브로커에 반영된 뒤 호출할 콜백
+	 * @return 버퍼에 추가했으면 true (거래소를 알 수 없거나 레코드가 없으면 false, 호출자가 직접 처리)
+	 */
+	public boolean submit(
+		Message message,
+		Channel channel,
+		Metadata metadata,
+		List<TradePayload> payloads,
+		Runnable fallback,
+		AsyncPersistenceWriter.Callback callback
+	) {
+		if (!enabled || metadata == null || metadata.getExchange() == null || payloads.isEmpty()) {
+			return false;
+		}
+		for (TradePayload payload : payloads) {
+			if (payload == null || payload.getMarketCode() == null) {
+				return false;
+			}
+		}
+		AsyncPersistenceWriter.PendingDelivery delivery = asyncPersistenceWriter.register(message, channel);
+		long now = System.nanoTime();
+		List<Pending> full = null;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				oldestNanos = now;
+			}
+			pending.add(new Pending(delivery, metadata, payloads, fallback, callback, now));
+			pendingRecords += payloads.size();
+			if (pendingRecords >= maxRecords) {
+				full = drain();
+			}
+		}
+		if (full != null) {
+			List<Pending> batch = full;
+			asyncPersistenceWriter.execute(() -> flush(batch));
+		}
+		return true;
+	}
+
+	/**
+	 * 버퍼를 비우고 남은 메시지를 모두 저장한다. 종료 시 호출된다.
+	 */
+	@Override
+	public void destroy() {
+		if (flusher == null) {
+			return;
+		}
+		flusher.shutdown();
+		List<Pending> remaining;
+		synchronized (this) {
+			remaining = drain();
+		}
+		if (!remaining.isEmpty()) {
+			flush(remaining);
+		}
+	}
+
+	private void flushIfDue() {
+		List<Pending> due;
+		synchronized (this) {
+			if (pending.isEmpty() || System.nanoTime() - oldestNanos < maxDelayNanos) {
+				return;
+			}
+			due = drain();
+		}
+		asyncPersistenceWriter.execute(() -> flush(due));
+	}
+
+	/**
+	 * 버퍼를 새 목록으로 교체하고 기존 목록을 반환한다. 호출자는 잠금을 보유해야 한다.
+	 */
+	private List<Pending> drain() {
+		List<Pending> drained = pending;
+		pending = new ArrayList<>();
+		pendingRecords = 0;
+		return drained;
+	}
+
+	/**
+	 * 거래소별로 정렬 저장하고 메시지별로 Ack 을 기록한다.
+	 *
+	 * @param batch 버퍼에서 꺼낸 메시지 목록 (도착 순)
+	 */
+	void flush(List<Pending> batch) {
+		long startNanos = System.nanoTime();
+		Map<String, List<Pending>> byExchange = new TreeMap<>();
+		for (Pending entry : batch) {
+			waitTimer.record(startNanos - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+			byExchange.computeIfAbsent(entry.metadata().getExchange(), key -> new ArrayList<>()).add(entry);
+		}
+		for (List<Pending> entries : byExchange.values()) {
+			List<TradePayload> sorted = new ArrayList<>();
+			for (Pending entry : entries) {
+				sorted.addAll(entry.payloads());
+			}
+			sorted.sort(INDEX_ORDER);
+			Timer.Sample sample = Timer.start(meterRegistry);
+			try {
+				tradeService.saveTrades(entries.get(0).metadata(), sorted);
+				sample.stop(flushTimer("success"));
+				flushRecords.record(sorted.size());
+			} catch (RuntimeException ex) {
+				sample.stop(flushTimer("fallback"));
+				log.warn("정렬 일괄 저장에 실패해 메시지 단위로 저장합니다. messages={}, records={}",
+					entries.size(), sorted.size(), ex);
+				for (Pending entry : entries) {
+					asyncPersistenceWriter.persist(entry.delivery(), entry.fallback(), entry.callback());
+				}
+				continue;
+			}
+			for (Pending entry : entries) {
+				asyncPersistenceWriter.complete(entry.delivery(), "success", entry.callback());
+			}
+		}
+	}
+
+	private Timer flushTimer(String outcome) {
+		return Timer.builder(METRIC_FLUSH_LATENCY)
+			.description("Sorted trade batch insert latency")
+			.tags("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 버퍼에서 저장을 기다리는 메시지.
+	 *
+	 * @param delivery 채널 트래커에 등록된 delivery
+	 * @param metadata 메시지 메타데이터
+	 * @param payloads 페이로드 목록
+	 * @param fallback 메시지 단위 저장 작업
+	 * @param callback 결과 통지 콜백
+	 * @param enqueuedNanos 버퍼 추가 시각 (System.nanoTime)
+	 */
+	record Pending(
+		AsyncPersistenceWriter.PendingDelivery delivery,
+		Metadata metadata,
+		List<TradePayload> payloads,
+		Runnable fallback,
+		AsyncPersistenceWriter.Callback callback,
+		long enqueuedNanos
+	) {
+	}
+}
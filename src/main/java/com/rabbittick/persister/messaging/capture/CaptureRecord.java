@@ -0,0 +1,19 @@
+package com.rabbittick.persister.messaging.capture;
+
+/**
+ * 캡처 세그먼트에 기록되는 수신 메시지 1건.
+ *
+ * @param receivedAtMicros 수신 시각 (epoch 마이크로초)
+ * @param routingKey 수신 라우팅 키
+ * @param contentType 수신 content_type (없거나 v1 세그먼트면 null)
+ * @param contentEncoding 수신 content_encoding (없거나 v1 세그먼트면 null)
+ * @param body 원본 AMQP 본문
+ */
+public record CaptureRecord(
+	long receivedAtMicros,
+	String routingKey,
+	String contentType,
+	String contentEncoding,
+	byte[] body
+) {
+}
@@ -0,0 +1,31 @@
+package com.rabbittick.persister.messaging.capture;
+
+/**
+ * 캡처 세그먼트 파일 형식.
+ *
+ * 파일 헤더: magic(int) + version(short)
+ * 레코드(v2): recordLength(int) + receivedAtMicros(long)
+ * + routingKeyLength(short) + routingKey(UTF-8)
+ * + contentTypeLength(short) + contentType(UTF-8)
+ * + contentEncodingLength(short) + contentEncoding(UTF-8) + body
+ * 레코드(v1): recordLength(int) + receivedAtMicros(long) + routingKeyLength(short) + routingKey(UTF-8) + body
+ * recordLength 는 자신을 제외한 레코드 바이트 수이며, body 길이는 나머지로 계산한다.
+ * 길이 0 인 contentType/contentEncoding 은 수신 메시지에 해당 속성이 없었다는 뜻이다.
+ *
+ * 작성 중인 세그먼트는 .seg.partial 이고, 닫히면서 .seg 로 바뀐다.
+ */
+final class CaptureSegmentFormat {
+
+	static final int MAGIC = 0x52544350; // "RTCP"
+	static final short VERSION = 2;
+	static final short VERSION_1 = 1;
+	static final int FILE_HEADER_BYTES = Integer.BYTES + Short.BYTES;
+	static final int RECORD_HEADER_BYTES = Long.BYTES + 3 * Short.BYTES;
+	static final int RECORD_HEADER_BYTES_V1 = Long.BYTES + Short.BYTES;
+	static final int MAX_STRING_BYTES = 0xFFFF;
+	static final String SEGMENT_SUFFIX = ".seg";
+	static final String PARTIAL_SUFFIX = ".seg.partial";
+
+	private CaptureSegmentFormat() {
+	}
+}
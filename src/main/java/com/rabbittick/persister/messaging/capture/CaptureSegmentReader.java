@@ -0,0 +1,109 @@
+package com.rabbittick.persister.messaging.capture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 캡처 세그먼트를 메모리 매핑으로 순차 읽는 리더.
+ *
+ * 주요 책임:
+ *
+ * 디렉터리의 완료된 세그먼트를 작성 순서(파일명 순)로 나열
+ * 파일 헤더 검증 후 레코드를 순서대로 전달 (v1 세그먼트는 content_type/encoding 없이 전달)
+ * 비정상 종료로 잘린 마지막 레코드는 경고 후 무시
+ */
+public final class CaptureSegmentReader {
+
+	private static final Logger log = LoggerFactory.getLogger(CaptureSegmentReader.class);
+
+	private CaptureSegmentReader() {
+	}
+
+	/**
+	 * 디렉터리의 완료된 세그먼트 목록을 작성 순서대로 반환한다.
+	 *
+	 * @param directory 캡처 디렉터리
+	 * @return 세그먼트 경로 목록
+	 * @throws IOException 디렉터리 조회 실패 시
+	 */
+	public static List<Path> segments(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+				.filter(path -> path.getFileName().toString().endsWith(CaptureSegmentFormat.SEGMENT_SUFFIX))
+				.sorted()
+				.toList();
+		}
+	}
+
+	/**
+	 * 세그먼트의 레코드를 순서대로 전달한다.
+	 *
+	 * @param segment 세그먼트 경로
+	 * @param consumer 레코드 소비자
+	 * @return 읽은 레코드 수
+	 * @throws IOException 파일 읽기 실패 또는 형식 불일치 시
+	 */
+	public static long read(Path segment, Consumer<CaptureRecord> consumer) throws IOException {
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < CaptureSegmentFormat.FILE_HEADER_BYTES
+				|| buffer.getInt() != CaptureSegmentFormat.MAGIC) {
+				throw new IOException("캡처 세그먼트 형식이 아닙니다: " + segment);
+			}
+			short version = buffer.getShort();
+			if (version != CaptureSegmentFormat.VERSION && version != CaptureSegmentFormat.VERSION_1) {
+				throw new IOException("지원하지 않는 세그먼트 버전입니다: " + version + ", segment=" + segment);
+			}
+			boolean withContentProperties = version != CaptureSegmentFormat.VERSION_1;
+			int headerBytes = withContentProperties
+				? CaptureSegmentFormat.RECORD_HEADER_BYTES
+				: CaptureSegmentFormat.RECORD_HEADER_BYTES_V1;
+			long count = 0;
+			while (buffer.remaining() >= Integer.BYTES) {
+				int recordLength = buffer.getInt();
+				if (recordLength < headerBytes || recordLength > buffer.remaining()) {
+					log.warn("잘린 레코드를 무시합니다. segment={}, offset={}", segment, buffer.position() - Integer.BYTES);
+					break;
+				}
+				int recordEnd = buffer.position() + recordLength;
+				long receivedAtMicros = buffer.getLong();
+				String routingKey = readString(buffer, recordEnd, segment);
+				String contentType = withContentProperties ? readString(buffer, recordEnd, segment) : "";
+				String contentEncoding = withContentProperties ? readString(buffer, recordEnd, segment) : "";
+				byte[] body = new byte[recordEnd - buffer.position()];
+				buffer.get(body);
+				consumer.accept(new CaptureRecord(receivedAtMicros, routingKey,
+					contentType.isEmpty() ? null : contentType,
+					contentEncoding.isEmpty() ? null : contentEncoding,
+					body));
+				count++;
+			}
+			return count;
+		}
+	}
+
+	private static String readString(ByteBuffer buffer, int recordEnd, Path segment) throws IOException {
+		if (buffer.position() + Short.BYTES > recordEnd) {
+			throw new IOException("레코드 길이가 올바르지 않습니다. segment=" + segment);
+		}
+		int length = Short.toUnsignedInt(buffer.getShort());
+		if (buffer.position() + length > recordEnd) {
+			throw new IOException("레코드 길이가 올바르지 않습니다. segment=" + segment);
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,293 @@
+package com.rabbittick.persister.messaging.capture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 수신한 AMQP 메시지를 원본 그대로 세그먼트 파일에 기록하는 캡처 기록기.
+ *
+ * 주요 책임:
+ *
+ * 리스너 컨테이너의 afterReceivePostProcessor 로 수신 본문·라우팅 키·content_type/encoding·수신 시각 수집
+ * 전용 스레드에서 길이 접두 레코드로 세그먼트에 순차 기록
+ * 세그먼트 크기 초과 시 새 세그먼트로 교체
+ *
+ * 리스너 스레드는 큐에 넣기만 하며, 큐가 가득 차면 기록을 포기하고 market_data.capture.dropped 를 증가시킨다.
+ * market_data.capture.records 는 세그먼트 파일에 실제로 쓴 레코드만 센다 (쓰기 실패로 잃은 레코드는 dropped).
+ * 캡처가 소비 경로를 막지 않는 것을 우선한다.
+ */
+@Component
+public class MessageCaptureWriter implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(MessageCaptureWriter.class);
+	private static final DateTimeFormatter SEGMENT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+		.withZone(ZoneOffset.UTC);
+	private static final int WRITE_BUFFER_BYTES = 1 << 20;
+	private static final int DRAIN_BATCH = 1024;
+
+	private final boolean enabled;
+	private final Path directory;
+	private final long segmentBytes;
+	private final BlockingQueue<CaptureRecord> queue;
+	private final Counter capturedCounter;
+	private final Counter droppedCounter;
+	private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+	private Thread writerThread;
+	private int bufferedRecords;
+	private int batchSettled;
+	private volatile boolean running;
+	private FileChannel segmentChannel;
+	private Path segmentPath;
+	private long segmentSize;
+	private int segmentSequence;
+
+	/**
+	 * MessageCaptureWriter 생성자.
+	 *
+	 * @param enabled 캡처 사용 여부
+	 * @param directory 세그먼트 저장 디렉터리
+	 * @param segmentSizeMb 세그먼트 최대 크기 (MB, 1~1024)
+	 * @param queueCapacity 기록 대기 큐 크기
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public MessageCaptureWriter(
+		@Value("${app.capture.enabled:false}") boolean enabled,
+		@Value("${app.capture.directory:./capture}") String directory,
+		@Value("${app.capture.segment-size-mb:256}") int segmentSizeMb,
+		@Value("${app.capture.queue-capacity:100000}") int queueCapacity,
+		MeterRegistry meterRegistry
+	) {
+		if (segmentSizeMb < 1 || segmentSizeMb > 1024) {
+			throw new IllegalArgumentException("segment-size-mb는 1~1024 사이여야 한다: " + segmentSizeMb);
+		}
+		this.enabled = enabled;
+		this.directory = Path.of(directory);
+		this.segmentBytes = segmentSizeMb * 1024L * 1024L;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.capturedCounter = Counter.builder("market_data.capture.records")
+			.description("Captured records written to segment files")
+			.register(meterRegistry);
+		this.droppedCounter = Counter.builder("market_data.capture.dropped")
+			.description("Records not captured (queue full, oversized routing key or write failure)")
+			.register(meterRegistry);
+		if (enabled) {
+			start();
+		}
+	}
+
+	private void start() {
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException ex) {
+			throw new UncheckedIOException("캡처 디렉터리를 만들 수 없습니다: " + directory, ex);
+		}
+		running = true;
+		writerThread = new Thread(this::writeLoop, "message-capture-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		log.info("메시지 캡처를 시작합니다. directory={}, segmentBytes={}", directory.toAbsolutePath(), segmentBytes);
+	}
+
+	/**
+	 * 캡처 사용 여부를 반환한다.
+	 *
+	 * @return 사용 여부
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 수신 메시지를 기록 대기 큐에 넣는다. afterReceivePostProcessor 로 사용한다.
+	 *
+	 * @param message 수신 메시지
+	 * @return 변경 없는 원본 메시지
+	 */
+	public Message capture(Message message) {
+		if (!running) {
+			return message;
+		}
+		Instant now = Instant.now();
+		long receivedAtMicros = now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+		MessageProperties properties = message.getMessageProperties();
+		String routingKey = properties.getReceivedRoutingKey();
+		CaptureRecord record = new CaptureRecord(receivedAtMicros, routingKey == null ? "" : routingKey,
+			properties.getContentType(), properties.getContentEncoding(), message.getBody());
+		if (!queue.offer(record)) {
+			droppedCounter.increment();
+		}
+		return message;
+	}
+
+	private void writeLoop() {
+		List<CaptureRecord> batch = new ArrayList<>(DRAIN_BATCH);
+		while (running || !queue.isEmpty()) {
+			try {
+				CaptureRecord first = queue.poll(200, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, DRAIN_BATCH - 1);
+				write(batch);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (IOException | RuntimeException ex) {
+				int lost = batch.size() - batchSettled;
+				writeBuffer.clear();
+				bufferedRecords = 0;
+				droppedCounter.increment(lost);
+				log.error("캡처 레코드 기록에 실패했습니다. dropped={}", lost, ex);
+			} finally {
+				batch.clear();
+			}
+		}
+		closeSegment();
+	}
+
+	/**
+	 * 배치를 세그먼트에 기록한다. 세그먼트에 쓴 레코드와 건너뛴 레코드는 batchSettled 로 센다.
+	 */
+	private void write(List<CaptureRecord> batch) throws IOException {
+		batchSettled = 0;
+		for (CaptureRecord record : batch) {
+			byte[] routingKey = utf8(record.routingKey());
+			byte[] contentType = utf8(record.contentType());
+			byte[] contentEncoding = utf8(record.contentEncoding());
+			if (routingKey.length > CaptureSegmentFormat.MAX_STRING_BYTES
+				|| contentType.length > CaptureSegmentFormat.MAX_STRING_BYTES
+				|| contentEncoding.length > CaptureSegmentFormat.MAX_STRING_BYTES) {
+				droppedCounter.increment();
+				batchSettled++;
+				continue;
+			}
+			int recordLength = CaptureSegmentFormat.RECORD_HEADER_BYTES
+				+ routingKey.length + contentType.length + contentEncoding.length + record.body().length;
+			if (segmentChannel == null || segmentSize + Integer.BYTES + recordLength > segmentBytes) {
+				flush();
+				rollSegment();
+			}
+			ByteBuffer target = Integer.BYTES + recordLength > writeBuffer.capacity()
+				? ByteBuffer.allocate(Integer.BYTES + recordLength)
+				: writeBuffer;
+			if (target == writeBuffer && writeBuffer.remaining() < Integer.BYTES + recordLength) {
+				flush();
+			}
+			target.putInt(recordLength)
+				.putLong(record.receivedAtMicros())
+				.putShort((short) routingKey.length)
+				.put(routingKey)
+				.putShort((short) contentType.length)
+				.put(contentType)
+				.putShort((short) contentEncoding.length)
+				.put(contentEncoding)
+				.put(record.body());
+			if (target != writeBuffer) {
+				flush();
+				target.flip();
+				writeFully(target);
+				capturedCounter.increment();
+				batchSettled++;
+			} else {
+				bufferedRecords++;
+			}
+			segmentSize += Integer.BYTES + recordLength;
+		}
+		flush();
+	}
+
+	private static byte[] utf8(String value) {
+		return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void flush() throws IOException {
+		if (writeBuffer.position() == 0) {
+			return;
+		}
+		writeBuffer.flip();
+		writeFully(writeBuffer);
+		writeBuffer.clear();
+		capturedCounter.increment(bufferedRecords);
+		batchSettled += bufferedRecords;
+		bufferedRecords = 0;
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			segmentChannel.write(buffer);
+		}
+	}
+
+	private void rollSegment() throws IOException {
+		closeSegment();
+		String name = "capture-" + SEGMENT_TIME.format(Instant.now()) + "-" + String.format("%06d", ++segmentSequence);
+		segmentPath = directory.resolve(name + CaptureSegmentFormat.PARTIAL_SUFFIX);
+		segmentChannel = FileChannel.open(segmentPath,
+			StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(CaptureSegmentFormat.FILE_HEADER_BYTES)
+			.putInt(CaptureSegmentFormat.MAGIC)
+			.putShort(CaptureSegmentFormat.VERSION);
+		header.flip();
+		writeFully(header);
+		segmentSize = CaptureSegmentFormat.FILE_HEADER_BYTES;
+	}
+
+	/**
+	 * 현재 세그먼트를 디스크에 반영하고 .seg 로 이름을 바꿔 replay 대상으로 만든다.
+	 */
+	private void closeSegment() {
+		if (segmentChannel == null) {
+			return;
+		}
+		try {
+			flush();
+			segmentChannel.force(false);
+			segmentChannel.close();
+			String partialName = segmentPath.getFileName().toString();
+			Path completed = segmentPath.resolveSibling(partialName.substring(
+				0, partialName.length() - CaptureSegmentFormat.PARTIAL_SUFFIX.length()) + CaptureSegmentFormat.SEGMENT_SUFFIX);
+			Files.move(segmentPath, completed, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			log.error("캡처 세그먼트를 닫지 못했습니다. segment={}", segmentPath, ex);
+		} finally {
+			segmentChannel = null;
+			segmentPath = null;
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		if (!enabled) {
+			return;
+		}
+		running = false;
+		writerThread.join(TimeUnit.SECONDS.toMillis(30));
+	}
+}
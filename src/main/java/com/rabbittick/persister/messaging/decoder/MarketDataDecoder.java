@@ -0,0 +1,129 @@
+package com.rabbittick.persister.messaging.decoder;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.messaging.MarketDataType;
+
+/**
+ * (dataType, metadata.version) 한 쌍을 처리하는 디코더·저장기 묶음.
+ *
+ * 주요 책임:
+ *
+ * 페이로드 역직렬화 대상 타입 지정 (형식별 ObjectReader 는 레지스트리 등록 시 생성)
+ * 단건 저장·배치 저장 함수 제공
+ * 마켓 코드 추출 함수 제공 (마켓별 통계용)
+ *
+ * version 이 null 이면 해당 dataType 의 기본 디코더로, version 이 없거나
+ * 등록되지 않은 version 의 메시지를 처리한다.
+ * 새 페이로드 버전은 이 타입의 빈을 등록하는 것만으로 추가된다 (MarketDataDecoderRegistry).
+ *
+ * @param <T> 페이로드 타입
+ */
+public final class MarketDataDecoder<T> {
+
+	private final MarketDataType dataType;
+	private final String version;
+	private final Class<T> payloadType;
+	private final Function<T, String> marketCode;
+	private final Consumer<MarketDataMessage<T>> saveOne;
+	private final BiConsumer<Metadata, List<T>> saveBatch;
+
+	private MarketDataDecoder(
+		MarketDataType dataType,
+		String version,
+		Class<T> payloadType,
+		Function<T, String> marketCode,
+		Consumer<MarketDataMessage<T>> saveOne,
+		BiConsumer<Metadata, List<T>> saveBatch
+	) {
+		this.dataType = Objects.requireNonNull(dataType, "dataType은 null일 수 없다");
+		this.version = version;
+		this.payloadType = Objects.requireNonNull(payloadType, "payloadType은 null일 수 없다");
+		this.marketCode = Objects.requireNonNull(marketCode, "marketCode는 null일 수 없다");
+		this.saveOne = Objects.requireNonNull(saveOne, "saveOne은 null일 수 없다");
+		this.saveBatch = Objects.requireNonNull(saveBatch, "saveBatch는 null일 수 없다");
+	}
+
+	/**
+	 * 특정 version 전용 디코더를 만든다.
+	 *
+	 * @param dataType 데이터 타입
+	 * @param version metadata.version 값
+	 * @param payloadType 페이로드 타입
+	 * @param marketCode 페이로드에서 마켓 코드를 꺼내는 함수
+	 * @param saveOne 단건 저장 함수
+	 * @param saveBatch 배치 저장 함수
+	 * @param <T> 페이로드 타입
+	 * @return 디코더
+	 * @throws IllegalArgumentException version 이 비어 있는 경우
+	 */
+	public static <T> MarketDataDecoder<T> of(
+		MarketDataType dataType,
+		String version,
+		Class<T> payloadType,
+		Function<T, String> marketCode,
+		Consumer<MarketDataMessage<T>> saveOne,
+		BiConsumer<Metadata, List<T>> saveBatch
+	) {
+		if (version == null || version.isBlank()) {
+			throw new IllegalArgumentException("version은 비어 있을 수 없다");
+		}
+		return new MarketDataDecoder<>(dataType, version, payloadType, marketCode, saveOne, saveBatch);
+	}
+
+	/**
+	 * dataType 의 기본 디코더를 만든다.
+	 *
+	 * @param dataType 데이터 타입
+	 * @param payloadType 페이로드 타입
+	 * @param marketCode 페이로드에서 마켓 코드를 꺼내는 함수
+	 * @param saveOne 단건 저장 함수
+	 * @param saveBatch 배치 저장 함수
+	 * @param <T> 페이로드 타입
+	 * @return 기본 디코더
+	 */
+	public static <T> MarketDataDecoder<T> fallback(
+		MarketDataType dataType,
+		Class<T> payloadType,
+		Function<T, String> marketCode,
+		Consumer<MarketDataMessage<T>> saveOne,
+		BiConsumer<Metadata, List<T>> saveBatch
+	) {
+		return new MarketDataDecoder<>(dataType, null, payloadType, marketCode, saveOne, saveBatch);
+	}
+
+	public MarketDataType dataType() {
+		return dataType;
+	}
+
+	/**
+	 * 처리하는 metadata.version 값을 반환한다.
+	 *
+	 * @return version (기본 디코더이면 null)
+	 */
+	public String version() {
+		return version;
+	}
+
+	public Class<T> payloadType() {
+		return payloadType;
+	}
+
+	public Function<T, String> marketCode() {
+		return marketCode;
+	}
+
+	public Consumer<MarketDataMessage<T>> saveOne() {
+		return saveOne;
+	}
+
+	public BiConsumer<Metadata, List<T>> saveBatch() {
+		return saveBatch;
+	}
+}
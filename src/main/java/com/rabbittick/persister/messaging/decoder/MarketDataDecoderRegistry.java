@@ -0,0 +1,137 @@
+package com.rabbittick.persister.messaging.decoder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rabbittick.persister.global.symbol.SymbolTable;
+import com.rabbittick.persister.messaging.MarketDataType;
+import com.rabbittick.persister.messaging.encoding.MarketDataCodec;
+import com.rabbittick.persister.messaging.encoding.MarketDataEnvelope;
+import com.rabbittick.persister.messaging.encoding.MessageFormat;
+
+/**
+ * (dataType, metadata.version) 별 디코더 조회 테이블.
+ *
+ * 주요 책임:
+ *
+ * 등록 시 디코더마다 형식별 페이로드 ObjectReader 를 미리 생성
+ * (dataType, version) 중복 등록과 dataType 별 기본 디코더 누락 검증
+ * 수신 메시지의 (dataType, version) 으로 디코더 조회 (미등록 version 은 기본 디코더)
+ *
+ * 조회는 dataType 순서(ordinal) 배열 인덱스와 version 참조 비교로 끝난다.
+ * 등록 version 과 소비자가 읽은 version 이 모두 SymbolTable 정규 인스턴스이므로
+ * 해시 계산이나 문자열 비교 없이 구 버전·신 버전 생산자를 동시에 처리한다.
+ * 등록은 생성 시점에만 일어나며 이후에는 읽기 전용이다.
+ */
+public final class MarketDataDecoderRegistry {
+
+	private static final Binding<?>[] NO_BINDINGS = new Binding<?>[0];
+
+	private final Binding<?>[] fallbacks = new Binding<?>[MarketDataType.values().length];
+	private final Binding<?>[][] versioned = new Binding<?>[MarketDataType.values().length][];
+
+	/**
+	 * MarketDataDecoderRegistry 생성자.
+	 *
+	 * @param codec 형식별 ObjectReader 를 만들 코덱
+	 * @param decoders 등록할 디코더 목록
+	 * @throws IllegalArgumentException 같은 (dataType, version) 이 중복되거나 기본 디코더가 없는 dataType 이 있는 경우
+	 */
+	public MarketDataDecoderRegistry(MarketDataCodec codec, List<MarketDataDecoder<?>> decoders) {
+		SymbolTable symbolTable = SymbolTable.shared();
+		List<List<Binding<?>>> byType = new ArrayList<>();
+		for (int i = 0; i < versioned.length; i++) {
+			byType.add(new ArrayList<>());
+		}
+		for (MarketDataDecoder<?> decoder : decoders) {
+			int slot = decoder.dataType().ordinal();
+			String version = decoder.version() == null ? null : symbolTable.intern(decoder.version());
+			Binding<?> binding = new Binding<>(decoder, version, codec);
+			if (version == null) {
+				if (fallbacks[slot] != null) {
+					throw new IllegalArgumentException("기본 디코더가 중복 등록되었다. dataType=" + decoder.dataType());
+				}
+				fallbacks[slot] = binding;
+				continue;
+			}
+			for (Binding<?> registered : byType.get(slot)) {
+				if (registered.version.equals(version)) {
+					throw new IllegalArgumentException("디코더가 중복 등록되었다. dataType=" + decoder.dataType()
+						+ ", version=" + version);
+				}
+			}
+			byType.get(slot).add(binding);
+		}
+		for (MarketDataType type : MarketDataType.values()) {
+			if (fallbacks[type.ordinal()] == null) {
+				throw new IllegalArgumentException("기본 디코더가 없다. dataType=" + type);
+			}
+			versioned[type.ordinal()] = byType.get(type.ordinal()).toArray(NO_BINDINGS);
+		}
+	}
+
+	/**
+	 * 메시지를 처리할 디코더를 찾는다.
+	 *
+	 * @param dataType 데이터 타입
+	 * @param version metadata.version 값 (nullable)
+	 * @return 디코더 바인딩 (version 이 없거나 미등록이면 기본 디코더)
+	 */
+	public Binding<?> resolve(MarketDataType dataType, String version) {
+		int slot = dataType.ordinal();
+		if (version != null) {
+			Binding<?>[] bindings = versioned[slot];
+			for (Binding<?> binding : bindings) {
+				if (binding.version == version) {
+					return binding;
+				}
+			}
+			// 등록 상한을 넘어 정규화되지 않은 version 문자열만 여기까지 온다.
+			for (Binding<?> binding : bindings) {
+				if (binding.version.equals(version)) {
+					return binding;
+				}
+			}
+		}
+		return fallbacks[slot];
+	}
+
+	/**
+	 * 형식별 ObjectReader 가 연결된 디코더.
+	 *
+	 * @param <T> 페이로드 타입
+	 */
+	public static final class Binding<T> {
+
+		private final MarketDataDecoder<T> decoder;
+		private final String version;
+		private final Map<MessageFormat, ObjectReader> readers;
+		private final MarketDataCodec codec;
+
+		private Binding(MarketDataDecoder<T> decoder, String version, MarketDataCodec codec) {
+			this.decoder = decoder;
+			this.version = version;
+			this.readers = codec.payloadReaders(decoder.payloadType());
+			this.codec = codec;
+		}
+
+		public MarketDataDecoder<T> decoder() {
+			return decoder;
+		}
+
+		/**
+		 * 본문을 이 디코더의 페이로드 타입으로 디코딩한다.
+		 *
+		 * @param format 본문 형식
+		 * @param body 본문 (압축 해제 후)
+		 * @return 디코딩 결과
+		 * @throws IOException 구문 오류 또는 단건 역직렬화 실패 시
+		 */
+		public MarketDataEnvelope<T> read(MessageFormat format, byte[] body) throws IOException {
+			return codec.readEnvelope(format, readers.get(format), body);
+		}
+	}
+}
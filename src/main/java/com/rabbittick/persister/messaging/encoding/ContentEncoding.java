@@ -0,0 +1,109 @@
+package com.rabbittick.persister.messaging.encoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * AMQP contentEncoding 으로 구분하는 본문 압축 방식.
+ *
+ * Spring AMQP 의 GZip/Deflater 후처리기는 기존 인코딩 앞에 "gzip:" 처럼 붙이므로 ':' 앞 토큰만 본다.
+ * contentEncoding 은 문자셋(UTF-8 등)으로도 쓰이므로 알 수 없는 값은 압축 없음으로 처리한다.
+ * deflate 는 zlib 래핑 스트림(DeflaterOutputStream 기본값)을 의미한다.
+ */
+public enum ContentEncoding {
+
+	IDENTITY("identity"),
+	GZIP("gzip"),
+	DEFLATE("deflate");
+
+	/**
+	 * 해제 후 본문 크기 상한. 압축 폭탄으로 힙이 고갈되지 않도록 막는다.
+	 */
+	static final int MAX_DECODED_BYTES = 32 * 1024 * 1024;
+
+	private final String tag;
+
+	ContentEncoding(String tag) {
+		this.tag = tag;
+	}
+
+	/**
+	 * 메트릭 태그이자 contentEncoding 헤더 값을 반환한다.
+	 *
+	 * @return 압축 방식 이름
+	 */
+	public String tag() {
+		return tag;
+	}
+
+	/**
+	 * contentEncoding 으로 압축 방식을 찾는다.
+	 *
+	 * @param contentEncoding AMQP contentEncoding (nullable)
+	 * @return 압축 방식 (알 수 없으면 IDENTITY)
+	 */
+	public static ContentEncoding fromHeader(String contentEncoding) {
+		if (contentEncoding == null) {
+			return IDENTITY;
+		}
+		int separator = contentEncoding.indexOf(':');
+		String token = (separator < 0 ? contentEncoding : contentEncoding.substring(0, separator)).trim();
+		if (token.equalsIgnoreCase("gzip") || token.equalsIgnoreCase("x-gzip")) {
+			return GZIP;
+		}
+		if (token.equalsIgnoreCase("deflate")) {
+			return DEFLATE;
+		}
+		return IDENTITY;
+	}
+
+	/**
+	 * 압축된 본문을 해제한다.
+	 *
+	 * @param body 수신 본문
+	 * @return 해제된 본문 (IDENTITY 이면 원본 그대로)
+	 * @throws IOException 압축 형식이 올바르지 않은 경우
+	 * @throws IllegalArgumentException 해제 크기가 상한을 넘는 경우 (재시도 없이 DLQ)
+	 */
+	public byte[] decode(byte[] body) throws IOException {
+		if (this == IDENTITY) {
+			return body;
+		}
+		try (InputStream inputStream = this == GZIP
+			? new GZIPInputStream(new ByteArrayInputStream(body))
+			: new InflaterInputStream(new ByteArrayInputStream(body))) {
+			byte[] decoded = inputStream.readNBytes(MAX_DECODED_BYTES + 1);
+			if (decoded.length > MAX_DECODED_BYTES) {
+				throw new IllegalArgumentException("압축 해제 크기는 " + MAX_DECODED_BYTES + " 바이트 이하여야 한다");
+			}
+			return decoded;
+		}
+	}
+
+	/**
+	 * 본문을 압축한다. 발행 측(부하 테스트·벤치마크) 용도다.
+	 *
+	 * @param body 원본 본문
+	 * @return 압축된 본문 (IDENTITY 이면 원본 그대로)
+	 * @throws IOException 압축 실패 시
+	 */
+	public byte[] encode(byte[] body) throws IOException {
+		if (this == IDENTITY) {
+			return body;
+		}
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length);
+		try (OutputStream outputStream = this == GZIP
+			? new GZIPOutputStream(buffer)
+			: new DeflaterOutputStream(buffer)) {
+			outputStream.write(body);
+		}
+		return buffer.toByteArray();
+	}
+}
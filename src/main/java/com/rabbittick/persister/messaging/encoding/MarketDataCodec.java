@@ -0,0 +1,227 @@
+package com.rabbittick.persister.messaging.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.messaging.MarketDataType;
+
+/**
+ * 본문 형식별 ObjectMapper 와 데이터 타입별 페이로드 ObjectReader 묶음.
+ *
+ * 주요 책임:
+ *
+ * 애플리케이션 ObjectMapper 설정(모듈, 기능 플래그)을 형식별 팩토리로 복제
+ * 단건 메시지(payload)와 배치 봉투(payloads)를 한 번의 스트리밍 파싱으로 디코딩
+ * 배치 레코드 단위 역직렬화 오류 격리 및 실패 레코드 원본 추출 (DLQ 발행용)
+ *
+ * 모든 형식이 같은 DTO 와 전용 역직렬화기(global.codec)를 공유하므로
+ * 바이너리 형식도 JSON 과 동일한 DTO 로 디코딩된다.
+ */
+public final class MarketDataCodec {
+
+	private final Map<MessageFormat, ObjectMapper> mappers = new EnumMap<>(MessageFormat.class);
+	private final Map<MessageFormat, ObjectReader> metadataReaders = new EnumMap<>(MessageFormat.class);
+	private final Map<MessageFormat, Map<MarketDataType, ObjectReader>> payloadReaders =
+		new EnumMap<>(MessageFormat.class);
+
+	/**
+	 * MarketDataCodec 생성자.
+	 *
+	 * @param jsonMapper 애플리케이션 JSON ObjectMapper
+	 */
+	public MarketDataCodec(ObjectMapper jsonMapper) {
+		for (MessageFormat format : MessageFormat.values()) {
+			ObjectMapper mapper = format == MessageFormat.JSON ? jsonMapper : jsonMapper.copyWith(format.newFactory());
+			Map<MarketDataType, ObjectReader> typeReaders = new EnumMap<>(MarketDataType.class);
+			typeReaders.put(MarketDataType.TICKER, mapper.readerFor(TickerPayload.class));
+			typeReaders.put(MarketDataType.TRADE, mapper.readerFor(TradePayload.class));
+			typeReaders.put(MarketDataType.ORDERBOOK, mapper.readerFor(OrderBookPayload.class));
+			mappers.put(format, mapper);
+			metadataReaders.put(format, mapper.readerFor(Metadata.class));
+			payloadReaders.put(format, typeReaders);
+		}
+	}
+
+	/**
+	 * 페이로드 타입의 형식별 ObjectReader 를 만든다.
+	 * 디코더 등록 시 한 번 만들어 두고 수신 경로에서는 재사용한다.
+	 *
+	 * @param payloadType 페이로드 타입
+	 * @return 형식별 ObjectReader
+	 */
+	public Map<MessageFormat, ObjectReader> payloadReaders(Class<?> payloadType) {
+		Map<MessageFormat, ObjectReader> readers = new EnumMap<>(MessageFormat.class);
+		for (Map.Entry<MessageFormat, ObjectMapper> mapper : mappers.entrySet()) {
+			readers.put(mapper.getKey(), mapper.getValue().readerFor(payloadType));
+		}
+		return readers;
+	}
+
+	/**
+	 * 형식별 ObjectMapper 를 반환한다.
+	 *
+	 * @param format 본문 형식
+	 * @return ObjectMapper
+	 */
+	public ObjectMapper mapper(MessageFormat format) {
+		return mappers.get(format);
+	}
+
+	/**
+	 * 본문을 단건 메시지 또는 배치 봉투로 디코딩한다.
+	 *
+	 * 단건 payload 의 역직렬화 오류는 그대로 던진다 (메시지 전체 재시도/DLQ).
+	 * 배치 payloads 의 레코드 매핑 오류는 해당 레코드만 실패로 기록하고 다음 레코드로 넘어간다.
+	 * 구문 오류(JsonParseException)는 이후 위치를 신뢰할 수 없으므로 봉투 전체 오류로 던진다.
+	 *
+	 * @param format 본문 형식
+	 * @param dataType 데이터 타입
+	 * @param body 본문 (압축 해제 후)
+	 * @param <T> 페이로드 타입
+	 * @return 디코딩 결과
+	 * @throws IOException 구문 오류 또는 단건 역직렬화 실패 시
+	 */
+	public <T> MarketDataEnvelope<T> readEnvelope(MessageFormat format, MarketDataType dataType, byte[] body)
+		throws IOException {
+		return readEnvelope(format, payloadReaders.get(format).get(dataType), body);
+	}
+
+	/**
+	 * 지정한 페이로드 ObjectReader 로 단건 메시지 또는 배치 봉투를 디코딩한다.
+	 * 오류 처리 규칙은 {@link #readEnvelope(MessageFormat, MarketDataType, byte[])} 와 같다.
+	 *
+	 * @param format 본문 형식
+	 * @param payloadReader format 으로 만든 페이로드 ObjectReader
+	 * @param body 본문 (압축 해제 후)
+	 * @param <T> 페이로드 타입
+	 * @return 디코딩 결과
+	 * @throws IOException 구문 오류 또는 단건 역직렬화 실패 시
+	 */
+	public <T> MarketDataEnvelope<T> readEnvelope(MessageFormat format, ObjectReader payloadReader, byte[] body)
+		throws IOException {
+		ObjectReader metadataReader = metadataReaders.get(format);
+		try (JsonParser parser = mappers.get(format).getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw JsonMappingException.from(parser, "메시지 본문은 객체여야 한다");
+			}
+			Metadata metadata = null;
+			List<T> payloads = null;
+			Map<Integer, Exception> failures = Collections.emptyMap();
+			boolean batch = false;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("metadata".equals(field)) {
+					metadata = value == JsonToken.VALUE_NULL ? null : metadataReader.readValue(parser);
+				} else if ("payload".equals(field) && !batch) {
+					T payload = value == JsonToken.VALUE_NULL ? null : payloadReader.readValue(parser);
+					payloads = Collections.singletonList(payload);
+				} else if ("payloads".equals(field) && value == JsonToken.START_ARRAY) {
+					batch = true;
+					payloads = new ArrayList<>();
+					failures = readRecords(parser, payloadReader, payloads);
+				} else {
+					parser.skipChildren();
+				}
+			}
+			return new MarketDataEnvelope<>(
+				metadata,
+				payloads == null ? Collections.singletonList(null) : payloads,
+				failures,
+				batch
+			);
+		}
+	}
+
+	private <T> Map<Integer, Exception> readRecords(JsonParser parser, ObjectReader payloadReader, List<T> payloads)
+		throws IOException {
+		Map<Integer, Exception> failures = Collections.emptyMap();
+		JsonStreamContext arrayContext = parser.getParsingContext();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			int index = payloads.size();
+			try {
+				payloads.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : payloadReader.readValue(parser));
+			} catch (JsonMappingException ex) {
+				if (failures.isEmpty()) {
+					failures = new LinkedHashMap<>();
+				}
+				failures.put(index, ex);
+				payloads.add(null);
+				skipToContext(parser, arrayContext, ex);
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * 레코드 매핑 실패 후 파서를 배열 컨텍스트(다음 레코드 직전)로 되돌린다.
+	 */
+	private static void skipToContext(JsonParser parser, JsonStreamContext arrayContext, JsonMappingException cause)
+		throws IOException {
+		while (parser.getParsingContext() != arrayContext) {
+			if (parser.nextToken() == null) {
+				throw cause;
+			}
+		}
+	}
+
+	/**
+	 * 배치 봉투에서 레코드 하나를 단건 메시지 본문으로 추출한다.
+	 * 원본 토큰을 그대로 복사하므로 역직렬화에 실패한 레코드도 DLQ 에 원형 그대로 남는다.
+	 *
+	 * @param format 본문 형식 (추출 결과도 같은 형식)
+	 * @param body 배치 봉투 본문 (압축 해제 후)
+	 * @param index 레코드 인덱스
+	 * @return metadata 와 payload 로 구성된 단건 메시지 본문
+	 * @throws IOException 본문 구문 오류 시
+	 */
+	public byte[] extractRecord(MessageFormat format, byte[] body, int index) throws IOException {
+		JsonFactory factory = mappers.get(format).getFactory();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (JsonParser parser = factory.createParser(body);
+			JsonGenerator generator = factory.createGenerator(output)) {
+			parser.nextToken();
+			generator.writeStartObject();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("metadata".equals(field)) {
+					generator.writeFieldName("metadata");
+					generator.copyCurrentStructure(parser);
+				} else if ("payloads".equals(field) && value == JsonToken.START_ARRAY) {
+					int position = 0;
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						if (position++ == index) {
+							generator.writeFieldName("payload");
+							generator.copyCurrentStructure(parser);
+						} else {
+							parser.skipChildren();
+						}
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+			generator.writeEndObject();
+		}
+		return output.toByteArray();
+	}
+}
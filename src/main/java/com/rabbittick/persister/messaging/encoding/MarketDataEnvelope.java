@@ -0,0 +1,26 @@
+package com.rabbittick.persister.messaging.encoding;
+
+import java.util.List;
+import java.util.Map;
+
+import com.rabbittick.persister.global.dto.Metadata;
+
+/**
+ * 스트리밍으로 디코딩한 단건 메시지 또는 배치 봉투.
+ *
+ * 배치 봉투에서 역직렬화에 실패한 레코드는 payloads 에 null 로 자리를 남기고
+ * 원인을 failures 에 인덱스별로 기록한다. 나머지 레코드는 정상 처리된다.
+ *
+ * @param metadata 메타데이터 (없으면 null)
+ * @param payloads 페이로드 목록 (단건이면 1개)
+ * @param failures 역직렬화에 실패한 레코드 인덱스별 원인
+ * @param batch payloads 배열로 들어온 배치 봉투 여부
+ * @param <T> 페이로드 타입
+ */
+public record MarketDataEnvelope<T>(
+	Metadata metadata,
+	List<T> payloads,
+	Map<Integer, Exception> failures,
+	boolean batch
+) {
+}
@@ -0,0 +1,101 @@
+package com.rabbittick.persister.messaging.encoding;
+
+import java.util.Locale;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * AMQP contentType 으로 구분하는 메시지 본문 직렬화 형식.
+ *
+ * 주요 책임:
+ *
+ * contentType(파라미터 제외, 대소문자 무시)으로 형식 판별
+ * 형식별 Jackson JsonFactory 생성
+ *
+ * 알 수 없는 contentType(미지정, application/octet-stream 포함)은 JSON 으로 처리한다.
+ * 수집기가 contentType 없이 JSON 을 보내던 기존 동작을 유지하기 위해서다.
+ */
+public enum MessageFormat {
+
+	JSON("json", "application/json"),
+	SMILE("smile", "application/x-jackson-smile"),
+	CBOR("cbor", "application/cbor"),
+	MSGPACK("msgpack", "application/msgpack", "application/x-msgpack", "application/vnd.msgpack");
+
+	private final String tag;
+	private final String[] contentTypes;
+
+	MessageFormat(String tag, String... contentTypes) {
+		this.tag = tag;
+		this.contentTypes = contentTypes;
+	}
+
+	/**
+	 * 메트릭 태그 값을 반환한다.
+	 *
+	 * @return 형식 태그
+	 */
+	public String tag() {
+		return tag;
+	}
+
+	/**
+	 * 발행 시 사용할 대표 contentType 을 반환한다.
+	 *
+	 * @return contentType
+	 */
+	public String contentType() {
+		return contentTypes[0];
+	}
+
+	/**
+	 * contentType 으로 형식을 찾는다.
+	 *
+	 * @param contentType AMQP contentType (nullable, 파라미터 포함 가능)
+	 * @return 본문 형식 (알 수 없으면 JSON)
+	 */
+	public static MessageFormat fromContentType(String contentType) {
+		if (contentType == null) {
+			return JSON;
+		}
+		int parameters = contentType.indexOf(';');
+		String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim();
+		for (MessageFormat format : values()) {
+			for (String candidate : format.contentTypes) {
+				if (candidate.equalsIgnoreCase(mediaType)) {
+					return format;
+				}
+			}
+		}
+		return JSON;
+	}
+
+	/**
+	 * 형식 이름(json, smile, cbor, msgpack)으로 형식을 찾는다.
+	 *
+	 * @param name 형식 이름
+	 * @return 본문 형식
+	 * @throws IllegalArgumentException 알 수 없는 이름인 경우
+	 */
+	public static MessageFormat of(String name) {
+		return valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * 형식에 맞는 JsonFactory 를 생성한다.
+	 *
+	 * @return 새 JsonFactory
+	 */
+	public JsonFactory newFactory() {
+		return switch (this) {
+			case JSON -> new JsonFactory();
+			case SMILE -> new SmileFactory();
+			case CBOR -> new CBORFactory();
+			case MSGPACK -> new MessagePackFactory();
+		};
+	}
+}
@@ -0,0 +1,25 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+/**
+ * 윈도우 동안의 마켓별 처리 통계.
+ *
+ * @param exchange 거래소 (other 버킷이면 "other")
+ * @param marketCode 마켓 코드 (other 버킷이면 "other")
+ * @param count 메시지 수 (Space-Saving 상한 추정치)
+ * @param error 추정 오차 (count - error 가 실제 빈도의 하한)
+ * @param ratePerSecond 초당 메시지 수
+ * @param avgPersistMs 평균 저장 지연 (ms)
+ * @param avgIngestLagMs 평균 수집 지연 (ms)
+ * @param maxIngestLagMs 최대 수집 지연 (ms)
+ */
+public record HotMarketStat(
+	String exchange,
+	String marketCode,
+	long count,
+	long error,
+	double ratePerSecond,
+	double avgPersistMs,
+	double avgIngestLagMs,
+	long maxIngestLagMs
+) {
+}
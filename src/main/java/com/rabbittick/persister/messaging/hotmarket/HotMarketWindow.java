@@ -0,0 +1,20 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 한 집계 윈도우의 마켓 순위.
+ *
+ * @param windowStart 윈도우 시작 시각
+ * @param windowSeconds 윈도우 길이 (초, 진행 중인 윈도우는 경과 시간)
+ * @param totalMessages 윈도우 전체 메시지 수 (정확값)
+ * @param ranking count 내림차순 마켓 통계
+ */
+public record HotMarketWindow(
+	Instant windowStart,
+	double windowSeconds,
+	long totalMessages,
+	List<HotMarketStat> ranking
+) {
+}
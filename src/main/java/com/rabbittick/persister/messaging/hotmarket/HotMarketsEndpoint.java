@@ -0,0 +1,42 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 마켓별 처리 순위를 조회하는 actuator 엔드포인트 (/actuator/hotmarkets).
+ *
+ * 게이지는 상위 K 개만 노출하므로, 전체 순위는 이 엔드포인트로 확인한다.
+ */
+@Component
+@Endpoint(id = "hotmarkets")
+@RequiredArgsConstructor
+public class HotMarketsEndpoint {
+
+	private final MarketHeavyHitterTracker marketHeavyHitterTracker;
+
+	/**
+	 * 직전 윈도우와 진행 중 윈도우의 순위를 반환한다.
+	 *
+	 * @return 마켓 순위 보고서
+	 */
+	@ReadOperation
+	public HotMarketsReport hotMarkets() {
+		return new HotMarketsReport(
+			marketHeavyHitterTracker.lastWindow(),
+			marketHeavyHitterTracker.currentWindow()
+		);
+	}
+
+	/**
+	 * 마켓 순위 보고서.
+	 *
+	 * @param lastWindow 직전에 닫힌 윈도우
+	 * @param currentWindow 진행 중인 윈도우
+	 */
+	public record HotMarketsReport(HotMarketWindow lastWindow, HotMarketWindow currentWindow) {
+	}
+}
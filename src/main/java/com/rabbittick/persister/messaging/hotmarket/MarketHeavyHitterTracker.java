@@ -0,0 +1,266 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * 마켓별 처리량·저장 지연·수집 지연을 카디널리티 제한 하에 추적하는 트래커.
+ *
+ * 주요 책임:
+ *
+ * 고정 길이 윈도우마다 Space-Saving 스케치로 빈도 상위 마켓 추적
+ * 직전 윈도우 기준 상위 K 개 마켓과 나머지(other) 합계를 게이지로 노출
+ * 전체 순위는 hotmarkets actuator 엔드포인트로 제공
+ *
+ * Prometheus 시계열 수는 지표당 최대 K+1 개로 고정된다.
+ *
+ * 마켓 키 해시로 나눈 스트라이프마다 스케치와 잠금을 따로 두어, 서로 다른 마켓을 처리하는
+ * 리스너·writer 스레드가 한 모니터에서 줄 서지 않게 한다. 같은 마켓은 항상 같은 스트라이프에 기록되므로
+ * 윈도우를 닫을 때 스트라이프 결과를 그대로 합치고 count 상위 capacity 개만 남긴다.
+ */
+@Component
+public class MarketHeavyHitterTracker {
+
+	static final String OTHER = "other";
+	private static final String METRIC_RATE = "market_data.hot_market.rate";
+	private static final String METRIC_PERSIST = "market_data.hot_market.persist.latency";
+	private static final String METRIC_INGEST_LAG = "market_data.hot_market.ingest.lag";
+
+	private static final int MAX_STRIPES = 64;
+
+	private final int topK;
+	private final int capacity;
+	private final MultiGauge rateGauge;
+	private final MultiGauge persistGauge;
+	private final MultiGauge ingestLagGauge;
+	private final Stripe[] stripes;
+	private volatile Instant currentStart;
+	private volatile HotMarketWindow lastWindow;
+
+	/**
+	 * MarketHeavyHitterTracker 생성자.
+	 *
+	 * @param topK 게이지로 노출할 상위 마켓 수
+	 * @param capacity 스트라이프당 스케치 카운터 수이자 순위에 남기는 마켓 수 (topK 이상, 클수록 정확)
+	 * @param meterRegistry 메트릭 레지스트리
+	 */
+	public MarketHeavyHitterTracker(
+		@Value("${app.metrics.hot-markets.top-k:10}") int topK,
+		@Value("${app.metrics.hot-markets.capacity:128}") int capacity,
+		MeterRegistry meterRegistry
+	) {
+		if (topK <= 0 || capacity < topK) {
+			throw new IllegalArgumentException("top-k는 양수이고 capacity 이하여야 한다");
+		}
+		this.topK = topK;
+		this.capacity = capacity;
+		int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe(new SpaceSavingSketch(capacity));
+		}
+		this.currentStart = Instant.now();
+		this.lastWindow = new HotMarketWindow(currentStart, 0, 0, List.of());
+		this.rateGauge = MultiGauge.builder(METRIC_RATE)
+			.description("Messages per second of the top markets in the last window")
+			.baseUnit("messages")
+			.register(meterRegistry);
+		this.persistGauge = MultiGauge.builder(METRIC_PERSIST)
+			.description("Average persist latency of the top markets in the last window")
+			.baseUnit("milliseconds")
+			.register(meterRegistry);
+		this.ingestLagGauge = MultiGauge.builder(METRIC_INGEST_LAG)
+			.description("Average ingest lag of the top markets in the last window")
+			.baseUnit("milliseconds")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 처리된 메시지 1건을 기록한다.
+	 *
+	 * @param key 마켓 키
+	 * @param persistNanos 저장 소요 시간 (측정하지 못했으면 음수)
+	 * @param ingestLagMs 수집 지연 (없으면 null)
+	 */
+	public void record(MarketKey key, long persistNanos, Long ingestLagMs) {
+		long lag = ingestLagMs == null ? -1 : ingestLagMs;
+		int hash = key.hashCode();
+		Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+		synchronized (stripe) {
+			stripe.sketch.offer(key, persistNanos, lag);
+		}
+	}
+
+	/**
+	 * 윈도우를 닫고 게이지를 직전 윈도우 값으로 갱신한다.
+	 */
+	@Scheduled(
+		fixedRateString = "${app.metrics.hot-markets.window-seconds:60}",
+		initialDelayString = "${app.metrics.hot-markets.window-seconds:60}",
+		timeUnit = TimeUnit.SECONDS
+	)
+	public void rollWindow() {
+		Instant now = Instant.now();
+		Instant closedStart = currentStart;
+		currentStart = now;
+		SpaceSavingSketch[] closedSketches = new SpaceSavingSketch[stripes.length];
+		for (int i = 0; i < stripes.length; i++) {
+			Stripe stripe = stripes[i];
+			SpaceSavingSketch fresh = new SpaceSavingSketch(capacity);
+			synchronized (stripe) {
+				closedSketches[i] = stripe.sketch;
+				stripe.sketch = fresh;
+			}
+		}
+		Merged closed = merge(closedSketches);
+		HotMarketWindow window = summarize(closed, closedStart, now);
+		lastWindow = window;
+		publish(closed, window);
+	}
+
+	/**
+	 * 직전에 닫힌 윈도우의 전체 순위를 반환한다.
+	 *
+	 * @return 직전 윈도우
+	 */
+	public HotMarketWindow lastWindow() {
+		return lastWindow;
+	}
+
+	/**
+	 * 진행 중인 윈도우의 현재까지 순위를 반환한다.
+	 *
+	 * @return 진행 중 윈도우
+	 */
+	public HotMarketWindow currentWindow() {
+		Instant start = currentStart;
+		Merged merged = new Merged();
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				merged.add(stripe.sketch);
+			}
+		}
+		return summarize(merged.finish(capacity), start, Instant.now());
+	}
+
+	private Merged merge(SpaceSavingSketch[] sketches) {
+		Merged merged = new Merged();
+		for (SpaceSavingSketch sketch : sketches) {
+			merged.add(sketch);
+		}
+		return merged.finish(capacity);
+	}
+
+	private HotMarketWindow summarize(Merged sketch, Instant start, Instant end) {
+		double seconds = Math.max(Duration.between(start, end).toMillis() / 1000.0, 0.001);
+		List<HotMarketStat> ranking = new ArrayList<>();
+		for (SpaceSavingSketch.Entry entry : sketch.ranking) {
+			ranking.add(new HotMarketStat(
+				entry.key.exchange(),
+				entry.key.marketCode(),
+				entry.count,
+				entry.error,
+				entry.count / seconds,
+				average(entry.persistNanos / 1e6, entry.persistCount),
+				average(entry.ingestLagMs, entry.ingestLagCount),
+				entry.maxIngestLagMs
+			));
+		}
+		return new HotMarketWindow(start, seconds, sketch.totalCount, List.copyOf(ranking));
+	}
+
+	/**
+	 * 상위 K 개와 other 버킷을 게이지에 반영한다.
+	 * other 는 정확한 전체 합계에서 상위 K 의 합을 뺀 값이다.
+	 */
+	private void publish(Merged sketch, HotMarketWindow window) {
+		List<MultiGauge.Row<?>> rates = new ArrayList<>();
+		List<MultiGauge.Row<?>> persists = new ArrayList<>();
+		List<MultiGauge.Row<?>> lags = new ArrayList<>();
+		List<SpaceSavingSketch.Entry> entries = sketch.ranking;
+		long topCount = 0;
+		double topPersistNanos = 0;
+		long topPersistCount = 0;
+		double topLagMs = 0;
+		long topLagCount = 0;
+		for (int i = 0; i < Math.min(topK, entries.size()); i++) {
+			SpaceSavingSketch.Entry entry = entries.get(i);
+			Tags tags = Tags.of("exchange", entry.key.exchange(), "market", entry.key.marketCode());
+			rates.add(MultiGauge.Row.of(tags, entry.count / window.windowSeconds()));
+			persists.add(MultiGauge.Row.of(tags, average(entry.persistNanos / 1e6, entry.persistCount)));
+			lags.add(MultiGauge.Row.of(tags, average(entry.ingestLagMs, entry.ingestLagCount)));
+			topCount += entry.count;
+			topPersistNanos += entry.persistNanos;
+			topPersistCount += entry.persistCount;
+			topLagMs += entry.ingestLagMs;
+			topLagCount += entry.ingestLagCount;
+		}
+		Tags other = Tags.of("exchange", OTHER, "market", OTHER);
+		rates.add(MultiGauge.Row.of(other, Math.max(0, sketch.totalCount - topCount) / window.windowSeconds()));
+		persists.add(MultiGauge.Row.of(other, average(
+			(sketch.totalPersistNanos - topPersistNanos) / 1e6, sketch.totalPersistCount - topPersistCount)));
+		lags.add(MultiGauge.Row.of(other, average(
+			sketch.totalIngestLagMs - topLagMs, sketch.totalIngestLagCount - topLagCount)));
+		rateGauge.register(rates, true);
+		persistGauge.register(persists, true);
+		ingestLagGauge.register(lags, true);
+	}
+
+	private static double average(double sum, long count) {
+		return count <= 0 ? 0 : Math.max(0, sum) / count;
+	}
+
+	/**
+	 * 스케치와 그 잠금 단위.
+	 */
+	private static final class Stripe {
+		private SpaceSavingSketch sketch;
+
+		private Stripe(SpaceSavingSketch sketch) {
+			this.sketch = sketch;
+		}
+	}
+
+	/**
+	 * 스트라이프 스케치를 합친 결과. 스트라이프끼리 마켓이 겹치지 않으므로 순위는 이어 붙인 뒤 정렬한다.
+	 */
+	private static final class Merged {
+		private List<SpaceSavingSketch.Entry> ranking = new ArrayList<>();
+		private long totalCount;
+		private long totalPersistNanos;
+		private long totalPersistCount;
+		private long totalIngestLagMs;
+		private long totalIngestLagCount;
+
+		private void add(SpaceSavingSketch sketch) {
+			ranking.addAll(sketch.ranking());
+			totalCount += sketch.totalCount();
+			totalPersistNanos += sketch.totalPersistNanos();
+			totalPersistCount += sketch.totalPersistCount();
+			totalIngestLagMs += sketch.totalIngestLagMs();
+			totalIngestLagCount += sketch.totalIngestLagCount();
+		}
+
+		private Merged finish(int capacity) {
+			ranking.sort(Comparator.comparingLong((SpaceSavingSketch.Entry entry) -> entry.count).reversed());
+			if (ranking.size() > capacity) {
+				ranking = new ArrayList<>(ranking.subList(0, capacity));
+			}
+			return this;
+		}
+	}
+}
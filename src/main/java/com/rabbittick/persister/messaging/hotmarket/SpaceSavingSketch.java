@@ -0,0 +1,194 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+
+/**
+ * 고정 개수 카운터로 빈도 상위 마켓을 근사 추적하는 Space-Saving 스케치.
+ *
+ * 주요 책임:
+ *
+ * 마켓별 메시지 수·저장 지연 합·수집 지연 합 누적
+ * 카운터가 가득 차면 최소 카운터를 새 마켓에 넘겨주고 그 값을 오차(error)로 기록
+ * 전체 합계는 정확히 누적 (상위 K 외 other 계산용)
+ *
+ * count - error 는 실제 빈도의 하한, count 는 상한이다.
+ * 카운터는 count 기준 최소 힙으로도 유지하므로 최소 카운터 교체와 증가가 O(log capacity) 이다.
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+final class SpaceSavingSketch {
+
+	private final int capacity;
+	private final Map<MarketKey, Entry> entries;
+	private final Entry[] heap;
+	private long totalCount;
+	private long totalPersistNanos;
+	private long totalPersistCount;
+	private long totalIngestLagMs;
+	private long totalIngestLagCount;
+
+	SpaceSavingSketch(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity는 양수여야 한다");
+		}
+		this.capacity = capacity;
+		this.entries = new HashMap<>(capacity * 2);
+		this.heap = new Entry[capacity];
+	}
+
+	/**
+	 * 메시지 1건을 기록한다.
+	 *
+	 * @param key 마켓 키
+	 * @param persistNanos 저장 소요 시간 (없으면 음수)
+	 * @param ingestLagMs 수집 지연 (없으면 음수)
+	 */
+	void offer(MarketKey key, long persistNanos, long ingestLagMs) {
+		totalCount++;
+		if (persistNanos >= 0) {
+			totalPersistNanos += persistNanos;
+			totalPersistCount++;
+		}
+		if (ingestLagMs >= 0) {
+			totalIngestLagMs += ingestLagMs;
+			totalIngestLagCount++;
+		}
+
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			int size = entries.size();
+			if (size < capacity) {
+				entry = new Entry(key, 0);
+				entry.heapIndex = size;
+			} else {
+				Entry min = heap[0];
+				entries.remove(min.key);
+				entry = new Entry(key, min.count);
+				entry.heapIndex = 0;
+			}
+			heap[entry.heapIndex] = entry;
+			entries.put(key, entry);
+			siftUp(entry.heapIndex);
+		}
+		entry.count++;
+		siftDown(entry.heapIndex);
+		if (persistNanos >= 0) {
+			entry.persistNanos += persistNanos;
+			entry.persistCount++;
+		}
+		if (ingestLagMs >= 0) {
+			entry.ingestLagMs += ingestLagMs;
+			entry.ingestLagCount++;
+			entry.maxIngestLagMs = Math.max(entry.maxIngestLagMs, ingestLagMs);
+		}
+	}
+
+	private void siftUp(int index) {
+		Entry entry = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (heap[parent].count <= entry.count) {
+				break;
+			}
+			place(heap[parent], index);
+			index = parent;
+		}
+		place(entry, index);
+	}
+
+	private void siftDown(int index) {
+		Entry entry = heap[index];
+		int size = entries.size();
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+				child++;
+			}
+			if (entry.count <= heap[child].count) {
+				break;
+			}
+			place(heap[child], index);
+			index = child;
+		}
+		place(entry, index);
+	}
+
+	private void place(Entry entry, int index) {
+		heap[index] = entry;
+		entry.heapIndex = index;
+	}
+
+	/**
+	 * 추적 중인 마켓을 count 내림차순으로 반환한다.
+	 *
+	 * @return 순위 목록 (복사본)
+	 */
+	List<Entry> ranking() {
+		List<Entry> ranking = new ArrayList<>(entries.size());
+		for (Entry entry : entries.values()) {
+			ranking.add(entry.copy());
+		}
+		ranking.sort(Comparator.comparingLong((Entry entry) -> entry.count).reversed());
+		return ranking;
+	}
+
+	long totalCount() {
+		return totalCount;
+	}
+
+	long totalPersistNanos() {
+		return totalPersistNanos;
+	}
+
+	long totalPersistCount() {
+		return totalPersistCount;
+	}
+
+	long totalIngestLagMs() {
+		return totalIngestLagMs;
+	}
+
+	long totalIngestLagCount() {
+		return totalIngestLagCount;
+	}
+
+	/**
+	 * 마켓별 카운터.
+	 */
+	static final class Entry {
+		final MarketKey key;
+		final long error;
+		long count;
+		long persistNanos;
+		long persistCount;
+		long ingestLagMs;
+		long ingestLagCount;
+		long maxIngestLagMs;
+		private int heapIndex;
+
+		Entry(MarketKey key, long error) {
+			this.key = key;
+			this.error = error;
+			this.count = error;
+		}
+
+		private Entry copy() {
+			Entry copy = new Entry(key, error);
+			copy.count = count;
+			copy.persistNanos = persistNanos;
+			copy.persistCount = persistCount;
+			copy.ingestLagMs = ingestLagMs;
+			copy.ingestLagCount = ingestLagCount;
+			copy.maxIngestLagMs = maxIngestLagMs;
+			return copy;
+		}
+	}
+}
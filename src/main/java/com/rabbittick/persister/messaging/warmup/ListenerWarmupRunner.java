@@ -0,0 +1,272 @@
+package com.rabbittick.persister.messaging.warmup;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.domain.market.RowFormat;
+import com.rabbittick.persister.domain.orderbook.OrderBookMapper;
+import com.rabbittick.persister.domain.orderbook.OrderBookService;
+import com.rabbittick.persister.domain.ticker.TickerMapper;
+import com.rabbittick.persister.domain.ticker.TickerService;
+import com.rabbittick.persister.domain.trade.TradeMapper;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.global.jdbc.JdbcPhaseContext;
+import com.rabbittick.persister.messaging.AcknowledgingRepublishMessageRecoverer;
+import com.rabbittick.persister.messaging.AsyncPersistenceWriter;
+import com.rabbittick.persister.messaging.MarketDataConsumer;
+import com.rabbittick.persister.messaging.MessageResourceSampler;
+import com.rabbittick.persister.messaging.hotmarket.MarketHeavyHitterTracker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 리스너 컨테이너를 열기 전에 디코드·매핑·저장 경로를 JIT 컴파일시키는 워밍업 러너.
+ *
+ * 주요 책임:
+ *
+ * 합성 메시지를 MarketDataConsumer 의 수신 경로에 배치 단위로 흘려보냄
+ * 배치마다 JIT 누적 컴파일 시간 증가량을 확인해 연속 N 배치 동안 기준 이하면 안정화로 판단
+ * 안정화(또는 최대 시간 도달) 후 리스너 컨테이너 시작
+ *
+ * 워밍업용 소비자는 별도 인스턴스로 만들어 운영 메트릭·마켓 통계에 섞이지 않게 하고,
+ * 채널은 브로커 없는 스텁을 쓴다. 저장은 dry-run writer 로 수행한다:
+ * rollback-writes=true 면 실제 서비스를 항상 롤백되는 트랜잭션 안에서 호출해 Hibernate/JDBC 경로까지 데우고,
+ * false 면 매퍼 변환까지만 수행한다.
+ * row-format=v2 면 티커·체결 저장이 마켓 사전(MarketDictionary)에 WARMUP 마켓을 등록하게 되므로,
+ * 두 데이터 타입은 rollback-writes 와 무관하게 compact 매퍼 변환까지만 수행한다.
+ *
+ * 리스너 자동 시작을 끈(app.rabbitmq.auto-startup=false) prod 프로필에서 사용한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class ListenerWarmupRunner implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(ListenerWarmupRunner.class);
+	private static final String JDBC_DATA_TYPE = "warmup";
+	private static final short WARMUP_MARKET_ID = 0;
+
+	private final RabbitListenerEndpointRegistry listenerEndpointRegistry;
+	private final MeterRegistry meterRegistry;
+	private final MarketDataConsumer warmupConsumer;
+	private final WarmupMessageFactory messageFactory;
+	private final int batchSize;
+	private final long settleMillis;
+	private final int stableBatches;
+	private final long maxNanos;
+	private final TransactionTemplate rollbackOnly;
+	private volatile boolean writesFailed;
+
+	/**
+	 * ListenerWarmupRunner 생성자.
+	 *
+	 * @param objectMapper JSON 변환기
+	 * @param tickerService 티커 저장 서비스
+	 * @param tradeService 거래 체결 저장 서비스
+	 * @param orderBookService 호가 저장 서비스
+	 * @param tickerMapper 티커 매퍼
+	 * @param tradeMapper 거래 체결 매퍼
+	 * @param orderBookMapper 호가 매퍼
+	 * @param rowFormat 저장 행 형식
+	 * @param transactionManager 롤백 전용 트랜잭션 관리자
+	 * @param messageRetryPolicy 재시도 정책 빈
+	 * @param messageRetryClassifier 재시도 대상 예외 분류기 빈
+	 * @param dlqMessageRecoverer DLQ recoverer (워밍업 소비자에서는 사용되지 않음)
+	 * @param listenerEndpointRegistry 리스너 컨테이너 레지스트리
+	 * @param meterRegistry 메트릭 레지스트리 (워밍업 결과 기록용)
+	 * @param rollbackWrites 실제 서비스를 롤백 트랜잭션으로 호출할지 여부
+	 * @param batchSize 컴파일 시간 확인 간격 (메시지 수)
+	 * @param settleMillis 배치당 컴파일 시간 증가량 기준 (ms)
+	 * @param stableBatches 기준 이하가 연속되어야 하는 배치 수
+	 * @param maxSeconds 워밍업 최대 시간 (초)
+	 */
+	public ListenerWarmupRunner(
+		ObjectMapper objectMapper,
+		TickerService tickerService,
+		TradeService tradeService,
+		OrderBookService orderBookService,
+		TickerMapper tickerMapper,
+		TradeMapper tradeMapper,
+		OrderBookMapper orderBookMapper,
+		RowFormat rowFormat,
+		PlatformTransactionManager transactionManager,
+		SimpleRetryPolicy messageRetryPolicy,
+		BinaryExceptionClassifier messageRetryClassifier,
+		AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer,
+		RabbitListenerEndpointRegistry listenerEndpointRegistry,
+		MeterRegistry meterRegistry,
+		@Value("${app.warmup.rollback-writes:true}") boolean rollbackWrites,
+		@Value("${app.warmup.batch-size:2000}") int batchSize,
+		@Value("${app.warmup.settle-millis:5}") long settleMillis,
+		@Value("${app.warmup.stable-batches:3}") int stableBatches,
+		@Value("${app.warmup.max-seconds:30}") int maxSeconds
+	) {
+		if (batchSize < 1 || stableBatches < 1 || maxSeconds < 1) {
+			throw new IllegalArgumentException("app.warmup.batch-size, stable-batches, max-seconds는 1 이상이어야 한다");
+		}
+		this.listenerEndpointRegistry = listenerEndpointRegistry;
+		this.meterRegistry = meterRegistry;
+		this.messageFactory = new WarmupMessageFactory(objectMapper);
+		this.batchSize = batchSize;
+		this.settleMillis = settleMillis;
+		this.stableBatches = stableBatches;
+		this.maxNanos = TimeUnit.SECONDS.toNanos(maxSeconds);
+
+		this.rollbackOnly = rollbackWrites ? new TransactionTemplate(transactionManager) : null;
+		SimpleMeterRegistry scratchRegistry = new SimpleMeterRegistry();
+		boolean compactRows = rowFormat == RowFormat.V2;
+		this.warmupConsumer = MarketDataConsumer.builder()
+			.objectMapper(objectMapper)
+			.tickerService(message -> {
+				if (compactRows) {
+					tickerMapper.toCompactEntity(tickerMapper.toEntity(message), WARMUP_MARKET_ID);
+				} else {
+					dryRun(() -> tickerService.saveTicker(message), () -> tickerMapper.toEntity(message));
+				}
+			})
+			.tradeService(message -> {
+				if (compactRows) {
+					tradeMapper.toCompactEntity(message, WARMUP_MARKET_ID);
+				} else {
+					dryRun(() -> tradeService.saveTrade(message), () -> tradeMapper.toEntity(message));
+				}
+			})
+			.orderBookService(message -> dryRun(() -> orderBookService.saveOrderBook(message),
+				() -> orderBookMapper.toEntity(message)))
+			.meterRegistry(scratchRegistry)
+			.asyncPersistenceWriter(new AsyncPersistenceWriter(false, 1, 1, messageRetryPolicy, dlqMessageRecoverer))
+			.marketHeavyHitterTracker(new MarketHeavyHitterTracker(1, 1, scratchRegistry))
+			.messageResourceSampler(new MessageResourceSampler(false, 0, scratchRegistry))
+			.messageRetryClassifier(messageRetryClassifier)
+			.build();
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+		boolean monitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+		Channel channel = stubChannel();
+		long startedAt = System.nanoTime();
+		long lastCompilationMillis = monitored ? compilation.getTotalCompilationTime() : 0;
+		int stable = 0;
+		long messages = 0;
+		while (stable < stableBatches && System.nanoTime() - startedAt < maxNanos) {
+			for (int i = 0; i < batchSize; i++) {
+				warmupConsumer.handleMarketDataMessage(messageFactory.next(), channel);
+			}
+			messages += batchSize;
+			if (!monitored) {
+				stable++;
+				continue;
+			}
+			long compilationMillis = compilation.getTotalCompilationTime();
+			stable = compilationMillis - lastCompilationMillis <= settleMillis ? stable + 1 : 0;
+			lastCompilationMillis = compilationMillis;
+		}
+		long elapsedNanos = System.nanoTime() - startedAt;
+		Timer.builder("market_data.warmup.duration")
+			.description("JIT warm-up time before listener containers start")
+			.tag("settled", String.valueOf(stable >= stableBatches))
+			.register(meterRegistry)
+			.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		log.info("JIT 워밍업을 마쳤습니다. messages={}, elapsed={}ms, settled={}, jitTotal={}ms",
+			messages, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), stable >= stableBatches,
+			monitored ? lastCompilationMillis : -1);
+
+		for (MessageListenerContainer container : listenerEndpointRegistry.getListenerContainers()) {
+			if (!container.isRunning()) {
+				container.start();
+			}
+		}
+		log.info("리스너 컨테이너를 시작했습니다. containers={}", listenerEndpointRegistry.getListenerContainers().size());
+	}
+
+	/**
+	 * 저장 작업을 커밋 없이 수행한다.
+	 * 롤백 저장이 한 번이라도 실패하면(DB 미기동 등) 이후에는 매퍼 변환까지만 수행한다.
+	 *
+	 * @param persist 실제 서비스 저장 호출
+	 * @param mapOnly 매퍼 변환만 수행하는 호출
+	 */
+	private void dryRun(Runnable persist, Runnable mapOnly) {
+		if (rollbackOnly == null || writesFailed) {
+			mapOnly.run();
+			return;
+		}
+		try {
+			JdbcPhaseContext.run(JDBC_DATA_TYPE, () -> rollbackOnly.executeWithoutResult(status -> {
+				status.setRollbackOnly();
+				persist.run();
+			}));
+		} catch (RuntimeException ex) {
+			writesFailed = true;
+			log.warn("워밍업 롤백 저장에 실패했습니다. 이후 워밍업은 매퍼 변환까지만 수행합니다.", ex);
+			mapOnly.run();
+		}
+	}
+
+	/**
+	 * Ack/Nack 을 포함한 모든 호출을 무시하는 채널.
+	 *
+	 * @return 스텁 채널
+	 */
+	private static Channel stubChannel() {
+		return (Channel) Proxy.newProxyInstance(
+			Channel.class.getClassLoader(),
+			new Class<?>[] { Channel.class },
+			(proxy, method, methodArgs) -> switch (method.getName()) {
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == methodArgs[0];
+				case "toString" -> "WarmupChannel";
+				case "isOpen" -> true;
+				default -> defaultValue(method.getReturnType());
+			});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive() || type == void.class) {
+			return null;
+		}
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == double.class) {
+			return 0d;
+		}
+		if (type == float.class) {
+			return 0f;
+		}
+		if (type == char.class) {
+			return '\0';
+		}
+		if (type == byte.class) {
+			return (byte) 0;
+		}
+		if (type == short.class) {
+			return (short) 0;
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,138 @@
+package com.rabbittick.persister.messaging.warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.global.dto.MarketDataMessage;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+/**
+ * JIT 워밍업용 ticker/trade/orderbook 합성 메시지 생성기.
+ *
+ * 실제 데이터와 UNIQUE 키가 겹치지 않도록 exchange 는 WARMUP 으로 고정하고,
+ * timestamp/sequentialId 는 호출마다 증가시킨다. 단일 스레드에서만 호출한다.
+ */
+class WarmupMessageFactory {
+
+	static final String EXCHANGE = "WARMUP";
+	private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
+	private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneOffset.UTC);
+	private static final String[] MARKETS = { "KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-SOL", "KRW-DOGE", "BTC-ETH" };
+	private static final int ORDERBOOK_DEPTH = 15;
+
+	private final ObjectMapper objectMapper;
+	private long sequence = System.currentTimeMillis();
+	private long deliveryTag;
+
+	WarmupMessageFactory(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 데이터 타입을 순환하며 다음 메시지를 만든다.
+	 *
+	 * @return 합성 AMQP 메시지
+	 */
+	Message next() {
+		long seq = ++sequence;
+		String market = MARKETS[(int) (seq % MARKETS.length)];
+		BigDecimal price = BigDecimal.valueOf(50_000 + seq % 100);
+		try {
+			return switch ((int) (seq % 3)) {
+				case 0 -> message("TICKER", ticker(market, price, seq));
+				case 1 -> message("TRADE", trade(market, price, seq));
+				default -> message("ORDERBOOK", orderBook(market, price, seq));
+			};
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private Message message(String dataType, Object payload) throws JsonProcessingException {
+		Metadata metadata = Metadata.builder()
+			.messageId(UUID.randomUUID().toString())
+			.exchange(EXCHANGE)
+			.dataType(dataType)
+			.collectedAt(Instant.now().toString())
+			.version("1.0")
+			.build();
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		properties.setDeliveryTag(++deliveryTag);
+		properties.setReceivedRoutingKey("warmup." + dataType.toLowerCase(Locale.ROOT));
+		return new Message(objectMapper.writeValueAsBytes(new MarketDataMessage<>(metadata, payload)), properties);
+	}
+
+	private TickerPayload ticker(String market, BigDecimal price, long seq) {
+		return TickerPayload.builder()
+			.marketCode(market)
+			.tradePrice(price)
+			.tradeVolume(new BigDecimal("0.12345678"))
+			.openingPrice(price)
+			.highPrice(price.add(BigDecimal.TEN))
+			.lowPrice(price.subtract(BigDecimal.TEN))
+			.prevClosingPrice(price)
+			.accTradePrice24h(new BigDecimal("123456789012.12345678"))
+			.accTradeVolume24h(new BigDecimal("1234.12345678"))
+			.timestamp(seq)
+			.build();
+	}
+
+	private TradePayload trade(String market, BigDecimal price, long seq) {
+		Instant instant = Instant.ofEpochMilli(seq);
+		return TradePayload.builder()
+			.marketCode(market)
+			.timestamp(seq)
+			.tradeDate(DATE.format(instant))
+			.tradeTime(TIME.format(instant))
+			.tradeTimestamp(seq)
+			.tradePrice(price)
+			.tradeVolume(new BigDecimal("0.01000000"))
+			.askBid(seq % 2 == 0 ? "ASK" : "BID")
+			.prevClosingPrice(price)
+			.change("EVEN")
+			.changePrice(BigDecimal.ZERO)
+			.sequentialId(seq)
+			.bestAskPrice(price.add(BigDecimal.ONE))
+			.bestAskSize(BigDecimal.ONE)
+			.bestBidPrice(price)
+			.bestBidSize(BigDecimal.ONE)
+			.streamType("REALTIME")
+			.build();
+	}
+
+	private OrderBookPayload orderBook(String market, BigDecimal price, long seq) {
+		List<OrderBookUnitPayload> units = new ArrayList<>(ORDERBOOK_DEPTH);
+		for (int level = 0; level < ORDERBOOK_DEPTH; level++) {
+			BigDecimal offset = BigDecimal.valueOf(level);
+			units.add(OrderBookUnitPayload.builder()
+				.askPrice(price.add(BigDecimal.ONE).add(offset))
+				.askSize(BigDecimal.ONE)
+				.bidPrice(price.subtract(offset))
+				.bidSize(BigDecimal.ONE)
+				.build());
+		}
+		return OrderBookPayload.builder()
+			.marketCode(market)
+			.timestamp(seq)
+			.totalAskSize(BigDecimal.valueOf(ORDERBOOK_DEPTH))
+			.totalBidSize(BigDecimal.valueOf(ORDERBOOK_DEPTH))
+			.orderbookUnits(units)
+			.build();
+	}
+}
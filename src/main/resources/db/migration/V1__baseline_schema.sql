@@ -0,0 +1,70 @@
+-- 기준 스키마: ddl-auto=update 가 만들던 ticker/trade/orderbook/orderbook_unit 테이블.
+-- 이미 테이블이 있는 DB 는 baseline-on-migrate 로 이 버전을 건너뛴다.
+-- 따라서 이 파일은 ddl-auto 로 만들어진 기존 스키마와 정확히 같아야 하며, 이후 추가분은 새 버전으로 둔다.
+
+CREATE TABLE ticker (
+    id                   BIGINT         NOT NULL AUTO_INCREMENT,
+    exchange             VARCHAR(20)    NOT NULL,
+    market_code          VARCHAR(20)    NOT NULL,
+    trade_price          DECIMAL(20, 8) NOT NULL,
+    trade_volume         DECIMAL(20, 8) NOT NULL,
+    opening_price        DECIMAL(20, 8) NOT NULL,
+    high_price           DECIMAL(20, 8) NOT NULL,
+    low_price            DECIMAL(20, 8) NOT NULL,
+    prev_closing_price   DECIMAL(20, 8) NOT NULL,
+    acc_trade_price_24h  DECIMAL(30, 8) NOT NULL,
+    acc_trade_volume_24h DECIMAL(20, 8) NOT NULL,
+    timestamp            BIGINT         NOT NULL,
+    created_at           DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ticker_unique UNIQUE (exchange, market_code, timestamp)
+) ENGINE = InnoDB;
+
+CREATE TABLE trade (
+    id                 BIGINT         NOT NULL AUTO_INCREMENT,
+    exchange           VARCHAR(20)    NOT NULL,
+    market_code        VARCHAR(20)    NOT NULL,
+    timestamp          BIGINT         NOT NULL,
+    trade_date         VARCHAR(10)    NOT NULL,
+    trade_time         VARCHAR(8)     NOT NULL,
+    trade_timestamp    BIGINT         NOT NULL,
+    trade_price        DECIMAL(20, 8) NOT NULL,
+    trade_volume       DECIMAL(20, 8) NOT NULL,
+    ask_bid            VARCHAR(10)    NOT NULL,
+    prev_closing_price DECIMAL(20, 8) NOT NULL,
+    `change`           VARCHAR(10)    NOT NULL,
+    change_price       DECIMAL(20, 8) NOT NULL,
+    sequential_id      BIGINT         NOT NULL,
+    best_ask_price     DECIMAL(20, 8) NOT NULL,
+    best_ask_size      DECIMAL(20, 8) NOT NULL,
+    best_bid_price     DECIMAL(20, 8) NOT NULL,
+    best_bid_size      DECIMAL(20, 8) NOT NULL,
+    stream_type        VARCHAR(20)    NOT NULL,
+    created_at         DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_trade_unique UNIQUE (exchange, market_code, sequential_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orderbook (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    exchange       VARCHAR(20)    NOT NULL,
+    market_code    VARCHAR(20)    NOT NULL,
+    timestamp      BIGINT         NOT NULL,
+    total_ask_size DECIMAL(20, 8) NOT NULL,
+    total_bid_size DECIMAL(20, 8) NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orderbook_unique UNIQUE (exchange, market_code, timestamp)
+) ENGINE = InnoDB;
+
+CREATE TABLE orderbook_unit (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    ask_price    DECIMAL(20, 8) NOT NULL,
+    ask_size     DECIMAL(20, 8) NOT NULL,
+    bid_price    DECIMAL(20, 8) NOT NULL,
+    bid_size     DECIMAL(20, 8) NOT NULL,
+    orderbook_id BIGINT,
+    unit_index   INT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orderbook_unit_orderbook FOREIGN KEY (orderbook_id) REFERENCES orderbook (id)
+) ENGINE = InnoDB;
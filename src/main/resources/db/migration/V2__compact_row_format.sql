@@ -0,0 +1,98 @@
+-- compact 행 형식(v2): app.persistence.row-format=v2 에서 trade_v2/ticker_v2 에 저장한다.
+--
+-- - exchange/market_code 문자열(VARCHAR(20) x2) → market_dictionary SMALLINT ID
+-- - ask_bid/change/stream_type VARCHAR → TINYINT 코드 (AskBid, PriceChange, StreamType enum 과 동일)
+-- - trade_date/trade_time 제거: trade_timestamp(UTC epoch ms)에서 계산
+-- - created_at 제거
+--
+-- 기존 컬럼 이름으로 읽는 조회는 *_v2_compat 뷰를 사용한다.
+-- 뷰의 created_at 은 저장 시각이 아니라 수집 timestamp 로 계산한 근사값이다.
+
+CREATE TABLE market_dictionary (
+    id          SMALLINT    NOT NULL AUTO_INCREMENT,
+    exchange    VARCHAR(20) NOT NULL,
+    market_code VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_market_dictionary UNIQUE (exchange, market_code)
+) ENGINE = InnoDB;
+
+CREATE TABLE trade_v2 (
+    id                 BIGINT         NOT NULL AUTO_INCREMENT,
+    market_id          SMALLINT       NOT NULL,
+    timestamp          BIGINT         NOT NULL,
+    trade_timestamp    BIGINT         NOT NULL,
+    trade_price        DECIMAL(20, 8) NOT NULL,
+    trade_volume       DECIMAL(20, 8) NOT NULL,
+    ask_bid            TINYINT        NOT NULL,
+    prev_closing_price DECIMAL(20, 8) NOT NULL,
+    `change`           TINYINT        NOT NULL,
+    change_price       DECIMAL(20, 8) NOT NULL,
+    sequential_id      BIGINT         NOT NULL,
+    best_ask_price     DECIMAL(20, 8) NOT NULL,
+    best_ask_size      DECIMAL(20, 8) NOT NULL,
+    best_bid_price     DECIMAL(20, 8) NOT NULL,
+    best_bid_size      DECIMAL(20, 8) NOT NULL,
+    stream_type        TINYINT        NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_trade_v2_unique UNIQUE (market_id, sequential_id),
+    INDEX idx_trade_v2_market_time (market_id, trade_timestamp, sequential_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE ticker_v2 (
+    id                   BIGINT         NOT NULL AUTO_INCREMENT,
+    market_id            SMALLINT       NOT NULL,
+    trade_price          DECIMAL(20, 8) NOT NULL,
+    trade_volume         DECIMAL(20, 8) NOT NULL,
+    opening_price        DECIMAL(20, 8) NOT NULL,
+    high_price           DECIMAL(20, 8) NOT NULL,
+    low_price            DECIMAL(20, 8) NOT NULL,
+    prev_closing_price   DECIMAL(20, 8) NOT NULL,
+    acc_trade_price_24h  DECIMAL(30, 8) NOT NULL,
+    acc_trade_volume_24h DECIMAL(20, 8) NOT NULL,
+    timestamp            BIGINT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ticker_v2_unique UNIQUE (market_id, timestamp)
+) ENGINE = InnoDB;
+
+CREATE ALGORITHM = MERGE VIEW trade_v2_compat AS
+SELECT t.id                                                                              AS id,
+       d.exchange                                                                        AS exchange,
+       d.market_code                                                                     AS market_code,
+       t.timestamp                                                                       AS timestamp,
+       DATE_FORMAT(CONVERT_TZ(FROM_UNIXTIME(t.trade_timestamp DIV 1000), @@session.time_zone, '+00:00'),
+                   '%Y-%m-%d')                                                           AS trade_date,
+       DATE_FORMAT(CONVERT_TZ(FROM_UNIXTIME(t.trade_timestamp DIV 1000), @@session.time_zone, '+00:00'),
+                   '%H:%i:%s')                                                           AS trade_time,
+       t.trade_timestamp                                                                 AS trade_timestamp,
+       t.trade_price                                                                     AS trade_price,
+       t.trade_volume                                                                    AS trade_volume,
+       CASE t.ask_bid WHEN 1 THEN 'ASK' WHEN 2 THEN 'BID' END                            AS ask_bid,
+       t.prev_closing_price                                                              AS prev_closing_price,
+       CASE t.`change` WHEN 0 THEN 'EVEN' WHEN 1 THEN 'RISE' WHEN 2 THEN 'FALL' END      AS `change`,
+       t.change_price                                                                    AS change_price,
+       t.sequential_id                                                                   AS sequential_id,
+       t.best_ask_price                                                                  AS best_ask_price,
+       t.best_ask_size                                                                   AS best_ask_size,
+       t.best_bid_price                                                                  AS best_bid_price,
+       t.best_bid_size                                                                   AS best_bid_size,
+       CASE t.stream_type WHEN 1 THEN 'REALTIME' WHEN 2 THEN 'SNAPSHOT' END              AS stream_type,
+       FROM_UNIXTIME(t.timestamp / 1000)                                                 AS created_at
+FROM trade_v2 t
+         JOIN market_dictionary d ON d.id = t.market_id;
+
+CREATE ALGORITHM = MERGE VIEW ticker_v2_compat AS
+SELECT t.id                                AS id,
+       d.exchange                          AS exchange,
+       d.market_code                       AS market_code,
+       t.trade_price                       AS trade_price,
+       t.trade_volume                      AS trade_volume,
+       t.opening_price                     AS opening_price,
+       t.high_price                        AS high_price,
+       t.low_price                         AS low_price,
+       t.prev_closing_price                AS prev_closing_price,
+       t.acc_trade_price_24h               AS acc_trade_price_24h,
+       t.acc_trade_volume_24h              AS acc_trade_volume_24h,
+       t.timestamp                         AS timestamp,
+       FROM_UNIXTIME(t.timestamp / 1000)   AS created_at
+FROM ticker_v2 t
+         JOIN market_dictionary d ON d.id = t.market_id;
@@ -0,0 +1,23 @@
+-- 호가 스냅샷당 1행의 최우선 호가·유동성 지표 (app.orderbook-top.enabled).
+--
+-- 스프레드·호가 불균형 대시보드가 orderbook_unit 을 orderbook 과 조인하지 않고 이 테이블만 조회한다.
+-- depth_levels 는 bid_depth/ask_depth 를 합산한 호가 단계 수이며, imbalance 는 (bid_depth - ask_depth) / (bid_depth + ask_depth).
+
+CREATE TABLE orderbook_top (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    exchange       VARCHAR(20)    NOT NULL,
+    market_code    VARCHAR(20)    NOT NULL,
+    timestamp      BIGINT         NOT NULL,
+    best_bid_price DECIMAL(20, 8) NOT NULL,
+    best_bid_size  DECIMAL(20, 8) NOT NULL,
+    best_ask_price DECIMAL(20, 8) NOT NULL,
+    best_ask_size  DECIMAL(20, 8) NOT NULL,
+    spread         DECIMAL(20, 8) NOT NULL,
+    mid_price      DECIMAL(20, 8) NOT NULL,
+    depth_levels   TINYINT        NOT NULL,
+    bid_depth      DECIMAL(24, 8) NOT NULL,
+    ask_depth      DECIMAL(24, 8) NOT NULL,
+    imbalance      DECIMAL(9, 8)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orderbook_top_unique UNIQUE (exchange, market_code, timestamp)
+) ENGINE = InnoDB;
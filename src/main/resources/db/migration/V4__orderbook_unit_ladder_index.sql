@@ -0,0 +1,4 @@
+-- 호가 이력 조회(/api/v1/history/orderbooks)는 orderbook 페이지의 호가 단계를
+-- orderbook_id IN (...) ORDER BY orderbook_id, unit_index 로 읽는다. 정렬까지 인덱스로 처리되도록 복합 인덱스를 둔다.
+
+CREATE INDEX idx_orderbook_unit_ladder ON orderbook_unit (orderbook_id, unit_index);
@@ -0,0 +1,4 @@
+-- 거래 체결 이력 keyset 조회(/api/v1/history/trades)용 인덱스.
+-- ddl-auto 로 만들어져 V1 을 baseline 으로 건너뛴 DB 에도 생성되도록 별도 버전으로 둔다.
+
+CREATE INDEX idx_trade_market_time ON trade (exchange, market_code, trade_timestamp, sequential_id);
@@ -0,0 +1,69 @@
+package com.rabbittick.persister.domain.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.rabbittick.persister.domain.market.RowFormat;
+
+class HistoryDatasetTest {
+
+	@Test
+	void pageSql_seeksOnTimeAndSequentialIdForTrades() {
+		// when
+		String sql = HistoryDataset.TRADES.pageSql();
+
+		// then
+		assertThat(sql)
+			.contains("(t.trade_timestamp > ? OR (t.trade_timestamp = ? AND t.sequential_id > ?))")
+			.endsWith("ORDER BY t.trade_timestamp, t.sequential_id LIMIT ?")
+			.doesNotContain("OFFSET");
+	}
+
+	@Test
+	void pageSql_seeksOnTimeOnlyForTickers() {
+		// when
+		String sql = HistoryDataset.TICKERS.pageSql();
+
+		// then
+		assertThat(sql)
+			.contains("AND t.timestamp > ?")
+			.endsWith("ORDER BY t.timestamp LIMIT ?");
+	}
+
+	@Test
+	void pageSql_readsCompatViewForV2Rows() {
+		// when
+		String tradeSql = HistoryDataset.TRADES.pageSql(RowFormat.V2);
+		String orderBookSql = HistoryDataset.ORDERBOOKS.pageSql(RowFormat.V2);
+
+		// then
+		assertThat(tradeSql)
+			.contains(" FROM trade_v2_compat t WHERE t.exchange = ?")
+			.endsWith("ORDER BY t.trade_timestamp, t.sequential_id LIMIT ?");
+		assertThat(orderBookSql).isEqualTo(HistoryDataset.ORDERBOOKS.pageSql());
+	}
+
+	@Test
+	void pageSql_pagesOrderBookRowsWithoutJoiningUnits() {
+		// when
+		String pageSql = HistoryDataset.ORDERBOOKS.pageSql();
+		String ladderSql = HistoryDataset.orderBookLadderSql(3);
+
+		// then
+		assertThat(pageSql)
+			.contains(" FROM orderbook o WHERE o.exchange = ?")
+			.contains("(o.timestamp > ? OR (o.timestamp = ? AND o.id > ?))")
+			.endsWith("ORDER BY o.timestamp, o.id LIMIT ?")
+			.doesNotContain("orderbook_unit");
+		assertThat(ladderSql)
+			.contains(" FROM orderbook_unit u WHERE u.orderbook_id IN (?, ?, ?)")
+			.endsWith("ORDER BY u.orderbook_id, u.unit_index");
+	}
+
+	@Test
+	void fromPathName_ignoresCase() {
+		assertThat(HistoryDataset.fromPathName("OrderBooks")).contains(HistoryDataset.ORDERBOOKS);
+		assertThat(HistoryDataset.fromPathName("candles")).isEmpty();
+	}
+}
@@ -65,4 +65,73 @@ class OrderBookMapperTest {
 		assertThat(orderBook.getOrderbookUnits().get(0).getAskPrice()).isEqualByComparingTo("70010000.00");
 		assertThat(orderBook.getOrderbookUnits().get(0).getBidPrice()).isEqualByComparingTo("69990000.00");
 	}
+
+	@Test
+	void toTopEntity_computesTopOfBookAndDepthMetrics() {
+		// given
+		OrderBook orderBook = mapper.toEntity(threeLevelMessage());
+
+		// when
+		OrderBookTop top = mapper.toTopEntity(orderBook, 2);
+
+		// then
+		assertThat(top.getExchange()).isEqualTo("UPBIT");
+		assertThat(top.getMarketCode()).isEqualTo("KRW-BTC");
+		assertThat(top.getTimestamp()).isEqualTo(1672531200000L);
+		assertThat(top.getBestBidPrice()).isEqualByComparingTo("69990000");
+		assertThat(top.getBestAskSize()).isEqualByComparingTo("1.0");
+		assertThat(top.getSpread()).isEqualByComparingTo("20000");
+		assertThat(top.getMidPrice()).isEqualByComparingTo("70000000");
+		assertThat(top.getDepthLevels()).isEqualTo((byte) 2);
+		assertThat(top.getBidDepth()).isEqualByComparingTo("2.3");
+		assertThat(top.getAskDepth()).isEqualByComparingTo("1.8");
+		assertThat(top.getImbalance()).isEqualByComparingTo("0.12195122");
+	}
+
+	@Test
+	void toTopEntity_capsDepthAtAvailableLevels() {
+		// given
+		OrderBook orderBook = mapper.toEntity(threeLevelMessage());
+
+		// when
+		OrderBookTop top = mapper.toTopEntity(orderBook, 5);
+
+		// then
+		assertThat(top.getDepthLevels()).isEqualTo((byte) 3);
+		assertThat(top.getBidDepth()).isEqualByComparingTo("2.6");
+		assertThat(top.getAskDepth()).isEqualByComparingTo("2.3");
+		assertThat(top.getImbalance()).isEqualByComparingTo("0.06122449");
+	}
+
+	private MarketDataMessage<OrderBookPayload> threeLevelMessage() {
+		Metadata metadata = Metadata.builder()
+			.exchange("UPBIT")
+			.dataType("ORDERBOOK")
+			.build();
+
+		List<OrderBookUnitPayload> units = List.of(
+			unit("70010000", "1.0", "69990000", "1.2"),
+			unit("70020000", "0.8", "69980000", "1.1"),
+			unit("70030000", "0.5", "69970000", "0.3")
+		);
+
+		OrderBookPayload payload = OrderBookPayload.builder()
+			.marketCode("KRW-BTC")
+			.timestamp(1672531200000L)
+			.totalAskSize(new BigDecimal("2.3"))
+			.totalBidSize(new BigDecimal("2.6"))
+			.orderbookUnits(units)
+			.build();
+
+		return new MarketDataMessage<>(metadata, payload);
+	}
+
+	private OrderBookUnitPayload unit(String askPrice, String askSize, String bidPrice, String bidSize) {
+		return OrderBookUnitPayload.builder()
+			.askPrice(new BigDecimal(askPrice))
+			.askSize(new BigDecimal(askSize))
+			.bidPrice(new BigDecimal(bidPrice))
+			.bidSize(new BigDecimal(bidSize))
+			.build();
+	}
 }
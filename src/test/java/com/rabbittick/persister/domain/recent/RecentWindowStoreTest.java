@@ -0,0 +1,197 @@
+package com.rabbittick.persister.domain.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecentWindowStoreTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void latest_returnsNewestPointsInTimeOrder() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 300, 1024, 8, meterRegistry);
+		store.onTradesPersisted("UPBIT", List.of(
+			trade(1000L, 1L, "70000000.12345678"),
+			trade(3000L, 3L, "70000300"),
+			trade(2000L, 2L, "70000200")
+		));
+
+		// when
+		RecentSlice slice = store.latest(RecentDataset.TRADES, "upbit", "krw-btc", 2);
+
+		// then
+		assertThat(slice.points()).extracting(RecentPoint::sequentialId).containsExactly(2L, 3L);
+		assertThat(slice.points().get(0).price()).isEqualByComparingTo("70000200");
+		assertThat(slice.points().get(0).askBid()).isEqualTo("BID");
+		assertThat(slice.coveredFrom()).isEqualTo(1000L);
+		assertThat(store.latest(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 10).points().get(0).price())
+			.isEqualByComparingTo("70000000.12345678");
+	}
+
+	@Test
+	void append_evictsPointsOlderThanWindowAndRejectsLateOnes() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 60, 1024, 8, meterRegistry);
+		store.onTickersPersisted("UPBIT", List.of(ticker(1_000L), ticker(30_000L)));
+
+		// when
+		store.onTickersPersisted("UPBIT", List.of(ticker(90_000L), ticker(20_000L)));
+
+		// then
+		RecentSlice slice = store.range(RecentDataset.TICKERS, "UPBIT", "KRW-BTC", 0L, Long.MAX_VALUE, 100);
+		assertThat(slice.points()).extracting(RecentPoint::timestamp).containsExactly(30_000L, 90_000L);
+		assertThat(slice.coveredFrom()).isEqualTo(30_000L);
+		assertThat(slice.points().get(0).sequentialId()).isNull();
+	}
+
+	@Test
+	void append_overwritesOldestWhenMarketCapacityIsFull() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 300, 4, 8, meterRegistry);
+
+		// when
+		for (long i = 1; i <= 6; i++) {
+			store.onTradesPersisted("UPBIT", List.of(trade(i * 10, i, "100")));
+		}
+
+		// then
+		RecentSlice slice = store.range(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 0L, 1_000L, 100);
+		assertThat(slice.points()).extracting(RecentPoint::sequentialId).containsExactly(3L, 4L, 5L, 6L);
+		assertThat(slice.coveredFrom()).isEqualTo(21L);
+	}
+
+	@Test
+	void append_sealsOlderPointsIntoCompressedBlocks() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 3_600, 4096, 8, meterRegistry);
+		int count = 3_000;
+
+		// when
+		for (int i = 0; i < count; i++) {
+			store.onTradesPersisted("UPBIT", List.of(trade(1_000L + i * 10L, i, String.valueOf(70_000_000 + i))));
+		}
+
+		// then
+		RecentSlice all = store.range(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 0L, Long.MAX_VALUE, 10_000);
+		assertThat(all.points()).hasSize(count);
+		assertThat(all.points().get(1_234).sequentialId()).isEqualTo(1_234L);
+		assertThat(all.points().get(1_234).price()).isEqualByComparingTo("70001234");
+		assertThat(all.coveredFrom()).isEqualTo(1_000L);
+		assertThat(store.usedBytes()).isLessThan((long) count * RecentSeries.BYTES_PER_POINT / 2);
+		assertThat(store.latest(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 700).points())
+			.extracting(RecentPoint::sequentialId)
+			.startsWith(2_300L)
+			.endsWith(2_999L);
+	}
+
+	@Test
+	void append_keepsSealedBlocksWhenLatePointFallsInsideThem() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 3_600, 4096, 8, meterRegistry);
+		for (int i = 0; i < 1_000; i++) {
+			store.onTradesPersisted("UPBIT", List.of(trade(1_000L + i * 10L, i, "100")));
+		}
+
+		// when
+		store.onTradesPersisted("UPBIT", List.of(trade(2_005L, 5_000L, "100")));
+
+		// then
+		RecentSlice slice = store.range(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 0L, Long.MAX_VALUE, 10_000);
+		assertThat(slice.coveredFrom()).isEqualTo(1_000L);
+		assertThat(slice.points()).hasSize(1_001);
+		assertThat(slice.points().get(0).timestamp()).isEqualTo(1_000L);
+		assertThat(slice.points().get(101).sequentialId()).isEqualTo(5_000L);
+		assertThat(store.latest(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 1_001).points())
+			.extracting(RecentPoint::sequentialId)
+			.contains(5_000L)
+			.startsWith(0L);
+	}
+
+	@Test
+	void append_raisesCoveredFromOnlyWhenLateBufferOverflows() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 3_600, 4096, 8, meterRegistry);
+		for (int i = 0; i < 1_000; i++) {
+			store.onTradesPersisted("UPBIT", List.of(trade(1_000L + i * 10L, i, "100")));
+		}
+
+		// when
+		for (int i = 0; i <= RecentSeries.LATE_POINTS; i++) {
+			store.onTradesPersisted("UPBIT", List.of(trade(1_005L + i * 10L, 5_000L + i, "100")));
+		}
+
+		// then
+		RecentSlice slice = store.range(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 0L, Long.MAX_VALUE, 10_000);
+		assertThat(slice.coveredFrom()).isEqualTo(1_006L);
+		assertThat(slice.points().get(0).timestamp()).isEqualTo(1_010L);
+		assertThat(slice.points()).extracting(RecentPoint::sequentialId)
+			.doesNotContain(5_000L)
+			.contains(5_001L, 5_000L + RecentSeries.LATE_POINTS);
+		assertThat(slice.points()).hasSize(999 + RecentSeries.LATE_POINTS);
+	}
+
+	@Test
+	void append_rejectsNewMarketsWhenMemoryBudgetIsExhausted() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 300, 256, 1, meterRegistry);
+		long perSeries = (long) RecentSeries.hotCapacity(256) * RecentSeries.BYTES_PER_POINT;
+		int fits = (int) (1024 * 1024 / perSeries);
+
+		// when
+		for (int i = 0; i < fits + 5; i++) {
+			TradePayload payload = trade(1000L, i, "100");
+			payload.setMarketCode("KRW-C" + i);
+			store.onTradesPersisted("UPBIT", List.of(payload));
+		}
+
+		// then
+		assertThat(store.usedBytes()).isEqualTo(fits * perSeries);
+		assertThat(meterRegistry.get("market_data.recent.rejected").counter().count()).isEqualTo(5.0);
+		assertThat(store.latest(RecentDataset.TRADES, "UPBIT", "KRW-C" + (fits + 1), 1).coveredFrom())
+			.isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void sweep_releasesExpiredSeries() {
+		// given
+		RecentWindowStore store = new RecentWindowStore(true, 60, 1024, 8, meterRegistry);
+		store.onTradesPersisted("UPBIT", List.of(trade(1000L, 1L, "100")));
+
+		// when
+		store.sweep();
+
+		// then
+		assertThat(store.usedBytes()).isZero();
+		assertThat(store.latest(RecentDataset.TRADES, "UPBIT", "KRW-BTC", 10).points()).isEmpty();
+	}
+
+	private TradePayload trade(long tradeTimestamp, long sequentialId, String price) {
+		return TradePayload.builder()
+			.marketCode("KRW-BTC")
+			.tradeTimestamp(tradeTimestamp)
+			.tradePrice(new BigDecimal(price))
+			.tradeVolume(new BigDecimal("0.01"))
+			.askBid("BID")
+			.sequentialId(sequentialId)
+			.build();
+	}
+
+	private TickerPayload ticker(long timestamp) {
+		return TickerPayload.builder()
+			.marketCode("KRW-BTC")
+			.timestamp(timestamp)
+			.tradePrice(new BigDecimal("70000000"))
+			.tradeVolume(new BigDecimal("0.5"))
+			.build();
+	}
+}
@@ -0,0 +1,100 @@
+package com.rabbittick.persister.domain.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.domain.orderbook.OrderBook;
+import com.rabbittick.persister.domain.orderbook.OrderBookUnit;
+import com.rabbittick.persister.domain.ticker.Ticker;
+
+class MarketSnapshotStoreTest {
+
+	private final MarketSnapshotStore store = new MarketSnapshotStore();
+
+	@Test
+	void onTickerPersisted_keepsLatestTimestamp() {
+		// given
+		store.onTickerPersisted(ticker("KRW-BTC", 2000L, "70000000"));
+
+		// when
+		store.onTickerPersisted(ticker("KRW-BTC", 1000L, "69000000"));
+
+		// then
+		MarketSnapshot snapshot = store.find("upbit", "krw-btc");
+		assertThat(snapshot.getTicker().timestamp()).isEqualTo(2000L);
+		assertThat(snapshot.getTicker().tradePrice()).isEqualByComparingTo("70000000");
+	}
+
+	@Test
+	void onTickerPersisted_bumpsVersionOnlyOnUpdate() {
+		// given
+		store.onTickerPersisted(ticker("KRW-BTC", 1000L, "70000000"));
+		long version = store.find("UPBIT", "KRW-BTC").getVersion();
+
+		// when
+		store.onTickerPersisted(ticker("KRW-BTC", 500L, "69000000"));
+		store.onTickerPersisted(ticker("KRW-ETH", 1000L, "4000000"));
+
+		// then
+		assertThat(store.find("UPBIT", "KRW-BTC").getVersion()).isEqualTo(version);
+		assertThat(store.currentVersion()).isGreaterThan(version);
+	}
+
+	@Test
+	void findAll_skipsUnknownMarkets() {
+		// given
+		store.onTickerPersisted(ticker("KRW-BTC", 1000L, "70000000"));
+
+		// when
+		List<MarketSnapshot> snapshots = store.findAll("UPBIT", List.of("KRW-BTC", "KRW-DOGE"));
+
+		// then
+		assertThat(snapshots).extracting(MarketSnapshot::getMarketCode).containsExactly("KRW-BTC");
+	}
+
+	@Test
+	void onOrderBookPersisted_exposesOnlyMarketDataFields() throws Exception {
+		// given
+		OrderBook orderBook = OrderBook.builder()
+			.exchange("UPBIT")
+			.marketCode("KRW-BTC")
+			.timestamp(1000L)
+			.totalAskSize(new BigDecimal("12.5"))
+			.totalBidSize(new BigDecimal("8.25"))
+			.orderbookUnits(List.of(OrderBookUnit.builder()
+				.askPrice(new BigDecimal("70010000"))
+				.askSize(new BigDecimal("0.5"))
+				.bidPrice(new BigDecimal("70000000"))
+				.bidSize(new BigDecimal("1.25"))
+				.build()))
+			.build();
+		store.onTickerPersisted(ticker("KRW-BTC", 1000L, "70000000"));
+
+		// when
+		store.onOrderBookPersisted(orderBook);
+
+		// then
+		JsonNode body = new ObjectMapper().valueToTree(store.find("UPBIT", "KRW-BTC"));
+		assertThat(body.path("orderBook").path("orderbookUnits").get(0).path("askPrice").decimalValue())
+			.isEqualByComparingTo("70010000");
+		assertThat(body.path("ticker").path("tradePrice").decimalValue()).isEqualByComparingTo("70000000");
+		assertThat(body.findValues("id")).isEmpty();
+		assertThat(body.findValues("createdAt")).isEmpty();
+		assertThat(body.path("ticker").has("exchange")).isFalse();
+	}
+
+	private Ticker ticker(String marketCode, long timestamp, String tradePrice) {
+		return Ticker.builder()
+			.exchange("UPBIT")
+			.marketCode(marketCode)
+			.tradePrice(new BigDecimal(tradePrice))
+			.timestamp(timestamp)
+			.build();
+	}
+}
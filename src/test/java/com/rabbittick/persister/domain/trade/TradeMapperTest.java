@@ -1,6 +1,7 @@
 package com.rabbittick.persister.domain.trade;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.math.BigDecimal;
 
@@ -70,4 +71,65 @@ class TradeMapperTest {
 		assertThat(trade.getBestBidSize()).isEqualByComparingTo("1.2");
 		assertThat(trade.getStreamType()).isEqualTo("SNAPSHOT");
 	}
+
+	@Test
+	void toCompactEntity_encodesMarketIdAndCodes() {
+		// given
+		MarketDataMessage<TradePayload> message = new MarketDataMessage<>(metadata(), payload("BID", "RISE"));
+
+		// when
+		TradeV2 trade = mapper.toCompactEntity(message, (short) 7);
+
+		// then
+		assertThat(trade.getMarketId()).isEqualTo((short) 7);
+		assertThat(trade.getTradeTimestamp()).isEqualTo(1672531200000L);
+		assertThat(trade.getAskBid()).isEqualTo(AskBid.BID.code());
+		assertThat(trade.getChange()).isEqualTo(PriceChange.RISE.code());
+		assertThat(trade.getStreamType()).isEqualTo(StreamType.REALTIME.code());
+		assertThat(trade.getSequentialId()).isEqualTo(1000L);
+		assertThat(trade.getTradePrice()).isEqualByComparingTo("70000000.00");
+	}
+
+	@Test
+	void toCompactEntity_rejectsUnknownCode() {
+		// given
+		MarketDataMessage<TradePayload> message = new MarketDataMessage<>(metadata(), payload("SELL", "RISE"));
+
+		// when & then
+		assertThatThrownBy(() -> mapper.toCompactEntity(message, (short) 7))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("askBid");
+	}
+
+	private Metadata metadata() {
+		return Metadata.builder()
+			.messageId("trade-message-id")
+			.exchange("UPBIT")
+			.dataType("TRADE")
+			.collectedAt("2025-08-28T16:49:00.123Z")
+			.version("1.0")
+			.build();
+	}
+
+	private TradePayload payload(String askBid, String change) {
+		return TradePayload.builder()
+			.marketCode("KRW-BTC")
+			.timestamp(1672531200000L)
+			.tradeDate("2023-01-01")
+			.tradeTime("00:00:00")
+			.tradeTimestamp(1672531200000L)
+			.tradePrice(new BigDecimal("70000000.00"))
+			.tradeVolume(new BigDecimal("0.0012"))
+			.askBid(askBid)
+			.prevClosingPrice(new BigDecimal("69500000.00"))
+			.change(change)
+			.changePrice(new BigDecimal("500000.00"))
+			.sequentialId(1000L)
+			.bestAskPrice(new BigDecimal("70010000.00"))
+			.bestAskSize(new BigDecimal("1.0"))
+			.bestBidPrice(new BigDecimal("69990000.00"))
+			.bestBidSize(new BigDecimal("1.2"))
+			.streamType("REALTIME")
+			.build();
+	}
 }
@@ -0,0 +1,85 @@
+package com.rabbittick.persister.domain.trade.gap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rabbittick.persister.global.dto.TradePayload;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SequenceGapTrackerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private SequenceGapTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		tracker = new SequenceGapTracker(true, 128, 10, meterRegistry);
+	}
+
+	@Test
+	void record_reportsOpenGapsUntilOutOfOrderTradesArrive() {
+		// given
+		persist(100, 101, 104, 106);
+
+		// when
+		MarketSequenceGap open = tracker.report().get(0);
+		persist(103, 102, 105);
+		MarketSequenceGap closed = tracker.report().get(0);
+
+		// then
+		assertThat(open.contiguous()).isEqualTo(101L);
+		assertThat(open.highest()).isEqualTo(106L);
+		assertThat(open.missing()).isEqualTo(3L);
+		assertThat(open.ranges()).containsExactly(new SequenceGapRange(102, 103), new SequenceGapRange(105, 105));
+		assertThat(closed.contiguous()).isEqualTo(106L);
+		assertThat(closed.openGaps()).isZero();
+		assertThat(meterRegistry.get("market_data.trade.sequence.gaps").counter().count()).isEqualTo(2.0);
+		assertThat(meterRegistry.get("market_data.trade.sequence.reorder.distance").summary().max()).isEqualTo(4.0);
+		assertThat(meterRegistry.get("market_data.trade.sequence.missing").gauge().value()).isZero();
+	}
+
+	@Test
+	void record_countsDuplicatesWithoutChangingState() {
+		// given
+		persist(1, 2, 4);
+
+		// when
+		persist(2, 4, 1);
+
+		// then
+		assertThat(meterRegistry.get("market_data.trade.sequence.duplicates").counter().count()).isEqualTo(3.0);
+		assertThat(tracker.report().get(0).missing()).isEqualTo(1L);
+	}
+
+	@Test
+	void record_givesUpGapsThatFallOutOfTheWindow() {
+		// given
+		persist(106, 110);
+
+		// when
+		persist(300);
+
+		// then
+		MarketSequenceGap market = tracker.report().get(0);
+		assertThat(market.lost()).isEqualTo(65L);
+		assertThat(market.contiguous()).isEqualTo(172L);
+		assertThat(market.ranges()).containsExactly(new SequenceGapRange(173, 299));
+		assertThat(meterRegistry.get("market_data.trade.sequence.lost").counter().count()).isEqualTo(65.0);
+		assertThat(meterRegistry.get("market_data.trade.sequence.open_gaps").gauge().value()).isEqualTo(1.0);
+	}
+
+	private void persist(long... sequences) {
+		for (long sequence : sequences) {
+			tracker.onTradesPersisted("UPBIT", List.of(TradePayload.builder()
+				.marketCode("KRW-BTC")
+				.sequentialId(sequence)
+				.build()));
+		}
+	}
+}
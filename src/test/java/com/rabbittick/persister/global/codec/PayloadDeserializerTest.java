@@ -0,0 +1,137 @@
+package com.rabbittick.persister.global.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+class PayloadDeserializerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void trade_roundTripsAndInternsSymbols() throws Exception {
+		// given
+		TradePayload original = tradePayload();
+		String json = objectMapper.writeValueAsString(original);
+
+		// when
+		TradePayload first = objectMapper.readValue(json, TradePayload.class);
+		TradePayload second = objectMapper.readValue(json, TradePayload.class);
+
+		// then
+		assertThat(first).isEqualTo(original);
+		assertThat(second.getMarketCode()).isSameAs(first.getMarketCode());
+		assertThat(second.getAskBid()).isSameAs(first.getAskBid());
+		assertThat(second.getStreamType()).isSameAs(first.getStreamType());
+	}
+
+	@Test
+	void ticker_toleratesUnknownFieldsAndStringNumbers() throws Exception {
+		// given
+		String json = "{\"marketCode\":\"KRW-BTC\",\"extra\":{\"nested\":[1,2,{\"x\":null}]},"
+			+ "\"tradePrice\":\"70000000.00\",\"highPrice\":70100000.5,\"lowPrice\":null,"
+			+ "\"timestamp\":\"1693212540123\",\"unknownFlag\":true}";
+
+		// when
+		TickerPayload payload = objectMapper.readValue(json, TickerPayload.class);
+
+		// then
+		assertThat(payload.getMarketCode()).isEqualTo("KRW-BTC");
+		assertThat(payload.getTradePrice()).isEqualByComparingTo("70000000.00");
+		assertThat(payload.getHighPrice()).isEqualByComparingTo("70100000.5");
+		assertThat(payload.getLowPrice()).isNull();
+		assertThat(payload.getTimestamp()).isEqualTo(1693212540123L);
+	}
+
+	@Test
+	void orderBook_readsUnitsInOrder() throws Exception {
+		// given
+		OrderBookPayload original = OrderBookPayload.builder()
+			.marketCode("KRW-BTC")
+			.timestamp(1693212540123L)
+			.totalAskSize(new BigDecimal("12.5"))
+			.totalBidSize(new BigDecimal("8.25"))
+			.orderbookUnits(List.of(
+				new OrderBookUnitPayload(new BigDecimal("70010000"), new BigDecimal("0.5"),
+					new BigDecimal("70000000"), new BigDecimal("1.25")),
+				new OrderBookUnitPayload(new BigDecimal("70020000"), new BigDecimal("0.75"),
+					new BigDecimal("69990000"), new BigDecimal("2"))
+			))
+			.build();
+
+		// when
+		OrderBookPayload decoded = objectMapper.readValue(objectMapper.writeValueAsString(original),
+			OrderBookPayload.class);
+
+		// then
+		assertThat(decoded).isEqualTo(original);
+	}
+
+	@Test
+	void trade_matchesReflectiveBinding() throws Exception {
+		// given
+		ObjectMapper reflective = new ObjectMapper().addMixIn(TradePayload.class, ReflectiveBinding.class);
+		String json = objectMapper.writeValueAsString(tradePayload());
+
+		// when
+		TradePayload specialized = objectMapper.readValue(json, TradePayload.class);
+		TradePayload bound = reflective.readValue(json, TradePayload.class);
+
+		// then
+		assertThat(specialized).isEqualTo(bound);
+	}
+
+	@Test
+	void ticker_matchesReflectiveBindingForPaddedNumericStrings() throws Exception {
+		// given
+		ObjectMapper reflective = new ObjectMapper().addMixIn(TickerPayload.class, ReflectiveBinding.class);
+		String json = "{\"marketCode\":\"KRW-BTC\",\"tradePrice\":\" 123.45\",\"highPrice\":\"70100000.5 \","
+			+ "\"lowPrice\":\"\\t1e3\\n\",\"openingPrice\":\"   \",\"prevClosingPrice\":\" null \"}";
+
+		// when
+		TickerPayload specialized = objectMapper.readValue(json, TickerPayload.class);
+		TickerPayload bound = reflective.readValue(json, TickerPayload.class);
+
+		// then
+		assertThat(specialized).isEqualTo(bound);
+		assertThat(specialized.getTradePrice()).isEqualTo(new BigDecimal("123.45"));
+		assertThat(specialized.getOpeningPrice()).isNull();
+	}
+
+	private TradePayload tradePayload() {
+		return TradePayload.builder()
+			.marketCode("KRW-BTC")
+			.timestamp(1693212540123L)
+			.tradeDate("2025-08-28")
+			.tradeTime("16:49:00")
+			.tradeTimestamp(1693212540000L)
+			.tradePrice(new BigDecimal("70000000.00"))
+			.tradeVolume(new BigDecimal("0.01234567"))
+			.askBid("BID")
+			.prevClosingPrice(new BigDecimal("69500000"))
+			.change("RISE")
+			.changePrice(new BigDecimal("500000"))
+			.sequentialId(1693212540000001L)
+			.bestAskPrice(new BigDecimal("70010000"))
+			.bestAskSize(new BigDecimal("0.5"))
+			.bestBidPrice(new BigDecimal("70000000"))
+			.bestBidSize(new BigDecimal("1.25"))
+			.streamType("REALTIME")
+			.build();
+	}
+
+	@JsonDeserialize(using = JsonDeserializer.None.class)
+	private abstract static class ReflectiveBinding {
+	}
+}
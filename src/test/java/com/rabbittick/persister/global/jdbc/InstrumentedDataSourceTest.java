@@ -0,0 +1,123 @@
+package com.rabbittick.persister.global.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedDataSourceTest {
+
+	@Mock
+	private DataSource target;
+
+	@Mock
+	private Connection connection;
+
+	@Mock
+	private PreparedStatement parentInsert;
+
+	@Mock
+	private PreparedStatement childInsert;
+
+	private SimpleMeterRegistry meterRegistry;
+	private InstrumentedDataSource dataSource;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		JdbcPhaseMetrics metrics = new JdbcPhaseMetrics(meterRegistry);
+		dataSource = new InstrumentedDataSource(target, () -> metrics);
+	}
+
+	@Test
+	void connectionLease_recordsPhasesAndRoundTripsPerDataType() throws Exception {
+		// given
+		String parentSql = "insert into orderbook (market_code, timestamp) values (?, ?)";
+		String childSql = "insert into orderbook_unit (orderbook_id, ask_price) values (?, ?)";
+		when(target.getConnection()).thenReturn(connection);
+		when(connection.prepareStatement(parentSql)).thenReturn(parentInsert);
+		when(connection.prepareStatement(childSql)).thenReturn(childInsert);
+
+		// when
+		JdbcPhaseContext.run("orderbook", () -> {
+			try (Connection leased = dataSource.getConnection()) {
+				leased.prepareStatement(parentSql).executeUpdate();
+				PreparedStatement units = leased.prepareStatement(childSql);
+				units.addBatch();
+				units.addBatch();
+				units.executeBatch();
+				leased.commit();
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+
+		// then
+		verify(parentInsert).executeUpdate();
+		verify(childInsert).executeBatch();
+		verify(connection).commit();
+		verify(connection).close();
+		assertThat(meterRegistry.get("market_data.jdbc.acquire").tag("dataType", "orderbook").timer().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("market_data.jdbc.statement")
+			.tags("dataType", "orderbook", "statement", "parent_insert").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("market_data.jdbc.statement")
+			.tags("dataType", "orderbook", "statement", "child_insert").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("market_data.jdbc.commit")
+			.tags("dataType", "orderbook", "operation", "commit").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("market_data.jdbc.round_trips").tag("dataType", "orderbook")
+			.summary().totalAmount()).isEqualTo(3);
+	}
+
+	@Test
+	void getConnection_outsideContextUsesNoneDataType() throws Exception {
+		// given
+		when(target.getConnection()).thenReturn(connection);
+
+		// when
+		dataSource.getConnection().close();
+
+		// then
+		assertThat(meterRegistry.get("market_data.jdbc.acquire").tag("dataType", "none").timer().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("market_data.jdbc.round_trips").tag("dataType", "none")
+			.summary().totalAmount()).isZero();
+	}
+
+	@Test
+	void classify_distinguishesParentChildAndUpdate() {
+		assertThat(StatementKind.classify("insert into trade (id) values (?)")).isEqualTo(StatementKind.PARENT_INSERT);
+		assertThat(StatementKind.classify("INSERT INTO `orderbook_unit`(id) values (?)"))
+			.isEqualTo(StatementKind.CHILD_INSERT);
+		assertThat(StatementKind.classify(" update ticker set price=? where id=?")).isEqualTo(StatementKind.UPDATE);
+		assertThat(StatementKind.classify("select 1")).isEqualTo(StatementKind.SELECT);
+	}
+
+	@Test
+	void close_closesPoolingTarget() throws Exception {
+		// given
+		DataSource pool = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+		InstrumentedDataSource instrumented = new InstrumentedDataSource(pool, () -> null);
+
+		// when
+		instrumented.close();
+
+		// then
+		verify((AutoCloseable) pool).close();
+	}
+}
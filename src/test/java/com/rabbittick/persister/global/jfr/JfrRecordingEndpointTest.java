@@ -0,0 +1,83 @@
+package com.rabbittick.persister.global.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class JfrRecordingEndpointTest {
+
+	@TempDir
+	private Path directory;
+
+	private JfrRecordingEndpoint endpoint;
+
+	@BeforeEach
+	void setUp() {
+		endpoint = new JfrRecordingEndpoint(directory.toString(), 60, 10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		endpoint.destroy();
+	}
+
+	@Test
+	void startStopAndDownload_containsPipelineEvents() throws Exception {
+		// given
+		endpoint.control("start", 30, 5, "default");
+		PersistEvent event = new PersistEvent();
+		event.begin();
+		event.complete("trade", "KRW-BTC", 1);
+
+		// when
+		Map<String, Object> status = endpoint.control("stop", null, null, null);
+		Resource resource = endpoint.download("recording");
+
+		// then
+		assertThat(status.get("state")).isEqualTo("STOPPED");
+		List<RecordedEvent> events = RecordingFile.readAllEvents(resource.getFile().toPath());
+		assertThat(events)
+			.filteredOn(recorded -> recorded.getEventType().getName().equals("com.rabbittick.persister.Persist"))
+			.singleElement()
+			.satisfies(recorded -> {
+				assertThat(recorded.getString("dataType")).isEqualTo("trade");
+				assertThat(recorded.getString("market")).isEqualTo("KRW-BTC");
+				assertThat(recorded.getInt("batchSize")).isEqualTo(1);
+			});
+	}
+
+	@Test
+	void start_rejectsDurationAboveLimit() {
+		assertThatThrownBy(() -> endpoint.control("start", 61, null, null))
+			.isInstanceOf(InvalidEndpointRequestException.class);
+	}
+
+	@Test
+	void start_rejectsSecondRecording() {
+		// given
+		endpoint.control("start", 10, 1, "default");
+
+		// when & then
+		assertThatThrownBy(() -> endpoint.control("start", 10, 1, "default"))
+			.isInstanceOf(InvalidEndpointRequestException.class);
+	}
+
+	@Test
+	void download_failsWithoutRecording() {
+		assertThatThrownBy(() -> endpoint.download("recording"))
+			.isInstanceOf(InvalidEndpointRequestException.class);
+	}
+}
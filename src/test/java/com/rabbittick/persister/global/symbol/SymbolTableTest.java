@@ -0,0 +1,79 @@
+package com.rabbittick.persister.global.symbol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+class SymbolTableTest {
+
+	@Test
+	void intern_returnsSameInstanceForSameCharacters() {
+		// given
+		SymbolTable table = new SymbolTable(16);
+		char[] buffer = "xxKRW-BTCyy".toCharArray();
+
+		// when
+		String first = table.intern(buffer, 2, 7);
+		String second = table.intern("KRW-BTC".toCharArray(), 0, 7);
+
+		// then
+		assertThat(first).isEqualTo("KRW-BTC");
+		assertThat(second).isSameAs(first);
+		assertThat(table.idOf("KRW-BTC")).isZero();
+		assertThat(table.symbolOf(0)).isSameAs(first);
+	}
+
+	@Test
+	void intern_assignsIdsInRegistrationOrder() {
+		// given
+		SymbolTable table = new SymbolTable(16);
+
+		// when
+		table.intern("UPBIT");
+		table.intern("BID");
+		table.intern("UPBIT");
+
+		// then
+		assertThat(table.size()).isEqualTo(2);
+		assertThat(table.idOf("UPBIT")).isZero();
+		assertThat(table.idOf("BID")).isEqualTo(1);
+		assertThat(table.idOf("ASK")).isEqualTo(-1);
+	}
+
+	@Test
+	void intern_stopsRegisteringAtCapacity() {
+		// given
+		SymbolTable table = new SymbolTable(1);
+		table.intern("UPBIT");
+
+		// when
+		String overflow = table.intern("BITHUMB".toCharArray(), 0, 7);
+
+		// then
+		assertThat(overflow).isEqualTo("BITHUMB");
+		assertThat(table.size()).isEqualTo(1);
+		assertThat(table.idOf("BITHUMB")).isEqualTo(-1);
+	}
+
+	@Test
+	void deserializer_internsAnnotatedFields() throws Exception {
+		// given
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		// when
+		Holder first = objectMapper.readValue("{\"code\":\"KRW-ETH\"}", Holder.class);
+		Holder second = objectMapper.readValue("{\"code\":\"KRW-ETH\"}", Holder.class);
+
+		// then
+		assertThat(second.code).isSameAs(first.code);
+		assertThat(SymbolTable.shared().idOf("KRW-ETH")).isNotNegative();
+	}
+
+	static class Holder {
+		@JsonDeserialize(using = InternedStringDeserializer.class)
+		public String code;
+	}
+}
@@ -0,0 +1,97 @@
+package com.rabbittick.persister.global.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimeSeriesBlockTest {
+
+	private static final long SCALE = 100_000_000L;
+
+	@Test
+	void cursor_decodesEveryColumnExactly() {
+		// given
+		int count = 256;
+		long[] times = new long[count];
+		long[] prices = new long[count];
+		long[] volumes = new long[count];
+		long[] sequences = new long[count];
+		byte[] sides = new byte[count];
+		Random random = new Random(7);
+		long time = 1_700_000_000_000L;
+		long price = 95_000_000L * SCALE;
+		long sequence = 17_000_000_000_000L;
+		for (int i = 0; i < count; i++) {
+			time += random.nextInt(40);
+			price += (random.nextInt(5) - 2) * 1000L * SCALE;
+			sequence += 1 + random.nextInt(5000);
+			times[i] = time;
+			prices[i] = price;
+			volumes[i] = random.nextInt(5_000_000);
+			sequences[i] = sequence;
+			sides[i] = (byte) (1 + random.nextInt(2));
+		}
+		// 큰 시각 간격, NULL(Long.MIN_VALUE), 음수 값
+		for (int i = 100; i < count; i++) {
+			times[i] += 5_000_000_000L;
+		}
+		prices[5] = Long.MIN_VALUE;
+		volumes[6] = Long.MIN_VALUE;
+		sequences[7] = Long.MIN_VALUE;
+		volumes[8] = -5;
+		TimeSeriesBlockEncoder encoder = new TimeSeriesBlockEncoder(count);
+		for (int i = 0; i < count; i++) {
+			encoder.append(times[i], prices[i], volumes[i], sequences[i], sides[i]);
+		}
+
+		// when
+		TimeSeriesBlock block = encoder.seal();
+
+		// then
+		TimeSeriesCursor cursor = block.cursor();
+		for (int i = 0; i < count; i++) {
+			assertThat(cursor.next()).isTrue();
+			assertThat(cursor.time()).isEqualTo(times[i]);
+			assertThat(cursor.price()).isEqualTo(prices[i]);
+			assertThat(cursor.volume()).isEqualTo(volumes[i]);
+			assertThat(cursor.sequence()).isEqualTo(sequences[i]);
+			assertThat(cursor.side()).isEqualTo(sides[i]);
+		}
+		assertThat(cursor.next()).isFalse();
+		assertThat(block.count()).isEqualTo(count);
+		assertThat(block.firstTime()).isEqualTo(times[0]);
+		assertThat(block.lastTime()).isEqualTo(times[count - 1]);
+	}
+
+	@Test
+	void seal_compressesRegularSeriesWellBelowColumnSize() {
+		// given
+		TimeSeriesBlockEncoder encoder = new TimeSeriesBlockEncoder(1024);
+		for (int i = 0; i < 1024; i++) {
+			encoder.append(1_000L + i * 100L, 70_000_000L * SCALE, SCALE, 0L, (byte) 0);
+		}
+
+		// when
+		TimeSeriesBlock block = encoder.seal();
+
+		// then (컬럼 배열 지점당 33바이트의 1/4 미만)
+		assertThat(block.sizeBytes()).isLessThan(1024 * 33 / 4);
+		assertThat(encoder.count()).isZero();
+	}
+
+	@Test
+	void append_rejectsTimeBeforePreviousPoint() {
+		// given
+		TimeSeriesBlockEncoder encoder = new TimeSeriesBlockEncoder(16);
+		encoder.append(2_000L, 1L, 1L, 1L, (byte) 1);
+
+		// when, then
+		assertThatThrownBy(() -> encoder.append(1_999L, 1L, 1L, 2L, (byte) 1))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(new TimeSeriesBlockEncoder(16)::seal)
+			.isInstanceOf(IllegalStateException.class);
+	}
+}
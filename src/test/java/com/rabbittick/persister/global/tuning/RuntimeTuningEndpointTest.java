@@ -0,0 +1,99 @@
+package com.rabbittick.persister.global.tuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rabbittick.persister.messaging.AcknowledgingRepublishMessageRecoverer;
+import com.rabbittick.persister.messaging.AsyncPersistenceWriter;
+
+@ExtendWith(MockitoExtension.class)
+class RuntimeTuningEndpointTest {
+
+	@Mock
+	private RabbitListenerEndpointRegistry listenerEndpointRegistry;
+
+	@Mock
+	private AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer;
+
+	private SimpleMessageListenerContainer container;
+	private SimpleRetryPolicy retryPolicy;
+	private AsyncPersistenceWriter asyncPersistenceWriter;
+	private JdbcBatchSize jdbcBatchSize;
+	private RuntimeTuningEndpoint endpoint;
+
+	@BeforeEach
+	void setUp() {
+		container = new SimpleMessageListenerContainer();
+		container.setConcurrentConsumers(2);
+		container.setMaxConcurrentConsumers(4);
+		retryPolicy = new SimpleRetryPolicy(3);
+		asyncPersistenceWriter = new AsyncPersistenceWriter(true, 4, 10, retryPolicy, dlqMessageRecoverer);
+		jdbcBatchSize = new JdbcBatchSize(50);
+		endpoint = new RuntimeTuningEndpoint(
+			listenerEndpointRegistry, retryPolicy, asyncPersistenceWriter, jdbcBatchSize, 50, 2, 4, 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		asyncPersistenceWriter.destroy();
+	}
+
+	@Test
+	void tune_appliesToRunningComponentsAndRecordsHistory() {
+		// given
+		when(listenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+
+		// when
+		endpoint.tune(RuntimeTuningEndpoint.PREFETCH_COUNT, 200, null);
+		endpoint.tune(RuntimeTuningEndpoint.MAX_CONCURRENT_CONSUMERS, 8, null);
+		endpoint.tune(RuntimeTuningEndpoint.CONCURRENT_CONSUMERS, 6, null);
+		endpoint.tune(RuntimeTuningEndpoint.RETRY_MAX_ATTEMPTS, 5, null);
+		endpoint.tune(RuntimeTuningEndpoint.WRITER_THREADS, 12, () -> "operator");
+		endpoint.tune(RuntimeTuningEndpoint.JDBC_BATCH_SIZE, 200, null);
+
+		// then
+		assertThat(ReflectionTestUtils.getField(container, "prefetchCount")).isEqualTo(200);
+		assertThat(ReflectionTestUtils.getField(container, "concurrentConsumers")).isEqualTo(6);
+		assertThat(ReflectionTestUtils.getField(container, "maxConcurrentConsumers")).isEqualTo(8);
+		assertThat(retryPolicy.getMaxAttempts()).isEqualTo(5);
+		assertThat(asyncPersistenceWriter.getWriterThreads()).isEqualTo(12);
+		assertThat(jdbcBatchSize.get()).isEqualTo(200);
+
+		RuntimeTuningEndpoint.TuningReport report = endpoint.settings();
+		assertThat(report.settings())
+			.containsEntry(RuntimeTuningEndpoint.PREFETCH_COUNT, 200)
+			.containsEntry(RuntimeTuningEndpoint.CONCURRENT_CONSUMERS, 6);
+		assertThat(report.history()).hasSize(6);
+		assertThat(report.history().get(1))
+			.extracting(TuningChange::setting, TuningChange::principal, TuningChange::previousValue,
+				TuningChange::newValue)
+			.containsExactly(RuntimeTuningEndpoint.WRITER_THREADS, "operator", 4, 12);
+	}
+
+	@Test
+	void tune_rejectsOutOfRangeAndUnknownSettings() {
+		assertThatThrownBy(() -> endpoint.tune(RuntimeTuningEndpoint.PREFETCH_COUNT, 0, null))
+			.isInstanceOf(InvalidEndpointRequestException.class);
+		assertThatThrownBy(() -> endpoint.tune("linger-ms", 10, null))
+			.isInstanceOf(InvalidEndpointRequestException.class);
+		assertThatThrownBy(() -> endpoint.tune(RuntimeTuningEndpoint.CONCURRENT_CONSUMERS, 5, null))
+			.isInstanceOf(InvalidEndpointRequestException.class)
+			.hasMessageContaining("max-concurrent-consumers");
+		assertThat(endpoint.settings().history()).isEmpty();
+	}
+}
@@ -0,0 +1,108 @@
+package com.rabbittick.persister.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.rabbitmq.client.Channel;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryAckTrackerTest {
+
+	@Mock
+	private Channel channel;
+
+	private DeliveryAckTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		tracker = new DeliveryAckTracker(channel);
+	}
+
+	@Test
+	void complete_acksContiguousPrefixOnce() throws Exception {
+		// given
+		tracker.register(1L);
+		tracker.register(2L);
+		tracker.register(3L);
+
+		// when
+		tracker.complete(3L, null);
+		tracker.complete(2L, null);
+
+		// then
+		verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+		// when
+		tracker.complete(1L, null);
+
+		// then
+		verify(channel).basicAck(3L, true);
+		assertThat(tracker.pendingCount()).isZero();
+	}
+
+	@Test
+	void complete_stopsAtFirstIncompleteTag() throws Exception {
+		// given
+		tracker.register(1L);
+		tracker.register(2L);
+		tracker.register(3L);
+
+		// when
+		tracker.complete(1L, null);
+		tracker.complete(3L, null);
+
+		// then
+		verify(channel).basicAck(1L, true);
+		verify(channel, never()).basicAck(3L, true);
+		assertThat(tracker.pendingCount()).isEqualTo(2);
+	}
+
+	@Test
+	void reject_nacksOnlyFailedTagBetweenAcks() throws Exception {
+		// given
+		tracker.register(1L);
+		tracker.register(2L);
+		tracker.register(3L);
+
+		// when
+		tracker.complete(3L, null);
+		tracker.reject(2L, null);
+		tracker.complete(1L, null);
+
+		// then
+		InOrder inOrder = inOrder(channel);
+		inOrder.verify(channel).basicAck(1L, true);
+		inOrder.verify(channel).basicNack(2L, false, true);
+		inOrder.verify(channel).basicAck(3L, true);
+	}
+
+	@Test
+	void complete_runsCallbacksAfterAck() throws Exception {
+		// given
+		List<Long> settled = new ArrayList<>();
+		tracker.register(5L);
+		tracker.register(6L);
+
+		// when
+		tracker.complete(6L, () -> settled.add(6L));
+		tracker.complete(5L, () -> settled.add(5L));
+
+		// then
+		verify(channel).basicAck(6L, true);
+		assertThat(settled).containsExactly(5L, 6L);
+	}
+}
@@ -1,34 +1,53 @@
 package com.rabbittick.persister.messaging;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.rabbitmq.client.Channel;
 import java.util.List;
 
+import com.rabbittick.persister.config.RabbitMqConfig;
 import com.rabbittick.persister.domain.orderbook.OrderBookService;
+import com.rabbittick.persister.domain.snapshot.MarketKey;
 import com.rabbittick.persister.domain.trade.TradeService;
 import com.rabbittick.persister.domain.ticker.TickerService;
+import com.rabbittick.persister.global.dto.MarketDataBatch;
 import com.rabbittick.persister.global.dto.MarketDataMessage;
 import com.rabbittick.persister.global.dto.Metadata;
 import com.rabbittick.persister.global.dto.OrderBookPayload;
 import com.rabbittick.persister.global.dto.OrderBookUnitPayload;
 import com.rabbittick.persister.global.dto.TickerPayload;
 import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.messaging.decoder.MarketDataDecoder;
+import com.rabbittick.persister.messaging.encoding.ContentEncoding;
+import com.rabbittick.persister.messaging.encoding.MessageFormat;
+import com.rabbittick.persister.messaging.hotmarket.MarketHeavyHitterTracker;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
@@ -47,6 +66,12 @@ class MarketDataConsumerTest {
 	@Mock
 	private Channel channel;
 
+	@Mock
+	private AsyncPersistenceWriter asyncPersistenceWriter;
+
+	@Mock
+	private MarketHeavyHitterTracker marketHeavyHitterTracker;
+
 	private ObjectMapper objectMapper;
 
 	private MarketDataConsumer consumer;
@@ -57,13 +82,17 @@ class MarketDataConsumerTest {
 	void setUp() {
 		objectMapper = new ObjectMapper().findAndRegisterModules();
 		meterRegistry = new SimpleMeterRegistry();
-		consumer = new MarketDataConsumer(
-			objectMapper,
-			tickerService,
-			tradeService,
-			orderBookService,
-			meterRegistry
-		);
+		consumer = MarketDataConsumer.builder()
+			.objectMapper(objectMapper)
+			.tickerService(tickerService)
+			.tradeService(tradeService)
+			.orderBookService(orderBookService)
+			.meterRegistry(meterRegistry)
+			.asyncPersistenceWriter(asyncPersistenceWriter)
+			.marketHeavyHitterTracker(marketHeavyHitterTracker)
+			.messageResourceSampler(new MessageResourceSampler(true, 1.0, meterRegistry))
+			.messageRetryClassifier(new RabbitMqConfig().messageRetryClassifier())
+			.build();
 	}
 
 	@Test
@@ -92,6 +121,34 @@ class MarketDataConsumerTest {
 		verify(channel).basicAck(6L, false);
 	}
 
+	@Test
+	void handleMessage_recordsMarketStatsAfterPersist() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeMessage("TRADE"), 7L);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(marketHeavyHitterTracker).record(eq(MarketKey.of("UPBIT", "KRW-BTC")), anyLong(), any());
+	}
+
+	@Test
+	void handleMessage_recordsStageResourceUsageWhenSampled() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTickerMessage("TICKER"), 3L);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		assertThat(meterRegistry.find("market_data.stage.allocated").tags("dataType", "ticker").summaries())
+			.extracting(summary -> summary.getId().getTag("stage"))
+			.containsExactlyInAnyOrder("parse", "persist", "ack", "listener");
+		assertThat(meterRegistry.find("market_data.stage.cpu").tag("stage", "parse").summary().count())
+			.isEqualTo(1);
+	}
+
 	@Test
 	void handleMessage_ackOnOrderBook() throws Exception {
 		// given
@@ -227,6 +284,215 @@ class MarketDataConsumerTest {
 		verify(channel).basicAck(13L, false);
 	}
 
+	@Test
+	void handleMessage_dispatchesLowerCaseTypeAndInternsSymbols() throws Exception {
+		// given
+		Message first = buildJsonMessage(buildTradeMessage("trade"), 15L);
+		Message second = buildJsonMessage(buildTradeMessage("trade"), 16L);
+		ArgumentCaptor<MarketDataMessage<TradePayload>> captor = ArgumentCaptor.captor();
+
+		// when
+		consumer.handleMarketDataMessage(first, channel);
+		consumer.handleMarketDataMessage(second, channel);
+
+		// then
+		verify(tradeService, times(2)).saveTrade(captor.capture());
+		List<MarketDataMessage<TradePayload>> saved = captor.getAllValues();
+		assertThat(saved.get(1).getMetadata().getExchange()).isSameAs(saved.get(0).getMetadata().getExchange());
+		assertThat(saved.get(1).getPayload().getMarketCode()).isSameAs(saved.get(0).getPayload().getMarketCode());
+		assertThat(saved.get(1).getPayload().getAskBid()).isSameAs(saved.get(0).getPayload().getAskBid());
+		verify(channel).basicAck(16L, false);
+	}
+
+	@Test
+	void handleMessage_decodesSmileBody() throws Exception {
+		// given
+		Message message = buildEncodedMessage(buildTradeMessage("TRADE"), MessageFormat.SMILE, ContentEncoding.IDENTITY, 17L);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(tradeService).saveTrade(any());
+		verify(channel).basicAck(17L, false);
+	}
+
+	@Test
+	void handleMessage_decodesGzipCompressedCborBody() throws Exception {
+		// given
+		Message message = buildEncodedMessage(buildOrderBookMessage("ORDERBOOK"), MessageFormat.CBOR, ContentEncoding.GZIP, 18L);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(orderBookService).saveOrderBook(any());
+		verify(channel).basicAck(18L, false);
+	}
+
+	@Test
+	void handleMessage_decodesDeflateCompressedJsonAndMessagePackAlike() throws Exception {
+		// given
+		Message json = buildEncodedMessage(buildTickerMessage("TICKER"), MessageFormat.JSON, ContentEncoding.DEFLATE, 19L);
+		Message msgpack = buildEncodedMessage(buildTickerMessage("TICKER"), MessageFormat.MSGPACK, ContentEncoding.IDENTITY, 20L);
+		ArgumentCaptor<MarketDataMessage<TickerPayload>> captor = ArgumentCaptor.captor();
+
+		// when
+		consumer.handleMarketDataMessage(json, channel);
+		consumer.handleMarketDataMessage(msgpack, channel);
+
+		// then
+		verify(tickerService, times(2)).saveTicker(captor.capture());
+		List<MarketDataMessage<TickerPayload>> saved = captor.getAllValues();
+		assertThat(saved.get(1).getPayload().getMarketCode()).isEqualTo(saved.get(0).getPayload().getMarketCode());
+		assertThat(saved.get(1).getPayload().getTradePrice())
+			.isEqualByComparingTo(saved.get(0).getPayload().getTradePrice());
+		verify(channel).basicAck(20L, false);
+	}
+
+	@Test
+	void handleMessage_savesBatchEnvelopeInOneCallAndAcksOnce() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeBatch(3), 21L);
+		ArgumentCaptor<List<TradePayload>> captor = ArgumentCaptor.captor();
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(tradeService).saveTrades(any(), captor.capture());
+		assertThat(captor.getValue()).hasSize(3);
+		verify(tradeService, never()).saveTrade(any());
+		verify(channel).basicAck(21L, false);
+		assertThat(meterRegistry.get("market_data.batch.records").tag("outcome", "success").counter().count())
+			.isEqualTo(3.0);
+	}
+
+	@Test
+	void handleMessage_deadLettersOnlyMalformedBatchRecord() throws Exception {
+		// given
+		ObjectNode batch = objectMapper.valueToTree(buildTradeBatch(3));
+		((ObjectNode) batch.withArray("payloads").get(1)).put("tradePrice", "not-a-number");
+		Message message = buildJsonMessage(batch, 22L);
+		when(asyncPersistenceWriter.deadLetter(any(), any())).thenReturn(true);
+		ArgumentCaptor<List<TradePayload>> saved = ArgumentCaptor.captor();
+		ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(tradeService).saveTrades(any(), saved.capture());
+		assertThat(saved.getValue()).extracting(TradePayload::getSequentialId).containsExactly(1000L, 1002L);
+		verify(asyncPersistenceWriter).deadLetter(deadLettered.capture(), any());
+		JsonNode record = objectMapper.readTree(deadLettered.getValue().getBody());
+		assertThat(record.path("payload").path("tradePrice").asText()).isEqualTo("not-a-number");
+		assertThat(record.path("metadata").path("messageId").asText()).isEqualTo("trade-message-id");
+		assertThat((Integer) deadLettered.getValue().getMessageProperties().getHeader("x-batch-index")).isEqualTo(1);
+		verify(channel).basicAck(22L, false);
+	}
+
+	@Test
+	void handleMessage_fallsBackToRecordSavesWhenBatchHitsDuplicate() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeBatch(3), 23L);
+		doThrow(new DataIntegrityViolationException("dup")).when(tradeService).saveTrades(any(), any());
+		doThrow(new DataIntegrityViolationException("dup")).doNothing().when(tradeService).saveTrade(any());
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(tradeService, times(3)).saveTrade(any());
+		verify(asyncPersistenceWriter, never()).deadLetter(any(), any());
+		verify(channel).basicAck(23L, false);
+		assertThat(meterRegistry.get("market_data.batch.records").tag("outcome", "duplicate").counter().count())
+			.isEqualTo(1.0);
+	}
+
+	@Test
+	void handleMessage_deadLettersOnlyRecordWithNonRetryableSaveFailure() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeBatch(3), 26L);
+		doThrow(new IllegalStateException("market dictionary")).when(tradeService).saveTrades(any(), any());
+		doNothing().doThrow(new IllegalStateException("market dictionary")).doNothing()
+			.when(tradeService).saveTrade(any());
+		when(asyncPersistenceWriter.deadLetter(any(), any())).thenReturn(true);
+		ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(tradeService, times(3)).saveTrade(any());
+		verify(asyncPersistenceWriter).deadLetter(deadLettered.capture(), any(IllegalStateException.class));
+		assertThat((Integer) deadLettered.getValue().getMessageProperties().getHeader("x-batch-index")).isEqualTo(1);
+		verify(channel).basicAck(26L, false);
+		assertThat(meterRegistry.get("market_data.batch.records").tag("outcome", "dead_lettered").counter().count())
+			.isEqualTo(1.0);
+	}
+
+	@Test
+	void handleMessage_retriesWholeEnvelopeWhenRecordSaveFailureIsTransient() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeBatch(3), 27L);
+		doThrow(new QueryTimeoutException("timeout")).when(tradeService).saveTrades(any(), any());
+		doNothing().doThrow(new QueryTimeoutException("timeout")).when(tradeService).saveTrade(any());
+
+		// when & then
+		assertThatThrownBy(() -> consumer.handleMarketDataMessage(message, channel))
+			.hasRootCauseInstanceOf(QueryTimeoutException.class);
+		verify(asyncPersistenceWriter, never()).deadLetter(any(), any());
+		verify(channel, never()).basicAck(anyLong(), anyBoolean());
+	}
+
+	@Test
+	void handleMessage_routesByMetadataVersion() throws Exception {
+		// given
+		List<MarketDataMessage<TradePayload>> v2Saved = new ArrayList<>();
+		MarketDataConsumer versionedConsumer = MarketDataConsumer.builder()
+			.objectMapper(objectMapper)
+			.tickerService(tickerService)
+			.tradeService(tradeService)
+			.orderBookService(orderBookService)
+			.meterRegistry(meterRegistry)
+			.asyncPersistenceWriter(asyncPersistenceWriter)
+			.marketHeavyHitterTracker(marketHeavyHitterTracker)
+			.messageResourceSampler(new MessageResourceSampler(false, 0, meterRegistry))
+			.messageRetryClassifier(new RabbitMqConfig().messageRetryClassifier())
+			.versionedDecoders(List.of(MarketDataDecoder.of(MarketDataType.TRADE, "2.0", TradePayload.class,
+				TradePayload::getMarketCode, v2Saved::add, (metadata, payloads) -> { })))
+			.build();
+		MarketDataMessage<TradePayload> v2 = buildTradeMessage("TRADE");
+		v2.getMetadata().setVersion("2.0");
+
+		// when
+		versionedConsumer.handleMarketDataMessage(buildJsonMessage(buildTradeMessage("TRADE"), 24L), channel);
+		versionedConsumer.handleMarketDataMessage(buildJsonMessage(v2, 25L), channel);
+
+		// then
+		verify(tradeService).saveTrade(any());
+		assertThat(v2Saved).singleElement()
+			.satisfies(saved -> assertThat(saved.getMetadata().getVersion()).isEqualTo("2.0"));
+		verify(channel).basicAck(24L, false);
+		verify(channel).basicAck(25L, false);
+	}
+
+	@Test
+	void handleMessage_dispatchesToAsyncWriterWithoutAck() throws Exception {
+		// given
+		Message message = buildJsonMessage(buildTradeMessage("TRADE"), 14L);
+		when(asyncPersistenceWriter.isEnabled()).thenReturn(true);
+
+		// when
+		consumer.handleMarketDataMessage(message, channel);
+
+		// then
+		verify(asyncPersistenceWriter).submit(eq(message), eq(channel), any(), any());
+		verify(tradeService, never()).saveTrade(any());
+		verify(channel, never()).basicAck(anyLong(), anyBoolean());
+	}
+
 	private MarketDataMessage<TickerPayload> buildTickerMessage(String dataType) {
 		Metadata metadata = Metadata.builder()
 			.messageId("ticker-message-id")
@@ -319,6 +585,20 @@ class MarketDataConsumerTest {
 		return new MarketDataMessage<>(metadata, payload);
 	}
 
+	private MarketDataBatch<TradePayload> buildTradeBatch(int size) {
+		MarketDataMessage<TradePayload> template = buildTradeMessage("TRADE");
+		List<TradePayload> payloads = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			TradePayload payload = buildTradeMessage("TRADE").getPayload();
+			payload.setSequentialId(1000L + i);
+			payloads.add(payload);
+		}
+		return MarketDataBatch.<TradePayload>builder()
+			.metadata(template.getMetadata())
+			.payloads(payloads)
+			.build();
+	}
+
 	private Message buildJsonMessage(Object value, long deliveryTag) throws Exception {
 		byte[] body = objectMapper.writeValueAsBytes(value);
 		MessageProperties properties = new MessageProperties();
@@ -326,6 +606,19 @@ class MarketDataConsumerTest {
 		return new Message(body, properties);
 	}
 
+	private Message buildEncodedMessage(Object value, MessageFormat format, ContentEncoding encoding, long deliveryTag)
+		throws Exception {
+		ObjectMapper formatMapper = objectMapper.copyWith(format.newFactory());
+		byte[] body = encoding.encode(formatMapper.writeValueAsBytes(value));
+		MessageProperties properties = new MessageProperties();
+		properties.setDeliveryTag(deliveryTag);
+		properties.setContentType(format.contentType());
+		if (encoding != ContentEncoding.IDENTITY) {
+			properties.setContentEncoding(encoding.tag());
+		}
+		return new Message(body, properties);
+	}
+
 	private Message buildRawMessage(String body, long deliveryTag) {
 		MessageProperties properties = new MessageProperties();
 		properties.setDeliveryTag(deliveryTag);
@@ -0,0 +1,130 @@
+package com.rabbittick.persister.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import com.rabbitmq.client.Channel;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.global.dto.Metadata;
+import com.rabbittick.persister.global.dto.TradePayload;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TradeReorderBufferTest {
+
+	@Mock
+	private TradeService tradeService;
+
+	@Mock
+	private AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer;
+
+	@Mock
+	private Channel channel;
+
+	private SimpleMeterRegistry meterRegistry;
+	private AsyncPersistenceWriter asyncPersistenceWriter;
+	private TradeReorderBuffer buffer;
+	private List<String> outcomes;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		asyncPersistenceWriter = new AsyncPersistenceWriter(true, 1, 10, new SimpleRetryPolicy(1), dlqMessageRecoverer);
+		buffer = new TradeReorderBuffer(true, 60_000, 1_000, tradeService, asyncPersistenceWriter, meterRegistry);
+		outcomes = new ArrayList<>();
+	}
+
+	@AfterEach
+	void tearDown() {
+		asyncPersistenceWriter.destroy();
+	}
+
+	@Test
+	void flush_savesInterleavedTradesInIndexOrderAndAcksEveryMessage() throws Exception {
+		// given
+		submit(1L, trade("KRW-ETH", 11), trade("KRW-BTC", 21));
+		submit(2L, trade("KRW-BTC", 20), trade("KRW-ETH", 10));
+
+		// when
+		buffer.destroy();
+
+		// then
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TradePayload>> saved = ArgumentCaptor.forClass(List.class);
+		verify(tradeService).saveTrades(any(Metadata.class), saved.capture());
+		assertThat(saved.getValue())
+			.extracting(payload -> payload.getMarketCode() + ":" + payload.getSequentialId())
+			.containsExactly("KRW-BTC:20", "KRW-BTC:21", "KRW-ETH:10", "KRW-ETH:11");
+		verify(channel).basicAck(2L, true);
+		assertThat(outcomes).containsExactly("success", "success");
+		assertThat(meterRegistry.get("market_data.reorder.flush.records").summary().totalAmount()).isEqualTo(4.0);
+	}
+
+	@Test
+	void flush_fallsBackToPerMessagePersistenceWhenBatchInsertFails() throws Exception {
+		// given
+		doThrow(new IllegalStateException("batch failed")).when(tradeService).saveTrades(any(Metadata.class), anyList());
+		AtomicInteger fallbacks = new AtomicInteger();
+		submit(1L, fallbacks::incrementAndGet, trade("KRW-BTC", 2));
+		submit(2L, fallbacks::incrementAndGet, trade("KRW-BTC", 1));
+
+		// when
+		buffer.destroy();
+
+		// then
+		assertThat(fallbacks).hasValue(2);
+		verify(channel).basicAck(2L, true);
+		verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+		assertThat(outcomes).containsExactly("success", "success");
+		assertThat(meterRegistry.get("market_data.reorder.flush.latency").tag("outcome", "fallback").timer().count())
+			.isEqualTo(1L);
+	}
+
+	private void submit(long deliveryTag, TradePayload... payloads) {
+		submit(deliveryTag, () -> {
+		}, payloads);
+	}
+
+	private void submit(long deliveryTag, Runnable fallback, TradePayload... payloads) {
+		MessageProperties properties = new MessageProperties();
+		properties.setDeliveryTag(deliveryTag);
+		boolean buffered = buffer.submit(
+			new Message(new byte[0], properties),
+			channel,
+			Metadata.builder().exchange("UPBIT").dataType("trade").build(),
+			List.of(payloads),
+			fallback,
+			(outcome, acked) -> outcomes.add(outcome)
+		);
+		assertThat(buffered).isTrue();
+	}
+
+	private TradePayload trade(String marketCode, long sequentialId) {
+		return TradePayload.builder()
+			.marketCode(marketCode)
+			.sequentialId(sequentialId)
+			.build();
+	}
+}
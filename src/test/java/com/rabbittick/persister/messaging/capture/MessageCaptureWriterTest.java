@@ -0,0 +1,136 @@
+package com.rabbittick.persister.messaging.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MessageCaptureWriterTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void capture_writesSegmentsReadableInOrder() throws Exception {
+		// given
+		MessageCaptureWriter writer = new MessageCaptureWriter(
+			true, directory.toString(), 1, 1000, new SimpleMeterRegistry());
+
+		// when
+		for (int i = 0; i < 3; i++) {
+			writer.capture(message("upbit.trade.krw-btc", "{\"seq\":" + i + "}"));
+		}
+		writer.destroy();
+
+		// then
+		List<Path> segments = CaptureSegmentReader.segments(directory);
+		assertThat(segments).hasSize(1);
+		List<CaptureRecord> records = new ArrayList<>();
+		assertThat(CaptureSegmentReader.read(segments.get(0), records::add)).isEqualTo(3);
+		assertThat(records).extracting(CaptureRecord::routingKey).containsOnly("upbit.trade.krw-btc");
+		assertThat(records).extracting(record -> new String(record.body(), StandardCharsets.UTF_8))
+			.containsExactly("{\"seq\":0}", "{\"seq\":1}", "{\"seq\":2}");
+		assertThat(records.get(0).receivedAtMicros()).isLessThanOrEqualTo(records.get(2).receivedAtMicros());
+	}
+
+	@Test
+	void capture_recordsContentTypeAndEncodingForReplay() throws Exception {
+		// given
+		MessageCaptureWriter writer = new MessageCaptureWriter(
+			true, directory.toString(), 1, 1000, new SimpleMeterRegistry());
+		Message encoded = message("upbit.trade.krw-btc", "smile");
+		encoded.getMessageProperties().setContentType("application/x-jackson-smile");
+		encoded.getMessageProperties().setContentEncoding("gzip");
+
+		// when
+		writer.capture(encoded);
+		writer.destroy();
+
+		// then
+		List<CaptureRecord> records = new ArrayList<>();
+		CaptureSegmentReader.read(CaptureSegmentReader.segments(directory).get(0), records::add);
+		assertThat(records).singleElement().satisfies(record -> {
+			assertThat(record.contentType()).isEqualTo("application/x-jackson-smile");
+			assertThat(record.contentEncoding()).isEqualTo("gzip");
+			assertThat(new String(record.body(), StandardCharsets.UTF_8)).isEqualTo("smile");
+		});
+	}
+
+	@Test
+	void capture_rollsSegmentWhenSizeExceeded() throws Exception {
+		// given
+		MessageCaptureWriter writer = new MessageCaptureWriter(
+			true, directory.toString(), 1, 1000, new SimpleMeterRegistry());
+		String body = "x".repeat(400 * 1024);
+
+		// when
+		for (int i = 0; i < 5; i++) {
+			writer.capture(message("upbit.orderbook.krw-eth", body));
+		}
+		writer.destroy();
+
+		// then
+		List<Path> segments = CaptureSegmentReader.segments(directory);
+		assertThat(segments).hasSizeGreaterThan(1);
+		long total = 0;
+		for (Path segment : segments) {
+			assertThat(Files.size(segment)).isLessThanOrEqualTo(1024L * 1024L);
+			total += CaptureSegmentReader.read(segment, record -> { });
+		}
+		assertThat(total).isEqualTo(5);
+	}
+
+	@Test
+	void read_ignoresTruncatedTailRecord() throws Exception {
+		// given
+		MessageCaptureWriter writer = new MessageCaptureWriter(
+			true, directory.toString(), 1, 1000, new SimpleMeterRegistry());
+		writer.capture(message("upbit.ticker.krw-btc", "{\"a\":1}"));
+		writer.capture(message("upbit.ticker.krw-btc", "{\"a\":2}"));
+		writer.destroy();
+		Path segment = CaptureSegmentReader.segments(directory).get(0);
+		byte[] bytes = Files.readAllBytes(segment);
+		Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3));
+
+		// when
+		List<CaptureRecord> records = new ArrayList<>();
+		long count = CaptureSegmentReader.read(segment, records::add);
+
+		// then
+		assertThat(count).isEqualTo(1);
+		assertThat(new String(records.get(0).body(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":1}");
+	}
+
+	@Test
+	void capture_isNoOpWhenDisabled() throws Exception {
+		// given
+		MessageCaptureWriter writer = new MessageCaptureWriter(
+			false, directory.toString(), 1, 1000, new SimpleMeterRegistry());
+		Message message = message("upbit.trade.krw-btc", "{}");
+
+		// when
+		Message result = writer.capture(message);
+		writer.destroy();
+
+		// then
+		assertThat(result).isSameAs(message);
+		assertThat(CaptureSegmentReader.segments(directory)).isEmpty();
+	}
+
+	private Message message(String routingKey, String body) {
+		MessageProperties properties = new MessageProperties();
+		properties.setReceivedRoutingKey(routingKey);
+		return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+	}
+}
@@ -0,0 +1,83 @@
+package com.rabbittick.persister.messaging.decoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.global.dto.OrderBookPayload;
+import com.rabbittick.persister.global.dto.TickerPayload;
+import com.rabbittick.persister.global.dto.TradePayload;
+import com.rabbittick.persister.messaging.MarketDataType;
+import com.rabbittick.persister.messaging.encoding.MarketDataCodec;
+
+class MarketDataDecoderRegistryTest {
+
+	private final MarketDataCodec codec = new MarketDataCodec(new ObjectMapper());
+
+	@Test
+	void resolve_returnsVersionedDecoderAndFallsBackForUnknownVersion() {
+		// given
+		MarketDataDecoder<TradePayload> v2 = trade("2.0");
+		MarketDataDecoderRegistry registry = new MarketDataDecoderRegistry(codec, withDefaults(v2));
+
+		// when
+		MarketDataDecoder<?> versioned = registry.resolve(MarketDataType.TRADE, new String("2.0")).decoder();
+		MarketDataDecoder<?> unknown = registry.resolve(MarketDataType.TRADE, "9.9").decoder();
+		MarketDataDecoder<?> missing = registry.resolve(MarketDataType.TRADE, null).decoder();
+
+		// then
+		assertThat(versioned).isSameAs(v2);
+		assertThat(unknown.version()).isNull();
+		assertThat(missing).isSameAs(unknown);
+		assertThat(registry.resolve(MarketDataType.TICKER, "2.0").decoder().dataType())
+			.isEqualTo(MarketDataType.TICKER);
+	}
+
+	@Test
+	void constructor_rejectsDuplicateVersion() {
+		// given
+		List<MarketDataDecoder<?>> decoders = withDefaults(trade("2.0"), trade("2.0"));
+
+		// when & then
+		assertThatThrownBy(() -> new MarketDataDecoderRegistry(codec, decoders))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("version=2.0");
+	}
+
+	@Test
+	void constructor_requiresFallbackForEveryType() {
+		// given
+		List<MarketDataDecoder<?>> decoders = List.of(
+			MarketDataDecoder.fallback(MarketDataType.TRADE, TradePayload.class, TradePayload::getMarketCode,
+				message -> { }, (metadata, payloads) -> { })
+		);
+
+		// when & then
+		assertThatThrownBy(() -> new MarketDataDecoderRegistry(codec, decoders))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("기본 디코더가 없다");
+	}
+
+	private List<MarketDataDecoder<?>> withDefaults(MarketDataDecoder<?>... versioned) {
+		List<MarketDataDecoder<?>> decoders = new ArrayList<>(List.of(
+			MarketDataDecoder.fallback(MarketDataType.TICKER, TickerPayload.class, TickerPayload::getMarketCode,
+				message -> { }, (metadata, payloads) -> { }),
+			MarketDataDecoder.fallback(MarketDataType.TRADE, TradePayload.class, TradePayload::getMarketCode,
+				message -> { }, (metadata, payloads) -> { }),
+			MarketDataDecoder.fallback(MarketDataType.ORDERBOOK, OrderBookPayload.class,
+				OrderBookPayload::getMarketCode, message -> { }, (metadata, payloads) -> { })
+		));
+		decoders.addAll(List.of(versioned));
+		return decoders;
+	}
+
+	private MarketDataDecoder<TradePayload> trade(String version) {
+		return MarketDataDecoder.of(MarketDataType.TRADE, version, TradePayload.class, TradePayload::getMarketCode,
+			message -> { }, (metadata, payloads) -> { });
+	}
+}
@@ -0,0 +1,86 @@
+package com.rabbittick.persister.messaging.hotmarket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rabbittick.persister.domain.snapshot.MarketKey;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MarketHeavyHitterTrackerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private MarketHeavyHitterTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		tracker = new MarketHeavyHitterTracker(2, 4, meterRegistry);
+	}
+
+	@Test
+	void rollWindow_exportsTopKAndOtherBucket() {
+		// given
+		record("KRW-XRP", 50);
+		record("KRW-BTC", 20);
+		record("KRW-ETH", 5);
+		record("KRW-SOL", 3);
+
+		// when
+		tracker.rollWindow();
+
+		// then
+		assertThat(gauges()).extracting(gauge -> gauge.getId().getTag("market"))
+			.containsExactlyInAnyOrder("KRW-XRP", "KRW-BTC", MarketHeavyHitterTracker.OTHER);
+		assertThat(tracker.lastWindow().totalMessages()).isEqualTo(78);
+		assertThat(tracker.lastWindow().ranking()).extracting(HotMarketStat::marketCode)
+			.startsWith("KRW-XRP", "KRW-BTC");
+	}
+
+	@Test
+	void record_keepsHeavyHitterWhenCapacityExceeded() {
+		// given
+		record("KRW-XRP", 100);
+		for (int i = 0; i < 40; i++) {
+			record("KRW-S" + i, 1);
+		}
+
+		// when
+		HotMarketWindow window = tracker.currentWindow();
+
+		// then
+		assertThat(window.ranking()).hasSize(4);
+		HotMarketStat top = window.ranking().get(0);
+		assertThat(top.marketCode()).isEqualTo("KRW-XRP");
+		assertThat(top.count() - top.error()).isEqualTo(100);
+		assertThat(window.totalMessages()).isEqualTo(140);
+	}
+
+	@Test
+	void rollWindow_startsNewWindow() {
+		// given
+		record("KRW-BTC", 10);
+
+		// when
+		tracker.rollWindow();
+
+		// then
+		assertThat(tracker.currentWindow().totalMessages()).isZero();
+		assertThat(tracker.lastWindow().ranking()).hasSize(1);
+	}
+
+	private void record(String marketCode, int times) {
+		for (int i = 0; i < times; i++) {
+			tracker.record(MarketKey.of("UPBIT", marketCode), 1_000_000L, 10L);
+		}
+	}
+
+	private List<Gauge> gauges() {
+		return List.copyOf(meterRegistry.find("market_data.hot_market.rate").gauges());
+	}
+}
@@ -0,0 +1,122 @@
+package com.rabbittick.persister.messaging.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbittick.persister.config.RabbitMqConfig;
+import com.rabbittick.persister.domain.market.RowFormat;
+import com.rabbittick.persister.domain.orderbook.OrderBookMapper;
+import com.rabbittick.persister.domain.orderbook.OrderBookService;
+import com.rabbittick.persister.domain.ticker.TickerMapper;
+import com.rabbittick.persister.domain.ticker.TickerService;
+import com.rabbittick.persister.domain.trade.TradeMapper;
+import com.rabbittick.persister.domain.trade.TradeService;
+import com.rabbittick.persister.messaging.AcknowledgingRepublishMessageRecoverer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ListenerWarmupRunnerTest {
+
+	@Mock
+	private TickerService tickerService;
+
+	@Mock
+	private TradeService tradeService;
+
+	@Mock
+	private OrderBookService orderBookService;
+
+	@Mock
+	private TickerMapper tickerMapper;
+
+	@Mock
+	private TradeMapper tradeMapper;
+
+	@Mock
+	private OrderBookMapper orderBookMapper;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private AcknowledgingRepublishMessageRecoverer dlqMessageRecoverer;
+
+	@Mock
+	private RabbitListenerEndpointRegistry listenerEndpointRegistry;
+
+	@Mock
+	private MessageListenerContainer container;
+
+	@Test
+	void run_mapsSyntheticMessagesThenStartsListeners() throws Exception {
+		// given
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		when(listenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+		when(container.isRunning()).thenReturn(false);
+		ListenerWarmupRunner runner = new ListenerWarmupRunner(
+			new ObjectMapper().findAndRegisterModules(),
+			tickerService, tradeService, orderBookService,
+			tickerMapper, tradeMapper, orderBookMapper, RowFormat.V1,
+			transactionManager, new SimpleRetryPolicy(3),
+			new RabbitMqConfig().messageRetryClassifier(), dlqMessageRecoverer,
+			listenerEndpointRegistry, meterRegistry,
+			false, 30, Long.MAX_VALUE, 2, 10);
+
+		// when
+		runner.run(new DefaultApplicationArguments());
+
+		// then
+		verify(tickerMapper, atLeastOnce()).toEntity(any());
+		verify(tradeMapper, atLeastOnce()).toEntity(any());
+		verify(orderBookMapper, atLeastOnce()).toEntity(any());
+		verify(tickerService, never()).saveTicker(any());
+		verifyNoInteractions(transactionManager);
+		verify(container).start();
+		assertThat(meterRegistry.get("market_data.warmup.duration").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void run_compactRowFormatWarmsTickerAndTradeOnlyUpToMapper() throws Exception {
+		// given
+		when(listenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(container));
+		when(container.isRunning()).thenReturn(false);
+		ListenerWarmupRunner runner = new ListenerWarmupRunner(
+			new ObjectMapper().findAndRegisterModules(),
+			tickerService, tradeService, orderBookService,
+			tickerMapper, tradeMapper, orderBookMapper, RowFormat.V2,
+			transactionManager, new SimpleRetryPolicy(3),
+			new RabbitMqConfig().messageRetryClassifier(), dlqMessageRecoverer,
+			listenerEndpointRegistry, new SimpleMeterRegistry(),
+			true, 30, Long.MAX_VALUE, 2, 10);
+
+		// when
+		runner.run(new DefaultApplicationArguments());
+
+		// then
+		verify(tickerMapper, atLeastOnce()).toCompactEntity(any(), anyShort());
+		verify(tradeMapper, atLeastOnce()).toCompactEntity(any(), anyShort());
+		verify(tickerService, never()).saveTicker(any());
+		verify(tradeService, never()).saveTrade(any());
+		verify(container).start();
+	}
+}